@@ -17,4 +17,7 @@
 module tech.bitey.bufferstuff {
 
 	exports tech.bitey.bufferstuff;
+
+	requires java.management;
+	requires static jdk.incubator.foreign;
 }
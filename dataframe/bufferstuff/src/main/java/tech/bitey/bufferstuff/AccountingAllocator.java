@@ -0,0 +1,277 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.bufferstuff;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * A {@link BufferAllocator} which keeps count of the bytes allocated by another
+ * allocator, and fails any allocation which would take the number of bytes in
+ * use past a configurable limit.
+ * <p>
+ * Bytes are in use from when they are allocated until the memory holding them
+ * is garbage collected: for a heap buffer that is its backing array, and for a
+ * direct buffer it is the buffer itself, which every view of it references.
+ * Buffers allocated by a {@link NativeArena} remain in use until they are
+ * collected, even once the arena has been closed.
+ * <p>
+ * An allocation which would exceed the limit first requests a garbage
+ * collection, and waits briefly for unreachable buffers to be released, as
+ * {@link ByteBuffer#allocateDirect(int)} does when
+ * {@code -XX:MaxDirectMemorySize} is reached. If that does not free enough
+ * memory, it throws an {@link OutOfMemoryError} rather than allocating. The
+ * counters are exposed through {@link AccountingAllocatorMXBean}, and can be
+ * published over JMX via {@link #register(String)}.
+ * <p>
+ * This class is thread safe.
+ */
+public final class AccountingAllocator implements BufferAllocator, AccountingAllocatorMXBean {
+
+	// how many times to sleep, with doubling delays from 1ms, waiting for
+	// unreachable buffers to be released
+	private static final int MAX_SLEEPS = 7;
+
+	private final BufferAllocator delegate;
+	private volatile long limit;
+
+	private final AtomicLong bytesInUse = new AtomicLong();
+	private final AtomicLong peakBytesInUse = new AtomicLong();
+	private final LongAdder bytesAllocated = new LongAdder();
+	private final LongAdder allocationCount = new LongAdder();
+	private final LongAdder rejectionCount = new LongAdder();
+
+	/**
+	 * Creates an allocator which counts the bytes allocated by the specified
+	 * allocator, without a limit.
+	 *
+	 * @param delegate the allocator which allocates the buffers
+	 */
+	public AccountingAllocator(BufferAllocator delegate) {
+		this(delegate, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Creates an allocator which counts the bytes allocated by the specified
+	 * allocator, and fails allocations which would take the number of bytes in
+	 * use past the specified limit.
+	 *
+	 * @param delegate the allocator which allocates the buffers
+	 * @param limit    the maximum number of bytes which may be in use at once
+	 *
+	 * @throws IllegalArgumentException if the limit is negative
+	 */
+	public AccountingAllocator(BufferAllocator delegate, long limit) {
+		if (limit < 0)
+			throw new IllegalArgumentException("limit cannot be negative");
+
+		this.delegate = delegate;
+		this.limit = limit;
+	}
+
+	/**
+	 * Allocates a buffer via the underlying allocator.
+	 *
+	 * @throws OutOfMemoryError if the allocation would take the number of bytes in
+	 *                          use past the limit
+	 */
+	@Override
+	public ByteBuffer allocate(int capacity) {
+
+		if (capacity == 0)
+			return delegate.allocate(0);
+
+		reserve(capacity);
+
+		final ByteBuffer buffer;
+		try {
+			buffer = delegate.allocate(capacity);
+		} catch (RuntimeException | Error e) {
+			bytesInUse.addAndGet(-capacity);
+			throw e;
+		}
+
+		CleanerHolder.CLEANER.register(buffer.hasArray() ? buffer.array() : buffer, new Release(bytesInUse, capacity));
+
+		bytesAllocated.add(capacity);
+		allocationCount.increment();
+
+		return buffer;
+	}
+
+	private void reserve(int capacity) {
+
+		if (tryReserve(capacity))
+			return;
+
+		// unreachable buffers may be holding enough memory
+		System.gc();
+		try {
+			for (int sleeps = 0; sleeps < MAX_SLEEPS; sleeps++) {
+				if (tryReserve(capacity))
+					return;
+				Thread.sleep(1L << sleeps);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		if (tryReserve(capacity))
+			return;
+
+		rejectionCount.increment();
+		throw new OutOfMemoryError("cannot allocate " + capacity + " bytes: " + bytesInUse.get() + " of " + limit
+				+ " bytes already in use");
+	}
+
+	private boolean tryReserve(int capacity) {
+
+		long inUse;
+		do {
+			inUse = bytesInUse.get();
+			if (inUse + capacity > limit)
+				return false;
+		} while (!bytesInUse.compareAndSet(inUse, inUse + capacity));
+
+		peakBytesInUse.accumulateAndGet(inUse + capacity, Math::max);
+		return true;
+	}
+
+	/**
+	 * Registers this allocator with the platform MBean server, as
+	 * {@code tech.bitey.bufferstuff:type=BufferAllocator,name=<name>}.
+	 *
+	 * @param name the name of this allocator, unique within the MBean server
+	 *
+	 * @return the name under which this allocator was registered
+	 *
+	 * @throws IllegalStateException if the name is invalid, or already registered
+	 */
+	public ObjectName register(String name) {
+		try {
+			ObjectName objectName = new ObjectName(
+					"tech.bitey.bufferstuff:type=BufferAllocator,name=" + ObjectName.quote(name));
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+			return objectName;
+		} catch (JMException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public long getBytesInUse() {
+		return bytesInUse.get();
+	}
+
+	@Override
+	public long getPeakBytesInUse() {
+		return peakBytesInUse.get();
+	}
+
+	@Override
+	public long getBytesAllocated() {
+		return bytesAllocated.sum();
+	}
+
+	@Override
+	public long getAllocationCount() {
+		return allocationCount.sum();
+	}
+
+	@Override
+	public long getRejectionCount() {
+		return rejectionCount.sum();
+	}
+
+	@Override
+	public long getLimit() {
+		return limit;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the limit is negative
+	 */
+	@Override
+	public void setLimit(long limit) {
+		if (limit < 0)
+			throw new IllegalArgumentException("limit cannot be negative");
+
+		this.limit = limit;
+	}
+
+	/**
+	 * Returns the allocator configured by the {@code tech.bitey.allocationLimit}
+	 * and {@code tech.bitey.allocationAccounting} system properties (see
+	 * {@link BufferAllocator}): either the specified allocator, or an accounting
+	 * allocator which wraps it.
+	 */
+	static BufferAllocator fromSystemProperties(BufferAllocator allocator) {
+
+		final String limit = System.getProperty("tech.bitey.allocationLimit");
+		if (limit == null && !"true".equalsIgnoreCase(System.getProperty("tech.bitey.allocationAccounting")))
+			return allocator;
+
+		AccountingAllocator accounting = new AccountingAllocator(allocator,
+				limit == null ? Long.MAX_VALUE : parseBytes(limit));
+		try {
+			accounting.register("default");
+		} catch (IllegalStateException e) {
+			// already registered, such as from another class loader
+		}
+		return accounting;
+	}
+
+	/**
+	 * Parses a number of bytes, optionally suffixed with k, m, or g (case
+	 * insensitive), as with {@code -Xmx}.
+	 */
+	static long parseBytes(String bytes) {
+
+		String s = bytes.trim().toLowerCase();
+		final int shift = s.endsWith("k") ? 10 : s.endsWith("m") ? 20 : s.endsWith("g") ? 30 : 0;
+		if (shift != 0)
+			s = s.substring(0, s.length() - 1);
+
+		final long value = Long.parseLong(s);
+		if (value < 0 || value > Long.MAX_VALUE >> shift)
+			throw new IllegalArgumentException("bad number of bytes: " + bytes);
+
+		return value << shift;
+	}
+
+	// only started if an accounting allocator is used
+	private static final class CleanerHolder {
+		static final Cleaner CLEANER = Cleaner.create();
+	}
+
+	/*
+	 * Must not reference the buffer being tracked, or it would never become
+	 * phantom reachable.
+	 */
+	private record Release(AtomicLong bytesInUse, int capacity) implements Runnable {
+		@Override
+		public void run() {
+			bytesInUse.addAndGet(-capacity);
+		}
+	}
+}
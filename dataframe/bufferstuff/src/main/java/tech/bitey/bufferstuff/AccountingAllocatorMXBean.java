@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.bufferstuff;
+
+/**
+ * Management interface of an {@link AccountingAllocator}.
+ */
+public interface AccountingAllocatorMXBean {
+
+	/**
+	 * Returns the number of bytes in use, which allocations may not take past
+	 * {@link #getLimit()}.
+	 *
+	 * @return the number of bytes allocated, and not yet garbage collected
+	 */
+	long getBytesInUse();
+
+	/**
+	 * Returns the highest value of {@link #getBytesInUse()} to date.
+	 *
+	 * @return the highest number of bytes in use at any one time
+	 */
+	long getPeakBytesInUse();
+
+	/**
+	 * Returns the total number of bytes allocated to date.
+	 *
+	 * @return the total number of bytes allocated
+	 */
+	long getBytesAllocated();
+
+	/**
+	 * Returns the number of buffers allocated to date.
+	 *
+	 * @return the number of successful allocations
+	 */
+	long getAllocationCount();
+
+	/**
+	 * Returns the number of allocations which failed for exceeding the limit.
+	 *
+	 * @return the number of rejected allocations
+	 */
+	long getRejectionCount();
+
+	/**
+	 * Returns the maximum number of bytes which may be in use at once.
+	 *
+	 * @return the limit, in bytes
+	 */
+	long getLimit();
+
+	/**
+	 * Sets the maximum number of bytes which may be in use at once. Lowering the
+	 * limit below the number of bytes in use fails subsequent allocations, but
+	 * frees nothing.
+	 *
+	 * @param limit the new limit, in bytes
+	 */
+	void setLimit(long limit);
+}
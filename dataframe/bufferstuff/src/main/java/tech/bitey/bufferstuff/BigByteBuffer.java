@@ -34,7 +34,8 @@ import java.nio.ShortBuffer;
  * Differences from {@code ByteBuffer} include:
  * <ul>
  * <li>mark and reset are not supported
- * <li>read-only is not supported
+ * <li>there is no {@code asReadOnlyBuffer}, but buffers which wrap read-only
+ * {@code ByteBuffers} are read-only, see {@link #isReadOnly()}
  * <li>byte order is preserved in {@link #duplicate()} and {@link #slice()}.
  * </ul>
  *
@@ -49,6 +50,16 @@ public sealed interface BigByteBuffer permits AbstractBigByteBuffer {
 	 */
 	ByteBuffer[] buffers();
 
+	/**
+	 * Tells whether or not this buffer is read-only, such as when it is
+	 * memory-mapped in {@link java.nio.channels.FileChannel.MapMode#READ_ONLY
+	 * READ_ONLY} mode. Put methods of a read-only buffer throw
+	 * {@link java.nio.ReadOnlyBufferException}.
+	 *
+	 * @return true if, and only if, this buffer is read-only
+	 */
+	boolean isReadOnly();
+
 	/**
 	 * Returns this buffer's position.
 	 *
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.bufferstuff;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Allocates the {@link ByteBuffer ByteBuffers} behind
+ * {@link BufferUtils#allocate(int)} and {@link BufferUtils#allocateBig(long)},
+ * and so behind every column and bitset built by this library. The allocator in
+ * use can be replaced via {@link BufferUtils#setAllocator(BufferAllocator)}.
+ * <p>
+ * By default the allocator is {@link #DIRECT} if the
+ * {@code tech.bitey.allocateDirect} system property is set to "true", and
+ * {@link #HEAP} otherwise. If the {@code tech.bitey.allocationLimit} system
+ * property is set (to a number of bytes, optionally suffixed with k, m, or g),
+ * or {@code tech.bitey.allocationAccounting} is set to "true", it is wrapped in
+ * an {@link AccountingAllocator} with that limit, which is registered with the
+ * platform MBean server as
+ * {@code tech.bitey.bufferstuff:type=BufferAllocator,name="default"}.
+ *
+ * @see AccountingAllocator
+ * @see NativeArena
+ */
+@FunctionalInterface
+public interface BufferAllocator {
+
+	/** Allocates buffers on the heap, via {@link ByteBuffer#allocate(int)} */
+	BufferAllocator HEAP = ByteBuffer::allocate;
+
+	/** Allocates direct buffers, via {@link ByteBuffer#allocateDirect(int)} */
+	BufferAllocator DIRECT = ByteBuffer::allocateDirect;
+
+	/**
+	 * Allocates a new buffer with the specified capacity. The buffer's position
+	 * must be zero, and its limit must equal its capacity. Its byte order will be
+	 * set by the caller.
+	 *
+	 * @param capacity the new buffer's capacity, in bytes
+	 *
+	 * @return the new buffer
+	 */
+	ByteBuffer allocate(int capacity);
+}
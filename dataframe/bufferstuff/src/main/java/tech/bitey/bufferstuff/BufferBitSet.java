@@ -53,8 +53,8 @@ import java.util.Random;
  * replacing the current buffer with a larger one).
  * <p>
  * All {@code ByteBuffers} allocated by this class are procured via
- * {@link BufferUtils#allocate(int)}. The allocated buffers will be direct if
- * the {@code tech.bitey.allocateDirect} system property is set to "true".
+ * {@link BufferUtils#allocate(int)}, and so from the current
+ * {@link BufferUtils#allocator() allocator}.
  * 
  * @author biteytech@protonmail.com, adapted from {@link BitSet}
  * 
@@ -408,7 +408,7 @@ public class BufferBitSet implements Cloneable {
 	 * @throws IOException if some I/O error occurs
 	 */
 	public static BufferBitSet readFrom(ReadableByteChannel channel) throws IOException {
-		return readFrom(channel, false);
+		return readFrom(channel, null);
 	}
 
 	/**
@@ -426,10 +426,41 @@ public class BufferBitSet implements Cloneable {
 	 * @throws IOException if some I/O error occurs
 	 */
 	public static BufferBitSet mapFrom(FileChannel channel) throws IOException {
-		return readFrom(channel, true);
+		return mapFrom(channel, MapMode.READ_WRITE);
 	}
 
-	private static BufferBitSet readFrom(ReadableByteChannel channel, boolean map) throws IOException {
+	/**
+	 * Memory-maps a bitset from the specified {@link FileChannel}. The bitset must
+	 * have previously been written with one of the {@code writeTo} methods.
+	 * <p>
+	 * In {@link MapMode#READ_WRITE READ_WRITE} mode the channel must be writable,
+	 * and a bitset written from an index which is not a multiple of 8 is realigned
+	 * in the file the first time it is mapped. In {@link MapMode#READ_ONLY
+	 * READ_ONLY} mode the channel only needs to be readable, and such a bitset is
+	 * copied onto the heap instead.
+	 * <p>
+	 * Sets the channel's {@link FileChannel#position() position} to the byte
+	 * immediately after the last byte associated with this bitset.
+	 * 
+	 * @param channel - the channel to map from
+	 * @param mode    - {@code READ_WRITE} or {@code READ_ONLY}
+	 * 
+	 * @return a non-resizable bitset memory-mapped from the specified file
+	 * 
+	 * @throws IOException              if some I/O error occurs
+	 * @throws IllegalArgumentException if {@code mode} is {@code PRIVATE}
+	 */
+	public static BufferBitSet mapFrom(FileChannel channel, MapMode mode) throws IOException {
+		if (mode != MapMode.READ_WRITE && mode != MapMode.READ_ONLY)
+			throw new IllegalArgumentException("mode must be READ_WRITE or READ_ONLY");
+
+		return readFrom(channel, mode);
+	}
+
+	/**
+	 * Reads onto the heap if {@code mode} is null
+	 */
+	private static BufferBitSet readFrom(ReadableByteChannel channel, MapMode mode) throws IOException {
 
 		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BIG_ENDIAN);
 		readFully(channel, header);
@@ -440,6 +471,9 @@ public class BufferBitSet implements Cloneable {
 		if (capacity == 0)
 			return EMPTY_BITSET;
 
+		// unaligned bitsets are shifted in place, which a read-only mapping can't do
+		final boolean map = mode == MapMode.READ_WRITE || mode == MapMode.READ_ONLY && offset == 0;
+
 		final ByteBuffer buffer;
 		if (map) {
 			FileChannel file = (FileChannel) channel;
@@ -24,6 +24,8 @@ import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.LongBuffer;
 import java.nio.ShortBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.IntBinaryOperator;
 
 /**
@@ -36,6 +38,8 @@ public class BufferSort {
 
 	private static final int SMALL_RANGE = 100;
 	private static final int LARGE_RANGE = 10_000_000;
+	private static final int SMALL_MERGE = 7;
+	private static final int MIN_PARALLEL = 1 << 13;
 
 	private static final int INT_HIGH_BIT = 1 << 31;
 	private static final long LONG_HIGH_BIT = 1L << 63;
@@ -163,6 +167,210 @@ public class BufferSort {
 		}
 	}
 
+	/**
+	 * Sorts a range of the specified {@link IntBuffer} in ascending order (lowest
+	 * first). The sort is:
+	 * <ul>
+	 * <li>stable - equal elements will not be reordered
+	 * <li>{@code O(n*log(n))} in the worst case
+	 * <li>not in-place - a temporary buffer of length {@code toIndex - fromIndex}
+	 * is allocated
+	 * </ul>
+	 *
+	 * @param b          the buffer to be sorted
+	 * @param comparator used to compare values from {@code b}. useful when the
+	 *                   integers are identifiers or indices referencing some
+	 *                   external data structure.
+	 * @param fromIndex  the index of the first element (inclusive) to be sorted
+	 * @param toIndex    the index of the last element (exclusive) to be sorted
+	 *
+	 * @throws IllegalArgumentException  if {@code fromIndex > toIndex}
+	 * @throws IndexOutOfBoundsException if
+	 *                                   {@code fromIndex < 0 or toIndex > b.capacity()}
+	 */
+	public static void mergeSort(IntBuffer b, IntBinaryOperator comparator, int fromIndex, int toIndex) {
+		rangeCheck(b.capacity(), fromIndex, toIndex);
+
+		int n = toIndex - fromIndex;
+		if (n <= 1)
+			return;
+
+		IntBuffer aux = IntBuffer.allocate(n);
+		for (int i = 0; i < n; i++)
+			aux.put(i, b.get(fromIndex + i));
+
+		mergeSort(aux, b, comparator, fromIndex, toIndex, -fromIndex);
+	}
+
+	// based on java.util.Arrays.legacyMergeSort
+	private static void mergeSort(IntBuffer src, IntBuffer dest, IntBinaryOperator comparator, int low,
+			int high, int off) {
+
+		int length = high - low;
+
+		// insertion sort on smallest ranges
+		if (length < SMALL_MERGE) {
+			for (int i = low + 1; i < high; i++) {
+				int x = dest.get(i);
+				int j = i - 1;
+				for (int xj; j >= low && comparator.applyAsInt(xj = dest.get(j), x) > 0; j--)
+					dest.put(j + 1, xj);
+				dest.put(j + 1, x);
+			}
+			return;
+		}
+
+		// recursively sort halves of dest into src
+		int destLow = low;
+		int destHigh = high;
+		low += off;
+		high += off;
+		int mid = (low + high) >>> 1;
+		mergeSort(dest, src, comparator, low, mid, -off);
+		mergeSort(dest, src, comparator, mid, high, -off);
+
+		// if range is already sorted, just copy from src to dest
+		if (comparator.applyAsInt(src.get(mid - 1), src.get(mid)) <= 0) {
+			for (int i = destLow, p = low; i < destHigh; i++, p++)
+				dest.put(i, src.get(p));
+			return;
+		}
+
+		// merge sorted halves (now in src) into dest
+		for (int i = destLow, p = low, q = mid; i < destHigh; i++) {
+			if (q >= high || p < mid && comparator.applyAsInt(src.get(p), src.get(q)) <= 0)
+				dest.put(i, src.get(p++));
+			else
+				dest.put(i, src.get(q++));
+		}
+	}
+
+	/**
+	 * Sorts a range of the specified {@link IntBuffer} in ascending order (lowest
+	 * first), using the {@link ForkJoinPool#commonPool() common pool}. The range is
+	 * divided into chunks which are sorted with
+	 * {@link BufferSort#mergeSort(IntBuffer, IntBinaryOperator, int, int)
+	 * mergeSort}, and then merged in parallel. Like {@code mergeSort}, this sort is
+	 * stable. A temporary buffer of length {@code toIndex - fromIndex} is allocated.
+	 * <p>
+	 * Falls back to {@code mergeSort} if the range is small, or if the common
+	 * pool's parallelism is one. The comparator must be thread-safe.
+	 *
+	 * @param b          the buffer to be sorted
+	 * @param comparator used to compare values from {@code b}. useful when the
+	 *                   integers are identifiers or indices referencing some
+	 *                   external data structure.
+	 * @param fromIndex  the index of the first element (inclusive) to be sorted
+	 * @param toIndex    the index of the last element (exclusive) to be sorted
+	 *
+	 * @throws IllegalArgumentException  if {@code fromIndex > toIndex}
+	 * @throws IndexOutOfBoundsException if
+	 *                                   {@code fromIndex < 0 or toIndex > b.capacity()}
+	 */
+	public static void parallelMergeSort(IntBuffer b, IntBinaryOperator comparator, int fromIndex,
+			int toIndex) {
+		rangeCheck(b.capacity(), fromIndex, toIndex);
+
+		final int n = toIndex - fromIndex;
+		final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+		if (n <= MIN_PARALLEL || parallelism == 1) {
+			mergeSort(b, comparator, fromIndex, toIndex);
+			return;
+		}
+
+		final int grain = Math.max(n / (parallelism << 2), MIN_PARALLEL);
+		final IntBuffer w = IntBuffer.allocate(n);
+
+		ForkJoinPool.commonPool().invoke(ForkJoinTask
+				.adapt(() -> parallelMergeSort(b, w, -fromIndex, comparator, fromIndex, toIndex, grain, false)));
+	}
+
+	// sorts b[lo, hi), leaving the result in either b or w (w is indexed by i + wOff)
+	private static void parallelMergeSort(IntBuffer b, IntBuffer w, int wOff, IntBinaryOperator comparator,
+			int lo, int hi, int grain, boolean intoW) {
+
+		if (hi - lo <= grain) {
+			mergeSort(b, comparator, lo, hi);
+			if (intoW)
+				for (int i = lo; i < hi; i++)
+					w.put(i + wOff, b.get(i));
+			return;
+		}
+
+		// sort each half into the other buffer, then merge back
+		final int mid = (lo + hi) >>> 1;
+		ForkJoinTask.invokeAll(
+				ForkJoinTask.adapt(() -> parallelMergeSort(b, w, wOff, comparator, lo, mid, grain, !intoW)),
+				ForkJoinTask.adapt(() -> parallelMergeSort(b, w, wOff, comparator, mid, hi, grain, !intoW)));
+
+		if (intoW)
+			parallelMerge(b, 0, w, wOff, comparator, lo, mid, mid, hi, lo, grain);
+		else
+			parallelMerge(w, wOff, b, 0, comparator, lo, mid, mid, hi, lo, grain);
+	}
+
+	// stable merge of src[aLo, aHi) and src[bLo, bHi) into dst starting at dLo
+	private static void parallelMerge(IntBuffer src, int srcOff, IntBuffer dst, int dstOff,
+			IntBinaryOperator comparator, int aLo, int aHi, int bLo, int bHi, int dLo, int grain) {
+
+		if (aHi - aLo + bHi - bLo <= grain) {
+			int i = aLo, j = bLo, d = dLo + dstOff;
+			while (i < aHi && j < bHi) {
+				int x = src.get(i + srcOff);
+				int y = src.get(j + srcOff);
+				if (comparator.applyAsInt(x, y) <= 0) {
+					dst.put(d++, x);
+					i++;
+				} else {
+					dst.put(d++, y);
+					j++;
+				}
+			}
+			while (i < aHi)
+				dst.put(d++, src.get(srcOff + i++));
+			while (j < bHi)
+				dst.put(d++, src.get(srcOff + j++));
+			return;
+		}
+
+		// split on the larger range. Elements from a which are equal to elements
+		// from b must end up on the left, to preserve stability.
+		final int aMid, bMid;
+		if (aHi - aLo >= bHi - bLo) {
+			aMid = (aLo + aHi) >>> 1;
+			final int pivot = src.get(aMid + srcOff);
+			int lo = bLo, hi = bHi;
+			while (lo < hi) {
+				int m = (lo + hi) >>> 1;
+				if (comparator.applyAsInt(src.get(m + srcOff), pivot) < 0)
+					lo = m + 1;
+				else
+					hi = m;
+			}
+			bMid = lo;
+		} else {
+			bMid = (bLo + bHi) >>> 1;
+			final int pivot = src.get(bMid + srcOff);
+			int lo = aLo, hi = aHi;
+			while (lo < hi) {
+				int m = (lo + hi) >>> 1;
+				if (comparator.applyAsInt(src.get(m + srcOff), pivot) <= 0)
+					lo = m + 1;
+				else
+					hi = m;
+			}
+			aMid = lo;
+		}
+		final int dMid = dLo + (aMid - aLo) + (bMid - bLo);
+
+		ForkJoinTask.invokeAll(
+				ForkJoinTask.adapt(
+						() -> parallelMerge(src, srcOff, dst, dstOff, comparator, aLo, aMid, bLo, bMid, dLo, grain)),
+				ForkJoinTask.adapt(
+						() -> parallelMerge(src, srcOff, dst, dstOff, comparator, aMid, aHi, bMid, bHi, dMid, grain)));
+	}
+
 	/**
 	 * Sorts a range of the specified {@link LongBuffer} in ascending order (lowest
 	 * first). The sort is:
@@ -1060,6 +1268,446 @@ public class BufferSort {
 			heapSort(b, fromIndex, toIndex);
 	}
 
+	/**
+	 * Sorts a range of the specified {@link IntBuffer} in ascending order (lowest
+	 * first), using the {@link ForkJoinPool#commonPool() common pool}. The range is
+	 * divided into chunks which are sorted with
+	 * {@link BufferSort#sort(IntBuffer, int, int) sort}, and then merged in
+	 * parallel. A temporary buffer of length {@code toIndex - fromIndex} is
+	 * allocated.
+	 * <p>
+	 * Falls back to {@link BufferSort#sort(IntBuffer, int, int) sort} if the range
+	 * is small, or if the common pool's parallelism is one.
+	 *
+	 * @param b         the buffer to be sorted
+	 * @param fromIndex the index of the first element (inclusive) to be sorted
+	 * @param toIndex   the index of the last element (exclusive) to be sorted
+	 *
+	 * @throws IllegalArgumentException  if {@code fromIndex > toIndex}
+	 * @throws IndexOutOfBoundsException if
+	 *                                   {@code fromIndex < 0 or toIndex > b.capacity()}
+	 */
+	public static void parallelSort(IntBuffer b, int fromIndex, int toIndex) {
+		rangeCheck(b.capacity(), fromIndex, toIndex);
+
+		final int n = toIndex - fromIndex;
+		final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+		if (n <= MIN_PARALLEL || parallelism == 1) {
+			sort(b, fromIndex, toIndex);
+			return;
+		}
+
+		final int grain = Math.max(n / (parallelism << 2), MIN_PARALLEL);
+		final IntBuffer w = IntBuffer.allocate(n);
+
+		ForkJoinPool.commonPool()
+				.invoke(ForkJoinTask.adapt(() -> parallelSort(b, w, -fromIndex, fromIndex, toIndex, grain, false)));
+	}
+
+	// sorts b[lo, hi), leaving the result in either b or w (w is indexed by i + wOff)
+	private static void parallelSort(IntBuffer b, IntBuffer w, int wOff, int lo, int hi, int grain,
+			boolean intoW) {
+
+		if (hi - lo <= grain) {
+			sort(b, lo, hi);
+			if (intoW)
+				for (int i = lo; i < hi; i++)
+					w.put(i + wOff, b.get(i));
+			return;
+		}
+
+		// sort each half into the other buffer, then merge back
+		final int mid = (lo + hi) >>> 1;
+		ForkJoinTask.invokeAll(ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, lo, mid, grain, !intoW)),
+				ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, mid, hi, grain, !intoW)));
+
+		if (intoW)
+			parallelMerge(b, 0, w, wOff, lo, mid, mid, hi, lo, grain);
+		else
+			parallelMerge(w, wOff, b, 0, lo, mid, mid, hi, lo, grain);
+	}
+
+	// merges src[aLo, aHi) and src[bLo, bHi) into dst starting at dLo
+	private static void parallelMerge(IntBuffer src, int srcOff, IntBuffer dst, int dstOff, int aLo, int aHi,
+			int bLo, int bHi, int dLo, int grain) {
+
+		if (aHi - aLo < bHi - bLo) {
+			// split on the larger range
+			parallelMerge(src, srcOff, dst, dstOff, bLo, bHi, aLo, aHi, dLo, grain);
+			return;
+		}
+
+		if (aHi - aLo + bHi - bLo <= grain) {
+			int i = aLo, j = bLo, d = dLo + dstOff;
+			while (i < aHi && j < bHi) {
+				int x = src.get(i + srcOff);
+				int y = src.get(j + srcOff);
+				if (x <= y) {
+					dst.put(d++, x);
+					i++;
+				} else {
+					dst.put(d++, y);
+					j++;
+				}
+			}
+			while (i < aHi)
+				dst.put(d++, src.get(srcOff + i++));
+			while (j < bHi)
+				dst.put(d++, src.get(srcOff + j++));
+			return;
+		}
+
+		// find first element in b which is not less than the pivot
+		final int aMid = (aLo + aHi) >>> 1;
+		final int y = src.get(aMid + srcOff);
+		int lo = bLo, hi = bHi;
+		while (lo < hi) {
+			int m = (lo + hi) >>> 1;
+			int x = src.get(m + srcOff);
+			if (x < y)
+				lo = m + 1;
+			else
+				hi = m;
+		}
+		final int bMid = lo;
+		final int dMid = dLo + (aMid - aLo) + (bMid - bLo);
+
+		ForkJoinTask.invokeAll(
+				ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aLo, aMid, bLo, bMid, dLo, grain)),
+				ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aMid, aHi, bMid, bHi, dMid, grain)));
+	}
+
+	/**
+	 * Sorts a range of the specified {@link LongBuffer} in ascending order (lowest
+	 * first), using the {@link ForkJoinPool#commonPool() common pool}. The range is
+	 * divided into chunks which are sorted with
+	 * {@link BufferSort#sort(LongBuffer, int, int) sort}, and then merged in
+	 * parallel. A temporary buffer of length {@code toIndex - fromIndex} is
+	 * allocated.
+	 * <p>
+	 * Falls back to {@link BufferSort#sort(LongBuffer, int, int) sort} if the range
+	 * is small, or if the common pool's parallelism is one.
+	 *
+	 * @param b         the buffer to be sorted
+	 * @param fromIndex the index of the first element (inclusive) to be sorted
+	 * @param toIndex   the index of the last element (exclusive) to be sorted
+	 *
+	 * @throws IllegalArgumentException  if {@code fromIndex > toIndex}
+	 * @throws IndexOutOfBoundsException if
+	 *                                   {@code fromIndex < 0 or toIndex > b.capacity()}
+	 */
+	public static void parallelSort(LongBuffer b, int fromIndex, int toIndex) {
+		rangeCheck(b.capacity(), fromIndex, toIndex);
+
+		final int n = toIndex - fromIndex;
+		final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+		if (n <= MIN_PARALLEL || parallelism == 1) {
+			sort(b, fromIndex, toIndex);
+			return;
+		}
+
+		final int grain = Math.max(n / (parallelism << 2), MIN_PARALLEL);
+		final LongBuffer w = LongBuffer.allocate(n);
+
+		ForkJoinPool.commonPool()
+				.invoke(ForkJoinTask.adapt(() -> parallelSort(b, w, -fromIndex, fromIndex, toIndex, grain, false)));
+	}
+
+	// sorts b[lo, hi), leaving the result in either b or w (w is indexed by i + wOff)
+	private static void parallelSort(LongBuffer b, LongBuffer w, int wOff, int lo, int hi, int grain,
+			boolean intoW) {
+
+		if (hi - lo <= grain) {
+			sort(b, lo, hi);
+			if (intoW)
+				for (int i = lo; i < hi; i++)
+					w.put(i + wOff, b.get(i));
+			return;
+		}
+
+		// sort each half into the other buffer, then merge back
+		final int mid = (lo + hi) >>> 1;
+		ForkJoinTask.invokeAll(ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, lo, mid, grain, !intoW)),
+				ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, mid, hi, grain, !intoW)));
+
+		if (intoW)
+			parallelMerge(b, 0, w, wOff, lo, mid, mid, hi, lo, grain);
+		else
+			parallelMerge(w, wOff, b, 0, lo, mid, mid, hi, lo, grain);
+	}
+
+	// merges src[aLo, aHi) and src[bLo, bHi) into dst starting at dLo
+	private static void parallelMerge(LongBuffer src, int srcOff, LongBuffer dst, int dstOff, int aLo, int aHi,
+			int bLo, int bHi, int dLo, int grain) {
+
+		if (aHi - aLo < bHi - bLo) {
+			// split on the larger range
+			parallelMerge(src, srcOff, dst, dstOff, bLo, bHi, aLo, aHi, dLo, grain);
+			return;
+		}
+
+		if (aHi - aLo + bHi - bLo <= grain) {
+			int i = aLo, j = bLo, d = dLo + dstOff;
+			while (i < aHi && j < bHi) {
+				long x = src.get(i + srcOff);
+				long y = src.get(j + srcOff);
+				if (x <= y) {
+					dst.put(d++, x);
+					i++;
+				} else {
+					dst.put(d++, y);
+					j++;
+				}
+			}
+			while (i < aHi)
+				dst.put(d++, src.get(srcOff + i++));
+			while (j < bHi)
+				dst.put(d++, src.get(srcOff + j++));
+			return;
+		}
+
+		// find first element in b which is not less than the pivot
+		final int aMid = (aLo + aHi) >>> 1;
+		final long y = src.get(aMid + srcOff);
+		int lo = bLo, hi = bHi;
+		while (lo < hi) {
+			int m = (lo + hi) >>> 1;
+			long x = src.get(m + srcOff);
+			if (x < y)
+				lo = m + 1;
+			else
+				hi = m;
+		}
+		final int bMid = lo;
+		final int dMid = dLo + (aMid - aLo) + (bMid - bLo);
+
+		ForkJoinTask.invokeAll(
+				ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aLo, aMid, bLo, bMid, dLo, grain)),
+				ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aMid, aHi, bMid, bHi, dMid, grain)));
+	}
+
+	/**
+	 * Sorts a range of the specified {@link FloatBuffer} in ascending order (lowest
+	 * first), using the {@link ForkJoinPool#commonPool() common pool}. The range is
+	 * divided into chunks which are sorted with
+	 * {@link BufferSort#sort(FloatBuffer, int, int) sort}, and then merged in
+	 * parallel. A temporary buffer of length {@code toIndex - fromIndex} is
+	 * allocated.
+	 * <p>
+	 * Falls back to {@link BufferSort#sort(FloatBuffer, int, int) sort} if the range
+	 * is small, or if the common pool's parallelism is one.
+	 *
+	 * @param b         the buffer to be sorted
+	 * @param fromIndex the index of the first element (inclusive) to be sorted
+	 * @param toIndex   the index of the last element (exclusive) to be sorted
+	 *
+	 * @throws IllegalArgumentException  if {@code fromIndex > toIndex}
+	 * @throws IndexOutOfBoundsException if
+	 *                                   {@code fromIndex < 0 or toIndex > b.capacity()}
+	 */
+	public static void parallelSort(FloatBuffer b, int fromIndex, int toIndex) {
+		rangeCheck(b.capacity(), fromIndex, toIndex);
+
+		final int n = toIndex - fromIndex;
+		final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+		if (n <= MIN_PARALLEL || parallelism == 1) {
+			sort(b, fromIndex, toIndex);
+			return;
+		}
+
+		final int grain = Math.max(n / (parallelism << 2), MIN_PARALLEL);
+		final FloatBuffer w = FloatBuffer.allocate(n);
+
+		ForkJoinPool.commonPool()
+				.invoke(ForkJoinTask.adapt(() -> parallelSort(b, w, -fromIndex, fromIndex, toIndex, grain, false)));
+	}
+
+	// sorts b[lo, hi), leaving the result in either b or w (w is indexed by i + wOff)
+	private static void parallelSort(FloatBuffer b, FloatBuffer w, int wOff, int lo, int hi, int grain,
+			boolean intoW) {
+
+		if (hi - lo <= grain) {
+			sort(b, lo, hi);
+			if (intoW)
+				for (int i = lo; i < hi; i++)
+					w.put(i + wOff, b.get(i));
+			return;
+		}
+
+		// sort each half into the other buffer, then merge back
+		final int mid = (lo + hi) >>> 1;
+		ForkJoinTask.invokeAll(ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, lo, mid, grain, !intoW)),
+				ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, mid, hi, grain, !intoW)));
+
+		if (intoW)
+			parallelMerge(b, 0, w, wOff, lo, mid, mid, hi, lo, grain);
+		else
+			parallelMerge(w, wOff, b, 0, lo, mid, mid, hi, lo, grain);
+	}
+
+	// merges src[aLo, aHi) and src[bLo, bHi) into dst starting at dLo
+	private static void parallelMerge(FloatBuffer src, int srcOff, FloatBuffer dst, int dstOff, int aLo, int aHi,
+			int bLo, int bHi, int dLo, int grain) {
+
+		if (aHi - aLo < bHi - bLo) {
+			// split on the larger range
+			parallelMerge(src, srcOff, dst, dstOff, bLo, bHi, aLo, aHi, dLo, grain);
+			return;
+		}
+
+		if (aHi - aLo + bHi - bLo <= grain) {
+			int i = aLo, j = bLo, d = dLo + dstOff;
+			while (i < aHi && j < bHi) {
+				float x = src.get(i + srcOff);
+				float y = src.get(j + srcOff);
+				if (Float.compare(x, y) <= 0) {
+					dst.put(d++, x);
+					i++;
+				} else {
+					dst.put(d++, y);
+					j++;
+				}
+			}
+			while (i < aHi)
+				dst.put(d++, src.get(srcOff + i++));
+			while (j < bHi)
+				dst.put(d++, src.get(srcOff + j++));
+			return;
+		}
+
+		// find first element in b which is not less than the pivot
+		final int aMid = (aLo + aHi) >>> 1;
+		final float y = src.get(aMid + srcOff);
+		int lo = bLo, hi = bHi;
+		while (lo < hi) {
+			int m = (lo + hi) >>> 1;
+			float x = src.get(m + srcOff);
+			if (Float.compare(x, y) < 0)
+				lo = m + 1;
+			else
+				hi = m;
+		}
+		final int bMid = lo;
+		final int dMid = dLo + (aMid - aLo) + (bMid - bLo);
+
+		ForkJoinTask.invokeAll(
+				ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aLo, aMid, bLo, bMid, dLo, grain)),
+				ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aMid, aHi, bMid, bHi, dMid, grain)));
+	}
+
+	/**
+	 * Sorts a range of the specified {@link DoubleBuffer} in ascending order (lowest
+	 * first), using the {@link ForkJoinPool#commonPool() common pool}. The range is
+	 * divided into chunks which are sorted with
+	 * {@link BufferSort#sort(DoubleBuffer, int, int) sort}, and then merged in
+	 * parallel. A temporary buffer of length {@code toIndex - fromIndex} is
+	 * allocated.
+	 * <p>
+	 * Falls back to {@link BufferSort#sort(DoubleBuffer, int, int) sort} if the range
+	 * is small, or if the common pool's parallelism is one.
+	 *
+	 * @param b         the buffer to be sorted
+	 * @param fromIndex the index of the first element (inclusive) to be sorted
+	 * @param toIndex   the index of the last element (exclusive) to be sorted
+	 *
+	 * @throws IllegalArgumentException  if {@code fromIndex > toIndex}
+	 * @throws IndexOutOfBoundsException if
+	 *                                   {@code fromIndex < 0 or toIndex > b.capacity()}
+	 */
+	public static void parallelSort(DoubleBuffer b, int fromIndex, int toIndex) {
+		rangeCheck(b.capacity(), fromIndex, toIndex);
+
+		final int n = toIndex - fromIndex;
+		final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+		if (n <= MIN_PARALLEL || parallelism == 1) {
+			sort(b, fromIndex, toIndex);
+			return;
+		}
+
+		final int grain = Math.max(n / (parallelism << 2), MIN_PARALLEL);
+		final DoubleBuffer w = DoubleBuffer.allocate(n);
+
+		ForkJoinPool.commonPool()
+				.invoke(ForkJoinTask.adapt(() -> parallelSort(b, w, -fromIndex, fromIndex, toIndex, grain, false)));
+	}
+
+	// sorts b[lo, hi), leaving the result in either b or w (w is indexed by i + wOff)
+	private static void parallelSort(DoubleBuffer b, DoubleBuffer w, int wOff, int lo, int hi, int grain,
+			boolean intoW) {
+
+		if (hi - lo <= grain) {
+			sort(b, lo, hi);
+			if (intoW)
+				for (int i = lo; i < hi; i++)
+					w.put(i + wOff, b.get(i));
+			return;
+		}
+
+		// sort each half into the other buffer, then merge back
+		final int mid = (lo + hi) >>> 1;
+		ForkJoinTask.invokeAll(ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, lo, mid, grain, !intoW)),
+				ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, mid, hi, grain, !intoW)));
+
+		if (intoW)
+			parallelMerge(b, 0, w, wOff, lo, mid, mid, hi, lo, grain);
+		else
+			parallelMerge(w, wOff, b, 0, lo, mid, mid, hi, lo, grain);
+	}
+
+	// merges src[aLo, aHi) and src[bLo, bHi) into dst starting at dLo
+	private static void parallelMerge(DoubleBuffer src, int srcOff, DoubleBuffer dst, int dstOff, int aLo, int aHi,
+			int bLo, int bHi, int dLo, int grain) {
+
+		if (aHi - aLo < bHi - bLo) {
+			// split on the larger range
+			parallelMerge(src, srcOff, dst, dstOff, bLo, bHi, aLo, aHi, dLo, grain);
+			return;
+		}
+
+		if (aHi - aLo + bHi - bLo <= grain) {
+			int i = aLo, j = bLo, d = dLo + dstOff;
+			while (i < aHi && j < bHi) {
+				double x = src.get(i + srcOff);
+				double y = src.get(j + srcOff);
+				if (Double.compare(x, y) <= 0) {
+					dst.put(d++, x);
+					i++;
+				} else {
+					dst.put(d++, y);
+					j++;
+				}
+			}
+			while (i < aHi)
+				dst.put(d++, src.get(srcOff + i++));
+			while (j < bHi)
+				dst.put(d++, src.get(srcOff + j++));
+			return;
+		}
+
+		// find first element in b which is not less than the pivot
+		final int aMid = (aLo + aHi) >>> 1;
+		final double y = src.get(aMid + srcOff);
+		int lo = bLo, hi = bHi;
+		while (lo < hi) {
+			int m = (lo + hi) >>> 1;
+			double x = src.get(m + srcOff);
+			if (Double.compare(x, y) < 0)
+				lo = m + 1;
+			else
+				hi = m;
+		}
+		final int bMid = lo;
+		final int dMid = dLo + (aMid - aLo) + (bMid - bLo);
+
+		ForkJoinTask.invokeAll(
+				ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aLo, aMid, bLo, bMid, dLo, grain)),
+				ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aMid, aHi, bMid, bHi, dMid, grain)));
+	}
+
 	/**
 	 * Sorts a range of the specified {@link SmallIntBuffer} in ascending order
 	 * (lowest first). The sort is:
@@ -1183,6 +1831,210 @@ public class BufferSort {
 		}
 	}
 
+	/**
+	 * Sorts a range of the specified {@link SmallIntBuffer} in ascending order (lowest
+	 * first). The sort is:
+	 * <ul>
+	 * <li>stable - equal elements will not be reordered
+	 * <li>{@code O(n*log(n))} in the worst case
+	 * <li>not in-place - a temporary buffer of length {@code toIndex - fromIndex}
+	 * is allocated
+	 * </ul>
+	 *
+	 * @param b          the buffer to be sorted
+	 * @param comparator used to compare values from {@code b}. useful when the
+	 *                   integers are identifiers or indices referencing some
+	 *                   external data structure.
+	 * @param fromIndex  the index of the first element (inclusive) to be sorted
+	 * @param toIndex    the index of the last element (exclusive) to be sorted
+	 *
+	 * @throws IllegalArgumentException  if {@code fromIndex > toIndex}
+	 * @throws IndexOutOfBoundsException if
+	 *                                   {@code fromIndex < 0 or toIndex > b.capacity()}
+	 */
+	public static void mergeSort(SmallIntBuffer b, IntBinaryOperator comparator, int fromIndex, int toIndex) {
+		rangeCheck(b.capacity(), fromIndex, toIndex);
+
+		int n = toIndex - fromIndex;
+		if (n <= 1)
+			return;
+
+		SmallIntBuffer aux = BufferUtils.allocateBig((long) n << 2).asIntBuffer();
+		for (int i = 0; i < n; i++)
+			aux.put(i, b.get(fromIndex + i));
+
+		mergeSort(aux, b, comparator, fromIndex, toIndex, -fromIndex);
+	}
+
+	// based on java.util.Arrays.legacyMergeSort
+	private static void mergeSort(SmallIntBuffer src, SmallIntBuffer dest, IntBinaryOperator comparator, int low,
+			int high, int off) {
+
+		int length = high - low;
+
+		// insertion sort on smallest ranges
+		if (length < SMALL_MERGE) {
+			for (int i = low + 1; i < high; i++) {
+				int x = dest.get(i);
+				int j = i - 1;
+				for (int xj; j >= low && comparator.applyAsInt(xj = dest.get(j), x) > 0; j--)
+					dest.put(j + 1, xj);
+				dest.put(j + 1, x);
+			}
+			return;
+		}
+
+		// recursively sort halves of dest into src
+		int destLow = low;
+		int destHigh = high;
+		low += off;
+		high += off;
+		int mid = (low + high) >>> 1;
+		mergeSort(dest, src, comparator, low, mid, -off);
+		mergeSort(dest, src, comparator, mid, high, -off);
+
+		// if range is already sorted, just copy from src to dest
+		if (comparator.applyAsInt(src.get(mid - 1), src.get(mid)) <= 0) {
+			for (int i = destLow, p = low; i < destHigh; i++, p++)
+				dest.put(i, src.get(p));
+			return;
+		}
+
+		// merge sorted halves (now in src) into dest
+		for (int i = destLow, p = low, q = mid; i < destHigh; i++) {
+			if (q >= high || p < mid && comparator.applyAsInt(src.get(p), src.get(q)) <= 0)
+				dest.put(i, src.get(p++));
+			else
+				dest.put(i, src.get(q++));
+		}
+	}
+
+	/**
+	 * Sorts a range of the specified {@link SmallIntBuffer} in ascending order (lowest
+	 * first), using the {@link ForkJoinPool#commonPool() common pool}. The range is
+	 * divided into chunks which are sorted with
+	 * {@link BufferSort#mergeSort(SmallIntBuffer, IntBinaryOperator, int, int)
+	 * mergeSort}, and then merged in parallel. Like {@code mergeSort}, this sort is
+	 * stable. A temporary buffer of length {@code toIndex - fromIndex} is allocated.
+	 * <p>
+	 * Falls back to {@code mergeSort} if the range is small, or if the common
+	 * pool's parallelism is one. The comparator must be thread-safe.
+	 *
+	 * @param b          the buffer to be sorted
+	 * @param comparator used to compare values from {@code b}. useful when the
+	 *                   integers are identifiers or indices referencing some
+	 *                   external data structure.
+	 * @param fromIndex  the index of the first element (inclusive) to be sorted
+	 * @param toIndex    the index of the last element (exclusive) to be sorted
+	 *
+	 * @throws IllegalArgumentException  if {@code fromIndex > toIndex}
+	 * @throws IndexOutOfBoundsException if
+	 *                                   {@code fromIndex < 0 or toIndex > b.capacity()}
+	 */
+	public static void parallelMergeSort(SmallIntBuffer b, IntBinaryOperator comparator, int fromIndex,
+			int toIndex) {
+		rangeCheck(b.capacity(), fromIndex, toIndex);
+
+		final int n = toIndex - fromIndex;
+		final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+		if (n <= MIN_PARALLEL || parallelism == 1) {
+			mergeSort(b, comparator, fromIndex, toIndex);
+			return;
+		}
+
+		final int grain = Math.max(n / (parallelism << 2), MIN_PARALLEL);
+		final SmallIntBuffer w = BufferUtils.allocateBig((long) n << 2).asIntBuffer();
+
+		ForkJoinPool.commonPool().invoke(ForkJoinTask
+				.adapt(() -> parallelMergeSort(b, w, -fromIndex, comparator, fromIndex, toIndex, grain, false)));
+	}
+
+	// sorts b[lo, hi), leaving the result in either b or w (w is indexed by i + wOff)
+	private static void parallelMergeSort(SmallIntBuffer b, SmallIntBuffer w, int wOff, IntBinaryOperator comparator,
+			int lo, int hi, int grain, boolean intoW) {
+
+		if (hi - lo <= grain) {
+			mergeSort(b, comparator, lo, hi);
+			if (intoW)
+				for (int i = lo; i < hi; i++)
+					w.put(i + wOff, b.get(i));
+			return;
+		}
+
+		// sort each half into the other buffer, then merge back
+		final int mid = (lo + hi) >>> 1;
+		ForkJoinTask.invokeAll(
+				ForkJoinTask.adapt(() -> parallelMergeSort(b, w, wOff, comparator, lo, mid, grain, !intoW)),
+				ForkJoinTask.adapt(() -> parallelMergeSort(b, w, wOff, comparator, mid, hi, grain, !intoW)));
+
+		if (intoW)
+			parallelMerge(b, 0, w, wOff, comparator, lo, mid, mid, hi, lo, grain);
+		else
+			parallelMerge(w, wOff, b, 0, comparator, lo, mid, mid, hi, lo, grain);
+	}
+
+	// stable merge of src[aLo, aHi) and src[bLo, bHi) into dst starting at dLo
+	private static void parallelMerge(SmallIntBuffer src, int srcOff, SmallIntBuffer dst, int dstOff,
+			IntBinaryOperator comparator, int aLo, int aHi, int bLo, int bHi, int dLo, int grain) {
+
+		if (aHi - aLo + bHi - bLo <= grain) {
+			int i = aLo, j = bLo, d = dLo + dstOff;
+			while (i < aHi && j < bHi) {
+				int x = src.get(i + srcOff);
+				int y = src.get(j + srcOff);
+				if (comparator.applyAsInt(x, y) <= 0) {
+					dst.put(d++, x);
+					i++;
+				} else {
+					dst.put(d++, y);
+					j++;
+				}
+			}
+			while (i < aHi)
+				dst.put(d++, src.get(srcOff + i++));
+			while (j < bHi)
+				dst.put(d++, src.get(srcOff + j++));
+			return;
+		}
+
+		// split on the larger range. Elements from a which are equal to elements
+		// from b must end up on the left, to preserve stability.
+		final int aMid, bMid;
+		if (aHi - aLo >= bHi - bLo) {
+			aMid = (aLo + aHi) >>> 1;
+			final int pivot = src.get(aMid + srcOff);
+			int lo = bLo, hi = bHi;
+			while (lo < hi) {
+				int m = (lo + hi) >>> 1;
+				if (comparator.applyAsInt(src.get(m + srcOff), pivot) < 0)
+					lo = m + 1;
+				else
+					hi = m;
+			}
+			bMid = lo;
+		} else {
+			bMid = (bLo + bHi) >>> 1;
+			final int pivot = src.get(bMid + srcOff);
+			int lo = aLo, hi = aHi;
+			while (lo < hi) {
+				int m = (lo + hi) >>> 1;
+				if (comparator.applyAsInt(src.get(m + srcOff), pivot) <= 0)
+					lo = m + 1;
+				else
+					hi = m;
+			}
+			aMid = lo;
+		}
+		final int dMid = dLo + (aMid - aLo) + (bMid - bLo);
+
+		ForkJoinTask.invokeAll(
+				ForkJoinTask.adapt(
+						() -> parallelMerge(src, srcOff, dst, dstOff, comparator, aLo, aMid, bLo, bMid, dLo, grain)),
+				ForkJoinTask.adapt(
+						() -> parallelMerge(src, srcOff, dst, dstOff, comparator, aMid, aHi, bMid, bHi, dMid, grain)));
+	}
+
 	/**
 	 * Sorts a range of the specified {@link SmallLongBuffer} in ascending order
 	 * (lowest first). The sort is:
@@ -2090,4 +2942,444 @@ public class BufferSort {
 			heapSort(b, fromIndex, toIndex);
 	}
 
+	/**
+	 * Sorts a range of the specified {@link SmallIntBuffer} in ascending order (lowest
+	 * first), using the {@link ForkJoinPool#commonPool() common pool}. The range is
+	 * divided into chunks which are sorted with
+	 * {@link BufferSort#sort(SmallIntBuffer, int, int) sort}, and then merged in
+	 * parallel. A temporary buffer of length {@code toIndex - fromIndex} is
+	 * allocated.
+	 * <p>
+	 * Falls back to {@link BufferSort#sort(SmallIntBuffer, int, int) sort} if the range
+	 * is small, or if the common pool's parallelism is one.
+	 *
+	 * @param b         the buffer to be sorted
+	 * @param fromIndex the index of the first element (inclusive) to be sorted
+	 * @param toIndex   the index of the last element (exclusive) to be sorted
+	 *
+	 * @throws IllegalArgumentException  if {@code fromIndex > toIndex}
+	 * @throws IndexOutOfBoundsException if
+	 *                                   {@code fromIndex < 0 or toIndex > b.capacity()}
+	 */
+	public static void parallelSort(SmallIntBuffer b, int fromIndex, int toIndex) {
+		rangeCheck(b.capacity(), fromIndex, toIndex);
+
+		final int n = toIndex - fromIndex;
+		final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+		if (n <= MIN_PARALLEL || parallelism == 1) {
+			sort(b, fromIndex, toIndex);
+			return;
+		}
+
+		final int grain = Math.max(n / (parallelism << 2), MIN_PARALLEL);
+		final SmallIntBuffer w = BufferUtils.allocateBig((long) n << 2).asIntBuffer();
+
+		ForkJoinPool.commonPool()
+				.invoke(ForkJoinTask.adapt(() -> parallelSort(b, w, -fromIndex, fromIndex, toIndex, grain, false)));
+	}
+
+	// sorts b[lo, hi), leaving the result in either b or w (w is indexed by i + wOff)
+	private static void parallelSort(SmallIntBuffer b, SmallIntBuffer w, int wOff, int lo, int hi, int grain,
+			boolean intoW) {
+
+		if (hi - lo <= grain) {
+			sort(b, lo, hi);
+			if (intoW)
+				for (int i = lo; i < hi; i++)
+					w.put(i + wOff, b.get(i));
+			return;
+		}
+
+		// sort each half into the other buffer, then merge back
+		final int mid = (lo + hi) >>> 1;
+		ForkJoinTask.invokeAll(ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, lo, mid, grain, !intoW)),
+				ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, mid, hi, grain, !intoW)));
+
+		if (intoW)
+			parallelMerge(b, 0, w, wOff, lo, mid, mid, hi, lo, grain);
+		else
+			parallelMerge(w, wOff, b, 0, lo, mid, mid, hi, lo, grain);
+	}
+
+	// merges src[aLo, aHi) and src[bLo, bHi) into dst starting at dLo
+	private static void parallelMerge(SmallIntBuffer src, int srcOff, SmallIntBuffer dst, int dstOff, int aLo, int aHi,
+			int bLo, int bHi, int dLo, int grain) {
+
+		if (aHi - aLo < bHi - bLo) {
+			// split on the larger range
+			parallelMerge(src, srcOff, dst, dstOff, bLo, bHi, aLo, aHi, dLo, grain);
+			return;
+		}
+
+		if (aHi - aLo + bHi - bLo <= grain) {
+			int i = aLo, j = bLo, d = dLo + dstOff;
+			while (i < aHi && j < bHi) {
+				int x = src.get(i + srcOff);
+				int y = src.get(j + srcOff);
+				if (x <= y) {
+					dst.put(d++, x);
+					i++;
+				} else {
+					dst.put(d++, y);
+					j++;
+				}
+			}
+			while (i < aHi)
+				dst.put(d++, src.get(srcOff + i++));
+			while (j < bHi)
+				dst.put(d++, src.get(srcOff + j++));
+			return;
+		}
+
+		// find first element in b which is not less than the pivot
+		final int aMid = (aLo + aHi) >>> 1;
+		final int y = src.get(aMid + srcOff);
+		int lo = bLo, hi = bHi;
+		while (lo < hi) {
+			int m = (lo + hi) >>> 1;
+			int x = src.get(m + srcOff);
+			if (x < y)
+				lo = m + 1;
+			else
+				hi = m;
+		}
+		final int bMid = lo;
+		final int dMid = dLo + (aMid - aLo) + (bMid - bLo);
+
+		ForkJoinTask.invokeAll(
+				ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aLo, aMid, bLo, bMid, dLo, grain)),
+				ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aMid, aHi, bMid, bHi, dMid, grain)));
+	}
+
+	/**
+	 * Sorts a range of the specified {@link SmallLongBuffer} in ascending order (lowest
+	 * first), using the {@link ForkJoinPool#commonPool() common pool}. The range is
+	 * divided into chunks which are sorted with
+	 * {@link BufferSort#sort(SmallLongBuffer, int, int) sort}, and then merged in
+	 * parallel. A temporary buffer of length {@code toIndex - fromIndex} is
+	 * allocated.
+	 * <p>
+	 * Falls back to {@link BufferSort#sort(SmallLongBuffer, int, int) sort} if the range
+	 * is small, or if the common pool's parallelism is one.
+	 *
+	 * @param b         the buffer to be sorted
+	 * @param fromIndex the index of the first element (inclusive) to be sorted
+	 * @param toIndex   the index of the last element (exclusive) to be sorted
+	 *
+	 * @throws IllegalArgumentException  if {@code fromIndex > toIndex}
+	 * @throws IndexOutOfBoundsException if
+	 *                                   {@code fromIndex < 0 or toIndex > b.capacity()}
+	 */
+	public static void parallelSort(SmallLongBuffer b, int fromIndex, int toIndex) {
+		rangeCheck(b.capacity(), fromIndex, toIndex);
+
+		final int n = toIndex - fromIndex;
+		final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+		if (n <= MIN_PARALLEL || parallelism == 1) {
+			sort(b, fromIndex, toIndex);
+			return;
+		}
+
+		final int grain = Math.max(n / (parallelism << 2), MIN_PARALLEL);
+		final SmallLongBuffer w = BufferUtils.allocateBig((long) n << 3).asLongBuffer();
+
+		ForkJoinPool.commonPool()
+				.invoke(ForkJoinTask.adapt(() -> parallelSort(b, w, -fromIndex, fromIndex, toIndex, grain, false)));
+	}
+
+	// sorts b[lo, hi), leaving the result in either b or w (w is indexed by i + wOff)
+	private static void parallelSort(SmallLongBuffer b, SmallLongBuffer w, int wOff, int lo, int hi, int grain,
+			boolean intoW) {
+
+		if (hi - lo <= grain) {
+			sort(b, lo, hi);
+			if (intoW)
+				for (int i = lo; i < hi; i++)
+					w.put(i + wOff, b.get(i));
+			return;
+		}
+
+		// sort each half into the other buffer, then merge back
+		final int mid = (lo + hi) >>> 1;
+		ForkJoinTask.invokeAll(ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, lo, mid, grain, !intoW)),
+				ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, mid, hi, grain, !intoW)));
+
+		if (intoW)
+			parallelMerge(b, 0, w, wOff, lo, mid, mid, hi, lo, grain);
+		else
+			parallelMerge(w, wOff, b, 0, lo, mid, mid, hi, lo, grain);
+	}
+
+	// merges src[aLo, aHi) and src[bLo, bHi) into dst starting at dLo
+	private static void parallelMerge(SmallLongBuffer src, int srcOff, SmallLongBuffer dst, int dstOff, int aLo, int aHi,
+			int bLo, int bHi, int dLo, int grain) {
+
+		if (aHi - aLo < bHi - bLo) {
+			// split on the larger range
+			parallelMerge(src, srcOff, dst, dstOff, bLo, bHi, aLo, aHi, dLo, grain);
+			return;
+		}
+
+		if (aHi - aLo + bHi - bLo <= grain) {
+			int i = aLo, j = bLo, d = dLo + dstOff;
+			while (i < aHi && j < bHi) {
+				long x = src.get(i + srcOff);
+				long y = src.get(j + srcOff);
+				if (x <= y) {
+					dst.put(d++, x);
+					i++;
+				} else {
+					dst.put(d++, y);
+					j++;
+				}
+			}
+			while (i < aHi)
+				dst.put(d++, src.get(srcOff + i++));
+			while (j < bHi)
+				dst.put(d++, src.get(srcOff + j++));
+			return;
+		}
+
+		// find first element in b which is not less than the pivot
+		final int aMid = (aLo + aHi) >>> 1;
+		final long y = src.get(aMid + srcOff);
+		int lo = bLo, hi = bHi;
+		while (lo < hi) {
+			int m = (lo + hi) >>> 1;
+			long x = src.get(m + srcOff);
+			if (x < y)
+				lo = m + 1;
+			else
+				hi = m;
+		}
+		final int bMid = lo;
+		final int dMid = dLo + (aMid - aLo) + (bMid - bLo);
+
+		ForkJoinTask.invokeAll(
+				ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aLo, aMid, bLo, bMid, dLo, grain)),
+				ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aMid, aHi, bMid, bHi, dMid, grain)));
+	}
+
+	/**
+	 * Sorts a range of the specified {@link SmallFloatBuffer} in ascending order (lowest
+	 * first), using the {@link ForkJoinPool#commonPool() common pool}. The range is
+	 * divided into chunks which are sorted with
+	 * {@link BufferSort#sort(SmallFloatBuffer, int, int) sort}, and then merged in
+	 * parallel. A temporary buffer of length {@code toIndex - fromIndex} is
+	 * allocated.
+	 * <p>
+	 * Falls back to {@link BufferSort#sort(SmallFloatBuffer, int, int) sort} if the range
+	 * is small, or if the common pool's parallelism is one.
+	 *
+	 * @param b         the buffer to be sorted
+	 * @param fromIndex the index of the first element (inclusive) to be sorted
+	 * @param toIndex   the index of the last element (exclusive) to be sorted
+	 *
+	 * @throws IllegalArgumentException  if {@code fromIndex > toIndex}
+	 * @throws IndexOutOfBoundsException if
+	 *                                   {@code fromIndex < 0 or toIndex > b.capacity()}
+	 */
+	public static void parallelSort(SmallFloatBuffer b, int fromIndex, int toIndex) {
+		rangeCheck(b.capacity(), fromIndex, toIndex);
+
+		final int n = toIndex - fromIndex;
+		final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+		if (n <= MIN_PARALLEL || parallelism == 1) {
+			sort(b, fromIndex, toIndex);
+			return;
+		}
+
+		final int grain = Math.max(n / (parallelism << 2), MIN_PARALLEL);
+		final SmallFloatBuffer w = BufferUtils.allocateBig((long) n << 2).asFloatBuffer();
+
+		ForkJoinPool.commonPool()
+				.invoke(ForkJoinTask.adapt(() -> parallelSort(b, w, -fromIndex, fromIndex, toIndex, grain, false)));
+	}
+
+	// sorts b[lo, hi), leaving the result in either b or w (w is indexed by i + wOff)
+	private static void parallelSort(SmallFloatBuffer b, SmallFloatBuffer w, int wOff, int lo, int hi, int grain,
+			boolean intoW) {
+
+		if (hi - lo <= grain) {
+			sort(b, lo, hi);
+			if (intoW)
+				for (int i = lo; i < hi; i++)
+					w.put(i + wOff, b.get(i));
+			return;
+		}
+
+		// sort each half into the other buffer, then merge back
+		final int mid = (lo + hi) >>> 1;
+		ForkJoinTask.invokeAll(ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, lo, mid, grain, !intoW)),
+				ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, mid, hi, grain, !intoW)));
+
+		if (intoW)
+			parallelMerge(b, 0, w, wOff, lo, mid, mid, hi, lo, grain);
+		else
+			parallelMerge(w, wOff, b, 0, lo, mid, mid, hi, lo, grain);
+	}
+
+	// merges src[aLo, aHi) and src[bLo, bHi) into dst starting at dLo
+	private static void parallelMerge(SmallFloatBuffer src, int srcOff, SmallFloatBuffer dst, int dstOff, int aLo, int aHi,
+			int bLo, int bHi, int dLo, int grain) {
+
+		if (aHi - aLo < bHi - bLo) {
+			// split on the larger range
+			parallelMerge(src, srcOff, dst, dstOff, bLo, bHi, aLo, aHi, dLo, grain);
+			return;
+		}
+
+		if (aHi - aLo + bHi - bLo <= grain) {
+			int i = aLo, j = bLo, d = dLo + dstOff;
+			while (i < aHi && j < bHi) {
+				float x = src.get(i + srcOff);
+				float y = src.get(j + srcOff);
+				if (Float.compare(x, y) <= 0) {
+					dst.put(d++, x);
+					i++;
+				} else {
+					dst.put(d++, y);
+					j++;
+				}
+			}
+			while (i < aHi)
+				dst.put(d++, src.get(srcOff + i++));
+			while (j < bHi)
+				dst.put(d++, src.get(srcOff + j++));
+			return;
+		}
+
+		// find first element in b which is not less than the pivot
+		final int aMid = (aLo + aHi) >>> 1;
+		final float y = src.get(aMid + srcOff);
+		int lo = bLo, hi = bHi;
+		while (lo < hi) {
+			int m = (lo + hi) >>> 1;
+			float x = src.get(m + srcOff);
+			if (Float.compare(x, y) < 0)
+				lo = m + 1;
+			else
+				hi = m;
+		}
+		final int bMid = lo;
+		final int dMid = dLo + (aMid - aLo) + (bMid - bLo);
+
+		ForkJoinTask.invokeAll(
+				ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aLo, aMid, bLo, bMid, dLo, grain)),
+				ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aMid, aHi, bMid, bHi, dMid, grain)));
+	}
+
+	/**
+	 * Sorts a range of the specified {@link SmallDoubleBuffer} in ascending order (lowest
+	 * first), using the {@link ForkJoinPool#commonPool() common pool}. The range is
+	 * divided into chunks which are sorted with
+	 * {@link BufferSort#sort(SmallDoubleBuffer, int, int) sort}, and then merged in
+	 * parallel. A temporary buffer of length {@code toIndex - fromIndex} is
+	 * allocated.
+	 * <p>
+	 * Falls back to {@link BufferSort#sort(SmallDoubleBuffer, int, int) sort} if the range
+	 * is small, or if the common pool's parallelism is one.
+	 *
+	 * @param b         the buffer to be sorted
+	 * @param fromIndex the index of the first element (inclusive) to be sorted
+	 * @param toIndex   the index of the last element (exclusive) to be sorted
+	 *
+	 * @throws IllegalArgumentException  if {@code fromIndex > toIndex}
+	 * @throws IndexOutOfBoundsException if
+	 *                                   {@code fromIndex < 0 or toIndex > b.capacity()}
+	 */
+	public static void parallelSort(SmallDoubleBuffer b, int fromIndex, int toIndex) {
+		rangeCheck(b.capacity(), fromIndex, toIndex);
+
+		final int n = toIndex - fromIndex;
+		final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+		if (n <= MIN_PARALLEL || parallelism == 1) {
+			sort(b, fromIndex, toIndex);
+			return;
+		}
+
+		final int grain = Math.max(n / (parallelism << 2), MIN_PARALLEL);
+		final SmallDoubleBuffer w = BufferUtils.allocateBig((long) n << 3).asDoubleBuffer();
+
+		ForkJoinPool.commonPool()
+				.invoke(ForkJoinTask.adapt(() -> parallelSort(b, w, -fromIndex, fromIndex, toIndex, grain, false)));
+	}
+
+	// sorts b[lo, hi), leaving the result in either b or w (w is indexed by i + wOff)
+	private static void parallelSort(SmallDoubleBuffer b, SmallDoubleBuffer w, int wOff, int lo, int hi, int grain,
+			boolean intoW) {
+
+		if (hi - lo <= grain) {
+			sort(b, lo, hi);
+			if (intoW)
+				for (int i = lo; i < hi; i++)
+					w.put(i + wOff, b.get(i));
+			return;
+		}
+
+		// sort each half into the other buffer, then merge back
+		final int mid = (lo + hi) >>> 1;
+		ForkJoinTask.invokeAll(ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, lo, mid, grain, !intoW)),
+				ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, mid, hi, grain, !intoW)));
+
+		if (intoW)
+			parallelMerge(b, 0, w, wOff, lo, mid, mid, hi, lo, grain);
+		else
+			parallelMerge(w, wOff, b, 0, lo, mid, mid, hi, lo, grain);
+	}
+
+	// merges src[aLo, aHi) and src[bLo, bHi) into dst starting at dLo
+	private static void parallelMerge(SmallDoubleBuffer src, int srcOff, SmallDoubleBuffer dst, int dstOff, int aLo, int aHi,
+			int bLo, int bHi, int dLo, int grain) {
+
+		if (aHi - aLo < bHi - bLo) {
+			// split on the larger range
+			parallelMerge(src, srcOff, dst, dstOff, bLo, bHi, aLo, aHi, dLo, grain);
+			return;
+		}
+
+		if (aHi - aLo + bHi - bLo <= grain) {
+			int i = aLo, j = bLo, d = dLo + dstOff;
+			while (i < aHi && j < bHi) {
+				double x = src.get(i + srcOff);
+				double y = src.get(j + srcOff);
+				if (Double.compare(x, y) <= 0) {
+					dst.put(d++, x);
+					i++;
+				} else {
+					dst.put(d++, y);
+					j++;
+				}
+			}
+			while (i < aHi)
+				dst.put(d++, src.get(srcOff + i++));
+			while (j < bHi)
+				dst.put(d++, src.get(srcOff + j++));
+			return;
+		}
+
+		// find first element in b which is not less than the pivot
+		final int aMid = (aLo + aHi) >>> 1;
+		final double y = src.get(aMid + srcOff);
+		int lo = bLo, hi = bHi;
+		while (lo < hi) {
+			int m = (lo + hi) >>> 1;
+			double x = src.get(m + srcOff);
+			if (Double.compare(x, y) < 0)
+				lo = m + 1;
+			else
+				hi = m;
+		}
+		final int bMid = lo;
+		final int dMid = dLo + (aMid - aLo) + (bMid - bLo);
+
+		ForkJoinTask.invokeAll(
+				ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aLo, aMid, bLo, bMid, dLo, grain)),
+				ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aMid, aHi, bMid, bHi, dMid, grain)));
+	}
+
 }
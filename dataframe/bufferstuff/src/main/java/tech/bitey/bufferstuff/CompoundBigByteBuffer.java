@@ -92,6 +92,11 @@ final class CompoundBigByteBuffer extends AbstractBigByteBuffer {
 		return buffers;
 	}
 
+	@Override
+	public boolean isReadOnly() {
+		return buffers[0].isReadOnly();
+	}
+
 	@Override
 	public long position() {
 		return position;
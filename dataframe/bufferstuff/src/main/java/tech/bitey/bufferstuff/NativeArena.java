@@ -0,0 +1,183 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.bitey.bufferstuff;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+/**
+ * Allocates buffers in native memory which is freed as soon as the arena is
+ * {@link #close() closed}, rather than once the buffers have been garbage
+ * collected as with {@link ByteBuffer#allocateDirect(int)}. Any access to a
+ * buffer allocated by an arena after it has been closed throws
+ * {@link IllegalStateException}, rather than touching freed memory.
+ * <p>
+ * Each allocation is a single {@code jdk.incubator.foreign} memory segment. A
+ * {@link BigByteBuffer} larger than one chunk is made up of views of
+ * consecutive slices of its segment, so its chunks are contiguous in memory.
+ * <p>
+ * Arenas require the {@code jdk.incubator.foreign} module (for example,
+ * {@code --add-modules jdk.incubator.foreign}), see {@link #isSupported()}. An
+ * arena can be used by any number of threads, but it cannot be closed while
+ * another thread is accessing one of its buffers.
+ * <p>
+ * An arena is also a {@link BufferAllocator}, so it can be selected via
+ * {@link BufferUtils#setAllocator(BufferAllocator)} in place of the heap or
+ * direct allocators. Columns and bitsets built while it is selected must then
+ * not be used after the arena is closed.
+ *
+ * @author biteytech@protonmail.com
+ */
+public final class NativeArena implements BufferAllocator, AutoCloseable {
+
+	private static final String FOREIGN_MODULE = "jdk.incubator.foreign";
+
+	private final ResourceScope scope;
+
+	private NativeArena(ResourceScope scope) {
+		this.scope = scope;
+	}
+
+	/**
+	 * Tells whether or not arenas can be opened, which requires the
+	 * {@code jdk.incubator.foreign} module.
+	 *
+	 * @return true if, and only if, {@link #open()} will succeed
+	 */
+	public static boolean isSupported() {
+		return ModuleLayer.boot().findModule(FOREIGN_MODULE).isPresent();
+	}
+
+	/**
+	 * Opens a new arena.
+	 *
+	 * @return a new arena
+	 *
+	 * @throws UnsupportedOperationException if the {@code jdk.incubator.foreign}
+	 *                                       module is not present
+	 */
+	public static NativeArena open() {
+		if (!isSupported())
+			throw new UnsupportedOperationException(FOREIGN_MODULE + " module is not present");
+
+		return new NativeArena(ResourceScope.newSharedScope());
+	}
+
+	/**
+	 * Allocates a new, zeroed {@link ByteBuffer} in native memory, with the
+	 * specified capacity. The buffer will have {@link ByteOrder#BIG_ENDIAN
+	 * big-endian} order.
+	 *
+	 * @param capacity the new buffer's capacity, in bytes
+	 *
+	 * @return the new {@code ByteBuffer}
+	 *
+	 * @throws IllegalStateException if this arena is closed
+	 */
+	@Override
+	public ByteBuffer allocate(int capacity) {
+		// an empty segment cannot be allocated, and holds no memory to free
+		return capacity == 0 ? ByteBuffer.allocateDirect(0) : segment(capacity).asByteBuffer();
+	}
+
+	/**
+	 * Allocates a new, zeroed {@link BigByteBuffer} in native memory, with the
+	 * specified capacity. The buffer will have {@link ByteOrder#nativeOrder()
+	 * native order}.
+	 *
+	 * @param capacity the new buffer's capacity, in bytes
+	 *
+	 * @return the new {@code BigByteBuffer}
+	 *
+	 * @throws IllegalStateException if this arena is closed
+	 */
+	public BigByteBuffer allocateBig(long capacity) {
+		return allocateBig(capacity, ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Allocates a new, zeroed {@link BigByteBuffer} in native memory, with the
+	 * specified capacity and {@link ByteOrder}.
+	 *
+	 * @param capacity the new buffer's capacity, in bytes
+	 * @param order    the {@code ByteOrder}
+	 *
+	 * @return the new {@code BigByteBuffer}
+	 *
+	 * @throws IllegalStateException if this arena is closed
+	 */
+	public BigByteBuffer allocateBig(long capacity, ByteOrder order) {
+
+		checkCapacity(capacity);
+
+		if (capacity <= CompoundBigByteBuffer.CHUNK_SIZE)
+			return new SimpleBigByteBuffer(allocate((int) capacity).order(order));
+		else {
+			final MemorySegment segment = segment(capacity);
+
+			int chunks = (int) (capacity >> CompoundBigByteBuffer.CHUNK_BITS);
+			int remainder = (int) (capacity & CompoundBigByteBuffer.CHUNK_MASK);
+
+			ByteBuffer buffers[] = new ByteBuffer[chunks + (remainder > 0 ? 1 : 0)];
+			for (int i = 0; i < buffers.length; i++) {
+				final long offset = (long) i << CompoundBigByteBuffer.CHUNK_BITS;
+				final int size = i < chunks ? CompoundBigByteBuffer.CHUNK_SIZE : remainder;
+				buffers[i] = segment.asSlice(offset, size).asByteBuffer().order(order);
+			}
+
+			return new CompoundBigByteBuffer(buffers);
+		}
+	}
+
+	private MemorySegment segment(long capacity) {
+		checkCapacity(capacity);
+
+		return MemorySegment.allocateNative(capacity, Long.BYTES, scope);
+	}
+
+	private static void checkCapacity(long capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException("capacity must be non-negative");
+	}
+
+	/**
+	 * Tells whether or not this arena is still open.
+	 *
+	 * @return true if, and only if, this arena has not been closed
+	 */
+	public boolean isAlive() {
+		return scope.isAlive();
+	}
+
+	/**
+	 * Frees the memory behind every buffer allocated by this arena. Those buffers
+	 * can no longer be used afterwards. Closing an arena which is already closed
+	 * has no effect.
+	 *
+	 * @throws IllegalStateException if another thread is accessing one of the
+	 *                               buffers
+	 */
+	@Override
+	public synchronized void close() {
+		if (scope.isAlive())
+			scope.close();
+	}
+}
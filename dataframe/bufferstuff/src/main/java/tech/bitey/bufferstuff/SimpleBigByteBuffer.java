@@ -47,6 +47,11 @@ final class SimpleBigByteBuffer extends AbstractBigByteBuffer {
 		return new ByteBuffer[] { buffer };
 	}
 
+	@Override
+	public boolean isReadOnly() {
+		return buffer.isReadOnly();
+	}
+
 	@Override
 	public long position() {
 		return buffer.position();
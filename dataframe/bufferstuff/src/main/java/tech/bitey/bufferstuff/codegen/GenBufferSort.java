@@ -38,10 +38,15 @@ public class GenBufferSort implements GenBufferCode {
 		String s = small ? "Small" : "";
 
 		section(out, heapSort("int", s + "IntBuffer", "b.get(l) > b.get(largest)", "b.get(r) > b.get(largest)"));
-		if (small)
+		if (small) {
 			section(out, HEAP_SORT_COMP.replace("IntBuffer", "SmallIntBuffer"));
-		else
+			section(out, mergeSortComp("SmallIntBuffer", "BufferUtils.allocateBig((long) n << 2).asIntBuffer()"));
+			section(out, parallelMergeSortComp("SmallIntBuffer", "BufferUtils.allocateBig((long) n << 2).asIntBuffer()"));
+		} else {
 			section(out, HEAP_SORT_COMP);
+			section(out, mergeSortComp("IntBuffer", "IntBuffer.allocate(n)"));
+			section(out, parallelMergeSortComp("IntBuffer", "IntBuffer.allocate(n)"));
+		}
 		section(out, heapSort("long", s + "LongBuffer", "b.get(l) > b.get(largest)", "b.get(r) > b.get(largest)"));
 		section(out, heapSort("short", s + "ShortBuffer", "b.get(l) > b.get(largest)", "b.get(r) > b.get(largest)"));
 		section(out, heapSort("byte", s + "ByteBuffer", "b.get(l) > b.get(largest)", "b.get(r) > b.get(largest)"));
@@ -69,6 +74,20 @@ public class GenBufferSort implements GenBufferCode {
 		section(out, insertionHeapCounting(s + "ByteBuffer", "10^5", "100000"));
 		section(out, insertionHeap(s + "FloatBuffer"));
 		section(out, insertionHeap(s + "DoubleBuffer"));
+
+		section(out, parallelSort("int", s + "IntBuffer", allocateAux(small, "Int", 2), "x <= y", "x < y"));
+		section(out, parallelSort("long", s + "LongBuffer", allocateAux(small, "Long", 3), "x <= y", "x < y"));
+		section(out, parallelSort("float", s + "FloatBuffer", allocateAux(small, "Float", 2),
+				"Float.compare(x, y) <= 0", "Float.compare(x, y) < 0"));
+		section(out, parallelSort("double", s + "DoubleBuffer", allocateAux(small, "Double", 3),
+				"Double.compare(x, y) <= 0", "Double.compare(x, y) < 0"));
+	}
+
+	private static String allocateAux(boolean small, String type, int shift) {
+		if (small)
+			return "BufferUtils.allocateBig((long) n << " + shift + ").as" + type + "Buffer()";
+		else
+			return type + "Buffer.allocate(n)";
 	}
 
 	private static String heapSort(String valType, String bufferType, String compareL, String compareR) {
@@ -76,6 +95,20 @@ public class GenBufferSort implements GenBufferCode {
 				.replace(COMPARE_R, compareR);
 	}
 
+	private static String mergeSortComp(String bufferType, String allocateAux) {
+		return MERGE_SORT_COMP.replace(BUFFER_TYPE, bufferType).replace(ALLOCATE_AUX, allocateAux);
+	}
+
+	private static String parallelMergeSortComp(String bufferType, String allocateAux) {
+		return PARALLEL_MERGE_SORT_COMP.replace(BUFFER_TYPE, bufferType).replace(ALLOCATE_AUX, allocateAux);
+	}
+
+	private static String parallelSort(String valType, String bufferType, String allocateAux, String compareLE,
+			String compareLT) {
+		return PARALLEL_SORT.replace(VAL_TYPE, valType).replace(BUFFER_TYPE, bufferType)
+				.replace(ALLOCATE_AUX, allocateAux).replace(COMPARE_LE, compareLE).replace(COMPARE_LT, compareLT);
+	}
+
 	private static String radixSort(String valType, String bufferType, String highBitName) {
 		return RADIX_SORT.replace(VAL_TYPE, valType).replace(BUFFER_TYPE, bufferType).replace(HIGH_BIT_NAME,
 				highBitName);
@@ -114,6 +147,9 @@ public class GenBufferSort implements GenBufferCode {
 	private static final String COUNTING_MASK = "COUNTING_MASK";
 	private static final String HEAP_RANGE_COMMENT = "HEAP_RANGE_COMMENT";
 	private static final String HEAP_RANGE = "HEAP_RANGE";
+	private static final String ALLOCATE_AUX = "ALLOCATE_AUX";
+	private static final String COMPARE_LE = "COMPARE_LE";
+	private static final String COMPARE_LT = "COMPARE_LT";
 
 	private static final String INSERTION_HEAP = """
 				/**
@@ -423,6 +459,326 @@ public class GenBufferSort implements GenBufferCode {
 				}
 			""";
 
+	private static final String MERGE_SORT_COMP = """
+				/**
+				 * Sorts a range of the specified {@link BUFFER_TYPE} in ascending order (lowest
+				 * first). The sort is:
+				 * <ul>
+				 * <li>stable - equal elements will not be reordered
+				 * <li>{@code O(n*log(n))} in the worst case
+				 * <li>not in-place - a temporary buffer of length {@code toIndex - fromIndex}
+				 * is allocated
+				 * </ul>
+				 *
+				 * @param b          the buffer to be sorted
+				 * @param comparator used to compare values from {@code b}. useful when the
+				 *                   integers are identifiers or indices referencing some
+				 *                   external data structure.
+				 * @param fromIndex  the index of the first element (inclusive) to be sorted
+				 * @param toIndex    the index of the last element (exclusive) to be sorted
+				 *
+				 * @throws IllegalArgumentException  if {@code fromIndex > toIndex}
+				 * @throws IndexOutOfBoundsException if
+				 *                                   {@code fromIndex < 0 or toIndex > b.capacity()}
+				 */
+				public static void mergeSort(BUFFER_TYPE b, IntBinaryOperator comparator, int fromIndex, int toIndex) {
+					rangeCheck(b.capacity(), fromIndex, toIndex);
+
+					int n = toIndex - fromIndex;
+					if (n <= 1)
+						return;
+
+					BUFFER_TYPE aux = ALLOCATE_AUX;
+					for (int i = 0; i < n; i++)
+						aux.put(i, b.get(fromIndex + i));
+
+					mergeSort(aux, b, comparator, fromIndex, toIndex, -fromIndex);
+				}
+
+				// based on java.util.Arrays.legacyMergeSort
+				private static void mergeSort(BUFFER_TYPE src, BUFFER_TYPE dest, IntBinaryOperator comparator, int low,
+						int high, int off) {
+
+					int length = high - low;
+
+					// insertion sort on smallest ranges
+					if (length < SMALL_MERGE) {
+						for (int i = low + 1; i < high; i++) {
+							int x = dest.get(i);
+							int j = i - 1;
+							for (int xj; j >= low && comparator.applyAsInt(xj = dest.get(j), x) > 0; j--)
+								dest.put(j + 1, xj);
+							dest.put(j + 1, x);
+						}
+						return;
+					}
+
+					// recursively sort halves of dest into src
+					int destLow = low;
+					int destHigh = high;
+					low += off;
+					high += off;
+					int mid = (low + high) >>> 1;
+					mergeSort(dest, src, comparator, low, mid, -off);
+					mergeSort(dest, src, comparator, mid, high, -off);
+
+					// if range is already sorted, just copy from src to dest
+					if (comparator.applyAsInt(src.get(mid - 1), src.get(mid)) <= 0) {
+						for (int i = destLow, p = low; i < destHigh; i++, p++)
+							dest.put(i, src.get(p));
+						return;
+					}
+
+					// merge sorted halves (now in src) into dest
+					for (int i = destLow, p = low, q = mid; i < destHigh; i++) {
+						if (q >= high || p < mid && comparator.applyAsInt(src.get(p), src.get(q)) <= 0)
+							dest.put(i, src.get(p++));
+						else
+							dest.put(i, src.get(q++));
+					}
+				}
+			""";
+
+	private static final String PARALLEL_SORT = """
+				/**
+				 * Sorts a range of the specified {@link BUFFER_TYPE} in ascending order (lowest
+				 * first), using the {@link ForkJoinPool#commonPool() common pool}. The range is
+				 * divided into chunks which are sorted with
+				 * {@link BufferSort#sort(BUFFER_TYPE, int, int) sort}, and then merged in
+				 * parallel. A temporary buffer of length {@code toIndex - fromIndex} is
+				 * allocated.
+				 * <p>
+				 * Falls back to {@link BufferSort#sort(BUFFER_TYPE, int, int) sort} if the range
+				 * is small, or if the common pool's parallelism is one.
+				 *
+				 * @param b         the buffer to be sorted
+				 * @param fromIndex the index of the first element (inclusive) to be sorted
+				 * @param toIndex   the index of the last element (exclusive) to be sorted
+				 *
+				 * @throws IllegalArgumentException  if {@code fromIndex > toIndex}
+				 * @throws IndexOutOfBoundsException if
+				 *                                   {@code fromIndex < 0 or toIndex > b.capacity()}
+				 */
+				public static void parallelSort(BUFFER_TYPE b, int fromIndex, int toIndex) {
+					rangeCheck(b.capacity(), fromIndex, toIndex);
+
+					final int n = toIndex - fromIndex;
+					final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+					if (n <= MIN_PARALLEL || parallelism == 1) {
+						sort(b, fromIndex, toIndex);
+						return;
+					}
+
+					final int grain = Math.max(n / (parallelism << 2), MIN_PARALLEL);
+					final BUFFER_TYPE w = ALLOCATE_AUX;
+
+					ForkJoinPool.commonPool()
+							.invoke(ForkJoinTask.adapt(() -> parallelSort(b, w, -fromIndex, fromIndex, toIndex, grain, false)));
+				}
+
+				// sorts b[lo, hi), leaving the result in either b or w (w is indexed by i + wOff)
+				private static void parallelSort(BUFFER_TYPE b, BUFFER_TYPE w, int wOff, int lo, int hi, int grain,
+						boolean intoW) {
+
+					if (hi - lo <= grain) {
+						sort(b, lo, hi);
+						if (intoW)
+							for (int i = lo; i < hi; i++)
+								w.put(i + wOff, b.get(i));
+						return;
+					}
+
+					// sort each half into the other buffer, then merge back
+					final int mid = (lo + hi) >>> 1;
+					ForkJoinTask.invokeAll(ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, lo, mid, grain, !intoW)),
+							ForkJoinTask.adapt(() -> parallelSort(b, w, wOff, mid, hi, grain, !intoW)));
+
+					if (intoW)
+						parallelMerge(b, 0, w, wOff, lo, mid, mid, hi, lo, grain);
+					else
+						parallelMerge(w, wOff, b, 0, lo, mid, mid, hi, lo, grain);
+				}
+
+				// merges src[aLo, aHi) and src[bLo, bHi) into dst starting at dLo
+				private static void parallelMerge(BUFFER_TYPE src, int srcOff, BUFFER_TYPE dst, int dstOff, int aLo, int aHi,
+						int bLo, int bHi, int dLo, int grain) {
+
+					if (aHi - aLo < bHi - bLo) {
+						// split on the larger range
+						parallelMerge(src, srcOff, dst, dstOff, bLo, bHi, aLo, aHi, dLo, grain);
+						return;
+					}
+
+					if (aHi - aLo + bHi - bLo <= grain) {
+						int i = aLo, j = bLo, d = dLo + dstOff;
+						while (i < aHi && j < bHi) {
+							VAL_TYPE x = src.get(i + srcOff);
+							VAL_TYPE y = src.get(j + srcOff);
+							if (COMPARE_LE) {
+								dst.put(d++, x);
+								i++;
+							} else {
+								dst.put(d++, y);
+								j++;
+							}
+						}
+						while (i < aHi)
+							dst.put(d++, src.get(srcOff + i++));
+						while (j < bHi)
+							dst.put(d++, src.get(srcOff + j++));
+						return;
+					}
+
+					// find first element in b which is not less than the pivot
+					final int aMid = (aLo + aHi) >>> 1;
+					final VAL_TYPE y = src.get(aMid + srcOff);
+					int lo = bLo, hi = bHi;
+					while (lo < hi) {
+						int m = (lo + hi) >>> 1;
+						VAL_TYPE x = src.get(m + srcOff);
+						if (COMPARE_LT)
+							lo = m + 1;
+						else
+							hi = m;
+					}
+					final int bMid = lo;
+					final int dMid = dLo + (aMid - aLo) + (bMid - bLo);
+
+					ForkJoinTask.invokeAll(
+							ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aLo, aMid, bLo, bMid, dLo, grain)),
+							ForkJoinTask.adapt(() -> parallelMerge(src, srcOff, dst, dstOff, aMid, aHi, bMid, bHi, dMid, grain)));
+				}
+			""";
+
+	private static final String PARALLEL_MERGE_SORT_COMP = """
+				/**
+				 * Sorts a range of the specified {@link BUFFER_TYPE} in ascending order (lowest
+				 * first), using the {@link ForkJoinPool#commonPool() common pool}. The range is
+				 * divided into chunks which are sorted with
+				 * {@link BufferSort#mergeSort(BUFFER_TYPE, IntBinaryOperator, int, int)
+				 * mergeSort}, and then merged in parallel. Like {@code mergeSort}, this sort is
+				 * stable. A temporary buffer of length {@code toIndex - fromIndex} is allocated.
+				 * <p>
+				 * Falls back to {@code mergeSort} if the range is small, or if the common
+				 * pool's parallelism is one. The comparator must be thread-safe.
+				 *
+				 * @param b          the buffer to be sorted
+				 * @param comparator used to compare values from {@code b}. useful when the
+				 *                   integers are identifiers or indices referencing some
+				 *                   external data structure.
+				 * @param fromIndex  the index of the first element (inclusive) to be sorted
+				 * @param toIndex    the index of the last element (exclusive) to be sorted
+				 *
+				 * @throws IllegalArgumentException  if {@code fromIndex > toIndex}
+				 * @throws IndexOutOfBoundsException if
+				 *                                   {@code fromIndex < 0 or toIndex > b.capacity()}
+				 */
+				public static void parallelMergeSort(BUFFER_TYPE b, IntBinaryOperator comparator, int fromIndex,
+						int toIndex) {
+					rangeCheck(b.capacity(), fromIndex, toIndex);
+
+					final int n = toIndex - fromIndex;
+					final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+					if (n <= MIN_PARALLEL || parallelism == 1) {
+						mergeSort(b, comparator, fromIndex, toIndex);
+						return;
+					}
+
+					final int grain = Math.max(n / (parallelism << 2), MIN_PARALLEL);
+					final BUFFER_TYPE w = ALLOCATE_AUX;
+
+					ForkJoinPool.commonPool().invoke(ForkJoinTask
+							.adapt(() -> parallelMergeSort(b, w, -fromIndex, comparator, fromIndex, toIndex, grain, false)));
+				}
+
+				// sorts b[lo, hi), leaving the result in either b or w (w is indexed by i + wOff)
+				private static void parallelMergeSort(BUFFER_TYPE b, BUFFER_TYPE w, int wOff, IntBinaryOperator comparator,
+						int lo, int hi, int grain, boolean intoW) {
+
+					if (hi - lo <= grain) {
+						mergeSort(b, comparator, lo, hi);
+						if (intoW)
+							for (int i = lo; i < hi; i++)
+								w.put(i + wOff, b.get(i));
+						return;
+					}
+
+					// sort each half into the other buffer, then merge back
+					final int mid = (lo + hi) >>> 1;
+					ForkJoinTask.invokeAll(
+							ForkJoinTask.adapt(() -> parallelMergeSort(b, w, wOff, comparator, lo, mid, grain, !intoW)),
+							ForkJoinTask.adapt(() -> parallelMergeSort(b, w, wOff, comparator, mid, hi, grain, !intoW)));
+
+					if (intoW)
+						parallelMerge(b, 0, w, wOff, comparator, lo, mid, mid, hi, lo, grain);
+					else
+						parallelMerge(w, wOff, b, 0, comparator, lo, mid, mid, hi, lo, grain);
+				}
+
+				// stable merge of src[aLo, aHi) and src[bLo, bHi) into dst starting at dLo
+				private static void parallelMerge(BUFFER_TYPE src, int srcOff, BUFFER_TYPE dst, int dstOff,
+						IntBinaryOperator comparator, int aLo, int aHi, int bLo, int bHi, int dLo, int grain) {
+
+					if (aHi - aLo + bHi - bLo <= grain) {
+						int i = aLo, j = bLo, d = dLo + dstOff;
+						while (i < aHi && j < bHi) {
+							int x = src.get(i + srcOff);
+							int y = src.get(j + srcOff);
+							if (comparator.applyAsInt(x, y) <= 0) {
+								dst.put(d++, x);
+								i++;
+							} else {
+								dst.put(d++, y);
+								j++;
+							}
+						}
+						while (i < aHi)
+							dst.put(d++, src.get(srcOff + i++));
+						while (j < bHi)
+							dst.put(d++, src.get(srcOff + j++));
+						return;
+					}
+
+					// split on the larger range. Elements from a which are equal to elements
+					// from b must end up on the left, to preserve stability.
+					final int aMid, bMid;
+					if (aHi - aLo >= bHi - bLo) {
+						aMid = (aLo + aHi) >>> 1;
+						final int pivot = src.get(aMid + srcOff);
+						int lo = bLo, hi = bHi;
+						while (lo < hi) {
+							int m = (lo + hi) >>> 1;
+							if (comparator.applyAsInt(src.get(m + srcOff), pivot) < 0)
+								lo = m + 1;
+							else
+								hi = m;
+						}
+						bMid = lo;
+					} else {
+						bMid = (bLo + bHi) >>> 1;
+						final int pivot = src.get(bMid + srcOff);
+						int lo = aLo, hi = aHi;
+						while (lo < hi) {
+							int m = (lo + hi) >>> 1;
+							if (comparator.applyAsInt(src.get(m + srcOff), pivot) <= 0)
+								lo = m + 1;
+							else
+								hi = m;
+						}
+						aMid = lo;
+					}
+					final int dMid = dLo + (aMid - aLo) + (bMid - bLo);
+
+					ForkJoinTask.invokeAll(
+							ForkJoinTask.adapt(
+									() -> parallelMerge(src, srcOff, dst, dstOff, comparator, aLo, aMid, bLo, bMid, dLo, grain)),
+							ForkJoinTask.adapt(
+									() -> parallelMerge(src, srcOff, dst, dstOff, comparator, aMid, aHi, bMid, bHi, dMid, grain)));
+				}
+			""";
+
 	private static final String HEAP_SORT = """
 				/**
 				 * Sorts a range of the specified {@link BUFFER_TYPE} in ascending order (lowest
@@ -499,6 +855,8 @@ public class GenBufferSort implements GenBufferCode {
 			import java.nio.IntBuffer;
 			import java.nio.LongBuffer;
 			import java.nio.ShortBuffer;
+			import java.util.concurrent.ForkJoinPool;
+			import java.util.concurrent.ForkJoinTask;
 			import java.util.function.IntBinaryOperator;
 
 			/**
@@ -511,6 +869,8 @@ public class GenBufferSort implements GenBufferCode {
 
 				private static final int SMALL_RANGE = 100;
 				private static final int LARGE_RANGE = 10_000_000;
+				private static final int SMALL_MERGE = 7;
+				private static final int MIN_PARALLEL = 1 << 13;
 
 				private static final int INT_HIGH_BIT = 1 << 31;
 				private static final long LONG_HIGH_BIT = 1L << 63;
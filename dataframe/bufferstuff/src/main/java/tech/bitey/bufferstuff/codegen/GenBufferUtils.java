@@ -341,6 +341,7 @@ public class GenBufferUtils implements GenBufferCode {
 			import java.nio.ShortBuffer;
 			import java.nio.channels.ReadableByteChannel;
 			import java.nio.channels.WritableByteChannel;
+			import java.util.Objects;
 			import java.util.stream.DoubleStream;
 			import java.util.stream.IntStream;
 			import java.util.stream.LongStream;
@@ -354,7 +355,9 @@ public class GenBufferUtils implements GenBufferCode {
 			public enum BufferUtils {
 				; // static methods only, enum prevents instantiation
 
-				private static final boolean DIRECT = "true".equalsIgnoreCase(System.getProperty("tech.bitey.allocateDirect"));
+				private static volatile BufferAllocator allocator = AccountingAllocator.fromSystemProperties(
+						"true".equalsIgnoreCase(System.getProperty("tech.bitey.allocateDirect")) ? BufferAllocator.DIRECT
+								: BufferAllocator.HEAP);
 
 				/**
 				 * An empty, read-only {@link ByteBuffer} which has
@@ -369,9 +372,30 @@ public class GenBufferUtils implements GenBufferCode {
 				public static final BigByteBuffer EMPTY_BIG_BUFFER = new SimpleBigByteBuffer(EMPTY_BUFFER);
 
 				/**
-				 * Allocates a new {@link ByteBuffer} with the specified capacity. The buffer
-				 * will be direct if the {@code tech.bitey.allocateDirect} system property is
-				 * set to "true", and will have {@link ByteOrder#nativeOrder() native order}.
+				 * Returns the {@link BufferAllocator} used by {@link #allocate(int)} and
+				 * {@link #allocateBig(long)}.
+				 *
+				 * @return the current allocator
+				 */
+				public static BufferAllocator allocator() {
+					return allocator;
+				}
+
+				/**
+				 * Replaces the {@link BufferAllocator} used by {@link #allocate(int)} and
+				 * {@link #allocateBig(long)}. Buffers which have already been allocated are
+				 * unaffected.
+				 *
+				 * @param allocator the new allocator
+				 */
+				public static void setAllocator(BufferAllocator allocator) {
+					BufferUtils.allocator = Objects.requireNonNull(allocator);
+				}
+
+				/**
+				 * Allocates a new {@link ByteBuffer} with the specified capacity, via the
+				 * current {@link #allocator() allocator}. The buffer will have
+				 * {@link ByteOrder#nativeOrder() native order}.
 				 *
 				 * @param capacity the new buffer's capacity, in bytes
 				 *
@@ -382,9 +406,9 @@ public class GenBufferUtils implements GenBufferCode {
 				}
 
 				/**
-				 * Allocates a new {@link ByteBuffer} with the specified capacity. The buffer
-				 * will be direct if the {@code tech.bitey.allocateDirect} system property is
-				 * set to "true", and will have the specified {@link ByteOrder}.
+				 * Allocates a new {@link ByteBuffer} with the specified capacity, via the
+				 * current {@link #allocator() allocator}. The buffer will have the specified
+				 * {@link ByteOrder}.
 				 *
 				 * @param capacity the new buffer's capacity, in bytes
 				 * @param order    the {@code ByteOrder}
@@ -392,13 +416,13 @@ public class GenBufferUtils implements GenBufferCode {
 				 * @return the new {@code ByteBuffer}
 				 */
 				public static ByteBuffer allocate(int capacity, ByteOrder order) {
-					return (DIRECT ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity)).order(order);
+					return allocator.allocate(capacity).order(order);
 				}
 
 				/**
-				 * Allocates a new {@link BigByteBuffer} with the specified capacity. The buffer
-				 * will be direct if the {@code tech.bitey.allocateDirect} system property is
-				 * set to "true", and will have {@link ByteOrder#nativeOrder() native order}.
+				 * Allocates a new {@link BigByteBuffer} with the specified capacity, via the
+				 * current {@link #allocator() allocator}. The buffer will have
+				 * {@link ByteOrder#nativeOrder() native order}.
 				 *
 				 * @param capacity the new buffer's capacity, in bytes
 				 *
@@ -409,9 +433,9 @@ public class GenBufferUtils implements GenBufferCode {
 				}
 
 				/**
-				 * Allocates a new {@link BigByteBuffer} with the specified capacity. The buffer
-				 * will be direct if the {@code tech.bitey.allocateDirect} system property is
-				 * set to "true", and will have the specified {@link ByteOrder}.
+				 * Allocates a new {@link BigByteBuffer} with the specified capacity, via the
+				 * current {@link #allocator() allocator}. The buffer will have the specified
+				 * {@link ByteOrder}.
 				 *
 				 * @param capacity the new buffer's capacity, in bytes
 				 * @param order    the {@code ByteOrder}
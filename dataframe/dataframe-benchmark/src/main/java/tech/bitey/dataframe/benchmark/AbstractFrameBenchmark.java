@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package tech.bitey.dataframe.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Common parameters for all dataframe benchmarks.
+ * <p>
+ * Every benchmark is run for each combination of {@link #rows} and
+ * {@link #allocateDirect}. The 10^8 row configurations need a correspondingly
+ * large heap (or direct memory limit), for example:
+ * 
+ * <pre>
+ * java -jar target/benchmarks.jar -jvmArgsAppend -Xmx24g -p rows=100000000
+ * </pre>
+ * 
+ * @author biteytech@protonmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public abstract class AbstractFrameBenchmark {
+
+	private static final String ALLOCATE_DIRECT = "tech.bitey.allocateDirect";
+
+	/** Number of rows in the generated dataframe(s) */
+	@Param({ "100000", "1000000", "10000000", "100000000" })
+	public int rows;
+
+	/** Value of the {@code tech.bitey.allocateDirect} system property */
+	@Param({ "false", "true" })
+	public boolean allocateDirect;
+
+	/**
+	 * Configures buffer allocation and generates the benchmark data.
+	 * <p>
+	 * The {@code tech.bitey.allocateDirect} property is read once, when bufferstuff
+	 * is first initialized. JMH forks a new JVM per parameter combination, so
+	 * setting it here (before any dataframe is created) is sufficient - as long as
+	 * forking has not been disabled.
+	 */
+	@Setup(Level.Trial)
+	public final void setupTrial() throws Exception {
+
+		String previous = System.setProperty(ALLOCATE_DIRECT, Boolean.toString(allocateDirect));
+		if (previous != null && Boolean.parseBoolean(previous) != allocateDirect)
+			throw new IllegalStateException(ALLOCATE_DIRECT + " cannot be changed within a JVM, run with forks > 0");
+
+		setup();
+	}
+
+	/**
+	 * Generate the data used by the benchmark methods.
+	 * 
+	 * @throws Exception if some error occurs
+	 */
+	protected abstract void setup() throws Exception;
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package tech.bitey.dataframe.benchmark;
+
+import static tech.bitey.dataframe.ColumnType.DOUBLE;
+import static tech.bitey.dataframe.ColumnType.INT;
+import static tech.bitey.dataframe.ColumnType.LONG;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.TearDown;
+
+import tech.bitey.dataframe.DataFrame;
+import tech.bitey.dataframe.DataFrameFactory;
+import tech.bitey.dataframe.ReadCsvConfig;
+
+/**
+ * Benchmarks for {@link DataFrameFactory#readCsvFrom(File, ReadCsvConfig)} and
+ * {@link DataFrame#writeCsvTo(File)}.
+ * 
+ * @author biteytech@protonmail.com
+ */
+public class CsvBenchmark extends AbstractFrameBenchmark {
+
+	private static final ReadCsvConfig CONFIG = new ReadCsvConfig(INT, INT, DOUBLE, LONG);
+
+	private DataFrame df;
+
+	private File readFile;
+	private File writeFile;
+
+	@Override
+	protected void setup() throws IOException {
+		df = Frames.facts(rows);
+
+		readFile = Files.createTempFile("dataframe-benchmark", ".csv").toFile();
+		writeFile = Files.createTempFile("dataframe-benchmark", ".csv").toFile();
+
+		df.writeCsvTo(readFile);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(readFile.toPath());
+		Files.deleteIfExists(writeFile.toPath());
+	}
+
+	@Benchmark
+	public DataFrame readCsvFrom() throws IOException {
+		return DataFrameFactory.readCsvFrom(readFile, CONFIG);
+	}
+
+	@Benchmark
+	public void writeCsvTo() throws IOException {
+		df.writeCsvTo(writeFile);
+	}
+}
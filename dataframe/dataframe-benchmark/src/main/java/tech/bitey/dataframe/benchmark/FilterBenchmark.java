@@ -0,0 +1,49 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package tech.bitey.dataframe.benchmark;
+
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import tech.bitey.dataframe.DataFrame;
+
+/**
+ * Benchmarks for {@link DataFrame#filter(Predicate)} at high (50%) and low (1%)
+ * selectivity.
+ * 
+ * @author biteytech@protonmail.com
+ */
+public class FilterBenchmark extends AbstractFrameBenchmark {
+
+	private DataFrame df;
+
+	@Override
+	protected void setup() {
+		df = Frames.facts(rows);
+	}
+
+	@Benchmark
+	public DataFrame filterHalf() {
+		return df.filter(r -> r.getDouble("V1") < 0.5);
+	}
+
+	@Benchmark
+	public DataFrame filterOnePercent() {
+		return df.filter(r -> r.getInt("K2") == 0);
+	}
+}
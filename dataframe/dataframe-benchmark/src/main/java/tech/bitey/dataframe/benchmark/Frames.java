@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package tech.bitey.dataframe.benchmark;
+
+import java.util.SplittableRandom;
+
+import tech.bitey.dataframe.DataFrame;
+import tech.bitey.dataframe.DataFrameFactory;
+import tech.bitey.dataframe.DoubleColumn;
+import tech.bitey.dataframe.IntColumn;
+import tech.bitey.dataframe.LongColumn;
+
+/**
+ * Deterministic generators for benchmark dataframes.
+ * 
+ * @author biteytech@protonmail.com
+ */
+enum Frames {
+	;
+
+	/** Number of distinct values in {@code K2} */
+	static final int LOW_CARDINALITY = 100;
+
+	private static final long SEED = 0x5eed;
+
+	/**
+	 * Returns a "fact" dataframe with the following columns:
+	 * <ul>
+	 * <li>K1 - INT, uniformly distributed in [0, rows/10)
+	 * <li>K2 - INT, uniformly distributed in [0, {@link #LOW_CARDINALITY})
+	 * <li>V1 - DOUBLE, uniformly distributed in [0, 1)
+	 * <li>V2 - LONG, uniformly distributed
+	 * </ul>
+	 * 
+	 * @param rows - number of rows
+	 * 
+	 * @return a dataframe with the specified number of rows
+	 */
+	static DataFrame facts(int rows) {
+
+		SplittableRandom random = new SplittableRandom(SEED);
+
+		IntColumn k1 = IntColumn.of(random.ints(rows, 0, highCardinality(rows)));
+		IntColumn k2 = IntColumn.of(random.ints(rows, 0, LOW_CARDINALITY));
+		DoubleColumn v1 = DoubleColumn.of(random.doubles(rows));
+		LongColumn v2 = LongColumn.of(random.longs(rows));
+
+		return DataFrameFactory.of("K1", k1, "K2", k2, "V1", v1, "V2", v2);
+	}
+
+	/**
+	 * Returns a "dimension" dataframe, which is suitable as the left-hand side of a
+	 * join against {@link #facts(int)} on {@code ID = K1}. Half of the IDs will
+	 * have matching facts. Columns:
+	 * <ul>
+	 * <li>ID - INT, a random permutation of [0, 2*rows/10)
+	 * <li>W - DOUBLE, uniformly distributed in [0, 1)
+	 * </ul>
+	 * 
+	 * @param rows - number of rows in the corresponding fact dataframe
+	 * 
+	 * @return the dimension dataframe
+	 */
+	static DataFrame dimension(int rows) {
+
+		SplittableRandom random = new SplittableRandom(SEED + 1);
+
+		int[] ids = new int[highCardinality(rows) * 2];
+		for (int i = 0; i < ids.length; i++)
+			ids[i] = i;
+		for (int i = ids.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int tmp = ids[i];
+			ids[i] = ids[j];
+			ids[j] = tmp;
+		}
+
+		IntColumn id = IntColumn.of(ids);
+		DoubleColumn w = DoubleColumn.of(random.doubles(ids.length));
+
+		return DataFrameFactory.of("ID", id, "W", w);
+	}
+
+	static int highCardinality(int rows) {
+		return Math.max(1, rows / 10);
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package tech.bitey.dataframe.benchmark;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import tech.bitey.dataframe.Aggregate;
+import tech.bitey.dataframe.ColumnType;
+import tech.bitey.dataframe.DataFrame;
+import tech.bitey.dataframe.GroupByConfig;
+import tech.bitey.dataframe.GroupByReduction;
+
+/**
+ * Benchmarks for {@link DataFrame#groupBy(GroupByConfig)}, computing
+ * {@code sum(V1)} over a low and a high cardinality key, both with a built-in
+ * {@link Aggregate} and with a custom {@link GroupByReduction} over boxed rows.
+ * 
+ * @author biteytech@protonmail.com
+ */
+public class GroupByBenchmark extends AbstractFrameBenchmark {
+
+	private DataFrame df;
+
+	@Override
+	protected void setup() {
+		df = Frames.facts(rows);
+	}
+
+	@Benchmark
+	public DataFrame groupByLowCardinality() {
+		return df.groupBy(sumV1("K2"));
+	}
+
+	@Benchmark
+	public DataFrame groupByHighCardinality() {
+		return df.groupBy(sumV1("K1"));
+	}
+
+	@Benchmark
+	public DataFrame aggregateLowCardinality() {
+		return df.groupBy(aggregateV1("K2"));
+	}
+
+	@Benchmark
+	public DataFrame aggregateHighCardinality() {
+		return df.groupBy(aggregateV1("K1"));
+	}
+
+	private static GroupByConfig aggregateV1(String key) {
+		return new GroupByConfig(List.of(key), List.of("SUM"), List.of(ColumnType.DOUBLE),
+				List.of(Aggregate.sum("V1")));
+	}
+
+	private static GroupByConfig sumV1(String key) {
+		return new GroupByConfig(List.of(key), List.of("SUM"), List.of(ColumnType.DOUBLE),
+				List.of(s -> s.mapToDouble(r -> r.getDouble("V1")).sum()));
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package tech.bitey.dataframe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import tech.bitey.dataframe.DataFrame;
+
+/**
+ * Benchmarks for {@link DataFrame#join(DataFrame, String[], String[])} and
+ * {@link DataFrame#joinLeft(DataFrame, String[], String[])}, joining a unique
+ * dimension dataframe to the fact dataframe.
+ * 
+ * @author biteytech@protonmail.com
+ */
+public class JoinBenchmark extends AbstractFrameBenchmark {
+
+	private static final String[] LEFT = { "ID" };
+	private static final String[] RIGHT = { "K1" };
+
+	private DataFrame dimension;
+	private DataFrame facts;
+
+	@Override
+	protected void setup() {
+		dimension = Frames.dimension(rows);
+		facts = Frames.facts(rows);
+	}
+
+	@Benchmark
+	public DataFrame join() {
+		return dimension.join(facts, LEFT, RIGHT);
+	}
+
+	@Benchmark
+	public DataFrame joinLeft() {
+		return dimension.joinLeft(facts, LEFT, RIGHT);
+	}
+}
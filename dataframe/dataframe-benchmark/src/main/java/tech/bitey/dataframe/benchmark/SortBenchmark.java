@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package tech.bitey.dataframe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import tech.bitey.dataframe.DataFrame;
+import tech.bitey.dataframe.SortKey;
+
+/**
+ * Benchmarks for {@link DataFrame#sort(String...)} and
+ * {@link DataFrame#sort(SortKey...)}.
+ * 
+ * @author biteytech@protonmail.com
+ */
+public class SortBenchmark extends AbstractFrameBenchmark {
+
+	private DataFrame df;
+
+	@Override
+	protected void setup() {
+		df = Frames.facts(rows);
+	}
+
+	@Benchmark
+	public DataFrame sortInt() {
+		return df.sort("K1");
+	}
+
+	@Benchmark
+	public DataFrame sortDouble() {
+		return df.sort("V1");
+	}
+
+	@Benchmark
+	public DataFrame sortIntInt() {
+		return df.sort("K2", "K1");
+	}
+
+	@Benchmark
+	public DataFrame sortIntDescLong() {
+		return df.sort(SortKey.desc("K2"), SortKey.asc("V2"));
+	}
+}
@@ -18,6 +18,7 @@ open module tech.bitey.dataframe.test {
 
 	requires com.google.common;
 	requires guava.testlib;
+	requires java.management;
 	requires java.sql;
 	requires junit;
 	requires org.junit.jupiter.api;
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.bitey.dataframe.test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import tech.bitey.dataframe.BooleanColumn;
+import tech.bitey.dataframe.ByteColumn;
+import tech.bitey.dataframe.Column;
+import tech.bitey.dataframe.DataFrame;
+import tech.bitey.dataframe.DataFrameFactory;
+import tech.bitey.dataframe.DateColumn;
+import tech.bitey.dataframe.DoubleColumn;
+import tech.bitey.dataframe.FloatColumn;
+import tech.bitey.dataframe.InstantColumn;
+import tech.bitey.dataframe.IntColumn;
+import tech.bitey.dataframe.LongColumn;
+import tech.bitey.dataframe.ShortColumn;
+import tech.bitey.dataframe.StringColumn;
+
+/**
+ * Random dataframes for {@link TestSort}, {@link TestGroupBy}, and
+ * {@link TestJoin}.
+ */
+enum RandomFrames {
+	; // static methods only, enum prevents instantiation
+
+	/** Number of rows in the dataframes sorted and grouped by most tests */
+	static final int SIZE = 5000;
+
+	/**
+	 * Returns a dataframe with a column of each type which can be sorted or
+	 * grouped on: I, L, D, F, S, B, Z, DA, IN, and STR. Roughly 10% of the values
+	 * in each column are null, and one in ten doubles is one of the specified
+	 * special values. Ints and strings have a few dozen distinct values, and
+	 * floats and doubles are otherwise whole numbers, so that their sums don't
+	 * depend on the order in which they're accumulated.
+	 */
+	static DataFrame create(Random random, int size, double[] specialDoubles) {
+
+		return DataFrameFactory.create(new Column<?>[] {
+				IntColumn.of(list(random, size, 10, i -> random.nextInt(40) - 20)),
+				LongColumn.of(list(random, size, 10, i -> random.nextLong() >> random.nextInt(64))),
+				DoubleColumn.of(list(random, size, 10,
+						i -> random.nextInt(10) == 0 ? specialDoubles[random.nextInt(specialDoubles.length)]
+								: (double) (random.nextInt(100) - 50))),
+				FloatColumn.of(list(random, size, 10, i -> (float) (random.nextInt(100) - 50))),
+				ShortColumn.of(list(random, size, 10, i -> (short) random.nextInt())),
+				ByteColumn.of(list(random, size, 10, i -> (byte) random.nextInt())),
+				BooleanColumn.of(list(random, size, 10, i -> random.nextBoolean())),
+				DateColumn.of(list(random, size, 10, i -> LocalDate.ofEpochDay(random.nextInt(1000) - 500))),
+				InstantColumn
+						.of(list(random, size, 10, i -> Instant.ofEpochSecond(random.nextInt(10), random.nextInt(3)))),
+				StringColumn.of(list(random, size, 10, i -> Integer.toString(random.nextInt(20)))) },
+				new String[] { "I", "L", "D", "F", "S", "B", "Z", "DA", "IN", "STR" });
+	}
+
+	/**
+	 * Returns {@code size} values from the generator, of which one in
+	 * {@code nullFreq} on average is replaced by null, or none if {@code nullFreq}
+	 * is 0.
+	 */
+	static <T> List<T> list(Random random, int size, int nullFreq, IntFunction<T> generator) {
+		return IntStream.range(0, size)
+				.mapToObj(i -> nullFreq > 0 && random.nextInt(nullFreq) == 0 ? null : generator.apply(i))
+				.collect(Collectors.toList());
+	}
+}
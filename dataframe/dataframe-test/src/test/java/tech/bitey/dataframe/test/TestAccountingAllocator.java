@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe.test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import tech.bitey.bufferstuff.AccountingAllocator;
+import tech.bitey.bufferstuff.BigByteBuffer;
+import tech.bitey.bufferstuff.BufferAllocator;
+import tech.bitey.bufferstuff.BufferUtils;
+import tech.bitey.dataframe.IntColumn;
+
+public class TestAccountingAllocator {
+
+	@Test
+	public void counts() {
+		AccountingAllocator allocator = new AccountingAllocator(BufferAllocator.HEAP);
+
+		ByteBuffer a = allocator.allocate(100);
+		ByteBuffer b = allocator.allocate(50);
+		allocator.allocate(0);
+
+		Assertions.assertEquals(100, a.capacity());
+		Assertions.assertEquals(150, allocator.getBytesInUse());
+		Assertions.assertEquals(150, allocator.getPeakBytesInUse());
+		Assertions.assertEquals(150, allocator.getBytesAllocated());
+		Assertions.assertEquals(2, allocator.getAllocationCount());
+		Assertions.assertEquals(0, allocator.getRejectionCount());
+		Assertions.assertEquals(Long.MAX_VALUE, allocator.getLimit());
+
+		Assertions.assertNotNull(b);
+	}
+
+	@Test
+	public void limit() throws InterruptedException {
+		AccountingAllocator allocator = new AccountingAllocator(BufferAllocator.DIRECT, 1000);
+
+		ByteBuffer a = allocator.allocate(600);
+		Assertions.assertThrows(OutOfMemoryError.class, () -> allocator.allocate(600));
+		Assertions.assertEquals(1, allocator.getRejectionCount());
+		Assertions.assertEquals(600, allocator.getBytesInUse());
+
+		// views keep the memory in use
+		ByteBuffer view = a.slice(100, 100);
+		a = null;
+		awaitBytesInUse(allocator, 0, 200);
+		Assertions.assertEquals(600, allocator.getBytesInUse());
+
+		view = null;
+		awaitBytesInUse(allocator, 0, 10_000);
+		Assertions.assertEquals(0, allocator.getBytesInUse());
+		Assertions.assertEquals(600, allocator.getPeakBytesInUse());
+
+		ByteBuffer b = allocator.allocate(600);
+
+		allocator.setLimit(100);
+		Assertions.assertThrows(OutOfMemoryError.class, () -> allocator.allocate(1));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> allocator.setLimit(-1));
+
+		Assertions.assertEquals(600, b.capacity());
+		Assertions.assertNull(view);
+	}
+
+	@Test
+	public void bufferUtils() {
+		final BufferAllocator previous = BufferUtils.allocator();
+
+		AccountingAllocator allocator = new AccountingAllocator(previous);
+		BufferUtils.setAllocator(allocator);
+		try {
+			BigByteBuffer buffer = BufferUtils.allocateBig(1000);
+			Assertions.assertEquals(1000, allocator.getBytesInUse());
+			Assertions.assertEquals(previous == BufferAllocator.DIRECT, buffer.buffers()[0].isDirect());
+
+			IntColumn.builder().addAll(1, 2, 3).build();
+			Assertions.assertTrue(allocator.getAllocationCount() > 1);
+		} finally {
+			BufferUtils.setAllocator(previous);
+		}
+
+		Assertions.assertThrows(NullPointerException.class, () -> BufferUtils.setAllocator(null));
+	}
+
+	@Test
+	public void jmx() throws Exception {
+		AccountingAllocator allocator = new AccountingAllocator(BufferAllocator.HEAP, 1 << 20);
+		ByteBuffer buffer = allocator.allocate(123);
+
+		ObjectName name = allocator.register("test");
+		try {
+			var server = ManagementFactory.getPlatformMBeanServer();
+			Assertions.assertEquals(123L, server.getAttribute(name, "BytesInUse"));
+			Assertions.assertEquals(1L << 20, server.getAttribute(name, "Limit"));
+
+			Assertions.assertThrows(IllegalStateException.class, () -> allocator.register("test"));
+		} finally {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+		}
+
+		Assertions.assertEquals(123, buffer.capacity());
+	}
+
+	private static void awaitBytesInUse(AccountingAllocator allocator, long expected, long timeoutMillis)
+			throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + timeoutMillis;
+		while (allocator.getBytesInUse() != expected && System.currentTimeMillis() < deadline) {
+			System.gc();
+			Thread.sleep(10);
+		}
+	}
+}
@@ -24,6 +24,8 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collections;
@@ -293,6 +295,33 @@ public class TestBufferBitSet {
 		}
 	}
 
+	@Test
+	public void mapReadOnly() throws IOException {
+
+		BufferBitSet bs = new BufferBitSet();
+		populateWithSampleIndices(bs);
+
+		// aligned bitsets are mapped, unaligned ones are copied - neither modifies the
+		// file
+		for (int fromIndex : new int[] { 0, 8, 3, 37 }) {
+
+			File file = File.createTempFile("mapReadOnly", "dat");
+			file.deleteOnExit();
+
+			try (FileChannel fileChannel = FileChannel.open(file.toPath(), CREATE, WRITE);) {
+				bs.writeTo(fileChannel, fromIndex, 9001);
+			}
+			byte[] written = Files.readAllBytes(file.toPath());
+
+			try (FileChannel fileChannel = FileChannel.open(file.toPath(), READ);) {
+				BufferBitSet actual = BufferBitSet.mapFrom(fileChannel, MapMode.READ_ONLY);
+				Assertions.assertEquals(bs.get(fromIndex, 9001), actual);
+				Assertions.assertEquals(fileChannel.size(), fileChannel.position());
+			}
+			Assertions.assertArrayEquals(written, Files.readAllBytes(file.toPath()));
+		}
+	}
+
 	@Test
 	public void nextSetBit() {
 		BufferBitSet bs = new BufferBitSet();
@@ -23,6 +23,7 @@ import java.nio.IntBuffer;
 import java.nio.LongBuffer;
 import java.nio.ShortBuffer;
 import java.util.Arrays;
+import java.util.Random;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -71,8 +72,10 @@ public class TestBufferSort {
 		Arrays.sort(expected, fromIndex, toIndex);
 
 		for (IntBufferSort sort : new IntBufferSort[] { BufferSort::insertionSort, BufferSort::heapSort,
-				(b, f, t) -> BufferSort.heapSort(b, Integer::compare, f, t), BufferSort::radixSort,
-				BufferSort::sort }) {
+				(b, f, t) -> BufferSort.heapSort(b, Integer::compare, f, t),
+				(b, f, t) -> BufferSort.mergeSort(b, Integer::compare, f, t),
+				(b, f, t) -> BufferSort.parallelMergeSort(b, Integer::compare, f, t), BufferSort::radixSort,
+				BufferSort::sort, BufferSort::parallelSort }) {
 			IntBuffer actual = IntBuffer.wrap(Arrays.copyOf(array, array.length));
 			sort.sort(actual, fromIndex, toIndex);
 
@@ -81,6 +84,97 @@ public class TestBufferSort {
 		}
 	}
 
+	@Test
+	public void mergeSortStable() {
+
+		// sort indices by key, ignoring the low bit
+		final int[] keys = new int[irandom.length];
+		for (int i = 0; i < keys.length; i++)
+			keys[i] = irandom[i] >> 1;
+
+		IntBuffer b = IntBuffer.allocate(keys.length);
+		for (int i = 0; i < keys.length; i++)
+			b.put(i, i);
+
+		BufferSort.mergeSort(b, (l, r) -> Integer.compare(keys[l], keys[r]), 0, keys.length);
+
+		for (int i = 1; i < keys.length; i++) {
+			int l = b.get(i - 1), r = b.get(i);
+			Assertions.assertTrue(keys[l] < keys[r] || keys[l] == keys[r] && l < r);
+		}
+	}
+
+	@Test
+	public void parallelMergeSortStable() {
+
+		final Random random = new Random(0);
+
+		// many duplicate keys, large enough to be merged in parallel
+		final int[] keys = new int[PARALLEL_SIZE];
+		for (int i = 0; i < keys.length; i++)
+			keys[i] = random.nextInt(1000);
+
+		IntBuffer b = IntBuffer.allocate(keys.length + 2);
+		for (int i = 0; i < b.capacity(); i++)
+			b.put(i, i - 1);
+
+		BufferSort.parallelMergeSort(b, (l, r) -> Integer.compare(keys[l], keys[r]), 1, keys.length + 1);
+
+		Assertions.assertEquals(-1, b.get(0));
+		Assertions.assertEquals(keys.length, b.get(keys.length + 1));
+		for (int i = 2; i <= keys.length; i++) {
+			int l = b.get(i - 1), r = b.get(i);
+			Assertions.assertTrue(keys[l] < keys[r] || keys[l] == keys[r] && l < r);
+		}
+	}
+
+	private static final int PARALLEL_SIZE = 100_000;
+
+	@Test
+	public void parallelSort() {
+
+		final Random random = new Random(0);
+
+		final int[] ia = random.ints(PARALLEL_SIZE).toArray();
+		final long[] la = random.longs(PARALLEL_SIZE).toArray();
+		final float[] fa = new float[PARALLEL_SIZE];
+		final double[] da = random.doubles(PARALLEL_SIZE, -1000, 1000).toArray();
+		for (int i = 0; i < PARALLEL_SIZE; i++)
+			fa[i] = (float) da[i];
+		for (int i = 0; i < PARALLEL_SIZE; i += 97) {
+			fa[i] = i % 2 == 0 ? Float.NaN : -0f;
+			da[i] = i % 2 == 0 ? Double.NaN : -0d;
+		}
+
+		for (int[] range : new int[][] { { 0, PARALLEL_SIZE }, { 1, PARALLEL_SIZE - 1 }, { 12345, 54321 } }) {
+			final int from = range[0], to = range[1];
+
+			int[] iexpected = ia.clone();
+			Arrays.sort(iexpected, from, to);
+			IntBuffer ib = IntBuffer.wrap(ia.clone());
+			BufferSort.parallelSort(ib, from, to);
+			Assertions.assertArrayEquals(iexpected, ib.array());
+
+			long[] lexpected = la.clone();
+			Arrays.sort(lexpected, from, to);
+			LongBuffer lb = LongBuffer.wrap(la.clone());
+			BufferSort.parallelSort(lb, from, to);
+			Assertions.assertArrayEquals(lexpected, lb.array());
+
+			float[] fexpected = fa.clone();
+			Arrays.sort(fexpected, from, to);
+			FloatBuffer fb = FloatBuffer.wrap(fa.clone());
+			BufferSort.parallelSort(fb, from, to);
+			Assertions.assertArrayEquals(fexpected, fb.array());
+
+			double[] dexpected = da.clone();
+			Arrays.sort(dexpected, from, to);
+			DoubleBuffer db = DoubleBuffer.wrap(da.clone());
+			BufferSort.parallelSort(db, from, to);
+			Assertions.assertArrayEquals(dexpected, db.array());
+		}
+	}
+
 	// =============================================================================================
 
 	private final long[] lsorted = { 1, 2, 3 };
@@ -123,7 +217,7 @@ public class TestBufferSort {
 		Arrays.sort(expected, fromIndex, toIndex);
 
 		for (LongBufferSort sort : new LongBufferSort[] { BufferSort::insertionSort, BufferSort::heapSort,
-				BufferSort::radixSort, BufferSort::sort }) {
+				BufferSort::radixSort, BufferSort::sort, BufferSort::parallelSort }) {
 			LongBuffer actual = LongBuffer.wrap(Arrays.copyOf(array, array.length));
 			sort.sort(actual, fromIndex, toIndex);
 
@@ -279,7 +373,7 @@ public class TestBufferSort {
 		Arrays.sort(expected, fromIndex, toIndex);
 
 		for (FloatBufferSort sort : new FloatBufferSort[] { BufferSort::insertionSort, BufferSort::heapSort,
-				BufferSort::sort }) {
+				BufferSort::sort, BufferSort::parallelSort }) {
 			FloatBuffer actual = FloatBuffer.wrap(Arrays.copyOf(array, array.length));
 			sort.sort(actual, fromIndex, toIndex);
 
@@ -333,7 +427,7 @@ public class TestBufferSort {
 		Arrays.sort(expected, fromIndex, toIndex);
 
 		for (DoubleBufferSort sort : new DoubleBufferSort[] { BufferSort::insertionSort, BufferSort::heapSort,
-				BufferSort::sort }) {
+				BufferSort::sort, BufferSort::parallelSort }) {
 			DoubleBuffer actual = DoubleBuffer.wrap(Arrays.copyOf(array, array.length));
 			sort.sort(actual, fromIndex, toIndex);
 
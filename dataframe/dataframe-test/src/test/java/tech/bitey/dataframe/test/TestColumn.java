@@ -22,21 +22,25 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NavigableSet;
+import java.util.OptionalDouble;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.TreeSet;
 import java.util.function.IntFunction;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import tech.bitey.bufferstuff.BufferBitSet;
 import tech.bitey.dataframe.Column;
 import tech.bitey.dataframe.StringColumn;
 
@@ -380,6 +384,132 @@ abstract class TestColumn<E> {
 		}
 	}
 
+	/*------------------------------------------------------------
+	 *  Test Mask Methods
+	 *------------------------------------------------------------*/
+	@Test
+	public void testIsNull() {
+		for (TestSample<E> s : samples()) {
+			E[] array = s.array();
+			Assertions.assertEquals(expectedMask(array, e -> e == null), s.column().isNull(), s + ", isNull");
+		}
+	}
+
+	@Test
+	public void testComparisonMasks() {
+		for (TestSample<E> s : samples())
+			testComparisonMasks(s);
+	}
+
+	void testComparisonMasks(TestSample<E> s) {
+		E[] array = s.array();
+		Column<E> column = s.column();
+		Comparator<E> cmp = column.getType()::compare;
+
+		for (E v : probes(array)) {
+			Assertions.assertEquals(expectedMask(array, e -> e != null && cmp.compare(e, v) == 0), column.eq(v),
+					s + ", eq, " + v);
+			Assertions.assertEquals(expectedMask(array, e -> e != null && cmp.compare(e, v) < 0), column.lt(v),
+					s + ", lt, " + v);
+			Assertions.assertEquals(expectedMask(array, e -> e != null && cmp.compare(e, v) <= 0), column.le(v),
+					s + ", le, " + v);
+			Assertions.assertEquals(expectedMask(array, e -> e != null && cmp.compare(e, v) > 0), column.gt(v),
+					s + ", gt, " + v);
+			Assertions.assertEquals(expectedMask(array, e -> e != null && cmp.compare(e, v) >= 0), column.ge(v),
+					s + ", ge, " + v);
+		}
+
+		List<E> probes = probes(array);
+		for (E lo : probes) {
+			for (E hi : probes) {
+				Assertions.assertEquals(
+						expectedMask(array, e -> e != null && cmp.compare(e, lo) >= 0 && cmp.compare(e, hi) <= 0),
+						column.between(lo, hi), s + ", between, " + lo + ", " + hi);
+			}
+		}
+	}
+
+	@Test
+	public void testInMask() {
+		for (TestSample<E> s : samples())
+			testInMask(s);
+	}
+
+	void testInMask(TestSample<E> s) {
+		E[] array = s.array();
+		Column<E> column = s.column();
+
+		List<E> probes = probes(array);
+		probes.add(null);
+
+		NavigableSet<E> set = new TreeSet<>(column.getType()::compare);
+		for (E v : probes)
+			if (v != null)
+				set.add(v);
+
+		Assertions.assertEquals(expectedMask(array, e -> e != null && set.contains(e)), column.in(probes),
+				s + ", in");
+		Assertions.assertEquals(new BufferBitSet(), column.in(Collections.emptyList()), s + ", in empty");
+	}
+
+	@Test
+	public void testMaskNullValue() {
+		Column<E> column = samples().get(0).column();
+		Assertions.assertThrows(IllegalArgumentException.class, () -> column.eq(null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> column.lt(null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> column.between(min, null));
+	}
+
+	/**
+	 * Values to compare against: the bounds, a few elements of the sample, and
+	 * values which are not present.
+	 */
+	private List<E> probes(E[] array) {
+
+		List<E> probes = new ArrayList<>(asList(min, max));
+		for (int i = 0; i < array.length; i += Math.max(1, array.length / 3))
+			if (array[i] != null)
+				probes.add(array[i]);
+		probes.addAll(asList(notPresent()));
+
+		return probes;
+	}
+
+	private static <E> BufferBitSet expectedMask(E[] array, Predicate<E> predicate) {
+		BufferBitSet mask = new BufferBitSet();
+		for (int i = 0; i < array.length; i++)
+			if (predicate.test(array[i]))
+				mask.set(i);
+		return mask;
+	}
+
+	/**
+	 * Asserts that the variance is the sample variance of the values, computed in
+	 * two passes, or empty if there are fewer than two values.
+	 */
+	static void assertVariance(double[] values, OptionalDouble actual, String message) {
+
+		if (values.length < 2) {
+			Assertions.assertEquals(OptionalDouble.empty(), actual, message);
+			return;
+		}
+
+		double mean = 0;
+		for (double value : values)
+			mean += value / values.length;
+
+		double m2 = 0;
+		for (double value : values)
+			m2 += (value - mean) * (value - mean);
+		double expected = m2 / (values.length - 1);
+
+		Assertions.assertTrue(actual.isPresent(), message);
+		if (Double.isFinite(expected))
+			Assertions.assertEquals(expected, actual.getAsDouble(), Math.abs(expected) * 1e-9, message);
+		else
+			Assertions.assertEquals(expected, actual.getAsDouble(), message);
+	}
+
 	/*------------------------------------------------------------
 	 *  Test Column Conversion Methods
 	 *------------------------------------------------------------*/
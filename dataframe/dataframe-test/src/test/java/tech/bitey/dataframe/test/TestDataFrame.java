@@ -16,13 +16,21 @@
 
 package tech.bitey.dataframe.test;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Spliterator.DISTINCT;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
@@ -44,6 +52,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.Random;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
@@ -52,34 +61,54 @@ import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import com.google.common.collect.Sets;
 
+import tech.bitey.bufferstuff.BufferBitSet;
+import tech.bitey.dataframe.BlockCompression;
 import tech.bitey.dataframe.ByteColumn;
+import tech.bitey.dataframe.ByteColumnBuilder;
 import tech.bitey.dataframe.Column;
+import tech.bitey.dataframe.ColumnBuilder;
+import tech.bitey.dataframe.ColumnEncoding;
 import tech.bitey.dataframe.ColumnType;
 import tech.bitey.dataframe.ColumnTypeCode;
 import tech.bitey.dataframe.Cursor;
 import tech.bitey.dataframe.DataFrame;
 import tech.bitey.dataframe.DataFrameFactory;
+import tech.bitey.dataframe.DataFrameMapping;
 import tech.bitey.dataframe.DataFrameToStringOptions;
 import tech.bitey.dataframe.DateColumn;
+import tech.bitey.dataframe.DateColumnBuilder;
 import tech.bitey.dataframe.DateTimeColumn;
 import tech.bitey.dataframe.DecimalColumn;
 import tech.bitey.dataframe.DoubleColumn;
+import tech.bitey.dataframe.DoubleColumnBuilder;
+import tech.bitey.dataframe.FixedAsciiColumn;
 import tech.bitey.dataframe.FloatColumn;
+import tech.bitey.dataframe.FloatColumnBuilder;
 import tech.bitey.dataframe.GroupByConfig;
 import tech.bitey.dataframe.IntColumn;
+import tech.bitey.dataframe.IntColumnBuilder;
+import tech.bitey.dataframe.LongColumn;
+import tech.bitey.dataframe.LongColumnBuilder;
 import tech.bitey.dataframe.ReadCsvConfig;
 import tech.bitey.dataframe.ReadFromDbConfig;
 import tech.bitey.dataframe.Row;
 import tech.bitey.dataframe.ShortColumn;
+import tech.bitey.dataframe.ShortColumnBuilder;
 import tech.bitey.dataframe.StringColumn;
+import tech.bitey.dataframe.StringColumnBuilder;
+import tech.bitey.dataframe.UuidColumn;
 import tech.bitey.dataframe.WriteToDbConfig;
+import tech.bitey.dataframe.WriteToFileConfig;
 import tech.bitey.dataframe.db.BlobFromResultSet;
 import tech.bitey.dataframe.db.BooleanFromResultSet;
 import tech.bitey.dataframe.db.ByteFromResultSet;
@@ -320,6 +349,469 @@ public class TestDataFrame {
 		}
 	}
 
+	@Test
+	public void testReadWriteEncodings() throws Exception {
+
+		for (Map.Entry<String, DataFrame> e : DF_MAP.entrySet()) {
+
+			// a view, which does not start at the beginning of its buffers
+			DataFrame expected = e.getValue().size() > 2 ? e.getValue().subFrame(1, e.getValue().size() - 1)
+					: e.getValue();
+
+			for (ColumnEncoding encoding : EnumSet.complementOf(EnumSet.of(ColumnEncoding.PLAIN))) {
+
+				String label = e.getKey() + ", " + encoding;
+
+				File file = File.createTempFile(e.getKey(), null);
+				file.deleteOnExit();
+
+				expected.writeTo(file, new WriteToFileConfig(encoding));
+
+				DataFrame copied = DataFrameFactory.readFrom(file);
+				Assertions.assertEquals(expected, copied, label + ", read/write encoded (copied)");
+				for (int i = 0; i < expected.columnCount(); i++)
+					Assertions.assertEquals(expected.column(i).characteristics(), copied.column(i).characteristics(),
+							label + ", characteristics");
+
+				if (encoding == ColumnEncoding.AUTO) {
+					DataFrame mapped = DataFrameFactory.mapFrom(file);
+					Assertions.assertEquals(expected, mapped, label + ", read/write encoded (mapped)");
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testReadWriteCompressed() throws Exception {
+
+		for (Map.Entry<String, DataFrame> e : DF_MAP.entrySet()) {
+
+			DataFrame expected = e.getValue();
+
+			for (WriteToFileConfig config : List.of(new WriteToFileConfig(BlockCompression.LZ4),
+					new WriteToFileConfig(ColumnEncoding.AUTO).withCompression(BlockCompression.LZ4))) {
+
+				String label = e.getKey() + ", " + config;
+
+				// two frames back to back, to check that reading one doesn't consume the next
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				try (WritableByteChannel channel = Channels.newChannel(bytes)) {
+					expected.writeTo(channel, config);
+					expected.head(1).writeTo(channel, config);
+				}
+
+				try (ReadableByteChannel channel = Channels
+						.newChannel(new ByteArrayInputStream(bytes.toByteArray()))) {
+					Assertions.assertEquals(expected, DataFrameFactory.readFrom(channel), label + ", first");
+					Assertions.assertEquals(expected.head(1), DataFrameFactory.readFrom(channel), label + ", second");
+					Assertions.assertEquals(-1, channel.read(ByteBuffer.allocate(1)), label + ", end of stream");
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCompressionShrinksFiles() throws Exception {
+
+		// several blocks, mixing long runs, short cycles (which compress to matches
+		// that overlap their own output), repeated patterns, and random bytes
+		final int size = 600_000;
+		final Random random = new Random(0);
+
+		LongColumnBuilder runs = LongColumn.builder();
+		ShortColumnBuilder cycles = ShortColumn.builder();
+		IntColumnBuilder pattern = IntColumn.builder();
+		StringColumnBuilder strings = StringColumn.builder();
+		DoubleColumnBuilder doubles = DoubleColumn.builder();
+		for (int i = 0; i < size; i++) {
+			runs.add(i / 100_000);
+			cycles.add((short) (i / 50_000 * 3 + i % 3));
+			pattern.add(i % 7 == 0 ? random.nextInt() : i % 10);
+			strings.add(i % 3 == 0 ? null : "value-" + i % 1000);
+			doubles.add(random.nextDouble());
+		}
+
+		DataFrame expected = DataFrameFactory.create(
+				new Column<?>[] { runs.build(), cycles.build(), pattern.build(), strings.build(), doubles.build() },
+				new String[] { "RUNS", "CYCLES", "PATTERN", "STRINGS", "DOUBLES" });
+
+		File plain = File.createTempFile("plain", null);
+		plain.deleteOnExit();
+		expected.writeTo(plain);
+
+		File compressed = File.createTempFile("compressed", null);
+		compressed.deleteOnExit();
+		expected.writeTo(compressed, new WriteToFileConfig(BlockCompression.LZ4));
+
+		Assertions.assertEquals(expected, DataFrameFactory.readFrom(compressed), "compressed (copied)");
+		Assertions.assertEquals(expected, DataFrameFactory.mapFrom(compressed), "compressed (mapped)");
+
+		// the doubles don't compress, and make up about a third of the result
+		Assertions.assertTrue(compressed.length() < plain.length() / 2,
+				compressed.length() + " vs " + plain.length());
+	}
+
+	@Test
+	public void testReadWriteProjected() throws Exception {
+
+		for (Map.Entry<String, DataFrame> e : DF_MAP.entrySet()) {
+
+			DataFrame df = e.getValue();
+
+			// every other column, in reverse order, plus the key column if there is one
+			List<String> columnNames = new ArrayList<>();
+			for (int i = df.columnCount() - 1; i >= 0; i -= 2)
+				columnNames.add(df.columnName(i));
+			if (df.hasKeyColumn() && !columnNames.contains(df.keyColumnName()))
+				columnNames.add(df.keyColumnName());
+			DataFrame expected = df.selectColumns(columnNames);
+
+			for (WriteToFileConfig config : List.of(WriteToFileConfig.DEFAULT_CONFIG,
+					new WriteToFileConfig(BlockCompression.LZ4))) {
+
+				String label = e.getKey() + ", " + config;
+
+				File file = File.createTempFile(e.getKey(), null);
+				file.deleteOnExit();
+				df.writeTo(file, config);
+
+				Assertions.assertEquals(expected, DataFrameFactory.readFrom(file, columnNames), label + " (copied)");
+				Assertions.assertEquals(expected, DataFrameFactory.mapFrom(file, columnNames), label + " (mapped)");
+				Assertions.assertEquals(df.keyColumnName(), DataFrameFactory.readFrom(file, columnNames).keyColumnName(),
+						label + " (key)");
+
+				Assertions.assertThrows(IllegalArgumentException.class,
+						() -> DataFrameFactory.readFrom(file, "NO_SUCH_COLUMN"), label + " (missing)");
+			}
+		}
+	}
+
+	@Test
+	public void testLazyMapFrom() throws Exception {
+
+		for (Map.Entry<String, DataFrame> e : DF_MAP.entrySet()) {
+
+			DataFrame expected = e.getValue();
+
+			for (WriteToFileConfig config : List.of(WriteToFileConfig.DEFAULT_CONFIG,
+					new WriteToFileConfig(ColumnEncoding.AUTO), new WriteToFileConfig(BlockCompression.LZ4))) {
+
+				String label = e.getKey() + ", " + config;
+
+				File file = File.createTempFile(e.getKey(), null);
+				file.deleteOnExit();
+				expected.writeTo(file, config);
+
+				// touch a single column before anything else
+				DataFrame lazy = DataFrameFactory.lazyMapFrom(file);
+				Assertions.assertEquals(expected.size(), lazy.size(), label + " (size)");
+				Assertions.assertEquals(expected.column(expected.columnCount() - 1), lazy.column(lazy.columnCount() - 1),
+						label + " (last column)");
+
+				lazy = DataFrameFactory.lazyMapFrom(file);
+				Assertions.assertEquals(expected, lazy, label);
+				Assertions.assertEquals(expected.keyColumnName(), lazy.keyColumnName(), label + " (key)");
+				if (expected.hasKeyColumn() && expected.size() > 0) {
+					Object key = expected.column(expected.keyColumnIndex()).get(expected.size() / 2);
+					Assertions.assertEquals(expected.headTo(key, true), lazy.headTo(key, true), label + " (key search)");
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testLazyMapWithKeyColumn() throws Exception {
+
+		DataFrame expected = DataFrameFactory.of("A", StringColumn.of("x", null, "z"), "B",
+				IntColumn.of(1, 2, 3).toDistinct(), "C", DoubleColumn.of(0.5, null, 1.5));
+
+		File file = File.createTempFile("lazyKey", null);
+		file.deleteOnExit();
+		expected.writeTo(file);
+
+		// only the key column is loaded before the new dataframe is created
+		DataFrame actual = DataFrameFactory.lazyMapFrom(file).withKeyColumn("B");
+		Assertions.assertEquals(expected.withKeyColumn("B"), actual);
+		Assertions.assertEquals("B", actual.keyColumnName());
+	}
+
+	@Test
+	public void testMapReadOnly() throws Exception {
+
+		for (Map.Entry<String, DataFrame> e : DF_MAP.entrySet()) {
+
+			// a view, so that bitsets and var-length pointers don't start from zero
+			DataFrame expected = e.getValue().size() < 10 ? e.getValue()
+					: e.getValue().subFrame(3, e.getValue().size() - 1);
+
+			File file = File.createTempFile(e.getKey(), null);
+			file.deleteOnExit();
+			expected.writeTo(file);
+			byte[] written = Files.readAllBytes(file.toPath());
+
+			DataFrame mapped = DataFrameFactory.mapFrom(file, MapMode.READ_ONLY);
+			Assertions.assertEquals(expected, mapped, e.getKey());
+			Assertions.assertEquals(expected, DataFrameFactory.lazyMapFrom(file, MapMode.READ_ONLY),
+					e.getKey() + " (lazy)");
+
+			// operations which derive new columns must not write to the mapped buffers
+			for (int i = 0; i < expected.columnCount(); i++) {
+				Column<?> column = mapped.column(i);
+				if (!column.isNonnull() || column.getType() == ColumnType.BOOLEAN
+						|| column.getType() == ColumnType.NSTRING)
+					continue;
+				Assertions.assertEquals(expected.column(i).toSorted(), column.toSorted(), e.getKey() + ", " + i);
+				Assertions.assertEquals(expected.column(i).toDistinct(), column.toDistinct(), e.getKey() + ", " + i);
+			}
+
+			Assertions.assertArrayEquals(written, Files.readAllBytes(file.toPath()), e.getKey() + " (unmodified)");
+		}
+
+		File file = File.createTempFile("private", null);
+		file.deleteOnExit();
+		DF_MAP.values().iterator().next().writeTo(file);
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> DataFrameFactory.mapFrom(file, MapMode.PRIVATE));
+	}
+
+	@Test
+	public void testOpenMapping() throws Exception {
+
+		final File maps = new File("/proc/self/maps");
+		final boolean unmaps = ModuleLayer.boot().findModule("jdk.incubator.foreign").isPresent();
+
+		for (Map.Entry<String, DataFrame> e : DF_MAP.entrySet()) {
+
+			DataFrame expected = e.getValue();
+
+			for (MapMode mode : List.of(MapMode.READ_WRITE, MapMode.READ_ONLY)) {
+
+				String label = e.getKey() + ", " + mode;
+
+				// a new file each time, since an earlier mapping may not be unmapped yet
+				File file = File.createTempFile(e.getKey(), null);
+				file.deleteOnExit();
+				expected.writeTo(file);
+				final String path = file.getCanonicalPath();
+
+				DataFrameMapping mapping = DataFrameFactory.openMapping(file, mode);
+				DataFrame mapped = mapping.dataFrame();
+				Assertions.assertEquals(expected, mapped, label);
+
+				String last = expected.columnName(expected.columnCount() - 1);
+				Assertions.assertEquals(expected.selectColumns(last), mapping.dataFrame(last), label + " (projected)");
+
+				// files under 1 GB are mapped in a single region
+				if (maps.exists())
+					Assertions.assertEquals(1, mappingsOf(maps, path), label + " (mappings)");
+
+				mapping.close();
+				Assertions.assertThrows(IllegalStateException.class, () -> mapping.dataFrame(), label + " (closed)");
+				if (unmaps) {
+					// bitsets are read onto the heap, so only non-null, non-boolean columns are mapped
+					for (int i = 0; i < expected.columnCount() && expected.size() > 0; i++) {
+						Column<?> column = mapped.column(i);
+						if (column.isNonnull() && column.getType() != ColumnType.BOOLEAN) {
+							// string decoding wraps it in a CoderMalfunctionError
+							Throwable t = Assertions.assertThrows(Throwable.class, () -> column.get(0));
+							Assertions.assertInstanceOf(IllegalStateException.class,
+									t instanceof IllegalStateException ? t : t.getCause(), label + " (stale)");
+						}
+					}
+					if (maps.exists())
+						Assertions.assertEquals(0, mappingsOf(maps, path), label + " (unmapped)");
+				}
+			}
+		}
+	}
+
+	private static long mappingsOf(File maps, String path) throws IOException {
+		return Files.readAllLines(maps.toPath()).stream().filter(line -> line.endsWith(" " + path)).count();
+	}
+
+	@Test
+	public void testEncodingsShrinkFiles() throws Exception {
+
+		final int size = 100_000;
+		final Random random = new Random(0);
+		final String[] symbols = { "AAPL", "MSFT", "GOOG", "AMZN", "META" };
+
+		IntColumnBuilder sorted = IntColumn.builder(DISTINCT);
+		LongColumnBuilder runs = LongColumn.builder();
+		IntColumnBuilder narrow = IntColumn.builder();
+		StringColumnBuilder strings = StringColumn.builder();
+		LongColumnBuilder extremes = LongColumn.builder();
+		DoubleColumnBuilder doubles = DoubleColumn.builder();
+
+		for (int i = 0; i < size; i++) {
+			sorted.add(1_000_000 + i * 3 + random.nextInt(3));
+			runs.add(i / 1000 * 1_000_000_000_000L);
+			narrow.add(2_000_000_000 + random.nextInt(1000));
+			strings.add(i % 11 == 0 ? null : symbols[random.nextInt(symbols.length)]);
+			extremes.add(switch (i % 4) {
+			case 0 -> Long.MIN_VALUE;
+			case 1 -> Long.MAX_VALUE;
+			case 2 -> 0;
+			default -> random.nextLong();
+			});
+			doubles.add(random.nextDouble());
+		}
+
+		DataFrame expected = DataFrameFactory.create(
+				new Column<?>[] { sorted.build(), runs.build(), narrow.build(), strings.build(), extremes.build(),
+						doubles.build() },
+				new String[] { "SORTED", "RUNS", "NARROW", "STRINGS", "EXTREMES", "DOUBLES" }, "SORTED");
+
+		File plain = File.createTempFile("plain", null);
+		plain.deleteOnExit();
+		expected.writeTo(plain);
+
+		// every encoding applied to every column, including the ones it doesn't suit
+		for (ColumnEncoding encoding : ColumnEncoding.values()) {
+			File file = File.createTempFile(encoding.name(), null);
+			file.deleteOnExit();
+			expected.writeTo(file, new WriteToFileConfig(encoding));
+			Assertions.assertEquals(expected, DataFrameFactory.readFrom(file), encoding.toString());
+		}
+
+		WriteToFileConfig config = new WriteToFileConfig(ColumnEncoding.PLAIN)
+				.withColumnEncoding("SORTED", ColumnEncoding.DELTA)
+				.withColumnEncoding("RUNS", ColumnEncoding.RUN_LENGTH)
+				.withColumnEncoding("NARROW", ColumnEncoding.FRAME_OF_REFERENCE)
+				.withColumnEncoding("STRINGS", ColumnEncoding.DICTIONARY);
+
+		for (WriteToFileConfig c : List.of(config, new WriteToFileConfig(ColumnEncoding.AUTO))) {
+			File file = File.createTempFile("encoded", null);
+			file.deleteOnExit();
+			expected.writeTo(file, c);
+
+			Assertions.assertEquals(expected, DataFrameFactory.readFrom(file), c.toString());
+			Assertions.assertEquals(expected, DataFrameFactory.mapFrom(file), c.toString());
+
+			// the doubles and extremes are incompressible, and make up most of the result
+			long incompressible = size * 8L * 2;
+			Assertions.assertTrue(file.length() < incompressible + (plain.length() - incompressible) / 3,
+					c + ": " + file.length() + " vs " + plain.length());
+		}
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> expected.writeTo(plain,
+				new WriteToFileConfig(ColumnEncoding.AUTO).withColumnEncoding("MISSING", ColumnEncoding.DELTA)));
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void testReadWriteZoneMaps() throws Exception {
+
+		// several blocks of values which drift upwards, so that range scans skip some
+		// blocks, fully match others, and partly match the rest
+		final int size = 200_000;
+		final Random random = new Random(0);
+
+		IntColumnBuilder sorted = IntColumn.builder(DISTINCT);
+		IntColumnBuilder ints = IntColumn.builder();
+		LongColumnBuilder longs = LongColumn.builder();
+		ShortColumnBuilder shorts = ShortColumn.builder();
+		ByteColumnBuilder bytes = ByteColumn.builder();
+		FloatColumnBuilder floats = FloatColumn.builder();
+		DoubleColumnBuilder doubles = DoubleColumn.builder();
+		DateColumnBuilder dates = DateColumn.builder();
+		IntColumnBuilder repeated = IntColumn.builder();
+
+		for (int i = 0; i < size; i++) {
+			final int drift = i / 1000 + random.nextInt(100);
+			sorted.add(i * 2);
+			if (i % 7 == 0)
+				ints.addNull();
+			else
+				ints.add(drift);
+			longs.add(drift * 1_000_000_000L);
+			shorts.add((short) drift);
+			bytes.add((byte) (drift / 2));
+			floats.add(i % 1001 == 0 ? Float.NaN : drift / 4f);
+			doubles.add(i % 997 == 0 ? -0.0 : drift / 8d);
+			dates.add(LocalDate.of(2000, 1, 1).plusDays(drift));
+			repeated.add(i / 3);
+		}
+
+		DataFrame expected = DataFrameFactory.create(
+				new Column<?>[] { sorted.build(), ints.build(), longs.build(), shorts.build(), bytes.build(),
+						floats.build(), doubles.build(), dates.build(), repeated.build().toSorted() },
+				new String[] { "K", "I", "L", "S", "B", "F", "D", "DATE", "R" }, "K");
+
+		File file = File.createTempFile("zoneMaps", null);
+		file.deleteOnExit();
+		expected.writeTo(file);
+
+		DataFrame mapped = DataFrameFactory.mapFrom(file);
+		Assertions.assertEquals(expected, mapped, "read/write zone maps (mapped)");
+
+		for (int[] window : new int[][] { { 0, size }, { 12_345, 170_001 }, { 70_000, 130_000 } }) {
+
+			DataFrame e = expected.subFrame(window[0], window[1]);
+			DataFrame m = mapped.subFrame(window[0], window[1]);
+			String label = Arrays.toString(window);
+
+			for (int i = 0; i < e.columnCount(); i++) {
+				Column ec = e.column(i);
+				Column mc = m.column(i);
+				String name = label + ", " + e.columnName(i);
+
+				// random elements, and elements at either side of block boundaries
+				List<Integer> probes = new ArrayList<>();
+				for (int j = 0; j < 20; j++)
+					probes.add(random.nextInt(ec.size()));
+				for (int b = 1; b * 65536 < size; b++)
+					for (int k = b * 65536 - 1; k <= b * 65536; k++)
+						if (k >= window[0] && k < window[1])
+							probes.add(k - window[0]);
+
+				for (int j = 0; j < probes.size(); j++) {
+					Comparable lo = (Comparable) ec.get(probes.get(j));
+					Comparable hi = (Comparable) ec.get(probes.get(probes.size() - 1 - j));
+					if (lo == null || hi == null)
+						continue;
+					if (lo.compareTo(hi) > 0) {
+						Comparable t = lo;
+						lo = hi;
+						hi = t;
+					}
+
+					Assertions.assertEquals(ec.between(lo, hi), mc.between(lo, hi), name + ", between");
+					Assertions.assertEquals(ec.lt(hi), mc.lt(hi), name + ", lt");
+					Assertions.assertEquals(ec.ge(lo), mc.ge(lo), name + ", ge");
+					Assertions.assertEquals(ec.eq(lo), mc.eq(lo), name + ", eq");
+					Assertions.assertEquals(ec.indexOf(lo), mc.indexOf(lo), name + ", indexOf");
+					Assertions.assertEquals(ec.lastIndexOf(lo), mc.lastIndexOf(lo), name + ", lastIndexOf");
+				}
+			}
+
+			Assertions.assertEquals(e.intColumn("I").min(), m.intColumn("I").min(), label + ", min");
+			Assertions.assertEquals(e.intColumn("I").max(), m.intColumn("I").max(), label + ", max");
+			Assertions.assertEquals(e.longColumn("L").min(), m.longColumn("L").min(), label + ", min");
+			Assertions.assertEquals(e.longColumn("L").max(), m.longColumn("L").max(), label + ", max");
+			Assertions.assertEquals(e.shortColumn("S").min(), m.shortColumn("S").min(), label + ", min");
+			Assertions.assertEquals(e.byteColumn("B").max(), m.byteColumn("B").max(), label + ", max");
+			Assertions.assertEquals(e.floatColumn("F").min(), m.floatColumn("F").min(), label + ", min");
+			Assertions.assertEquals(e.floatColumn("F").max(), m.floatColumn("F").max(), label + ", max");
+			Assertions.assertEquals(e.doubleColumn("D").min(), m.doubleColumn("D").min(), label + ", min");
+			Assertions.assertEquals(e.doubleColumn("D").max(), m.doubleColumn("D").max(), label + ", max");
+
+			for (int j = 0; j < 20; j++) {
+				int from = window[0] * 2 + random.nextInt(window[1] - window[0]) * 2 - 1;
+				int to = from + random.nextInt(50_000);
+				Assertions.assertEquals(e.subFrameByValue(from, to), m.subFrameByValue(from, to),
+						label + ", subFrameByValue");
+			}
+			for (int k = 65535; k < size; k += 65536) {
+				for (int from = k * 2 - 1; from <= k * 2 + 3; from++) {
+					int to = from + 2 * 65536 + 1;
+					Assertions.assertEquals(e.subFrameByValue(from, to), m.subFrameByValue(from, to),
+							label + ", subFrameByValue");
+				}
+			}
+		}
+	}
+
 	@Test
 	public void testReadWriteCsv() throws Exception {
 
@@ -524,6 +1016,34 @@ public class TestDataFrame {
 		}
 	}
 
+	@Test
+	public void testFilterMask() {
+
+		IntColumn c1 = IntColumn.of(1, 2, null, 4, 5);
+		StringColumn c2 = StringColumn.of("A", "B", "C", null, "E");
+		DataFrame df1 = DataFrameFactory.create(new Column<?>[] { c1, c2 }, new String[] { "C1", "C2" });
+
+		BufferBitSet mask = c1.ge(2);
+		mask.and(c2.isNull());
+		Assertions.assertEquals(df1.subFrame(3, 4), df1.filter(mask), "basic, filter mask");
+
+		BufferBitSet outOfRange = new BufferBitSet();
+		outOfRange.set(df1.size());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> df1.filter(outOfRange));
+
+		for (Map.Entry<String, DataFrame> e : DF_MAP.entrySet()) {
+
+			DataFrame df = e.getValue();
+
+			BufferBitSet anyNull = new BufferBitSet();
+			for (int i = 0; i < df.columnCount(); i++)
+				anyNull.or(df.column(i).isNull());
+			anyNull.flip(0, df.size());
+
+			Assertions.assertEquals(df.filterNulls(), df.filter(anyNull), e.getKey() + ", filter mask");
+		}
+	}
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public void testSubFrameByValue(String label, DataFrame df, boolean fromInclusive, boolean toInclusive)
 			throws Exception {
@@ -722,6 +1242,45 @@ public class TestDataFrame {
 		Assertions.assertEquals(expected, actual);
 	}
 
+	@Test
+	public void testSortNullsStable() {
+		StringColumn a = StringColumn.of("B", null, "A", "B", null, "A", "B");
+		DoubleColumn b = DoubleColumn.of(2.0, 1.0, null, 1.0, null, 2.0, 2.0);
+		IntColumn c = IntColumn.of(0, 1, 2, 3, 4, 5, 6);
+
+		DataFrame unsorted = DataFrameFactory.of("C1", a, "C2", b, "C3", c);
+
+		DataFrame expected = DataFrameFactory.of("C1", StringColumn.of("A", "A", "B", "B", "B", null, null), "C2",
+				DoubleColumn.of(2.0, null, 1.0, 2.0, 2.0, 1.0, null), "C3", IntColumn.of(5, 2, 3, 0, 6, 1, 4));
+
+		Assertions.assertEquals(expected, unsorted.sort("C1", "C2"));
+
+		// C1, count(*) group by C1
+		Assertions.assertEquals(
+				DataFrameFactory.of("C1", StringColumn.of("A", "B", null), "COUNT", IntColumn.of(2, 3, 2)),
+				unsorted.groupBy(new GroupByConfig(List.of("C1"), List.of("COUNT"), List.of(ColumnType.INT),
+						List.of(s -> (int) s.count()))));
+	}
+
+	@Test
+	public void testSortSubColumn() {
+		// views of fixed-length and UUID columns start at an offset into their buffers
+		FixedAsciiColumn a = FixedAsciiColumn.of("z", "c", "a", "b", "a", "y").subColumn(1, 5);
+		UuidColumn b = UuidColumn.of(new UUID(0, 9), new UUID(0, 1), new UUID(0, 2), new UUID(0, 0), new UUID(0, 3),
+				new UUID(0, 9)).subColumn(1, 5);
+		IntColumn c = IntColumn.of(0, 1, 2, 3);
+
+		DataFrame unsorted = DataFrameFactory.of("A", a, "B", b, "C", c);
+
+		Assertions.assertEquals(DataFrameFactory.of("A", FixedAsciiColumn.of("a", "a", "b", "c"), "B",
+				UuidColumn.of(new UUID(0, 2), new UUID(0, 3), new UUID(0, 0), new UUID(0, 1)), "C",
+				IntColumn.of(1, 3, 2, 0)), unsorted.sort("A", "B"));
+
+		Assertions.assertEquals(DataFrameFactory.of("A", FixedAsciiColumn.of("b", "c", "a", "a"), "B",
+				UuidColumn.of(new UUID(0, 0), new UUID(0, 1), new UUID(0, 2), new UUID(0, 3)), "C",
+				IntColumn.of(2, 0, 1, 3)), unsorted.sort("B"));
+	}
+
 	@Test
 	public void testGroupBy() {
 
@@ -826,6 +1385,369 @@ public class TestDataFrame {
 		Assertions.assertEquals(expected, actual);
 	}
 
+	@Test
+	public void parseCsvQuoting() throws Exception {
+
+		DataFrame expected = DataFrameFactory.of("A", StringColumn.of("x,y", "say \"hi\"", "two\nlines", "", null), "B",
+				IntColumn.of(1, 2, 3, null, null));
+
+		String csv = "A,B\r\"x,y\",1\n\"say \"\"hi\"\"\",2\r\n\"two\r\nlines\",3\r\"\",\n,\"\"";
+		DataFrame actual = readCsv(csv, new ReadCsvConfig(ColumnType.STRING, ColumnType.INT));
+		Assertions.assertEquals(expected, actual);
+
+		assertCsvError("Record #3: Line #3: Field #1: unescaped \"", "A,B\nx,1\n\"a\"b\"\",2\n");
+		assertCsvError("Record #3: Line #4: reached EOF with unmatched quote", "A,B\nx,1\n\"y,2\n");
+		assertCsvError("Record #2: Line #2: mismatch between number of fields (1), vs configured types (2)", "A,B\nx\n");
+		assertCsvError("Record #3: Line #4: Field #2: For input string: \"z\"", "A,B\nx,1\n\"y\ny\",z\n");
+	}
+
+	private static void assertCsvError(String expected, String csv) {
+		RuntimeException e = Assertions.assertThrows(RuntimeException.class,
+				() -> readCsv(csv, new ReadCsvConfig(ColumnType.STRING, ColumnType.INT)));
+		Assertions.assertEquals(expected, e.getMessage());
+	}
+
+	private static DataFrame readCsv(String csv, ReadCsvConfig config) throws IOException {
+		return DataFrameFactory.readCsvFrom(new ByteArrayInputStream(csv.getBytes(UTF_8)), config);
+	}
+
+	@Test
+	public void parseCsvValues() throws Exception {
+
+		final Random random = new Random(0);
+
+		final List<ColumnType<?>> types = List.of(ColumnType.INT, ColumnType.LONG, ColumnType.SHORT, ColumnType.BYTE,
+				ColumnType.DOUBLE, ColumnType.FLOAT, ColumnType.DATE, ColumnType.BOOLEAN, ColumnType.STRING);
+
+		final List<Supplier<String>> values = List.of(
+				() -> pick(random, "" + random.nextInt(), "+" + random.nextInt(1000), "-0", "007", "2147483647",
+						"-2147483648"),
+				() -> pick(random, "" + random.nextLong(), "" + random.nextInt(), "9223372036854775807",
+						"-9223372036854775808"),
+				() -> "" + (short) random.nextInt(),
+				() -> "" + (byte) random.nextInt(),
+				() -> pick(random, "" + random.nextDouble(), "" + random.nextGaussian() * 1e6,
+						String.format("%.2f", random.nextGaussian() * 100), "" + random.nextInt(), "1e-5", "-1.5E+3",
+						"1e300", "4.9e-324", "-0", ".5", "5.", "9007199254740993", "NaN", "-Infinity", "0x1p3", "1d"),
+				() -> pick(random, "" + random.nextFloat(), String.format("%.3f", random.nextGaussian() * 100),
+						"" + random.nextInt(), "16777217", "3.4e38", "1e-10", "-0.0", "1.17549435E-38"),
+				() -> pick(random, LocalDate.ofEpochDay(random.nextInt(2932897)).toString(), "2000-02-29", "19991231",
+						"00010101"),
+				() -> pick(random, "true", "TRUE", "Y", "y", "false", "n", "yes", "t"),
+				() -> pick(random, "abc", "", "\"", "\u00e9\u4e2d", "a\nb"));
+
+		final StringBuilder csv = new StringBuilder();
+		@SuppressWarnings("rawtypes")
+		final List<ColumnBuilder> builders = new ArrayList<>();
+		for (ColumnType<?> type : types)
+			builders.add(type.builder());
+
+		// enough rows to span several reads, and one field which is larger than the
+		// initial buffer
+		for (int r = 0; r < 20000; r++) {
+			for (int i = 0; i < types.size(); i++) {
+				String value = r == 10000 && i == types.size() - 1 ? "x".repeat(100000) : values.get(i).get();
+				if (i > 0)
+					csv.append(',');
+				csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+				builders.get(i).add(types.get(i).parse(value));
+			}
+			csv.append("\r\n");
+		}
+
+		final List<Column<?>> columns = new ArrayList<>();
+		for (var builder : builders)
+			columns.add(builder.build());
+		final List<String> names = List.of("a", "b", "c", "d", "e", "f", "g", "h", "i");
+
+		DataFrame expected = DataFrameFactory.create(columns, names);
+		DataFrame actual = readCsv(csv.toString(), new ReadCsvConfig(types).withColumnNames(names));
+		Assertions.assertEquals(expected, actual);
+
+		File file = File.createTempFile("parseCsvValues", ".csv");
+		try {
+			Files.writeString(file.toPath(), csv);
+			actual = DataFrameFactory.readCsvFrom(file, new ReadCsvConfig(types).withColumnNames(names));
+			Assertions.assertEquals(expected, actual);
+		} finally {
+			file.delete();
+		}
+	}
+
+	private static String pick(Random random, String... values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	@Test
+	public void inferCsvConfig() throws Exception {
+
+		final Random random = new Random(0);
+
+		final StringBuilder csv = new StringBuilder(
+				"byte,short,int,long,float,double,date,datetime,uuid,bool,normal,fixed,string,nulls,zip\n");
+		for (int r = 0; r < 100; r++) {
+			csv.append(random.nextInt(256) - 128).append(',');
+			csv.append(random.nextInt(1000) * 10).append(',');
+			csv.append(random.nextInt()).append(',');
+			csv.append(random.nextLong()).append(',');
+			csv.append(random.nextInt(1000) / 4f).append(',');
+			csv.append(random.nextDouble()).append(',');
+			csv.append(LocalDate.ofEpochDay(random.nextInt(20000))).append(',');
+			csv.append(LocalDateTime.of(2023, 1, 1, 0, 0).plusMinutes(random.nextInt(100000))).append(',');
+			csv.append(UUID.randomUUID()).append(',');
+			csv.append(random.nextBoolean() ? "true" : "FALSE").append(',');
+			csv.append("\"category ").append(random.nextInt(5)).append("\",");
+			csv.append((char) ('A' + random.nextInt(26))).append(random.nextInt(900) + 100).append(',');
+			csv.append("text ".repeat(random.nextInt(3))).append(r).append(',');
+			csv.append(',');
+			csv.append(String.format("%05d", random.nextInt(100000))).append('\n');
+		}
+		// outside of the sample
+		csv.append("1000,1,1,1,1,1,2000-01-01,2000-01-01T00:00,").append(UUID.randomUUID())
+				.append(",true,x,A100,x,x,00000\n");
+
+		File file = File.createTempFile("inferCsvConfig", ".csv");
+		try {
+			Files.writeString(file.toPath(), csv);
+
+			ReadCsvConfig config = ReadCsvConfig.inferFrom(file, 100);
+			Assertions.assertEquals(List.of(ColumnType.BYTE, ColumnType.SHORT, ColumnType.INT, ColumnType.LONG,
+					ColumnType.FLOAT, ColumnType.DOUBLE, ColumnType.DATE, ColumnType.DATETIME, ColumnType.UUID,
+					ColumnType.BOOLEAN, ColumnType.NSTRING, ColumnType.FSTRING, ColumnType.STRING, ColumnType.STRING,
+					ColumnType.FSTRING), config.columnTypes());
+			Assertions.assertNull(config.columnNames());
+
+			// the last record doesn't fit the inferred types
+			Assertions.assertThrows(RuntimeException.class, () -> DataFrameFactory.readCsvFrom(file, config));
+			Assertions.assertEquals(ColumnType.SHORT, ReadCsvConfig.inferFrom(file, 1000).columnTypes().get(0));
+
+			Files.writeString(file.toPath(), csv.substring(0, csv.lastIndexOf("1000,")));
+			DataFrame df = DataFrameFactory.readCsvFrom(file, config);
+			Assertions.assertEquals(100, df.size());
+			Assertions.assertEquals(config.columnTypes(), df.columnTypes());
+
+			Files.writeString(file.toPath(), "a|b\n1.5|(null)\n-1e3|x\n");
+			Assertions.assertEquals(List.of(ColumnType.FLOAT, ColumnType.FSTRING),
+					ReadCsvConfig.inferFrom(file, 10, '|', "(null)").columnTypes());
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void streamCsv() throws Exception {
+
+		final Random random = new Random(0);
+
+		final IntColumnBuilder ints = IntColumn.builder();
+		final StringColumnBuilder strings = StringColumn.builder();
+		for (int i = 0; i < 1000; i++) {
+			if (random.nextInt(10) == 0)
+				ints.addNull();
+			else
+				ints.add(random.nextInt());
+			strings.add(random.nextBoolean() ? "s" + i : "a,\"b\"\nc");
+		}
+		final DataFrame expected = DataFrameFactory.of("A", ints.build(), "B", strings.build());
+		final ReadCsvConfig config = new ReadCsvConfig(expected.columnTypes());
+
+		File file = File.createTempFile("streamCsv", ".csv");
+		try {
+			expected.writeCsvTo(file);
+
+			for (int batchSize : new int[] { 1, 64, 500, 1000, 5000 }) {
+				try (Stream<DataFrame> stream = DataFrameFactory.streamCsvFrom(file, config, batchSize)) {
+					List<DataFrame> batches = stream.toList();
+
+					Assertions.assertEquals((1000 + batchSize - 1) / batchSize, batches.size());
+					for (int i = 0; i < batches.size() - 1; i++)
+						Assertions.assertEquals(batchSize, batches.get(i).size());
+
+					Assertions.assertEquals(expected, batches.stream().reduce(DataFrame::append).get());
+				}
+			}
+		} finally {
+			file.delete();
+		}
+
+		Assertions.assertEquals(0, DataFrameFactory
+				.streamCsvFrom(new ByteArrayInputStream("A,B\n".getBytes(UTF_8)), config, 10).count());
+
+		// record and line numbers continue from one batch to the next
+		String bad = "A,B\n" + "1,\"x\ny\"\n".repeat(10) + "z,z\n";
+		RuntimeException e = Assertions.assertThrows(RuntimeException.class, () -> DataFrameFactory
+				.streamCsvFrom(new ByteArrayInputStream(bad.getBytes(UTF_8)), config, 3).forEach(df -> {
+				}));
+		Assertions.assertEquals("Record #12: Line #22: Field #1: For input string: \"z\"", e.getMessage());
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> DataFrameFactory
+				.streamCsvFrom(new ByteArrayInputStream(bad.getBytes(UTF_8)), config, 0));
+	}
+
+	@Test
+	public void parseCsvParallel() throws Exception {
+
+		final Random random = new Random(0);
+
+		// quoted fields spanning lines (and containing quotes), so that chunks can't
+		// simply start after the next line break
+		final StringBuilder csv = new StringBuilder("A,B\r\n");
+		int split = 0;
+		for (int r = 0; r < 20000; r++) {
+			if (r == 15000)
+				split = csv.length();
+			switch (random.nextInt(4)) {
+			case 0 -> csv.append("\"a\nb\",").append(r);
+			case 1 -> csv.append("\"\"\"q\"\"\r\n\"\"\r\n\",").append(r);
+			case 2 -> csv.append("\"\",");
+			default -> csv.append("x".repeat(random.nextInt(20))).append(',').append(r);
+			}
+			csv.append(random.nextBoolean() ? "\n" : "\r\n");
+		}
+
+		final ReadCsvConfig config = new ReadCsvConfig(ColumnType.STRING, ColumnType.INT);
+
+		File file = File.createTempFile("parseCsvParallel", ".csv");
+		try {
+			Files.writeString(file.toPath(), csv);
+			Assertions.assertEquals(readCsv(csv.toString(), config), DataFrameFactory.readCsvFrom(file, config));
+
+			// errors are reported for the first bad record, with the same record and line
+			// numbers as when reading sequentially
+			for (String bad : new String[] { "\"a\"b\"\",1\n", "z,z\n", "\"z\nz\",1,1\r\n" }) {
+				String badCsv = csv.substring(0, split) + bad + csv.substring(split) + bad;
+				Files.writeString(file.toPath(), badCsv);
+
+				RuntimeException expected = Assertions.assertThrows(RuntimeException.class,
+						() -> readCsv(badCsv, config));
+				RuntimeException actual = Assertions.assertThrows(RuntimeException.class,
+						() -> DataFrameFactory.readCsvFrom(file, config));
+				Assertions.assertEquals(expected.getMessage(), actual.getMessage());
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void writeCsv() throws Exception {
+
+		final Random random = new Random(0);
+
+		// every kind of field which must be quoted, as well as UTF-8 which only
+		// resembles a line break
+		final String[] strings = { "", "a", "a,b", "\"q\"", "x\ny", "x\r\ny", "\u000B", "\f", "\u0085", "\u2028", "\u2029",
+				"\u00e9\u20ac", "\u00c2", "\u00e2\u0080", "x".repeat(40) + "\"", "y".repeat(40) };
+
+		final ColumnBuilder<Integer> ints = ColumnType.INT.builder();
+		final ColumnBuilder<Long> longs = ColumnType.LONG.builder();
+		final ColumnBuilder<Short> shorts = ColumnType.SHORT.builder();
+		final ColumnBuilder<Byte> bytes = ColumnType.BYTE.builder();
+		final ColumnBuilder<Double> doubles = ColumnType.DOUBLE.builder();
+		final ColumnBuilder<Float> floats = ColumnType.FLOAT.builder();
+		final ColumnBuilder<Boolean> booleans = ColumnType.BOOLEAN.builder();
+		final ColumnBuilder<LocalDate> dates = ColumnType.DATE.builder();
+		final ColumnBuilder<String> stringBuilder = ColumnType.STRING.builder();
+		final ColumnBuilder<String> nstrings = ColumnType.NSTRING.builder();
+		final ColumnBuilder<UUID> uuids = ColumnType.UUID.builder();
+		final List<ColumnBuilder<?>> builders = List.of(ints, longs, shorts, bytes, doubles, floats, booleans, dates,
+				stringBuilder, nstrings, uuids);
+
+		for (int r = 0; r < 200000; r++) {
+			addOrNull(random, ints, random.nextInt(100) == 0 ? Integer.MIN_VALUE : random.nextInt() >> random.nextInt(32));
+			addOrNull(random, longs, random.nextInt(100) == 0 ? Long.MIN_VALUE : random.nextLong() >> random.nextInt(64));
+			addOrNull(random, shorts, (short) random.nextInt());
+			addOrNull(random, bytes, (byte) random.nextInt());
+			addOrNull(random, doubles, switch (random.nextInt(8)) {
+			case 0 -> Double.NaN;
+			case 1 -> Double.NEGATIVE_INFINITY;
+			case 2 -> -0d;
+			case 3 -> random.nextDouble() * 1e-10;
+			default -> (random.nextDouble() - 0.5) * 1e6;
+			});
+			addOrNull(random, floats, random.nextFloat() * 1000);
+			addOrNull(random, booleans, random.nextBoolean());
+			addOrNull(random, dates, switch (random.nextInt(16)) {
+			case 0 -> LocalDate.of(-5, 1, 1);
+			case 1 -> LocalDate.of(12345, 6, 7);
+			default -> LocalDate.ofEpochDay(random.nextInt(100000) - 50000);
+			});
+			addOrNull(random, stringBuilder, strings[random.nextInt(strings.length)]);
+			addOrNull(random, nstrings, strings[random.nextInt(strings.length)]);
+			addOrNull(random, uuids, new UUID(random.nextLong(), random.nextLong()));
+		}
+
+		final DataFrame df = DataFrameFactory.create(builders.stream().map(ColumnBuilder::build).toArray(Column<?>[]::new),
+				new String[] { "I", "L", "T", "Y", "D", "F", "B", "DA", "S,", "\"NS\"", "UU" });
+
+		// sequentially, and in parallel; views of the columns start at an offset
+		for (DataFrame expected : new DataFrame[] { df.subFrame(1001, 2001), df, df.subFrame(3, df.size() - 3) }) {
+
+			ByteArrayOutputStream os = new ByteArrayOutputStream();
+			expected.writeCsvTo(os);
+			Assertions.assertArrayEquals(regexCsv(expected), os.toByteArray());
+
+			File file = File.createTempFile("writeCsv", ".csv");
+			try {
+				expected.writeCsvTo(file);
+				Assertions.assertArrayEquals(os.toByteArray(), Files.readAllBytes(file.toPath()));
+			} finally {
+				file.delete();
+			}
+		}
+	}
+
+	private static <T> void addOrNull(Random random, ColumnBuilder<T> builder, T value) {
+		if (random.nextInt(8) == 0)
+			builder.addNull();
+		else
+			builder.add(value);
+	}
+
+	@Test
+	public void writeCsvLazy() throws Exception {
+
+		DataFrame expected = DataFrameFactory.of("A", StringColumn.of("x", null, "z"), "B", IntColumn.of(3, 1, 2), "C",
+				DoubleColumn.of(0.5, null, 1.5));
+
+		File file = File.createTempFile("writeCsvLazy", null);
+		file.deleteOnExit();
+		expected.writeTo(file);
+
+		// no column is loaded before the dataframe is written
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		DataFrameFactory.lazyMapFrom(file).writeCsvTo(os);
+		Assertions.assertArrayEquals(regexCsv(expected), os.toByteArray());
+	}
+
+	/**
+	 * CSV formatted from the {@code toString} of each value, and escaped if
+	 * matched by a regular expression.
+	 */
+	private static byte[] regexCsv(DataFrame df) {
+
+		final Matcher escapeRequired = Pattern.compile("\"|,|\\R").matcher("");
+		final Function<String, String> escape = s -> escapeRequired.reset(s).find()
+				? '"' + s.replace("\"", "\"\"") + '"'
+				: s;
+
+		final StringBuilder csv = new StringBuilder();
+		csv.append(df.columnNames().stream().map(escape).collect(Collectors.joining(","))).append("\r\n");
+		for (Cursor cursor = df.cursor(); cursor.hasNext(); cursor.next()) {
+			for (int i = 0; i < df.columnCount(); i++) {
+				if (i > 0)
+					csv.append(',');
+				if (!cursor.isNull(i)) {
+					String value = cursor.get(i).toString();
+					csv.append(value.isEmpty() && df.columnType(i) == ColumnType.STRING ? "\"\"" : escape.apply(value));
+				}
+			}
+			csv.append("\r\n");
+		}
+
+		return csv.toString().getBytes(UTF_8);
+	}
+
 	@Test
 	public void testSelectColumn() throws Exception {
 
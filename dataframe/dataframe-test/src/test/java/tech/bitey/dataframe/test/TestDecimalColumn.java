@@ -19,14 +19,21 @@ package tech.bitey.dataframe.test;
 import static java.math.BigDecimal.ZERO;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Random;
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
 import tech.bitey.dataframe.Column;
 import tech.bitey.dataframe.DecimalColumn;
 import tech.bitey.dataframe.StringColumn;
@@ -42,6 +49,41 @@ public class TestDecimalColumn extends TestColumn<BigDecimal> {
 		super(MIN_VALUE, MAX_VALUE, BigDecimal[]::new);
 	}
 
+	@Test
+	public void testAggregates() {
+		final MathContext mc = MathContext.DECIMAL128;
+
+		for (TestSample<BigDecimal> s : samples()) {
+			DecimalColumn column = (DecimalColumn) s.column();
+			List<BigDecimal> values = Arrays.stream(s.array()).filter(Objects::nonNull).toList();
+			BigDecimal sum = values.stream().reduce(ZERO, BigDecimal::add);
+			BigDecimal n = BigDecimal.valueOf(values.size());
+
+			assertEquals(Optional.of(sum), Optional.of(column.sum()), s + ", sum");
+			assertEquals(values.isEmpty() ? Optional.empty() : Optional.of(sum.divide(n, mc)), column.mean(mc),
+					s + ", mean");
+			assertEquals(values.stream().min(Comparator.naturalOrder()), column.min(), s + ", min");
+			assertEquals(values.stream().max(Comparator.naturalOrder()), column.max(), s + ", max");
+
+			// sum((n * x - sum)^2) / (n^2 * (n - 1))
+			Optional<BigDecimal> variance = Optional.empty();
+			if (values.size() > 1) {
+				BigDecimal m2 = values.stream().map(v -> v.multiply(n).subtract(sum).pow(2)).reduce(ZERO,
+						BigDecimal::add);
+				variance = Optional.of(m2.divide(n.pow(2).multiply(n.subtract(BigDecimal.ONE)), mc));
+			}
+			assertEquals(variance, column.variance(mc), s + ", variance");
+		}
+	}
+
+	// compares decimals by value, ignoring scale
+	private static void assertEquals(Optional<BigDecimal> expected, Optional<BigDecimal> actual, String message) {
+		Assertions.assertEquals(expected.isPresent(), actual.isPresent(), message);
+		if (expected.isPresent())
+			Assertions.assertEquals(0, expected.get().compareTo(actual.get()), message + ": expected "
+					+ expected.get() + ", actual " + actual.get());
+	}
+
 	@Override
 	Column<BigDecimal> parseColumn(StringColumn stringColumn) {
 		return stringColumn.parseDecimal();
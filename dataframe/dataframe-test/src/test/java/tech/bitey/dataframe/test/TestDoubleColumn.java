@@ -20,8 +20,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.OptionalDouble;
 import java.util.Random;
 import java.util.stream.Stream;
 
@@ -50,6 +52,33 @@ public class TestDoubleColumn extends TestFloatingColumn<Double> {
 		}
 	}
 
+	@Test
+	public void testAggregates() {
+		List<TestSample<Double>> samples = new ArrayList<>(samples());
+		samples.add(wrapSample("special_100", special(100)));
+
+		for (TestSample<Double> s : samples) {
+			DoubleColumn column = (DoubleColumn) s.column();
+			Double[] values = Arrays.stream(s.array()).filter(Objects::nonNull).toArray(Double[]::new);
+
+			// accumulated in index order, like the column
+			double sum = 0;
+			for (double value : values)
+				sum += value;
+
+			Assertions.assertEquals(sum, column.sum(), s + ", sum");
+			Assertions.assertEquals(
+					values.length == 0 ? OptionalDouble.empty() : OptionalDouble.of(sum / values.length),
+					column.mean(), s + ", mean");
+			Assertions.assertEquals(Arrays.stream(values).min(Comparator.naturalOrder()).map(Double::doubleValue),
+					optional(column.min()), s + ", min");
+			Assertions.assertEquals(Arrays.stream(values).max(Comparator.naturalOrder()).map(Double::doubleValue),
+					optional(column.max()), s + ", max");
+			assertVariance(Arrays.stream(values).mapToDouble(Double::doubleValue).toArray(), column.variance(),
+					s + ", variance");
+		}
+	}
+
 	@Override
 	Column<Double> parseColumn(StringColumn stringColumn) {
 		return stringColumn.parseDouble();
@@ -91,6 +120,16 @@ public class TestDoubleColumn extends TestFloatingColumn<Double> {
 		return new Double[] { Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NaN };
 	}
 
+	@Override
+	Double negativeNaN() {
+		return Double.longBitsToDouble(0xfff8000000000000L);
+	}
+
+	@Override
+	Double negativeZero() {
+		return -0.0;
+	}
+
 	@Override
 	Double[] random(int size) {
 		List<Double> list = new ArrayList<>(Arrays.asList(RANDOM));
@@ -20,10 +20,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.OptionalDouble;
 import java.util.Random;
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
 import tech.bitey.dataframe.Column;
 import tech.bitey.dataframe.FloatColumn;
 import tech.bitey.dataframe.StringColumn;
@@ -36,6 +42,33 @@ public class TestFloatColumn extends TestFloatingColumn<Float> {
 		super(Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, Float[]::new);
 	}
 
+	@Test
+	public void testAggregates() {
+		List<TestSample<Float>> samples = new ArrayList<>(samples());
+		samples.add(wrapSample("special_100", special(100)));
+
+		for (TestSample<Float> s : samples) {
+			FloatColumn column = (FloatColumn) s.column();
+			Float[] values = Arrays.stream(s.array()).filter(Objects::nonNull).toArray(Float[]::new);
+
+			// accumulated in index order, like the column
+			double sum = 0;
+			for (float value : values)
+				sum += value;
+
+			Assertions.assertEquals(sum, column.sum(), s + ", sum");
+			Assertions.assertEquals(
+					values.length == 0 ? OptionalDouble.empty() : OptionalDouble.of(sum / values.length),
+					column.mean(), s + ", mean");
+			Assertions.assertEquals(Arrays.stream(values).min(Comparator.naturalOrder()).map(Float::doubleValue),
+					optional(column.min()), s + ", min");
+			Assertions.assertEquals(Arrays.stream(values).max(Comparator.naturalOrder()).map(Float::doubleValue),
+					optional(column.max()), s + ", max");
+			assertVariance(Arrays.stream(values).mapToDouble(Float::doubleValue).toArray(), column.variance(),
+					s + ", variance");
+		}
+	}
+
 	@Override
 	Column<Float> parseColumn(StringColumn stringColumn) {
 		return stringColumn.parseFloat();
@@ -77,6 +110,16 @@ public class TestFloatColumn extends TestFloatingColumn<Float> {
 		return new Float[] { Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, Float.NaN };
 	}
 
+	@Override
+	Float negativeNaN() {
+		return Float.intBitsToFloat(0xffc00000);
+	}
+
+	@Override
+	Float negativeZero() {
+		return -0.0f;
+	}
+
 	@Override
 	Float[] random(int size) {
 		List<Float> list = new ArrayList<>(Arrays.asList(RANDOM));
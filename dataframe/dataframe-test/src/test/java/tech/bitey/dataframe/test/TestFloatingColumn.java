@@ -16,9 +16,15 @@
 
 package tech.bitey.dataframe.test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.function.IntFunction;
 
+import org.junit.jupiter.api.Test;
+
 abstract class TestFloatingColumn<E extends Comparable<E>> extends TestColumn<E> {
 
 	TestFloatingColumn(E min, E max, IntFunction<E[]> createArray) {
@@ -37,9 +43,42 @@ abstract class TestFloatingColumn<E extends Comparable<E>> extends TestColumn<E>
 		return samples;
 	}
 
+	@Test
+	public void testSpecialMasks() {
+		TestSample<E> s = wrapSample("special_100", special(100));
+		testComparisonMasks(s);
+		testInMask(s);
+	}
+
+	static Optional<Double> optional(OptionalDouble value) {
+		return value.isPresent() ? Optional.of(value.getAsDouble()) : Optional.empty();
+	}
+
 	abstract E[] singleNaN();
 
 	abstract E[] duoNaN();
 
 	abstract E[] nonFinite();
+
+	/**
+	 * A NaN with the sign bit set, which is not the canonical NaN
+	 */
+	abstract E negativeNaN();
+
+	abstract E negativeZero();
+
+	// long enough to span several vector lanes
+	E[] special(int size) {
+
+		List<E> values = new ArrayList<>(Arrays.asList(nonFinite()));
+		values.add(negativeNaN());
+		values.add(negativeZero());
+		values.add(null);
+
+		List<E> special = new ArrayList<>();
+		for (int i = 0; i < size; i++)
+			special.add(values.get(i % values.size()));
+
+		return toArray(special);
+	}
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe.test;
+
+import static tech.bitey.dataframe.test.RandomFrames.SIZE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import tech.bitey.dataframe.Aggregate;
+import tech.bitey.dataframe.ColumnType;
+import tech.bitey.dataframe.DataFrame;
+import tech.bitey.dataframe.GroupByConfig;
+import tech.bitey.dataframe.GroupByReduction;
+import tech.bitey.dataframe.IntColumn;
+
+public class TestGroupBy {
+
+	// no NEGATIVE_INFINITY: the bits of the NaN produced by inf + -inf depend on
+	// operand order, and columns compare doubles bitwise
+	private static final double[] SPECIAL_DOUBLES = { 0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY };
+
+	private final DataFrame df = create();
+
+	private static DataFrame create() {
+
+		Random random = new Random(0);
+
+		return RandomFrames.create(random, SIZE, SPECIAL_DOUBLES).withColumn("SPARSE",
+				IntColumn.of(RandomFrames.list(random, SIZE, 10, i -> i < 100 ? null : random.nextInt(20))));
+	}
+
+	@Test
+	public void singleKey() {
+		test(List.of("I"));
+		test(List.of("STR"));
+		test(List.of("Z"));
+	}
+
+	@Test
+	public void multipleKeys() {
+		test(List.of("I", "STR"));
+		test(List.of("STR", "Z", "DA"));
+	}
+
+	@Test
+	public void subFrame() {
+		DataFrame sub = df.subFrame(123, SIZE - 456);
+
+		Assertions.assertEquals(sub.groupBy(builtIn(sub, List.of("I", "STR"))),
+				sub.groupBy(boxed(sub, List.of("I", "STR"))));
+	}
+
+	@Test
+	public void sparse() {
+		// first 100 rows of SPARSE are null
+		DataFrame head = df.head(200);
+
+		Assertions.assertEquals(head.groupBy(builtIn(head, List.of("SPARSE"))),
+				head.groupBy(boxed(head, List.of("SPARSE"))));
+	}
+
+	@Test
+	public void empty() {
+		DataFrame empty = df.head(0);
+
+		DataFrame grouped = empty.groupBy(builtIn(empty, List.of("I")));
+		Assertions.assertEquals(0, grouped.size());
+		Assertions.assertEquals(df.columnCount() * 8 + 3, grouped.columnCount());
+	}
+
+	@Test
+	public void mixedReductions() {
+
+		GroupByConfig config = new GroupByConfig(List.of("STR"), List.of("SUM", "MAX", "COUNT"),
+				List.of(ColumnType.LONG, ColumnType.INT, ColumnType.INT),
+				List.of(Aggregate.sum("L"), s -> s.filter(r -> !r.isNull("I")).mapToInt(r -> r.getInt("I")).max()
+						.orElse(Integer.MIN_VALUE), Aggregate.count()));
+
+		DataFrame expected = df.groupBy(new GroupByConfig(List.of("STR"), List.of("SUM", "MAX", "COUNT"),
+				List.of(ColumnType.LONG, ColumnType.INT, ColumnType.INT),
+				config.reductions().stream().map(TestGroupBy::boxed).toList()));
+
+		Assertions.assertEquals(expected, df.groupBy(config));
+	}
+
+	@Test
+	public void wrongDerivedType() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> df.groupBy(new GroupByConfig(List.of("I"),
+				List.of("SUM"), List.of(ColumnType.INT), List.of(Aggregate.sum("L")))));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> df.groupBy(new GroupByConfig(List.of("I"),
+				List.of("SUM"), List.of(ColumnType.LONG), List.of(Aggregate.sum("STR")))));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> df.groupBy(new GroupByConfig(List.of("I"),
+				List.of("MEAN"), List.of(ColumnType.DOUBLE), List.of(Aggregate.mean("NOPE")))));
+	}
+
+	private void test(List<String> groupByNames) {
+		Assertions.assertEquals(df.groupBy(boxed(df, groupByNames)), df.groupBy(builtIn(df, groupByNames)));
+	}
+
+	/**
+	 * Every applicable aggregate of every column.
+	 */
+	private static GroupByConfig builtIn(DataFrame df, List<String> groupByNames) {
+
+		List<String> names = new ArrayList<>();
+		List<ColumnType<?>> types = new ArrayList<>();
+		List<GroupByReduction> reductions = new ArrayList<>();
+
+		names.add("COUNT");
+		types.add(ColumnType.INT);
+		reductions.add(Aggregate.count());
+
+		names.add("MARKER");
+		types.add(ColumnType.INT);
+		reductions.add(s -> 1);
+
+		for (int i = 0; i < df.columnCount(); i++) {
+			String c = df.columnName(i);
+			ColumnType<?> type = df.column(i).getType();
+			boolean floating = type == ColumnType.DOUBLE || type == ColumnType.FLOAT;
+			boolean numeric = floating || type == ColumnType.LONG || type == ColumnType.INT
+					|| type == ColumnType.SHORT || type == ColumnType.BYTE;
+
+			names.addAll(List.of("COUNT_" + c, "MIN_" + c, "MAX_" + c, "FIRST_" + c, "LAST_" + c, "DISTINCT_" + c));
+			types.addAll(List.of(ColumnType.INT, type, type, type, type, ColumnType.INT));
+			reductions.addAll(List.of(Aggregate.count(c), Aggregate.min(c), Aggregate.max(c), Aggregate.first(c),
+					Aggregate.last(c), Aggregate.countDistinct(c)));
+
+			if (numeric) {
+				names.addAll(List.of("SUM_" + c, "MEAN_" + c));
+				types.addAll(List.of(floating ? ColumnType.DOUBLE : ColumnType.LONG, ColumnType.DOUBLE));
+				reductions.addAll(List.of(Aggregate.sum(c), Aggregate.mean(c)));
+			} else {
+				// keep the column count independent of the column types
+				names.addAll(List.of("PAD1_" + c, "PAD2_" + c));
+				types.addAll(List.of(ColumnType.INT, ColumnType.INT));
+				reductions.addAll(List.of(s -> 0, s -> 0));
+			}
+		}
+
+		return new GroupByConfig(groupByNames, names, types, reductions);
+	}
+
+	/**
+	 * Same as {@link #builtIn}, but computed by streaming boxed rows.
+	 */
+	private static GroupByConfig boxed(DataFrame df, List<String> groupByNames) {
+
+		GroupByConfig config = builtIn(df, groupByNames);
+
+		return new GroupByConfig(groupByNames, config.derivedNames(), config.derivedTypes(),
+				config.reductions().stream().map(TestGroupBy::boxed).toList());
+	}
+
+	private static GroupByReduction boxed(GroupByReduction reduction) {
+		return s -> reduction.reduce(s);
+	}
+}
@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.OptionalDouble;
 import java.util.Random;
 import java.util.stream.Stream;
 
@@ -49,6 +50,23 @@ public class TestIntColumn extends TestColumn<Integer> {
 		}
 	}
 
+	@Test
+	public void testAggregates() {
+		for (TestSample<Integer> s : samples()) {
+			IntColumn column = (IntColumn) s.column();
+			int[] values = Arrays.stream(s.array()).filter(Objects::nonNull).mapToInt(Integer::intValue).toArray();
+			long sum = Arrays.stream(values).asLongStream().sum();
+
+			Assertions.assertEquals(sum, column.sum(), s + ", sum");
+			Assertions.assertEquals(
+					values.length == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) sum / values.length),
+					column.mean(), s + ", mean");
+			Assertions.assertEquals(Arrays.stream(values).min(), column.min(), s + ", min");
+			Assertions.assertEquals(Arrays.stream(values).max(), column.max(), s + ", max");
+			assertVariance(Arrays.stream(values).asDoubleStream().toArray(), column.variance(), s + ", variance");
+		}
+	}
+
 	@Override
 	Column<Integer> parseColumn(StringColumn stringColumn) {
 		return stringColumn.parseInt();
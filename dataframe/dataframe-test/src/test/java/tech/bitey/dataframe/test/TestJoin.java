@@ -0,0 +1,260 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe.test;
+
+import static tech.bitey.dataframe.test.RandomFrames.list;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import tech.bitey.dataframe.DataFrame;
+import tech.bitey.dataframe.DataFrameFactory;
+import tech.bitey.dataframe.DoubleColumn;
+import tech.bitey.dataframe.IntColumn;
+import tech.bitey.dataframe.LongColumn;
+import tech.bitey.dataframe.NormalStringColumn;
+import tech.bitey.dataframe.Row;
+import tech.bitey.dataframe.StringColumn;
+import tech.bitey.dataframe.UuidColumn;
+
+public class TestJoin {
+
+	private static final UUID[] UUIDS = { new UUID(0, 0), new UUID(1, -1), new UUID(-1, 1) };
+
+	private static final double[] DOUBLES = { 0.0, -0.0, 1.5, Double.POSITIVE_INFINITY };
+
+	private final DataFrame left = create(new Random(0), 2000, "L");
+	private final DataFrame right = create(new Random(1), 1500, "R");
+
+	private static DataFrame create(Random random, int size, String prefix) {
+
+		return DataFrameFactory.create(new tech.bitey.dataframe.Column<?>[] {
+				IntColumn.of(list(random, size, 10, i -> random.nextInt(8))),
+				StringColumn.of(list(random, size, 10, i -> Integer.toString(random.nextInt(3)))),
+				NormalStringColumn.of(list(random, size, 10, i -> Integer.toString(random.nextInt(3)))),
+				UuidColumn.of(list(random, size, 10, i -> UUIDS[random.nextInt(UUIDS.length)])),
+				DoubleColumn.of(list(random, size, 10, i -> DOUBLES[random.nextInt(DOUBLES.length)])),
+				IntColumn.of(list(random, size, 0, i -> random.nextInt(5))),
+				LongColumn.of(list(random, size, 0, i -> (long) i)) },
+				new String[] { "I", "S", "N", "U", "D", "DENSE", prefix + "_ROW" });
+	}
+
+	@Test
+	public void singleKey() {
+		// low cardinality keys, so keep the result small
+		DataFrame l = left.head(300);
+		DataFrame r = right.head(200);
+
+		test(l, r, "I");
+		test(l, r, "S");
+		test(l, r, "N");
+		test(l, r, "U");
+		test(l, r, "D");
+		test(l, r, "DENSE");
+	}
+
+	@Test
+	public void multipleKeys() {
+		test(left, right, "I", "S");
+		test(left, right, "N", "U", "D");
+		test(left, right, "DENSE", "I");
+	}
+
+	@Test
+	public void subFrames() {
+		DataFrame l = left.subFrame(123, 1789);
+		DataFrame r = right.subFrame(45, 1333);
+
+		test(l, r, "I", "N");
+		test(l, r, "U", "D");
+		test(l, r, "DENSE", "S");
+	}
+
+	@Test
+	public void uniqueLeft() {
+		Set<List<Object>> seen = new HashSet<>();
+		DataFrame unique = left.filter(r -> seen.add(Arrays.asList(r.get("I"), r.get("S"))));
+
+		test(unique, right, "I", "S");
+	}
+
+	@Test
+	public void mismatchedNames() {
+		DataFrame r = right.withColumn("K", right.column("DENSE")).dropColumns("DENSE");
+
+		test(left, r, new String[] { "DENSE", "S" }, new String[] { "K", "S" });
+	}
+
+	@Test
+	public void sorted() {
+		// sort-merge join when the first key column is sorted and the rows are
+		// sorted by all of the keys
+		DataFrame l = sorted(left.head(600), "DENSE", "I", "S");
+		DataFrame r = sorted(right.head(400), "DENSE", "I", "S");
+
+		test(l, r, "DENSE");
+		test(l, r, "DENSE", "I");
+		test(l, r, "DENSE", "I", "S");
+		test(l.subFrame(123, 567), r.subFrame(45, 333), "DENSE", "I", "S");
+		test(l.head(0), r, "DENSE", "I");
+		test(l, r.head(0), "DENSE", "I");
+
+		// unique left keys
+		Set<List<Object>> seen = new HashSet<>();
+		test(l.filter(row -> seen.add(key(row, new String[] { "DENSE", "I", "S" }))), r, "DENSE", "I", "S");
+
+		// first key column is sorted, but not the remaining keys
+		DataFrame byDense = sorted(left.head(600), "DENSE");
+		test(byDense, sorted(right.head(400), "DENSE"), "DENSE", "U");
+		test(byDense, r, "DENSE", "U");
+	}
+
+	@Test
+	public void parallel() {
+		// large enough to be radix-partitioned and joined in parallel
+		DataFrame l = create(new Random(2), 70_000, "L");
+		DataFrame r = create(new Random(3), 10_000, "R");
+
+		test(l, r, "I", "S", "N", "U", "D", "DENSE");
+		test(l.subFrame(1234, 68_000), r.subFrame(567, 9_000), "I", "S", "N", "U", "D", "DENSE");
+
+		Set<List<Object>> seen = new HashSet<>();
+		test(l.filter(row -> seen.add(key(row, new String[] { "I", "U", "DENSE" }))), r, "I", "U", "DENSE");
+	}
+
+	@Test
+	public void empty() {
+		DataFrame empty = right.head(0);
+
+		test(left, empty, "I", "S");
+		test(empty, right, "I", "S");
+	}
+
+	/**
+	 * Sorts the dataframe by the specified columns, and marks the first of them
+	 * as sorted.
+	 */
+	private static DataFrame sorted(DataFrame df, String... columnNames) {
+		DataFrame sorted = df.sort(columnNames);
+		return sorted.withColumn(columnNames[0], sorted.column(columnNames[0]).toSorted());
+	}
+
+	private static void test(DataFrame left, DataFrame right, String... keys) {
+		test(left, right, keys, keys);
+	}
+
+	private static void test(DataFrame left, DataFrame right, String[] leftNames, String[] rightNames) {
+
+		Assertions.assertEquals(expected(left, right, leftNames, rightNames, false, false),
+				rows(left.join(right, leftNames, rightNames)));
+		Assertions.assertEquals(expected(left, right, leftNames, rightNames, true, false),
+				rows(left.joinLeft(right, leftNames, rightNames)));
+		Assertions.assertEquals(expected(left, right, leftNames, rightNames, false, true),
+				rows(left.joinRight(right, leftNames, rightNames)));
+		Assertions.assertEquals(expected(left, right, leftNames, rightNames, true, true),
+				rows(left.joinFull(right, leftNames, rightNames)));
+	}
+
+	/**
+	 * Join on boxed rows: ordered by right row, then by left row, followed by any
+	 * unmatched left rows, and then by any unmatched right rows.
+	 */
+	private static List<List<Object>> expected(DataFrame left, DataFrame right, String[] leftNames,
+			String[] rightNames, boolean isLeftJoin, boolean isRightJoin) {
+
+		List<Integer> rightValueColumns = IntStream.range(0, right.columnCount())
+				.filter(i -> !List.of(rightNames).contains(right.columnName(i))).boxed().toList();
+
+		Map<List<Object>, List<Integer>> index = new HashMap<>();
+		for (Row l : left)
+			index.computeIfAbsent(key(l, leftNames), k -> new ArrayList<>()).add(l.rowIndex());
+
+		boolean[] matched = new boolean[left.size()];
+
+		List<Row> unmatchedRight = new ArrayList<>();
+
+		List<List<Object>> expected = new ArrayList<>();
+		for (Row r : right) {
+			List<Integer> matches = index.getOrDefault(key(r, rightNames), List.of());
+			if (matches.isEmpty())
+				unmatchedRight.add(r);
+
+			for (int l : matches) {
+				List<Object> row = values(left.get(l));
+				for (int i : rightValueColumns)
+					row.add(r.get(i));
+				expected.add(row);
+				matched[l] = true;
+			}
+		}
+
+		if (isLeftJoin) {
+			for (int l = 0; l < left.size(); l++) {
+				if (!matched[l]) {
+					List<Object> row = values(left.get(l));
+					for (int i = 0; i < rightValueColumns.size(); i++)
+						row.add(null);
+					expected.add(row);
+				}
+			}
+		}
+
+		if (isRightJoin) {
+			for (Row r : unmatchedRight) {
+				List<Object> row = new ArrayList<>();
+				for (int i = 0; i < left.columnCount(); i++) {
+					int k = List.of(leftNames).indexOf(left.columnName(i));
+					row.add(k < 0 ? null : r.get(rightNames[k]));
+				}
+				for (int i : rightValueColumns)
+					row.add(r.get(i));
+				expected.add(row);
+			}
+		}
+
+		return expected;
+	}
+
+	private static List<Object> key(Row row, String[] names) {
+		List<Object> key = new ArrayList<>();
+		for (String name : names)
+			key.add(row.get(name));
+		return key;
+	}
+
+	private static List<List<Object>> rows(DataFrame df) {
+		return df.stream().map(TestJoin::values).toList();
+	}
+
+	private static List<Object> values(Row row) {
+		List<Object> values = new ArrayList<>();
+		for (int i = 0; i < row.columnCount(); i++)
+			values.add(row.get(i));
+		return values;
+	}
+}
@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.OptionalDouble;
 import java.util.Random;
 import java.util.stream.Stream;
 
@@ -49,6 +50,26 @@ public class TestLongColumn extends TestColumn<Long> {
 		}
 	}
 
+	@Test
+	public void testAggregates() {
+		for (TestSample<Long> s : samples()) {
+			LongColumn column = (LongColumn) s.column();
+			long[] values = Arrays.stream(s.array()).filter(Objects::nonNull).mapToLong(Long::longValue).toArray();
+
+			double doubleSum = 0;
+			for (long value : values)
+				doubleSum += value;
+
+			Assertions.assertEquals(Arrays.stream(values).sum(), column.sum(), s + ", sum");
+			Assertions.assertEquals(
+					values.length == 0 ? OptionalDouble.empty() : OptionalDouble.of(doubleSum / values.length),
+					column.mean(), s + ", mean");
+			Assertions.assertEquals(Arrays.stream(values).min(), column.min(), s + ", min");
+			Assertions.assertEquals(Arrays.stream(values).max(), column.max(), s + ", max");
+			assertVariance(Arrays.stream(values).asDoubleStream().toArray(), column.variance(), s + ", variance");
+		}
+	}
+
 	@Override
 	Column<Long> parseColumn(StringColumn stringColumn) {
 		return stringColumn.parseLong();
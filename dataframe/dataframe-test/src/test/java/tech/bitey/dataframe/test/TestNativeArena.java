@@ -0,0 +1,122 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.bitey.dataframe.test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import tech.bitey.bufferstuff.BigByteBuffer;
+import tech.bitey.bufferstuff.BufferAllocator;
+import tech.bitey.bufferstuff.BufferUtils;
+import tech.bitey.bufferstuff.NativeArena;
+import tech.bitey.dataframe.IntColumn;
+
+public class TestNativeArena {
+
+	@Test
+	public void allocate() {
+
+		Assertions.assertTrue(NativeArena.isSupported());
+
+		try (NativeArena arena = NativeArena.open()) {
+
+			ByteBuffer b = arena.allocate(100);
+			Assertions.assertTrue(b.isDirect());
+			Assertions.assertEquals(0, b.position());
+			Assertions.assertEquals(100, b.limit());
+			Assertions.assertEquals(ByteOrder.BIG_ENDIAN, b.order());
+			for (int i = 0; i < 100; i++)
+				Assertions.assertEquals(0, b.get(i));
+
+			b.putLong(92, -1L);
+			Assertions.assertEquals(-1L, b.getLong(92));
+
+			Assertions.assertEquals(0, arena.allocate(0).capacity());
+			Assertions.assertThrows(IllegalArgumentException.class, () -> arena.allocate(-1));
+		}
+	}
+
+	@Test
+	public void allocateBig() {
+
+		try (NativeArena arena = NativeArena.open()) {
+
+			for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+
+				BigByteBuffer b = arena.allocateBig(1000, order);
+				Assertions.assertEquals(1000, b.capacity());
+				Assertions.assertEquals(order, b.order());
+				Assertions.assertEquals(1, b.buffers().length);
+				Assertions.assertTrue(b.buffers()[0].isDirect());
+
+				for (int i = 0; i < 125; i++)
+					b.putLong(i * 8L, i);
+				for (int i = 0; i < 125; i++)
+					Assertions.assertEquals(i, b.getLong(i * 8L));
+			}
+
+			Assertions.assertEquals(ByteOrder.nativeOrder(), arena.allocateBig(8).order());
+			Assertions.assertEquals(0, arena.allocateBig(0).capacity());
+			Assertions.assertThrows(IllegalArgumentException.class, () -> arena.allocateBig(Integer.MIN_VALUE * 2L));
+		}
+	}
+
+	@Test
+	public void close() {
+
+		NativeArena arena = NativeArena.open();
+		ByteBuffer b = arena.allocate(8);
+		BigByteBuffer big = arena.allocateBig(8);
+		ByteBuffer view = b.slice(4, 4);
+
+		Assertions.assertTrue(arena.isAlive());
+		arena.close();
+		Assertions.assertFalse(arena.isAlive());
+
+		// buffers must not read freed memory
+		Assertions.assertThrows(IllegalStateException.class, () -> b.getLong(0));
+		Assertions.assertThrows(IllegalStateException.class, () -> big.getLong(0));
+		Assertions.assertThrows(IllegalStateException.class, () -> view.getInt(0));
+		Assertions.assertThrows(IllegalStateException.class, () -> b.asLongBuffer().get(0));
+		Assertions.assertThrows(IllegalStateException.class, () -> arena.allocate(8));
+
+		// no effect
+		arena.close();
+	}
+
+	@Test
+	public void asAllocator() {
+
+		final BufferAllocator previous = BufferUtils.allocator();
+		final NativeArena arena = NativeArena.open();
+		try {
+			BufferUtils.setAllocator(arena);
+			IntColumn column = IntColumn.of(1, 2, 3);
+			Assertions.assertEquals(IntColumn.of(1, 2, 3), column);
+
+			arena.close();
+			Assertions.assertThrows(IllegalStateException.class, () -> column.get(0));
+		} finally {
+			BufferUtils.setAllocator(previous);
+			arena.close();
+		}
+	}
+}
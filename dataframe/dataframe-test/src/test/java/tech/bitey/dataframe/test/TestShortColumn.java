@@ -21,9 +21,14 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.OptionalDouble;
 import java.util.Random;
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
 import tech.bitey.dataframe.Column;
 import tech.bitey.dataframe.ShortColumn;
 import tech.bitey.dataframe.StringColumn;
@@ -36,6 +41,23 @@ public class TestShortColumn extends TestColumn<Short> {
 		super(Short.MIN_VALUE, Short.MAX_VALUE, Short[]::new);
 	}
 
+	@Test
+	public void testAggregates() {
+		for (TestSample<Short> s : samples()) {
+			ShortColumn column = (ShortColumn) s.column();
+			int[] values = Arrays.stream(s.array()).filter(Objects::nonNull).mapToInt(Short::intValue).toArray();
+			long sum = Arrays.stream(values).asLongStream().sum();
+
+			Assertions.assertEquals(sum, column.sum(), s + ", sum");
+			Assertions.assertEquals(
+					values.length == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) sum / values.length),
+					column.mean(), s + ", mean");
+			Assertions.assertEquals(Arrays.stream(values).min(), column.min(), s + ", min");
+			Assertions.assertEquals(Arrays.stream(values).max(), column.max(), s + ", max");
+			assertVariance(Arrays.stream(values).asDoubleStream().toArray(), column.variance(), s + ", variance");
+		}
+	}
+
 	@Override
 	Column<Short> parseColumn(StringColumn stringColumn) {
 		return stringColumn.parseShort();
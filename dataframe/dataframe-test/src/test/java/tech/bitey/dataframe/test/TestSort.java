@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe.test;
+
+import static tech.bitey.dataframe.test.RandomFrames.SIZE;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import tech.bitey.dataframe.DataFrame;
+import tech.bitey.dataframe.IntColumn;
+import tech.bitey.dataframe.SortKey;
+
+public class TestSort {
+
+	private static final double[] SPECIAL_DOUBLES = { 0.0, -0.0, Double.NaN, Double.NEGATIVE_INFINITY,
+			Double.POSITIVE_INFINITY, Double.MIN_VALUE, -Double.MAX_VALUE };
+
+	private final DataFrame df = create(SIZE);
+
+	private static DataFrame create(int size) {
+		return RandomFrames.create(new Random(0), size, SPECIAL_DOUBLES).withColumn("ID",
+				IntColumn.of(IntStream.range(0, size)));
+	}
+
+	@Test
+	public void singleKey() {
+		for (String column : df.columnNames()) {
+			test(df, SortKey.asc(column));
+			test(df, SortKey.desc(column));
+			test(df, SortKey.asc(column).withNullsFirst());
+			test(df, SortKey.desc(column).withNullsFirst());
+		}
+	}
+
+	@Test
+	public void multipleKeys() {
+		test(df, SortKey.asc("Z"), SortKey.desc("I"), SortKey.asc("D").withNullsFirst());
+		test(df, SortKey.desc("B"), SortKey.asc("S"));
+		test(df, SortKey.asc("DA"), SortKey.desc("F").withNullsFirst());
+		test(df, SortKey.asc("I"), SortKey.asc("STR"), SortKey.desc("IN"));
+		test(df, SortKey.desc("Z").withNullsFirst(), SortKey.asc("L"));
+	}
+
+	@Test
+	public void subFrame() {
+		DataFrame sub = df.subFrame(123, SIZE - 456);
+
+		test(sub, SortKey.asc("I"), SortKey.desc("D"));
+		test(sub, SortKey.desc("IN"), SortKey.asc("STR").withNullsFirst());
+		test(sub.head(100), SortKey.asc("I"), SortKey.desc("L"));
+	}
+
+	@Test
+	public void parallel() {
+		// large enough to exceed the default tech.bitey.parallelSortThreshold
+		DataFrame large = create(100_000);
+
+		test(large, SortKey.asc("I"), SortKey.desc("L").withNullsFirst());
+		test(large, SortKey.desc("D"), SortKey.asc("ID"));
+		test(large, SortKey.asc("STR"), SortKey.desc("DA"));
+	}
+
+	@Test
+	public void stringColumnNames() {
+		Assertions.assertEquals(df.sort(SortKey.asc("I"), SortKey.asc("L")), df.sort("I", "L"));
+	}
+
+	@Test
+	public void emptyKeys() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> df.sort(new SortKey[0]));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> df.sort(SortKey.asc("NOPE")));
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static void test(DataFrame df, SortKey... keys) {
+
+		Comparator<Integer> comparator = null;
+		for (SortKey key : keys) {
+			int columnIndex = df.columnIndex(key.columnName());
+			Comparator<Comparable> values = key.descending() ? Comparator.reverseOrder() : Comparator.naturalOrder();
+			Comparator<Comparable> nulls = key.nullsFirst() ? Comparator.nullsFirst(values)
+					: Comparator.nullsLast(values);
+			Function<Integer, Comparable> get = i -> (Comparable) df.get(i).get(columnIndex);
+			Comparator<Integer> c = Comparator.comparing(get, nulls);
+			comparator = comparator == null ? c : comparator.thenComparing(c);
+		}
+
+		// List.sort is stable
+		List<Integer> indices = new ArrayList<>(IntStream.range(0, df.size()).boxed().toList());
+		indices.sort(comparator);
+		List<Integer> expected = indices.stream().map(i -> df.intColumn("ID").get(i)).toList();
+
+		Assertions.assertEquals(expected, df.sort(keys).intColumn("ID"), List.of(keys).toString());
+	}
+}
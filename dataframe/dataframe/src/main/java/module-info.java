@@ -21,4 +21,6 @@ module tech.bitey.dataframe {
 
 	requires tech.bitey.bufferstuff;
 	requires transitive java.sql;
+	requires static jdk.incubator.vector;
+	requires static jdk.incubator.foreign;
 }
@@ -27,10 +27,10 @@ import java.lang.reflect.Array;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
-import java.nio.channels.FileChannel.MapMode;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.util.AbstractCollection;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
@@ -39,6 +39,7 @@ import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.IntBinaryOperator;
 
 import tech.bitey.bufferstuff.BigByteBuffer;
 import tech.bitey.bufferstuff.BufferBitSet;
@@ -135,6 +136,52 @@ abstract class AbstractColumn<E, I extends Column<E>, C extends AbstractColumn<E
 
 	abstract IntColumn intersectLeftSorted(I rhs, BufferBitSet keepRight);
 
+	/**
+	 * Returns a comparator over indices into this column (offset not applied).
+	 * Implementations compare the underlying buffers directly where possible,
+	 * rather than boxing each element.
+	 * 
+	 * @param descending - if true, non-null values are compared in reverse order
+	 * @param nullsFirst - if true, nulls are ordered before non-null values
+	 * 
+	 * @return a comparator over indices into this column
+	 */
+	abstract IntBinaryOperator indexComparator(boolean descending, boolean nullsFirst);
+
+	/**
+	 * Returns the number of low-order bytes in the keys returned by
+	 * {@link #sortKey(int)}, or zero if this column cannot be radix sorted.
+	 * 
+	 * @return the width of the sort keys, in bytes
+	 */
+	int sortKeyBytes() {
+		return 0;
+	}
+
+	/**
+	 * Returns a key for the non-null element at the specified index (offset not
+	 * applied), such that comparing keys as unsigned longs is consistent with the
+	 * natural ordering of the elements.
+	 * 
+	 * @param index - index of a non-null element
+	 * 
+	 * @return the sort key for the specified element
+	 */
+	long sortKey(int index) {
+		throw new UnsupportedOperationException("sortKey");
+	}
+
+	/**
+	 * Returns a hash code for the element at the specified index (offset not
+	 * applied). Elements which are equal according to {@link #indexComparator}
+	 * have the same hash code. Nulls hash to zero.
+	 * 
+	 * @param index - index of an element
+	 * 
+	 * @return the hash code for the specified element
+	 */
+	abstract int hashAt(int index);
+
 	@Override
 	public int size() {
 		return size;
@@ -158,6 +205,65 @@ abstract class AbstractColumn<E, I extends Column<E>, C extends AbstractColumn<E
 		return offset + size - 1;
 	}
 
+	@Override
+	public BufferBitSet eq(E value) {
+		checkArgument(value != null, "value cannot be null");
+		return rangeMask(value, true, value, true);
+	}
+
+	@Override
+	public BufferBitSet lt(E value) {
+		checkArgument(value != null, "value cannot be null");
+		return rangeMask(null, false, value, false);
+	}
+
+	@Override
+	public BufferBitSet le(E value) {
+		checkArgument(value != null, "value cannot be null");
+		return rangeMask(null, false, value, true);
+	}
+
+	@Override
+	public BufferBitSet gt(E value) {
+		checkArgument(value != null, "value cannot be null");
+		return rangeMask(value, false, null, false);
+	}
+
+	@Override
+	public BufferBitSet ge(E value) {
+		checkArgument(value != null, "value cannot be null");
+		return rangeMask(value, true, null, false);
+	}
+
+	@Override
+	public BufferBitSet between(E min, E max) {
+		checkArgument(min != null && max != null, "min and max cannot be null");
+		return rangeMask(min, true, max, true);
+	}
+
+	@Override
+	public BufferBitSet in(Collection<E> values) {
+
+		List<E> nonNullValues = new ArrayList<>(values.size());
+		for (E value : values)
+			if (value != null)
+				nonNullValues.add(value);
+
+		return inMask(nonNullValues);
+	}
+
+	/**
+	 * Returns a mask of the non-null elements which fall within the specified
+	 * range. A null endpoint leaves the range unbounded in that direction.
+	 */
+	abstract BufferBitSet rangeMask(E from, boolean fromInclusive, E to, boolean toInclusive);
+
+	/**
+	 * Returns a mask of the non-null elements which are equal to any of the
+	 * specified (non-null) values.
+	 */
+	abstract BufferBitSet inMask(Collection<E> values);
+
 	int indexOf(Object o, boolean first) {
 		if (first) {
 			Iterator<E> iter = iterator();
@@ -318,7 +424,11 @@ abstract class AbstractColumn<E, I extends Column<E>, C extends AbstractColumn<E
 	/*------------------------------------------------------------
 	 *  reading/writing files
 	 *------------------------------------------------------------*/
-	abstract void writeTo(WritableByteChannel channel) throws IOException;
+	/**
+	 * Writes this column in binary format, applying the specified encoding where
+	 * it is supported.
+	 */
+	abstract void writeTo(WritableByteChannel channel, ColumnEncoding encoding) throws IOException;
 
 	static void writeByteOrder(WritableByteChannel channel, ByteOrder order) throws IOException {
 		writeFully(channel, ByteBuffer.wrap(new byte[] { (byte) (order == BIG_ENDIAN ? 'B' : 'L') }));
@@ -343,7 +453,12 @@ abstract class AbstractColumn<E, I extends Column<E>, C extends AbstractColumn<E
 		}
 	}
 
-	static BigByteBuffer readBuffer(ReadableByteChannel channel, ByteOrder order, boolean map) throws IOException {
+	/**
+	 * Reads a buffer written by {@link #writeBuffer}, memory-mapping it with the
+	 * specified {@link FileMapper}, or reading it onto the heap if {@code map} is
+	 * null.
+	 */
+	static BigByteBuffer readBuffer(ReadableByteChannel channel, ByteOrder order, FileMapper map) throws IOException {
 
 		int length = readInt(channel, order);
 		ByteBuffer[] buffers = new ByteBuffer[length];
@@ -352,10 +467,8 @@ abstract class AbstractColumn<E, I extends Column<E>, C extends AbstractColumn<E
 
 			int size = readInt(channel, order);
 
-			if (map) {
-				FileChannel file = (FileChannel) channel;
-				buffers[i] = file.map(MapMode.READ_WRITE, file.position(), size).order(order);
-				file.position(file.position() + size);
+			if (map != null) {
+				buffers[i] = map.map((FileChannel) channel, size).order(order);
 			} else {
 				buffers[i] = BufferUtils.allocate(size, order);
 				readFully(channel, buffers[i]);
@@ -366,8 +479,20 @@ abstract class AbstractColumn<E, I extends Column<E>, C extends AbstractColumn<E
 		return BufferUtils.wrap(buffers);
 	}
 
-	static BufferBitSet readBitSet(ReadableByteChannel channel, boolean map) throws IOException {
-		return map ? BufferBitSet.mapFrom((FileChannel) channel) : BufferBitSet.readFrom(channel);
+	/**
+	 * Writes a range of a bitset, shifted to start on a byte boundary so that it
+	 * can be mapped without being realigned.
+	 */
+	static void writeBitSet(WritableByteChannel channel, BufferBitSet bits, int fromIndex, int toIndex)
+			throws IOException {
+		if ((fromIndex & 7) == 0)
+			bits.writeTo(channel, fromIndex, toIndex);
+		else
+			bits.get(fromIndex, toIndex).writeTo(channel);
+	}
+
+	static BufferBitSet readBitSet(ReadableByteChannel channel, FileMapper map) throws IOException {
+		return map != null ? map.mapBitSet((FileChannel) channel) : BufferBitSet.readFrom(channel);
 	}
 
 	static void writeInt(WritableByteChannel channel, ByteOrder order, int value) throws IOException {
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import static tech.bitey.dataframe.Pr.checkArgument;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A built-in {@link GroupByReduction}. When used in a {@link GroupByConfig},
+ * {@link DataFrame#groupBy(GroupByConfig)} computes the aggregate directly from
+ * the column buffers in a single pass, rather than streaming boxed rows through
+ * {@link #reduce(Stream)}.
+ * <p>
+ * Aggregates of a column ignore nulls. The derived type of each aggregate must
+ * match the table below:
+ * <table border="1">
+ * <caption><b>Derived Types</b></caption>
+ * <tr>
+ * <th>Function</th>
+ * <th>Column Types</th>
+ * <th>Derived Type</th>
+ * </tr>
+ * <tr>
+ * <td>COUNT, COUNT_DISTINCT</td>
+ * <td>any</td>
+ * <td>INT</td>
+ * </tr>
+ * <tr>
+ * <td>SUM</td>
+ * <td>BYTE, SHORT, INT, LONG</td>
+ * <td>LONG</td>
+ * </tr>
+ * <tr>
+ * <td>SUM</td>
+ * <td>FLOAT, DOUBLE</td>
+ * <td>DOUBLE</td>
+ * </tr>
+ * <tr>
+ * <td>MEAN</td>
+ * <td>BYTE, SHORT, INT, LONG, FLOAT, DOUBLE</td>
+ * <td>DOUBLE</td>
+ * </tr>
+ * <tr>
+ * <td>MIN, MAX, FIRST, LAST</td>
+ * <td>any</td>
+ * <td>same as the column</td>
+ * </tr>
+ * </table>
+ * SUM, MEAN, MIN, MAX, FIRST, and LAST produce null for groups with no non-null
+ * values. MIN, MAX, and COUNT_DISTINCT are not supported for BLOB columns.
+ * 
+ * @param function   - the aggregate function
+ * @param columnName - the column to aggregate, or null for {@link #count()}
+ * 
+ * @author biteytech@protonmail.com
+ */
+public record Aggregate(Function function, String columnName) implements GroupByReduction {
+
+	/**
+	 * The built-in aggregate functions.
+	 */
+	public enum Function {
+		/** Number of rows in the group, or of non-null values in the column */
+		COUNT,
+		/** Sum of the non-null values */
+		SUM,
+		/** Smallest non-null value */
+		MIN,
+		/** Largest non-null value */
+		MAX,
+		/** Arithmetic mean of the non-null values */
+		MEAN,
+		/** First non-null value, in row order */
+		FIRST,
+		/** Last non-null value, in row order */
+		LAST,
+		/** Number of distinct non-null values */
+		COUNT_DISTINCT,
+	}
+
+	public Aggregate {
+		checkArgument(function != null, "function cannot be null");
+		checkArgument(columnName != null || function == Function.COUNT, "columnName cannot be null");
+	}
+
+	/**
+	 * Returns an aggregate which counts the rows in each group.
+	 *
+	 * @return an aggregate which counts the rows in each group
+	 */
+	public static Aggregate count() {
+		return new Aggregate(Function.COUNT, null);
+	}
+
+	/**
+	 * Returns an aggregate which counts the non-null values in the specified
+	 * column.
+	 *
+	 * @param columnName - the column to aggregate
+	 *
+	 * @return a count aggregate
+	 */
+	public static Aggregate count(String columnName) {
+		return new Aggregate(Function.COUNT, columnName);
+	}
+
+	/**
+	 * Returns an aggregate which sums the non-null values in the specified column.
+	 *
+	 * @param columnName - the column to aggregate
+	 *
+	 * @return a sum aggregate
+	 */
+	public static Aggregate sum(String columnName) {
+		return new Aggregate(Function.SUM, columnName);
+	}
+
+	/**
+	 * Returns an aggregate which finds the smallest non-null value in the
+	 * specified column.
+	 *
+	 * @param columnName - the column to aggregate
+	 *
+	 * @return a min aggregate
+	 */
+	public static Aggregate min(String columnName) {
+		return new Aggregate(Function.MIN, columnName);
+	}
+
+	/**
+	 * Returns an aggregate which finds the largest non-null value in the specified
+	 * column.
+	 *
+	 * @param columnName - the column to aggregate
+	 *
+	 * @return a max aggregate
+	 */
+	public static Aggregate max(String columnName) {
+		return new Aggregate(Function.MAX, columnName);
+	}
+
+	/**
+	 * Returns an aggregate which averages the non-null values in the specified
+	 * column.
+	 *
+	 * @param columnName - the column to aggregate
+	 *
+	 * @return a mean aggregate
+	 */
+	public static Aggregate mean(String columnName) {
+		return new Aggregate(Function.MEAN, columnName);
+	}
+
+	/**
+	 * Returns an aggregate which finds the first non-null value in the specified
+	 * column.
+	 *
+	 * @param columnName - the column to aggregate
+	 *
+	 * @return a first aggregate
+	 */
+	public static Aggregate first(String columnName) {
+		return new Aggregate(Function.FIRST, columnName);
+	}
+
+	/**
+	 * Returns an aggregate which finds the last non-null value in the specified
+	 * column.
+	 *
+	 * @param columnName - the column to aggregate
+	 *
+	 * @return a last aggregate
+	 */
+	public static Aggregate last(String columnName) {
+		return new Aggregate(Function.LAST, columnName);
+	}
+
+	/**
+	 * Returns an aggregate which counts the distinct non-null values in the
+	 * specified column.
+	 *
+	 * @param columnName - the column to aggregate
+	 *
+	 * @return a count distinct aggregate
+	 */
+	public static Aggregate countDistinct(String columnName) {
+		return new Aggregate(Function.COUNT_DISTINCT, columnName);
+	}
+
+	/**
+	 * Returns the derived type of this aggregate when applied to a column of the
+	 * specified type.
+	 *
+	 * @param type - the type of the aggregated column, or null for
+	 *             {@link #count()}
+	 *
+	 * @return the derived type
+	 *
+	 * @throws IllegalArgumentException if this aggregate does not support the
+	 *                                  specified type
+	 */
+	ColumnType<?> resultType(ColumnType<?> type) {
+
+		return switch (function) {
+		case COUNT -> ColumnType.INT;
+		case COUNT_DISTINCT -> {
+			checkArgument(type != ColumnType.BLOB, this + " is not supported for BLOB columns");
+			yield ColumnType.INT;
+		}
+		case SUM -> switch (type.getCode()) {
+			case Y, T, I, L -> ColumnType.LONG;
+			case F, D -> ColumnType.DOUBLE;
+			default -> throw new IllegalArgumentException(this + " requires a numeric column");
+			};
+		case MEAN -> switch (type.getCode()) {
+			case Y, T, I, L, F, D -> ColumnType.DOUBLE;
+			default -> throw new IllegalArgumentException(this + " requires a numeric column");
+			};
+		case MIN, MAX -> {
+			checkArgument(type != ColumnType.BLOB, this + " is not supported for BLOB columns");
+			yield type;
+		}
+		case FIRST, LAST -> type;
+		};
+	}
+
+	/**
+	 * Computes this aggregate from boxed rows. Equivalent to, but much slower than,
+	 * the computation performed by {@link DataFrame#groupBy(GroupByConfig)}.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Override
+	public Comparable<?> reduce(Stream<Row> rows) {
+
+		if (columnName == null)
+			return (int) rows.count();
+
+		final Iterator<Object> values = rows.map(r -> r.get(columnName)).filter(v -> v != null).iterator();
+
+		switch (function) {
+		case COUNT: {
+			int count = 0;
+			for (; values.hasNext(); values.next())
+				count++;
+			return count;
+		}
+		case COUNT_DISTINCT: {
+			Set<Object> distinct = new HashSet<>();
+			values.forEachRemaining(distinct::add);
+			return distinct.size();
+		}
+		case SUM:
+		case MEAN: {
+			if (!values.hasNext())
+				return null;
+
+			int count = 0;
+			long lsum = 0;
+			double dsum = 0;
+			boolean floating = false;
+			while (values.hasNext()) {
+				Number n = (Number) values.next();
+				if (n instanceof Double || n instanceof Float) {
+					floating = true;
+					dsum += n.doubleValue();
+				} else {
+					lsum += n.longValue();
+					dsum += n.doubleValue();
+				}
+				count++;
+			}
+
+			if (function == Function.MEAN)
+				return dsum / count;
+			else
+				return floating ? (Comparable) dsum : (Comparable) lsum;
+		}
+		case MIN:
+		case MAX: {
+			Comparator<Comparable> comparator = Comparator.naturalOrder();
+			if (function == Function.MAX)
+				comparator = comparator.reversed();
+
+			Comparable best = null;
+			while (values.hasNext()) {
+				Comparable value = (Comparable) values.next();
+				if (best == null || comparator.compare(value, best) < 0)
+					best = value;
+			}
+			return best;
+		}
+		case FIRST:
+			return values.hasNext() ? (Comparable) values.next() : null;
+		case LAST: {
+			Object last = null;
+			while (values.hasNext())
+				last = values.next();
+			return (Comparable) last;
+		}
+		default:
+			throw new IllegalStateException();
+		}
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.bitey.dataframe;
+
+/**
+ * Compression applied to a dataframe written in binary format. Everything
+ * after the dataframe header is split into blocks, and each block is
+ * compressed independently. Compressed dataframes are decompressed as they are
+ * read by {@link DataFrameFactory#readFrom(java.nio.channels.ReadableByteChannel)},
+ * which never reads past the end of the dataframe. They are always read onto
+ * the heap, even by {@link DataFrameFactory#mapFrom(java.io.File)}.
+ * <p>
+ * Compression is independent of {@link ColumnEncoding column encodings}, and
+ * can be combined with them.
+ * 
+ * @author biteytech@protonmail.com
+ * 
+ * @see WriteToFileConfig
+ */
+public enum BlockCompression {
+
+	// stored by ordinal, so new constants must be added at the end
+
+	/** No compression. */
+	NONE,
+
+	/**
+	 * The <a href="https://github.com/lz4/lz4/blob/dev/doc/lz4_Block_format.md">LZ4
+	 * block format</a>, implemented in pure Java. Favors speed over compression
+	 * ratio. Blocks which do not compress are stored as-is.
+	 */
+	LZ4
+}
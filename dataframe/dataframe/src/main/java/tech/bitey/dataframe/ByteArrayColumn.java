@@ -19,6 +19,8 @@ package tech.bitey.dataframe;
 import static java.util.Spliterator.NONNULL;
 import static tech.bitey.bufferstuff.BufferUtils.isSortedAndDistinct;
 
+import java.util.Collection;
+
 import tech.bitey.bufferstuff.BigByteBuffer;
 import tech.bitey.bufferstuff.BufferBitSet;
 import tech.bitey.bufferstuff.BufferSearch;
@@ -44,6 +46,53 @@ abstract class ByteArrayColumn<E, I extends Column<E>, C extends ByteArrayColumn
 		return elements.get(index);
 	}
 
+	@Override
+	int sortKeyBytes() {
+		return 1;
+	}
+
+	@Override
+	long sortKey(int index) {
+		return (at(index + offset) ^ Byte.MIN_VALUE) & 0xFFL;
+	}
+
+	@Override
+	boolean keyed() {
+		return true;
+	}
+
+	@Override
+	long key(E value) {
+		return packer.pack(value);
+	}
+
+	@Override
+	long keyAt(int index) {
+		return at(index);
+	}
+
+	@Override
+	void scan(long min, long max, int fromIndex, int toIndex, BufferBitSet mask) {
+		for (int i = toIndex - 1; i >= fromIndex; i--) {
+			final byte value = at(i);
+			if (value >= min && value <= max)
+				mask.set(i - offset);
+		}
+	}
+
+	@Override
+	void inMask0(Collection<E> values, BufferBitSet mask) {
+
+		// lookup table indexed by unsigned value
+		final boolean[] in = new boolean[256];
+		for (E value : values)
+			in[packer.pack(value) & 0xFF] = true;
+
+		for (int i = lastIndex(); i >= offset; i--)
+			if (in[at(i) & 0xFF])
+				mask.set(i - offset);
+	}
+
 	@Override
 	E getNoOffset(int index) {
 		return packer.unpack(at(index));
@@ -59,6 +108,10 @@ abstract class ByteArrayColumn<E, I extends Column<E>, C extends ByteArrayColumn
 		final byte packed = packer.pack(value);
 
 		if (isSorted()) {
+			final C window = searchWindow(key(value), first);
+			if (window != null)
+				return window.search(value, first);
+
 			int index = search(packed);
 			if (isDistinct() || index < 0)
 				return index;
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.bitey.dataframe;
+
+import static tech.bitey.bufferstuff.BufferUtils.readFully;
+import static tech.bitey.bufferstuff.BufferUtils.writeFully;
+import static tech.bitey.dataframe.ChannelDataFrameHeader.MAGIC_NUMBER;
+import static tech.bitey.dataframe.Pr.checkState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Written after the last column, from version 9 on. Records the offset of each
+ * column, the row count (from version 10 on), and the offset of the footer
+ * itself, followed by the magic number. Offsets are relative to the end of the
+ * {@link ChannelDataFrameHeader dataframe header}, and count uncompressed
+ * bytes.
+ * <p>
+ * When a dataframe is the only thing in a file, and is not compressed, the
+ * footer can be found from the end of the file, and then used to seek directly
+ * to any column.
+ */
+class ChannelDataFrameFooter {
+
+	private static final ByteOrder ORDER = ByteOrder.BIG_ENDIAN;
+
+	private final long[] columnOffsets;
+	private final int rowCount;
+	private final long footerOffset;
+
+	ChannelDataFrameFooter(long[] columnOffsets, int rowCount, long footerOffset) {
+		this.columnOffsets = columnOffsets;
+		this.rowCount = rowCount;
+		this.footerOffset = footerOffset;
+	}
+
+	/**
+	 * Reads the footer which immediately follows the last column.
+	 */
+	ChannelDataFrameFooter(ReadableByteChannel channel, int columnCount, int version) throws IOException {
+
+		ByteBuffer b = allocate(columnCount, version);
+		readFully(channel, b);
+		b.flip();
+
+		columnOffsets = new long[columnCount];
+		for (int i = 0; i < columnCount; i++)
+			columnOffsets[i] = b.getLong();
+
+		rowCount = version >= 10 ? (int) b.getLong() : -1;
+		footerOffset = b.getLong();
+
+		final long magicNumber = b.getLong();
+		checkState(magicNumber == MAGIC_NUMBER, "bad footer magic number: " + magicNumber);
+	}
+
+	/**
+	 * Reads the footer at the end of a file, where {@code base} is the position of
+	 * the end of the dataframe header. Leaves the position of the channel
+	 * unspecified.
+	 */
+	static ChannelDataFrameFooter readFrom(FileChannel channel, long base, int columnCount, int version)
+			throws IOException {
+
+		final long position = channel.size() - allocate(columnCount, version).capacity();
+		checkState(position >= base, "file too small for footer: " + channel.size());
+
+		channel.position(position);
+		ChannelDataFrameFooter footer = new ChannelDataFrameFooter(channel, columnCount, version);
+		checkState(base + footer.footerOffset == position, "bad footer offset: " + footer.footerOffset);
+
+		return footer;
+	}
+
+	void writeTo(WritableByteChannel channel) throws IOException {
+
+		ByteBuffer b = allocate(columnOffsets.length, ChannelDataFrameHeader.VERSION);
+
+		for (long offset : columnOffsets)
+			b.putLong(offset);
+		b.putLong(rowCount);
+		b.putLong(footerOffset);
+		b.putLong(MAGIC_NUMBER);
+
+		b.flip();
+
+		writeFully(channel, b);
+	}
+
+	private static ByteBuffer allocate(int columnCount, int version) {
+		ByteBuffer b = ByteBuffer.allocate(columnCount * 8 + (version >= 10 ? 8 : 0) + 8 + 8);
+		b.order(ORDER);
+		return b;
+	}
+
+	long columnOffset(int columnIndex) {
+		return columnOffsets[columnIndex];
+	}
+
+	/**
+	 * Returns the number of rows, or -1 if the footer predates version 10.
+	 */
+	int rowCount() {
+		return rowCount;
+	}
+}
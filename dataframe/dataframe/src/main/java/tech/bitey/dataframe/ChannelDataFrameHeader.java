@@ -28,7 +28,7 @@ import java.nio.channels.WritableByteChannel;
 
 class ChannelDataFrameHeader {
 
-	private static final long MAGIC_NUMBER = ((long) 'd') << 56 | ((long) 'a') << 48 | ((long) 't') << 40
+	static final long MAGIC_NUMBER = ((long) 'd') << 56 | ((long) 'a') << 48 | ((long) 't') << 40
 			| ((long) 'a') << 32 | 'f' << 24 | 'r' << 16 | 'a' << 8 | 'm';
 
 	/*-
@@ -36,8 +36,13 @@ class ChannelDataFrameHeader {
 	 * v3: modified NonNullUuidColumn representation
 	 * v4: BigByteBuffer and friends
 	 * v5: support byte & short NormalStringColumn implementations
+	 * v6: zone maps ahead of numeric and temporal column buffers
+	 * v7: optional column encodings
+	 * v8: optional block compression of everything after the dataframe header
+	 * v9: footer with the offset of each column (see ChannelDataFrameFooter)
+	 * v10: row count in footer
 	 */
-	private static final int VERSION = 5;
+	static final int VERSION = 10;
 
 	private static final ByteOrder ORDER = ByteOrder.BIG_ENDIAN;
 
@@ -45,13 +50,15 @@ class ChannelDataFrameHeader {
 	private final int version;
 	private final int columnCount;
 	private final int keyIndex;
+	private final BlockCompression compression;
 
-	ChannelDataFrameHeader(DataFrame df) {
+	ChannelDataFrameHeader(DataFrame df, BlockCompression compression) {
 		this.magicNumber = MAGIC_NUMBER;
 		this.version = VERSION;
 
 		this.columnCount = df.columnCount();
 		this.keyIndex = df.hasKeyColumn() ? df.keyColumnIndex() : -1;
+		this.compression = compression;
 	}
 
 	ChannelDataFrameHeader(ReadableByteChannel channel) throws IOException {
@@ -71,16 +78,28 @@ class ChannelDataFrameHeader {
 
 		keyIndex = b.getInt();
 		checkState(keyIndex >= -1 && keyIndex < columnCount, "keyIndex must be >= -1 and < column count: " + keyIndex);
+
+		if (version >= 8) {
+			ByteBuffer c = ByteBuffer.allocate(4).order(ORDER);
+			readFully(channel, c);
+
+			// ordinal of BlockCompression
+			final int code = c.getInt(0);
+			checkState(code >= 0 && code < BlockCompression.values().length, "bad compression: " + code);
+			compression = BlockCompression.values()[code];
+		} else
+			compression = BlockCompression.NONE;
 	}
 
 	void writeTo(WritableByteChannel channel) throws IOException {
 
-		ByteBuffer b = allocate();
+		ByteBuffer b = ByteBuffer.allocate(8 + 4 + 4 + 4 + 4).order(ORDER);
 
 		b.putLong(magicNumber);
 		b.putInt(version);
 		b.putInt(columnCount);
 		b.putInt(keyIndex);
+		b.putInt(compression.ordinal());
 
 		b.flip();
 
@@ -95,7 +114,8 @@ class ChannelDataFrameHeader {
 
 	@Override
 	public String toString() {
-		return "{version: " + version + ", columnCount: " + columnCount + ", keyIndex: " + keyIndex + "}";
+		return "{version: " + version + ", columnCount: " + columnCount + ", keyIndex: " + keyIndex + ", compression: "
+				+ compression + "}";
 	}
 
 	int getVersion() {
@@ -109,4 +129,8 @@ class ChannelDataFrameHeader {
 	Integer keyIndex() {
 		return keyIndex == -1 ? null : keyIndex;
 	}
+
+	BlockCompression getCompression() {
+		return compression;
+	}
 }
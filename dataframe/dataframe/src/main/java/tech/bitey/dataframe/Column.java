@@ -27,6 +27,7 @@ import static java.util.Spliterator.SUBSIZED;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.NavigableSet;
 import java.util.NoSuchElementException;
@@ -40,6 +41,8 @@ import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
 
+import tech.bitey.bufferstuff.BufferBitSet;
+
 /**
  * An immutable {@link java.util.List List} backed by nio buffers. Elements of
  * type {@code E} are packed/unpacked to and from the buffers. There are four
@@ -171,6 +174,9 @@ public interface Column<E> extends List<E>, RandomAccess {
 	 * <li>distinct - returns a new column which shares the same underlying buffer,
 	 * but with {@code DISTINCT} flag unset.
 	 * </ul>
+	 * Columns with at least {@code tech.bitey.parallelSortThreshold} elements
+	 * (default is 65536) are sorted in parallel using the
+	 * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}.
 	 * 
 	 * @return a column with elements sorted in ascending order
 	 * 
@@ -484,6 +490,123 @@ public interface Column<E> extends List<E>, RandomAccess {
 	 */
 	Column<E> filter(Predicate<E> predicate, boolean keepNulls);
 
+	/*------------------------------------------------------------
+	 *  Mask Methods
+	 *------------------------------------------------------------*/
+	/**
+	 * Returns a mask of the {@code null} elements in this column. Bit {@code i} of
+	 * the mask is set if the element at index {@code i} is null.
+	 * <p>
+	 * Masks can be combined with {@link BufferBitSet#and(BufferBitSet)},
+	 * {@link BufferBitSet#or(BufferBitSet)}, and
+	 * {@link BufferBitSet#andNot(BufferBitSet)}, negated with
+	 * {@link BufferBitSet#flip(int, int) flip(0, size())}, and applied with
+	 * {@link DataFrame#filter(BufferBitSet)}.
+	 * 
+	 * @return a mask of the {@code null} elements in this column
+	 */
+	BufferBitSet isNull();
+
+	/**
+	 * Returns a mask of the elements in this column which are equal to the
+	 * specified value, as determined by {@link ColumnType#compare}. Nulls never
+	 * match.
+	 * <p>
+	 * The mask is computed directly from the column's buffer, without boxing each
+	 * element. See {@link #isNull()} for how masks are combined and applied.
+	 * 
+	 * @param value - the value to compare against
+	 * 
+	 * @return a mask of the elements equal to {@code value}
+	 * 
+	 * @throws IllegalArgumentException if {@code value} is null
+	 */
+	BufferBitSet eq(E value);
+
+	/**
+	 * Returns a mask of the elements in this column which are less than the
+	 * specified value. Nulls never match.
+	 * 
+	 * @param value - the value to compare against
+	 * 
+	 * @return a mask of the elements less than {@code value}
+	 * 
+	 * @throws IllegalArgumentException if {@code value} is null
+	 * 
+	 * @see #eq(Object)
+	 */
+	BufferBitSet lt(E value);
+
+	/**
+	 * Returns a mask of the elements in this column which are less than or equal
+	 * to the specified value. Nulls never match.
+	 * 
+	 * @param value - the value to compare against
+	 * 
+	 * @return a mask of the elements less than or equal to {@code value}
+	 * 
+	 * @throws IllegalArgumentException if {@code value} is null
+	 * 
+	 * @see #eq(Object)
+	 */
+	BufferBitSet le(E value);
+
+	/**
+	 * Returns a mask of the elements in this column which are greater than the
+	 * specified value. Nulls never match.
+	 * 
+	 * @param value - the value to compare against
+	 * 
+	 * @return a mask of the elements greater than {@code value}
+	 * 
+	 * @throws IllegalArgumentException if {@code value} is null
+	 * 
+	 * @see #eq(Object)
+	 */
+	BufferBitSet gt(E value);
+
+	/**
+	 * Returns a mask of the elements in this column which are greater than or
+	 * equal to the specified value. Nulls never match.
+	 * 
+	 * @param value - the value to compare against
+	 * 
+	 * @return a mask of the elements greater than or equal to {@code value}
+	 * 
+	 * @throws IllegalArgumentException if {@code value} is null
+	 * 
+	 * @see #eq(Object)
+	 */
+	BufferBitSet ge(E value);
+
+	/**
+	 * Returns a mask of the elements in this column which are between the
+	 * specified values, inclusive. Nulls never match.
+	 * 
+	 * @param min - the low endpoint, inclusive
+	 * @param max - the high endpoint, inclusive
+	 * 
+	 * @return a mask of the elements between {@code min} and {@code max}
+	 * 
+	 * @throws IllegalArgumentException if either endpoint is null
+	 * 
+	 * @see #eq(Object)
+	 */
+	BufferBitSet between(E min, E max);
+
+	/**
+	 * Returns a mask of the elements in this column which are equal to any of the
+	 * specified values. Nulls never match, and any nulls in {@code values} are
+	 * ignored.
+	 * 
+	 * @param values - the values to compare against
+	 * 
+	 * @return a mask of the elements equal to any of {@code values}
+	 * 
+	 * @see #eq(Object)
+	 */
+	BufferBitSet in(Collection<E> values);
+
 	/*------------------------------------------------------------
 	 *  NavigableSet-inspired Methods
 	 *------------------------------------------------------------*/
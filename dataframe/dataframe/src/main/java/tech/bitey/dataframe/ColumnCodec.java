@@ -0,0 +1,387 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.bitey.dataframe;
+
+import static tech.bitey.bufferstuff.BufferUtils.readFully;
+import static tech.bitey.bufferstuff.BufferUtils.writeFully;
+import static tech.bitey.dataframe.Pr.checkState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import tech.bitey.bufferstuff.BigByteBuffer;
+import tech.bitey.bufferstuff.BufferUtils;
+
+/**
+ * Encodes the elements of a column buffer which are one, two, four, or eight
+ * bytes wide, treating each element as a signed integer of that width. Floats
+ * and doubles are encoded as their raw bits, so every encoding is lossless.
+ * <p>
+ * Encoded layouts, in the byte order of the column:
+ * <ul>
+ * <li>{@link ColumnEncoding#RUN_LENGTH RUN_LENGTH} - int run count, the value
+ * of each run, then the int length of each run
+ * <li>{@link ColumnEncoding#DELTA DELTA} - long first element, long minimum
+ * delta, int bit width, then each delta less the minimum, bit-packed
+ * <li>{@link ColumnEncoding#FRAME_OF_REFERENCE FRAME_OF_REFERENCE} - long
+ * minimum element, int bit width, then each element less the minimum,
+ * bit-packed
+ * </ul>
+ * Bit-packed values are written least significant bit first into a sequence of
+ * longs. Differences are computed with wrapping arithmetic, so that every
+ * difference of two longs fits in an unsigned 64-bit value.
+ */
+final class ColumnCodec {
+
+	private final BigByteBuffer buffer;
+	private final int elementSize;
+	private final int offset;
+	private final int size;
+
+	private int runs;
+	private long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+	private long minDelta = Long.MAX_VALUE, maxDelta = Long.MIN_VALUE;
+
+	/**
+	 * Gathers the statistics needed to choose and apply an encoding to the
+	 * elements at {@code [offset, offset + size)} of the buffer.
+	 */
+	ColumnCodec(BigByteBuffer buffer, int elementSize, int offset, int size) {
+		this.buffer = buffer;
+		this.elementSize = elementSize;
+		this.offset = offset;
+		this.size = size;
+
+		long prev = 0;
+		for (int i = offset; i < offset + size; i++) {
+			final long value = word(buffer, elementSize, i);
+
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+
+			if (i > offset) {
+				final long delta = value - prev;
+				minDelta = Math.min(minDelta, delta);
+				maxDelta = Math.max(maxDelta, delta);
+
+				if (value != prev)
+					runs++;
+			} else
+				runs = 1;
+
+			prev = value;
+		}
+	}
+
+	/**
+	 * Returns true if elements of the specified size can be encoded.
+	 */
+	static boolean supports(int elementSize) {
+		return elementSize == 1 || elementSize == 2 || elementSize == 4 || elementSize == 8;
+	}
+
+	/**
+	 * Resolves {@link ColumnEncoding#AUTO AUTO} to the smallest encoding, and
+	 * encodings which do not apply to these elements to
+	 * {@link ColumnEncoding#PLAIN PLAIN}.
+	 */
+	ColumnEncoding resolve(ColumnEncoding encoding) {
+
+		if (size == 0)
+			return ColumnEncoding.PLAIN;
+
+		return switch (encoding) {
+		case PLAIN, DICTIONARY -> ColumnEncoding.PLAIN;
+		case RUN_LENGTH, DELTA, FRAME_OF_REFERENCE -> encoding;
+		case AUTO -> {
+			ColumnEncoding best = ColumnEncoding.PLAIN;
+			for (ColumnEncoding e : new ColumnEncoding[] { ColumnEncoding.RUN_LENGTH, ColumnEncoding.DELTA,
+					ColumnEncoding.FRAME_OF_REFERENCE })
+				if (encodedSize(e) < encodedSize(best))
+					best = e;
+			yield best;
+		}
+		};
+	}
+
+	private long encodedSize(ColumnEncoding encoding) {
+		return switch (encoding) {
+		case RUN_LENGTH -> 4 + (long) runs * (elementSize + 4);
+		case DELTA -> 8 + 8 + 4 + packedSize(size - 1, deltaWidth());
+		case FRAME_OF_REFERENCE -> 8 + 4 + packedSize(size, width(max - min));
+		default -> (long) size * elementSize;
+		};
+	}
+
+	private int deltaWidth() {
+		return size > 1 ? width(maxDelta - minDelta) : 0;
+	}
+
+	/**
+	 * Encodes the elements with the specified encoding, which must be
+	 * {@link #resolve resolved} and not {@link ColumnEncoding#PLAIN PLAIN}.
+	 */
+	BigByteBuffer encode(ColumnEncoding encoding) {
+
+		final BigByteBuffer encoded = BufferUtils.allocateBig(encodedSize(encoding), buffer.order());
+
+		switch (encoding) {
+		case RUN_LENGTH -> {
+			encoded.putInt(runs);
+			final long lengths = 4 + (long) runs * elementSize;
+
+			long prev = word(buffer, elementSize, offset);
+			int run = 0, length = 0;
+			for (int i = offset; i < offset + size; i++) {
+				final long value = word(buffer, elementSize, i);
+				if (value != prev) {
+					put(encoded, elementSize, prev);
+					encoded.putInt(lengths + run++ * 4L, length);
+					length = 0;
+				}
+				length++;
+				prev = value;
+			}
+			put(encoded, elementSize, prev);
+			encoded.putInt(lengths + run * 4L, length);
+		}
+		case DELTA -> {
+			final int width = deltaWidth();
+			final long first = word(buffer, elementSize, offset);
+			encoded.putLong(first);
+			encoded.putLong(size > 1 ? minDelta : 0);
+			encoded.putInt(width);
+
+			final BitWriter writer = new BitWriter(encoded, width);
+			long prev = first;
+			for (int i = offset + 1; i < offset + size; i++) {
+				final long value = word(buffer, elementSize, i);
+				writer.write(value - prev - minDelta);
+				prev = value;
+			}
+			writer.flush();
+		}
+		case FRAME_OF_REFERENCE -> {
+			final int width = width(max - min);
+			encoded.putLong(min);
+			encoded.putInt(width);
+
+			final BitWriter writer = new BitWriter(encoded, width);
+			for (int i = offset; i < offset + size; i++)
+				writer.write(word(buffer, elementSize, i) - min);
+			writer.flush();
+		}
+		default -> throw new IllegalArgumentException("cannot encode: " + encoding);
+		}
+
+		encoded.clear();
+		return encoded;
+	}
+
+	/**
+	 * Decodes {@code size} elements from a buffer written by {@link #encode}.
+	 */
+	static BigByteBuffer decode(ColumnEncoding encoding, BigByteBuffer encoded, int elementSize, int size) {
+
+		final BigByteBuffer decoded = BufferUtils.allocateBig((long) size * elementSize, encoded.order());
+
+		switch (encoding) {
+		case RUN_LENGTH -> {
+			final int runs = encoded.getInt(0);
+			final long lengths = 4 + (long) runs * elementSize;
+
+			long count = 0;
+			for (int r = 0; r < runs; r++) {
+				final long value = wordAt(encoded, elementSize, 4 + (long) r * elementSize);
+				final int length = encoded.getInt(lengths + r * 4L);
+				count += length;
+				checkState(length > 0 && count <= size, "bad run length: " + length);
+				for (int i = 0; i < length; i++)
+					put(decoded, elementSize, value);
+			}
+			checkState(count == size, "bad run length total: " + count);
+		}
+		case DELTA -> {
+			long value = encoded.getLong(0);
+			final long minDelta = encoded.getLong(8);
+			final BitReader reader = new BitReader(encoded, 8 + 8 + 4, encoded.getInt(8 + 8));
+
+			if (size > 0)
+				put(decoded, elementSize, value);
+			for (int i = 1; i < size; i++) {
+				value += minDelta + reader.read();
+				put(decoded, elementSize, value);
+			}
+		}
+		case FRAME_OF_REFERENCE -> {
+			final long min = encoded.getLong(0);
+			final BitReader reader = new BitReader(encoded, 8 + 4, encoded.getInt(8));
+
+			for (int i = 0; i < size; i++)
+				put(decoded, elementSize, min + reader.read());
+		}
+		default -> throw new IllegalStateException("cannot decode: " + encoding);
+		}
+
+		decoded.flip();
+		return decoded;
+	}
+
+	static void writeEncoding(WritableByteChannel channel, ColumnEncoding encoding) throws IOException {
+
+		final char code = switch (encoding) {
+		case PLAIN -> 'P';
+		case RUN_LENGTH -> 'R';
+		case DELTA -> 'D';
+		case FRAME_OF_REFERENCE -> 'F';
+		case DICTIONARY -> 'C';
+		case AUTO -> throw new IllegalArgumentException("encoding must be resolved");
+		};
+
+		writeFully(channel, ByteBuffer.wrap(new byte[] { (byte) code }));
+	}
+
+	static ColumnEncoding readEncoding(ReadableByteChannel channel) throws IOException {
+
+		byte[] b = new byte[1];
+		readFully(channel, ByteBuffer.wrap(b));
+
+		return switch (b[0]) {
+		case 'P' -> ColumnEncoding.PLAIN;
+		case 'R' -> ColumnEncoding.RUN_LENGTH;
+		case 'D' -> ColumnEncoding.DELTA;
+		case 'F' -> ColumnEncoding.FRAME_OF_REFERENCE;
+		case 'C' -> ColumnEncoding.DICTIONARY;
+		default -> throw new IllegalStateException("bad encoding: " + b[0]);
+		};
+	}
+
+	/**
+	 * Returns the number of bits needed to represent the specified unsigned value.
+	 */
+	private static int width(long unsigned) {
+		return 64 - Long.numberOfLeadingZeros(unsigned);
+	}
+
+	private static long packedSize(int count, int width) {
+		return ((long) count * width + 63) / 64 * 8;
+	}
+
+	private static long word(BigByteBuffer buffer, int elementSize, int index) {
+		return wordAt(buffer, elementSize, (long) index * elementSize);
+	}
+
+	private static long wordAt(BigByteBuffer buffer, int elementSize, long byteIndex) {
+		return switch (elementSize) {
+		case 1 -> buffer.get(byteIndex);
+		case 2 -> buffer.getShort(byteIndex);
+		case 4 -> buffer.getInt(byteIndex);
+		default -> buffer.getLong(byteIndex);
+		};
+	}
+
+	private static void put(BigByteBuffer buffer, int elementSize, long value) {
+		switch (elementSize) {
+		case 1 -> buffer.put((byte) value);
+		case 2 -> buffer.putShort((short) value);
+		case 4 -> buffer.putInt((int) value);
+		default -> buffer.putLong(value);
+		}
+	}
+
+	private static final class BitWriter {
+
+		private final BigByteBuffer out;
+		private final int width;
+
+		private long bits;
+		private int used;
+
+		private BitWriter(BigByteBuffer out, int width) {
+			this.out = out;
+			this.width = width;
+		}
+
+		private void write(long value) {
+			if (width == 0)
+				return;
+
+			bits |= value << used;
+			used += width;
+
+			if (used >= 64) {
+				out.putLong(bits);
+				used -= 64;
+				bits = used == 0 ? 0 : value >>> (width - used);
+			}
+		}
+
+		private void flush() {
+			if (used > 0)
+				out.putLong(bits);
+		}
+	}
+
+	private static final class BitReader {
+
+		private final BigByteBuffer in;
+		private final int width;
+		private final long mask;
+
+		private long position;
+		private long bits;
+		private int used = 64;
+
+		private BitReader(BigByteBuffer in, long position, int width) {
+			checkState(width >= 0 && width <= 64, "bad bit width: " + width);
+
+			this.in = in;
+			this.position = position;
+			this.width = width;
+			this.mask = width == 64 ? -1L : (1L << width) - 1;
+		}
+
+		private long read() {
+			if (width == 0)
+				return 0;
+
+			if (used == 64) {
+				bits = in.getLong(position);
+				position += 8;
+				used = 0;
+			}
+
+			long value = bits >>> used;
+			final int available = 64 - used;
+
+			if (available >= width)
+				used += width;
+			else {
+				bits = in.getLong(position);
+				position += 8;
+				value |= bits << available;
+				used = width - available;
+			}
+
+			return value & mask;
+		}
+	}
+}
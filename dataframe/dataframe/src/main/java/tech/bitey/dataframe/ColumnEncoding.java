@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.bitey.dataframe;
+
+/**
+ * Encodings which can be applied to the columns of a dataframe when it is
+ * written in binary format. Encoded columns are decoded transparently by
+ * {@link DataFrameFactory#readFrom(java.io.File)} and
+ * {@link DataFrameFactory#mapFrom(java.io.File)}, but they are always decoded
+ * onto the heap rather than memory-mapped.
+ * <p>
+ * {@link #RUN_LENGTH}, {@link #DELTA}, and {@link #FRAME_OF_REFERENCE} apply to
+ * columns whose elements are one, two, four, or eight bytes wide, such as
+ * {@link IntColumn}, {@link LongColumn}, {@link DateColumn}, and
+ * {@link DateTimeColumn}, as well as to the indices of a
+ * {@link NormalStringColumn}. {@link #DICTIONARY} applies to
+ * {@link StringColumn}, {@link DecimalColumn}, and {@link BlobColumn}. A column
+ * which does not support the requested encoding is written as {@link #PLAIN}.
+ * Null flags and boolean columns are always written as plain bit sets.
+ * 
+ * @author biteytech@protonmail.com
+ * 
+ * @see WriteToFileConfig
+ */
+public enum ColumnEncoding {
+
+	/** Elements are written as-is. */
+	PLAIN,
+
+	/**
+	 * Each run of equal elements is written once, along with the length of the
+	 * run. Suitable for sorted or low-cardinality columns.
+	 */
+	RUN_LENGTH,
+
+	/**
+	 * The first element is written in full, followed by the difference between
+	 * each element and its predecessor, bit-packed to the width of the largest
+	 * difference. Suitable for sorted columns.
+	 */
+	DELTA,
+
+	/**
+	 * The minimum element is written in full, followed by the difference between
+	 * each element and the minimum, bit-packed to the width of the largest
+	 * difference. Suitable for columns whose elements fall within a narrow range.
+	 */
+	FRAME_OF_REFERENCE,
+
+	/**
+	 * Distinct elements are written once, followed by the index of each element
+	 * in that dictionary. Suitable for low-cardinality string columns.
+	 */
+	DICTIONARY,
+
+	/**
+	 * Whichever of the encodings supported by a column results in the smallest
+	 * output.
+	 */
+	AUTO
+}
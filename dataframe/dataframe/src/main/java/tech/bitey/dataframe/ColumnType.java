@@ -315,7 +315,7 @@ public abstract class ColumnType<E> {
 		return builder().addNulls(size).build();
 	}
 
-	Column<?> readFrom(ReadableByteChannel channel, int characteristics, int version, boolean map) throws IOException {
+	Column<?> readFrom(ReadableByteChannel channel, int characteristics, int version, FileMapper map) throws IOException {
 		BufferBitSet nonNulls = null;
 		int size = 0;
 		if (getCode() != NS && !((characteristics & NONNULL) != 0)) {
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.bitey.dataframe;
+
+import static tech.bitey.bufferstuff.BufferUtils.writeFully;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Compresses everything written to it in blocks of up to {@link #BLOCK_SIZE}
+ * bytes. Each block is preceded by its uncompressed and stored lengths, as
+ * big-endian ints. A block whose stored length equals its uncompressed length
+ * was stored as-is, because it did not compress.
+ * <p>
+ * {@link #close()} writes the final block, but does not close the underlying
+ * channel.
+ *
+ * @see DecompressingChannel
+ */
+final class CompressingChannel implements WritableByteChannel {
+
+	static final int BLOCK_SIZE = 1 << 20;
+
+	private final WritableByteChannel channel;
+	private final BlockCompression compression;
+
+	private final byte[] block = new byte[BLOCK_SIZE];
+	private int length;
+
+	private byte[] compressed;
+	private boolean open = true;
+
+	CompressingChannel(WritableByteChannel channel, BlockCompression compression) {
+		this.channel = channel;
+		this.compression = compression;
+	}
+
+	@Override
+	public int write(ByteBuffer src) throws IOException {
+		final int written = src.remaining();
+
+		while (src.hasRemaining()) {
+			final int n = Math.min(src.remaining(), BLOCK_SIZE - length);
+			src.get(block, length, n);
+			length += n;
+
+			if (length == BLOCK_SIZE)
+				flushBlock();
+		}
+
+		return written;
+	}
+
+	private void flushBlock() throws IOException {
+
+		final int stored = switch (compression) {
+		case LZ4 -> {
+			if (compressed == null)
+				compressed = new byte[LZ4Block.maxCompressedLength(BLOCK_SIZE)];
+			yield LZ4Block.compress(block, length, compressed);
+		}
+		case NONE -> length;
+		};
+
+		final ByteBuffer header = ByteBuffer.allocate(8);
+		header.putInt(0, length);
+		header.putInt(4, Math.min(stored, length));
+		writeFully(channel, header);
+
+		if (stored < length)
+			writeFully(channel, ByteBuffer.wrap(compressed, 0, stored));
+		else
+			writeFully(channel, ByteBuffer.wrap(block, 0, length));
+
+		length = 0;
+	}
+
+	@Override
+	public boolean isOpen() {
+		return open;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (open) {
+			if (length > 0)
+				flushBlock();
+			open = false;
+		}
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.bitey.dataframe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Counts the bytes written through it to another channel. {@link #close()}
+ * closes the underlying channel.
+ */
+final class CountingChannel implements WritableByteChannel {
+
+	private final WritableByteChannel channel;
+	private long count;
+
+	CountingChannel(WritableByteChannel channel) {
+		this.channel = channel;
+	}
+
+	@Override
+	public int write(ByteBuffer src) throws IOException {
+		final int written = channel.write(src);
+		count += written;
+		return written;
+	}
+
+	long count() {
+		return count;
+	}
+
+	@Override
+	public boolean isOpen() {
+		return channel.isOpen();
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+/**
+ * Columns parsed from a run of consecutive CSV records, along with how many
+ * records and lines they were read from.
+ * 
+ * @param header  - the column names, if the first record was a header
+ * @param columns - the parsed columns
+ * @param records - the number of records, including any header
+ * @param lines   - the number of lines spanned by the records
+ */
+record CsvChunk(String[] header, Column<?>[] columns, int records, int lines) {
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.bitey.dataframe;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Formats the non-null values of one column into a {@link CsvWriter}.
+ * <p>
+ * Integers, dates, and booleans are formatted directly as ASCII digits or
+ * letters, and strings are copied from the bytes of their column, without
+ * creating a {@code String} per value. Floating point numbers are formatted by
+ * {@link Double#toString(double)} and {@link Float#toString(float)}, and any
+ * other value by its {@code toString} method, so the output is always the same
+ * as the string form of the value, escaped when necessary.
+ */
+abstract class CsvColumnFormatter {
+
+	/**
+	 * Returns a formatter for the specified column.
+	 */
+	static CsvColumnFormatter of(Column<?> column) {
+		return switch (column.getType().getCode()) {
+		case I -> new IntFormatter((IntColumn) column);
+		case L -> new LongFormatter((LongColumn) column);
+		case T -> new ShortFormatter((ShortColumn) column);
+		case Y -> new ByteFormatter((ByteColumn) column);
+		case D -> new DoubleFormatter((DoubleColumn) column);
+		case F -> new FloatFormatter((FloatColumn) column);
+		case B -> new BooleanFormatter((BooleanColumn) column);
+		case DA -> new DateFormatter(column);
+		case S -> new StringFormatter(column);
+		default -> new Generic(column);
+		};
+	}
+
+	/**
+	 * Formats the non-null value at the specified index of the column.
+	 */
+	abstract void format(int index, CsvWriter out);
+
+	private static final class IntFormatter extends CsvColumnFormatter {
+
+		private final IntColumn column;
+
+		IntFormatter(IntColumn column) {
+			this.column = column;
+		}
+
+		@Override
+		void format(int index, CsvWriter out) {
+			out.putLong(column.getInt(index));
+		}
+	}
+
+	private static final class LongFormatter extends CsvColumnFormatter {
+
+		private final LongColumn column;
+
+		LongFormatter(LongColumn column) {
+			this.column = column;
+		}
+
+		@Override
+		void format(int index, CsvWriter out) {
+			out.putLong(column.getLong(index));
+		}
+	}
+
+	private static final class ShortFormatter extends CsvColumnFormatter {
+
+		private final ShortColumn column;
+
+		ShortFormatter(ShortColumn column) {
+			this.column = column;
+		}
+
+		@Override
+		void format(int index, CsvWriter out) {
+			out.putLong(column.getShort(index));
+		}
+	}
+
+	private static final class ByteFormatter extends CsvColumnFormatter {
+
+		private final ByteColumn column;
+
+		ByteFormatter(ByteColumn column) {
+			this.column = column;
+		}
+
+		@Override
+		void format(int index, CsvWriter out) {
+			out.putLong(column.getByte(index));
+		}
+	}
+
+	private static final class DoubleFormatter extends CsvColumnFormatter {
+
+		private final DoubleColumn column;
+
+		DoubleFormatter(DoubleColumn column) {
+			this.column = column;
+		}
+
+		@Override
+		void format(int index, CsvWriter out) {
+			out.putAscii(Double.toString(column.getDouble(index)));
+		}
+	}
+
+	private static final class FloatFormatter extends CsvColumnFormatter {
+
+		private final FloatColumn column;
+
+		FloatFormatter(FloatColumn column) {
+			this.column = column;
+		}
+
+		@Override
+		void format(int index, CsvWriter out) {
+			out.putAscii(Float.toString(column.getFloat(index)));
+		}
+	}
+
+	private static final class BooleanFormatter extends CsvColumnFormatter {
+
+		private static final byte[] TRUE = "true".getBytes(UTF_8);
+		private static final byte[] FALSE = "false".getBytes(UTF_8);
+
+		private final BooleanColumn column;
+
+		BooleanFormatter(BooleanColumn column) {
+			this.column = column;
+		}
+
+		@Override
+		void format(int index, CsvWriter out) {
+			out.put(column.getBoolean(index) ? TRUE : FALSE);
+		}
+	}
+
+	private static final class DateFormatter extends CsvColumnFormatter {
+
+		private final NonNullDateColumn column;
+		private final NullableDateColumn nullable;
+
+		DateFormatter(Column<?> column) {
+			if (column instanceof NullableDateColumn n) {
+				this.column = n.column;
+				this.nullable = n;
+			} else {
+				this.column = (NonNullDateColumn) column;
+				this.nullable = null;
+			}
+		}
+
+		@Override
+		void format(int index, CsvWriter out) {
+
+			final int i = nullable == null ? index + column.offset : nullable.nonNullIndex(index + nullable.offset);
+			final int packed = column.at(i);
+
+			final int year = packed >> 9;
+			if (year < 0 || year > 9999) {
+				// signed and expanded years, as formatted by LocalDate::toString
+				out.putAscii(column.getNoOffset(i).toString());
+				return;
+			}
+
+			out.putDigits(year, 4);
+			out.put((byte) '-');
+			out.putDigits((packed >> 5) & 0xF, 2);
+			out.put((byte) '-');
+			out.putDigits(packed & 0x1F, 2);
+		}
+	}
+
+	/**
+	 * Copies the UTF-8 bytes of each string, quoting empty strings so that they
+	 * can be told apart from nulls.
+	 */
+	private static final class StringFormatter extends CsvColumnFormatter {
+
+		private final NonNullStringColumn column;
+		private final NullableStringColumn nullable;
+
+		StringFormatter(Column<?> column) {
+			if (column instanceof NullableStringColumn n) {
+				this.column = n.column;
+				this.nullable = n;
+			} else {
+				this.column = (NonNullStringColumn) column;
+				this.nullable = null;
+			}
+		}
+
+		@Override
+		void format(int index, CsvWriter out) {
+
+			final int i = nullable == null ? index + column.offset : nullable.nonNullIndex(index + nullable.offset);
+
+			out.putField(column.elements, column.pat(i), column.end(i), true);
+		}
+	}
+
+	private static final class Generic extends CsvColumnFormatter {
+
+		private final Column<?> column;
+
+		Generic(Column<?> column) {
+			this.column = column;
+		}
+
+		@Override
+		void format(int index, CsvWriter out) {
+			out.putField(column.get(index).toString());
+		}
+	}
+}
@@ -0,0 +1,498 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.time.Month;
+import java.time.Year;
+import java.util.function.Function;
+
+/**
+ * Parses the fields of one CSV column into a {@link ColumnBuilder}, directly
+ * from the bytes held by a {@link CsvScanner}.
+ * <p>
+ * Integers, floating point numbers, dates, and booleans in their common forms
+ * are parsed without decoding them to strings. Any other field is decoded and
+ * passed to {@link ColumnType#parse(String)}, so that the result (or the error)
+ * is always the same as when parsing the decoded string.
+ */
+abstract class CsvColumnParser {
+
+	/**
+	 * Returns a parser for the specified column type, or one which always decodes
+	 * each field and applies the specified function if it's not null.
+	 */
+	static CsvColumnParser of(ColumnType<?> type, Function<String, Comparable<?>> parser) {
+
+		if (parser != null)
+			return new Generic(type, parser);
+
+		return switch (type.getCode()) {
+		case I -> new IntParser();
+		case L -> new LongParser();
+		case T -> new ShortParser();
+		case Y -> new ByteParser();
+		case D -> new DoubleParser();
+		case F -> new FloatParser();
+		case B -> new BooleanParser();
+		case DA -> new DateParser();
+		case S, NS, FS -> new StringParser(type);
+		default -> new Generic(type, type::parse);
+		};
+	}
+
+	/**
+	 * Parses a non-null field and adds it to the column.
+	 */
+	abstract void parse(byte[] bytes, int offset, int length);
+
+	abstract void addNull();
+
+	abstract Column<?> build();
+
+	static String decode(byte[] bytes, int offset, int length) {
+		return new String(bytes, offset, length, UTF_8);
+	}
+
+	private static final long INVALID_LONG = Long.MIN_VALUE;
+
+	/**
+	 * Parses an optionally signed decimal integer of at most 18 ASCII digits.
+	 * 
+	 * @return the value, or {@link #INVALID_LONG} if the field is not of that form
+	 */
+	static long parseLong(byte[] bytes, int offset, int length) {
+
+		final int end = offset + length;
+		boolean negative = false;
+
+		if (length > 0 && (bytes[offset] == '-' || bytes[offset] == '+')) {
+			negative = bytes[offset] == '-';
+			offset++;
+		}
+
+		if (offset == end || end - offset > 18)
+			return INVALID_LONG;
+
+		long value = 0;
+		for (int i = offset; i < end; i++) {
+			final int digit = bytes[i] - '0';
+			if (digit < 0 || digit > 9)
+				return INVALID_LONG;
+			value = value * 10 + digit;
+		}
+
+		return negative ? -value : value;
+	}
+
+	private static final double[] DOUBLE_POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+			1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	private static final float[] FLOAT_POWERS_OF_TEN = { 1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f,
+			1e10f };
+
+	/**
+	 * Parses a decimal number of the form {@code [+-]digits[.digits][(e|E)[+-]digits]}
+	 * (where either the integer or fractional digits may be absent, but not both)
+	 * into its significand and power of ten, stored in {@code out}.
+	 * 
+	 * @return false if the field is not of that form, or has more than 18
+	 *         significant digits or an exponent of more than 4 digits
+	 */
+	private static boolean parseDecimal(byte[] bytes, int offset, int length, long[] out) {
+
+		final int end = offset + length;
+		int i = offset;
+
+		boolean negative = false;
+		if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+			negative = bytes[i] == '-';
+			i++;
+		}
+
+		long significand = 0;
+		int digits = 0, significantDigits = 0, exponent = 0;
+
+		for (boolean fraction = false; i < end; i++) {
+			final byte b = bytes[i];
+			if (b >= '0' && b <= '9') {
+				digits++;
+				if (significand != 0 || b != '0')
+					significantDigits++;
+				significand = significand * 10 + (b - '0');
+				if (fraction)
+					exponent--;
+			} else if (b == '.' && !fraction)
+				fraction = true;
+			else
+				break;
+		}
+
+		if (digits == 0 || significantDigits > 18)
+			return false;
+
+		if (i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+			i++;
+			boolean negativeExponent = false;
+			if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+				negativeExponent = bytes[i] == '-';
+				i++;
+			}
+			if (i == end || end - i > 4)
+				return false;
+
+			int e = 0;
+			for (; i < end; i++) {
+				final int digit = bytes[i] - '0';
+				if (digit < 0 || digit > 9)
+					return false;
+				e = e * 10 + digit;
+			}
+			exponent += negativeExponent ? -e : e;
+		}
+
+		if (i != end)
+			return false;
+
+		out[0] = negative ? -significand : significand;
+		out[1] = exponent;
+		out[2] = negative ? 1 : 0;
+		return true;
+	}
+
+	/**
+	 * Parses a decimal number which can be converted exactly, by a single
+	 * multiplication or division of its significand by a power of ten.
+	 * 
+	 * @return the value, or {@link Double#NaN} if the field can't be parsed that
+	 *         way
+	 */
+	static double parseDouble(byte[] bytes, int offset, int length, long[] scratch) {
+
+		if (!parseDecimal(bytes, offset, length, scratch))
+			return Double.NaN;
+
+		final long significand = scratch[0];
+		final long exponent = scratch[1];
+
+		if (significand == 0)
+			return scratch[2] == 0 ? 0d : -0d;
+		else if (Math.abs(significand) > 1L << 53 || Math.abs(exponent) >= DOUBLE_POWERS_OF_TEN.length)
+			return Double.NaN;
+		else if (exponent >= 0)
+			return significand * DOUBLE_POWERS_OF_TEN[(int) exponent];
+		else
+			return significand / DOUBLE_POWERS_OF_TEN[(int) -exponent];
+	}
+
+	/**
+	 * Float counterpart of {@link #parseDouble(byte[], int, int, long[])}.
+	 */
+	static float parseFloat(byte[] bytes, int offset, int length, long[] scratch) {
+
+		if (!parseDecimal(bytes, offset, length, scratch))
+			return Float.NaN;
+
+		final long significand = scratch[0];
+		final long exponent = scratch[1];
+
+		if (significand == 0)
+			return scratch[2] == 0 ? 0f : -0f;
+		else if (Math.abs(significand) > 1 << 24 || Math.abs(exponent) >= FLOAT_POWERS_OF_TEN.length)
+			return Float.NaN;
+		else if (exponent >= 0)
+			return significand * FLOAT_POWERS_OF_TEN[(int) exponent];
+		else
+			return significand / FLOAT_POWERS_OF_TEN[(int) -exponent];
+	}
+
+	/**
+	 * Parses {@code length} ASCII digits, or returns -1 if any byte is not one.
+	 */
+	private static int parseDigits(byte[] bytes, int offset, int length) {
+
+		int value = 0;
+		for (int i = offset, end = offset + length; i < end; i++) {
+			final int digit = bytes[i] - '0';
+			if (digit < 0 || digit > 9)
+				return -1;
+			value = value * 10 + digit;
+		}
+
+		return value;
+	}
+
+	private static final class IntParser extends CsvColumnParser {
+
+		private final IntColumnBuilder builder = IntColumn.builder();
+
+		@Override
+		void parse(byte[] bytes, int offset, int length) {
+			final long value = parseLong(bytes, offset, length);
+			if (value != INVALID_LONG && value == (int) value)
+				builder.add((int) value);
+			else
+				builder.add(Integer.valueOf(decode(bytes, offset, length)));
+		}
+
+		@Override
+		void addNull() {
+			builder.addNull();
+		}
+
+		@Override
+		Column<?> build() {
+			return builder.build();
+		}
+	}
+
+	private static final class LongParser extends CsvColumnParser {
+
+		private final LongColumnBuilder builder = LongColumn.builder();
+
+		@Override
+		void parse(byte[] bytes, int offset, int length) {
+			final long value = parseLong(bytes, offset, length);
+			if (value != INVALID_LONG)
+				builder.add(value);
+			else
+				builder.add(Long.valueOf(decode(bytes, offset, length)));
+		}
+
+		@Override
+		void addNull() {
+			builder.addNull();
+		}
+
+		@Override
+		Column<?> build() {
+			return builder.build();
+		}
+	}
+
+	private static final class ShortParser extends CsvColumnParser {
+
+		private final ShortColumnBuilder builder = ShortColumn.builder();
+
+		@Override
+		void parse(byte[] bytes, int offset, int length) {
+			final long value = parseLong(bytes, offset, length);
+			if (value != INVALID_LONG && value == (short) value)
+				builder.add((short) value);
+			else
+				builder.add(Short.valueOf(decode(bytes, offset, length)));
+		}
+
+		@Override
+		void addNull() {
+			builder.addNull();
+		}
+
+		@Override
+		Column<?> build() {
+			return builder.build();
+		}
+	}
+
+	private static final class ByteParser extends CsvColumnParser {
+
+		private final ByteColumnBuilder builder = ByteColumn.builder();
+
+		@Override
+		void parse(byte[] bytes, int offset, int length) {
+			final long value = parseLong(bytes, offset, length);
+			if (value != INVALID_LONG && value == (byte) value)
+				builder.add((byte) value);
+			else
+				builder.add(Byte.valueOf(decode(bytes, offset, length)));
+		}
+
+		@Override
+		void addNull() {
+			builder.addNull();
+		}
+
+		@Override
+		Column<?> build() {
+			return builder.build();
+		}
+	}
+
+	private static final class DoubleParser extends CsvColumnParser {
+
+		private final DoubleColumnBuilder builder = DoubleColumn.builder();
+		private final long[] scratch = new long[3];
+
+		@Override
+		void parse(byte[] bytes, int offset, int length) {
+			final double value = parseDouble(bytes, offset, length, scratch);
+			if (!Double.isNaN(value))
+				builder.add(value);
+			else
+				builder.add(Double.valueOf(decode(bytes, offset, length)));
+		}
+
+		@Override
+		void addNull() {
+			builder.addNull();
+		}
+
+		@Override
+		Column<?> build() {
+			return builder.build();
+		}
+	}
+
+	private static final class FloatParser extends CsvColumnParser {
+
+		private final FloatColumnBuilder builder = FloatColumn.builder();
+		private final long[] scratch = new long[3];
+
+		@Override
+		void parse(byte[] bytes, int offset, int length) {
+			final float value = parseFloat(bytes, offset, length, scratch);
+			if (!Float.isNaN(value))
+				builder.add(value);
+			else
+				builder.add(Float.valueOf(decode(bytes, offset, length)));
+		}
+
+		@Override
+		void addNull() {
+			builder.addNull();
+		}
+
+		@Override
+		Column<?> build() {
+			return builder.build();
+		}
+	}
+
+	private static final class BooleanParser extends CsvColumnParser {
+
+		private final BooleanColumnBuilder builder = BooleanColumn.builder();
+
+		// same as ColumnType.parseBoolean
+		@Override
+		void parse(byte[] bytes, int offset, int length) {
+			if (length == 1)
+				builder.add((bytes[offset] | 0x20) == 'y');
+			else
+				builder.add(length == 4 && (bytes[offset] | 0x20) == 't' && (bytes[offset + 1] | 0x20) == 'r'
+						&& (bytes[offset + 2] | 0x20) == 'u' && (bytes[offset + 3] | 0x20) == 'e');
+		}
+
+		@Override
+		void addNull() {
+			builder.addNull();
+		}
+
+		@Override
+		Column<?> build() {
+			return builder.build();
+		}
+	}
+
+	private static final class DateParser extends CsvColumnParser {
+
+		private final DateColumnBuilder builder = DateColumn.builder();
+
+		// yyyy-MM-dd or yyyyMMdd, as in ColumnType.parseDate
+		@Override
+		void parse(byte[] bytes, int offset, int length) {
+
+			int year = -1, month = -1, day = -1;
+			if (length == 10 && bytes[offset + 4] == '-' && bytes[offset + 7] == '-') {
+				year = parseDigits(bytes, offset, 4);
+				month = parseDigits(bytes, offset + 5, 2);
+				day = parseDigits(bytes, offset + 8, 2);
+			} else if (length == 8) {
+				year = parseDigits(bytes, offset, 4);
+				month = parseDigits(bytes, offset + 4, 2);
+				day = parseDigits(bytes, offset + 6, 2);
+			}
+
+			if (year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= Month.of(month).length(Year.isLeap(year)))
+				builder.add(year, month, day);
+			else
+				builder.add(ColumnType.parseDate(decode(bytes, offset, length)));
+		}
+
+		@Override
+		void addNull() {
+			builder.addNull();
+		}
+
+		@Override
+		Column<?> build() {
+			return builder.build();
+		}
+	}
+
+	private static final class StringParser extends CsvColumnParser {
+
+		private final ColumnBuilder<String> builder;
+
+		@SuppressWarnings("unchecked")
+		StringParser(ColumnType<?> type) {
+			this.builder = (ColumnBuilder<String>) (ColumnBuilder<?>) type.builder();
+		}
+
+		@Override
+		void parse(byte[] bytes, int offset, int length) {
+			builder.add(decode(bytes, offset, length));
+		}
+
+		@Override
+		void addNull() {
+			builder.addNull();
+		}
+
+		@Override
+		Column<?> build() {
+			return builder.build();
+		}
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static final class Generic extends CsvColumnParser {
+
+		private final ColumnBuilder builder;
+		private final Function<String, ?> parser;
+
+		Generic(ColumnType<?> type, Function<String, ?> parser) {
+			this.builder = type.builder();
+			this.parser = parser;
+		}
+
+		@Override
+		void parse(byte[] bytes, int offset, int length) {
+			builder.add((Comparable) parser.apply(decode(bytes, offset, length)));
+		}
+
+		@Override
+		void addNull() {
+			builder.addNull();
+		}
+
+		@Override
+		Column<?> build() {
+			return builder.build();
+		}
+	}
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+/**
+ * An error parsing a CSV record. The record and line numbers are kept so that
+ * they can be {@link #rebase(int, int) rebased} when the record was parsed as
+ * part of a later chunk of the file.
+ */
+final class CsvRecordException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int rno;
+	private final int lineno;
+	private final String error;
+
+	CsvRecordException(int rno, int lineno, String error, Throwable cause) {
+		super(String.format("Record #%d: Line #%d: %s", rno, lineno, error), cause);
+
+		this.rno = rno;
+		this.lineno = lineno;
+		this.error = error;
+	}
+
+	/**
+	 * Returns the same error, where the record and line numbers are offset by the
+	 * records and lines which preceded its chunk.
+	 */
+	CsvRecordException rebase(int records, int lines) {
+		return new CsvRecordException(rno + records, lineno + lines, error, getCause());
+	}
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static tech.bitey.dataframe.Pr.checkState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Splits CSV records into fields, scanning UTF-8 bytes read from a channel (or
+ * copied from a {@code ByteBuffer}) into a reusable buffer. Each field is left in place in the buffer, and is only
+ * unescaped when {@link #field(int, boolean) requested}, so that numbers and
+ * dates can be parsed without decoding them to strings.
+ * <p>
+ * Fields are split as described in {@link ReadCsvConfig}: records end at a CR,
+ * LF, or CRLF which is outside of double quotes, fields end at a delimiter
+ * which is outside of double quotes, and within double quotes a CR or CRLF is
+ * converted to LF.
+ */
+final class CsvScanner {
+
+	private static final byte QUOTE = '"';
+	private static final byte CR = '\r';
+	private static final byte LF = '\n';
+
+	private static final int INITIAL_BUFFER_SIZE = 1 << 16;
+
+	// exactly one of channel or source is not null
+	private final ReadableByteChannel channel;
+	private final ByteBuffer source;
+	private final byte delim;
+	private final byte[] nullValue;
+
+	private byte[] buf = new byte[INITIAL_BUFFER_SIZE];
+	private ByteBuffer wrapped = ByteBuffer.wrap(buf);
+
+	// start of the current record, which must be kept when the buffer is refilled
+	private int mark;
+	private int pos;
+	private int limit;
+	private boolean eof;
+
+	// a record ended with CR, so skip an LF which immediately follows it
+	private boolean skipLF;
+
+	private int lineno;
+
+	private int fieldCount;
+	private int[] starts = new int[16];
+	private int[] ends = new int[16];
+	// true if the field contains a double quote or line break, and so may need to
+	// be unescaped
+	private boolean[] dirty = new boolean[16];
+
+	CsvScanner(ReadableByteChannel channel, char delim, String nullValue) {
+		this(channel, null, delim, nullValue);
+	}
+
+	/**
+	 * Scans the remaining bytes of the source, advancing its position.
+	 */
+	CsvScanner(ByteBuffer source, char delim, String nullValue) {
+		this(null, source, delim, nullValue);
+	}
+
+	private CsvScanner(ReadableByteChannel channel, ByteBuffer source, char delim, String nullValue) {
+		this.channel = channel;
+		this.source = source;
+		this.delim = (byte) delim;
+		this.nullValue = nullValue.getBytes(UTF_8);
+	}
+
+	/**
+	 * Scans the next record.
+	 * 
+	 * @return false if there are no more records
+	 * 
+	 * @throws IllegalStateException if the input ends within double quotes
+	 */
+	boolean next() throws IOException {
+
+		fieldCount = 0;
+		mark = pos;
+
+		if (skipLF) {
+			skipLF = false;
+			if (pos == limit)
+				fill();
+			if (pos < limit && buf[pos] == LF)
+				mark = ++pos;
+		}
+
+		if (pos == limit) {
+			fill();
+			if (pos == limit)
+				return false;
+		}
+
+		int p = pos, fieldStart = p;
+		boolean quoted = false, fieldDirty = false, prevCR = false;
+
+		for (;; p++) {
+
+			if (p == limit) {
+				pos = p;
+				final int shift = fill();
+				p -= shift;
+				fieldStart -= shift;
+
+				if (p == limit) {
+					lineno++;
+					checkState(!quoted, "reached EOF with unmatched quote");
+					addField(fieldStart - mark, p - mark, fieldDirty);
+					return true;
+				}
+			}
+
+			final byte b = buf[p];
+
+			if (b == QUOTE) {
+				quoted = !quoted;
+				fieldDirty = true;
+			} else if (quoted) {
+				if (b == CR || b == LF) {
+					if (b == CR || !prevCR)
+						lineno++;
+					fieldDirty = true;
+				}
+			} else if (b == delim) {
+				addField(fieldStart - mark, p - mark, fieldDirty);
+				fieldStart = p + 1;
+				fieldDirty = false;
+			} else if (b == LF || b == CR) {
+				addField(fieldStart - mark, p - mark, fieldDirty);
+				skipLF = b == CR;
+				lineno++;
+				pos = p + 1;
+				return true;
+			}
+
+			prevCR = b == CR;
+		}
+	}
+
+	/**
+	 * Moves the current record to the start of the buffer (or grows the buffer if
+	 * it already is), and reads more bytes after it. No bytes are read at EOF.
+	 * 
+	 * @return how far the contents of the buffer moved
+	 */
+	private int fill() throws IOException {
+
+		if (eof)
+			return 0;
+
+		final int shift = mark;
+		if (shift > 0) {
+			System.arraycopy(buf, shift, buf, 0, limit - shift);
+			mark = 0;
+			pos -= shift;
+			limit -= shift;
+		} else if (limit == buf.length) {
+			checkState(buf.length <= Integer.MAX_VALUE / 2, "record too large");
+			buf = Arrays.copyOf(buf, buf.length * 2);
+			wrapped = ByteBuffer.wrap(buf);
+		}
+
+		int n;
+		if (source != null) {
+			n = Math.min(source.remaining(), buf.length - limit);
+			source.get(buf, limit, n);
+			if (n == 0)
+				n = -1;
+		} else {
+			do {
+				wrapped.limit(buf.length).position(limit);
+				n = channel.read(wrapped);
+			} while (n == 0);
+		}
+
+		if (n < 0)
+			eof = true;
+		else
+			limit += n;
+
+		return shift;
+	}
+
+	// field offsets are relative to the start of the record
+	private void addField(int start, int end, boolean fieldDirty) {
+
+		if (fieldCount == starts.length) {
+			starts = Arrays.copyOf(starts, fieldCount * 2);
+			ends = Arrays.copyOf(ends, fieldCount * 2);
+			dirty = Arrays.copyOf(dirty, fieldCount * 2);
+		}
+
+		starts[fieldCount] = start;
+		ends[fieldCount] = end;
+		dirty[fieldCount] = fieldDirty;
+		fieldCount++;
+	}
+
+	/**
+	 * Returns the number of fields in the current record.
+	 */
+	int fieldCount() {
+		return fieldCount;
+	}
+
+	/**
+	 * Returns the line number of the last line of the current record.
+	 */
+	int lineno() {
+		return lineno;
+	}
+
+	/**
+	 * Returns the buffer which holds the current record.
+	 */
+	byte[] buffer() {
+		return buf;
+	}
+
+	/**
+	 * Returns the offset in the {@link #buffer() buffer} of the specified field,
+	 * after it has been unescaped by {@link #field(int, boolean)}.
+	 */
+	int start(int field) {
+		return mark + starts[field];
+	}
+
+	/**
+	 * Unescapes the specified field in place, and returns its length, or -1 if it
+	 * is null. A field which starts with a double quote has its first and last
+	 * bytes removed, and a field which then matches the configured null value is
+	 * null. Otherwise each pair of double quotes is replaced with one. Must be
+	 * called at most once per field of each record.
+	 * 
+	 * @param field       - the index of the field in the current record
+	 * @param quotedEmpty - true if a field consisting of two double quotes is the
+	 *                    empty string, rather than being unquoted and compared to
+	 *                    the null value
+	 * 
+	 * @throws IllegalStateException if the field contains an unescaped double
+	 *                               quote
+	 */
+	int field(int field, boolean quotedEmpty) {
+
+		int start = mark + starts[field];
+		int end = mark + ends[field];
+
+		if (!dirty[field])
+			return isNull(start, end) ? -1 : end - start;
+
+		if (quotedEmpty && end - start == 2 && buf[start] == QUOTE && buf[start + 1] == QUOTE)
+			return 0;
+
+		if (buf[start] == QUOTE) {
+			start++;
+			end--;
+		}
+
+		end = normalizeLineBreaks(start, end);
+		if (isNull(start, end))
+			return -1;
+
+		end = unescapeQuotes(start, end);
+		starts[field] = start - mark;
+
+		return end - start;
+	}
+
+	private boolean isNull(int start, int end) {
+		return Arrays.equals(buf, start, end, nullValue, 0, nullValue.length);
+	}
+
+	// converts CR and CRLF to LF, returning the new end of the field
+	private int normalizeLineBreaks(int start, int end) {
+
+		int to = start;
+		for (int from = start; from < end; from++) {
+			final byte b = buf[from];
+			if (b == CR) {
+				buf[to++] = LF;
+				if (from + 1 < end && buf[from + 1] == LF)
+					from++;
+			} else
+				buf[to++] = b;
+		}
+
+		return to;
+	}
+
+	// replaces each pair of double quotes with one, returning the new end of the
+	// field
+	private int unescapeQuotes(int start, int end) {
+
+		int to = start;
+		for (int from = start; from < end;) {
+			if (buf[from] != QUOTE) {
+				buf[to++] = buf[from++];
+				continue;
+			}
+
+			int run = 0;
+			while (from < end && buf[from] == QUOTE) {
+				run++;
+				from++;
+			}
+
+			checkState(from == end || run % 2 == 0, "unescaped \"");
+
+			for (int i = (run + 1) / 2; i > 0; i--)
+				buf[to++] = QUOTE;
+		}
+
+		return to;
+	}
+}
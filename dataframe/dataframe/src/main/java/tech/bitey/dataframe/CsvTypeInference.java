@@ -0,0 +1,204 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Chooses the narrowest {@link ColumnType} which can hold every non-null value
+ * of a CSV column seen in a sample:
+ * <ol>
+ * <li>{@link ColumnType#BYTE BYTE}, {@link ColumnType#SHORT SHORT},
+ * {@link ColumnType#INT INT}, or {@link ColumnType#LONG LONG} if every value is
+ * an integer within range. Values with leading zeros, such as postal codes, are
+ * not treated as numbers.
+ * <li>{@link ColumnType#FLOAT FLOAT} if every value is a decimal number which
+ * a float represents with the same digits, otherwise {@link ColumnType#DOUBLE
+ * DOUBLE} if every value is a decimal number
+ * <li>{@link ColumnType#BOOLEAN BOOLEAN} if every value is true or false,
+ * ignoring case
+ * <li>{@link ColumnType#DATE DATE}, {@link ColumnType#DATETIME DATETIME}, or
+ * {@link ColumnType#UUID UUID} if every value parses as one
+ * <li>{@link ColumnType#NSTRING NSTRING} if there are at most 256 distinct
+ * values, and each is repeated four times on average
+ * <li>{@link ColumnType#FSTRING FSTRING} if every value is ASCII and of the same
+ * length
+ * <li>{@link ColumnType#STRING STRING} otherwise, or if every value is null
+ * </ol>
+ */
+final class CsvTypeInference {
+
+	private static final int MAX_NORMAL_DISTINCT = 256;
+
+	private int count;
+
+	private boolean integral = true;
+	private long min = Long.MAX_VALUE;
+	private long max = Long.MIN_VALUE;
+
+	private boolean decimal = true;
+	private boolean exactFloat = true;
+
+	private boolean bool = true;
+	private boolean date = true;
+	private boolean dateTime = true;
+	private boolean uuid = true;
+
+	private boolean ascii = true;
+	private int width = -1;
+
+	// stops growing once there are too many values for NSTRING
+	private final Set<String> distinct = new HashSet<>();
+
+	/**
+	 * Adds a non-null value to the sample.
+	 */
+	void accept(String value) {
+
+		count++;
+
+		final boolean number = isNumber(value);
+
+		if (integral && number) {
+			try {
+				final long l = Long.parseLong(value);
+				min = Math.min(min, l);
+				max = Math.max(max, l);
+			} catch (NumberFormatException e) {
+				integral = false;
+			}
+		} else
+			integral = false;
+
+		if (decimal) {
+			decimal = number || "NaN".equals(value) || "Infinity".equals(value) || "-Infinity".equals(value);
+			if (decimal && exactFloat && number)
+				exactFloat = isExactFloat(value);
+		}
+
+		bool = bool && ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value));
+		date = date && parses(() -> ColumnType.parseDate(value));
+		dateTime = dateTime && parses(() -> LocalDateTime.parse(value));
+		uuid = uuid && value.length() == 36 && parses(() -> UUID.fromString(value));
+
+		if (ascii) {
+			for (int i = 0; i < value.length() && ascii; i++)
+				ascii = value.charAt(i) <= 0x7F;
+		}
+		if (width < 0)
+			width = value.length();
+		else if (width != value.length())
+			width = Integer.MAX_VALUE;
+
+		if (distinct.size() <= MAX_NORMAL_DISTINCT)
+			distinct.add(value);
+	}
+
+	/**
+	 * Returns the narrowest type which holds every value in the sample.
+	 */
+	ColumnType<?> type() {
+
+		if (count == 0)
+			return ColumnType.STRING;
+		else if (integral) {
+			if (min >= Byte.MIN_VALUE && max <= Byte.MAX_VALUE)
+				return ColumnType.BYTE;
+			else if (min >= Short.MIN_VALUE && max <= Short.MAX_VALUE)
+				return ColumnType.SHORT;
+			else if (min >= Integer.MIN_VALUE && max <= Integer.MAX_VALUE)
+				return ColumnType.INT;
+			else
+				return ColumnType.LONG;
+		} else if (decimal)
+			return exactFloat ? ColumnType.FLOAT : ColumnType.DOUBLE;
+		else if (bool)
+			return ColumnType.BOOLEAN;
+		else if (date)
+			return ColumnType.DATE;
+		else if (dateTime)
+			return ColumnType.DATETIME;
+		else if (uuid)
+			return ColumnType.UUID;
+		else if (distinct.size() <= MAX_NORMAL_DISTINCT && distinct.size() * 4 <= count)
+			return ColumnType.NSTRING;
+		else if (ascii && width != Integer.MAX_VALUE)
+			return ColumnType.FSTRING;
+		else
+			return ColumnType.STRING;
+	}
+
+	/**
+	 * Returns true for an optionally signed decimal number, with an optional
+	 * exponent, whose integer part has no leading zeros.
+	 */
+	private static boolean isNumber(String value) {
+
+		int i = value.startsWith("-") || value.startsWith("+") ? 1 : 0;
+
+		if (value.length() > i + 1 && value.charAt(i) == '0' && Character.isDigit(value.charAt(i + 1)))
+			return false;
+
+		boolean digits = false, point = false;
+		for (; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			if (c >= '0' && c <= '9')
+				digits = true;
+			else if (c == '.' && !point)
+				point = true;
+			else
+				break;
+		}
+
+		if (!digits)
+			return false;
+
+		if (i < value.length() && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+			i++;
+			if (i < value.length() && (value.charAt(i) == '-' || value.charAt(i) == '+'))
+				i++;
+			final int exponent = i;
+			while (i < value.length() && value.charAt(i) >= '0' && value.charAt(i) <= '9')
+				i++;
+			if (i == exponent)
+				return false;
+		}
+
+		return i == value.length();
+	}
+
+	/**
+	 * Returns true if the float nearest to the number prints as the same number.
+	 */
+	private static boolean isExactFloat(String value) {
+		final float f = Float.parseFloat(value);
+		return Float.isFinite(f) && new BigDecimal(value).compareTo(new BigDecimal(Float.toString(f))) == 0;
+	}
+
+	private static boolean parses(Runnable parse) {
+		try {
+			parse.run();
+			return true;
+		} catch (RuntimeException e) {
+			return false;
+		}
+	}
+}
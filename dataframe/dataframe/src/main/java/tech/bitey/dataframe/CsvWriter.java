@@ -0,0 +1,289 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.bitey.dataframe;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static tech.bitey.bufferstuff.BufferUtils.writeFully;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import tech.bitey.bufferstuff.BigByteBuffer;
+
+/**
+ * Writes a dataframe as CSV (with a header, comma delimited, CRLF terminated)
+ * by formatting its fields directly into a reusable byte array, which is
+ * written to a channel whenever it fills up.
+ * <p>
+ * A field is quoted if it contains a double quote, a comma, or a line break
+ * (anything matched by {@code \R} in a regular expression), and double quotes
+ * within it are doubled. This is decided by scanning the UTF-8 bytes of the
+ * field. Nulls are written as empty fields, and empty strings in
+ * {@link ColumnType#STRING STRING} columns as {@code ""}.
+ * <p>
+ * Dataframes of at least {@code tech.bitey.parallelCsvWriteThreshold} rows are
+ * formatted in parallel (default is 1M). A value of zero or less disables
+ * parallel writing. The rows are split into chunks which are formatted into
+ * separate arrays on the {@link ForkJoinPool#commonPool() common pool}, a few
+ * chunks per thread at a time, and then written to the channel in order.
+ */
+final class CsvWriter {
+
+	private static final int THRESHOLD = Integer.getInteger("tech.bitey.parallelCsvWriteThreshold", 1 << 20);
+
+	private static final int CHUNK_ROWS = 1 << 16;
+
+	// write the buffer once it holds at least this many bytes
+	private static final int FLUSH_SIZE = 1 << 16;
+
+	// copy strings of at least this many bytes from their column in bulk
+	private static final int BULK_COPY_SIZE = 32;
+
+	private byte[] buf;
+	private int pos;
+
+	private CsvWriter(int capacity) {
+		this.buf = new byte[capacity];
+	}
+
+	/**
+	 * Returns true if a dataframe of the specified size should be written in
+	 * parallel.
+	 */
+	static boolean isParallel(int size) {
+		return THRESHOLD > 0 && size >= THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+	}
+
+	static void write(String[] columnNames, Column<?>[] columns, int size, WritableByteChannel channel)
+			throws IOException {
+
+		final CsvColumnFormatter[] formatters = new CsvColumnFormatter[columns.length];
+		for (int i = 0; i < columns.length; i++)
+			formatters[i] = CsvColumnFormatter.of(columns[i]);
+
+		final CsvWriter out = new CsvWriter(FLUSH_SIZE * 2);
+
+		for (int i = 0; i < columnNames.length; i++) {
+			out.putField(columnNames[i]);
+			out.endField(i == columnNames.length - 1);
+		}
+
+		if (!isParallel(size)) {
+			for (int r = 0; r < size; r++) {
+				out.putRow(columns, formatters, r);
+				if (out.pos >= FLUSH_SIZE)
+					out.flush(channel);
+			}
+			out.flush(channel);
+			return;
+		}
+
+		out.flush(channel);
+
+		final int chunks = (size + CHUNK_ROWS - 1) / CHUNK_ROWS;
+		final int wave = ForkJoinPool.getCommonPoolParallelism() * 2;
+
+		for (int first = 0; first < chunks; first += wave) {
+
+			final int from = first;
+			final CsvWriter[] formatted = new CsvWriter[Math.min(wave, chunks - first)];
+
+			ParallelSort.forEachChunk(formatted.length, c -> {
+				final int fromRow = (from + c) * CHUNK_ROWS;
+				final int toRow = Math.min(size, fromRow + CHUNK_ROWS);
+
+				final CsvWriter chunk = new CsvWriter(FLUSH_SIZE * 2);
+				for (int r = fromRow; r < toRow; r++)
+					chunk.putRow(columns, formatters, r);
+				formatted[c] = chunk;
+			});
+
+			for (CsvWriter chunk : formatted)
+				chunk.flush(channel);
+		}
+	}
+
+	private void putRow(Column<?>[] columns, CsvColumnFormatter[] formatters, int index) {
+		for (int i = 0; i < columns.length; i++) {
+			if (!columns[i].isNull(index))
+				formatters[i].format(index, this);
+			endField(i == columns.length - 1);
+		}
+	}
+
+	private void flush(WritableByteChannel channel) throws IOException {
+		writeFully(channel, ByteBuffer.wrap(buf, 0, pos));
+		pos = 0;
+	}
+
+	private void ensureCapacity(int length) {
+		if (buf.length - pos < length) {
+			final long capacity = Math.max((long) buf.length * 2, (long) pos + length);
+			buf = Arrays.copyOf(buf, (int) Math.min(capacity, Integer.MAX_VALUE - 8));
+		}
+	}
+
+	private void endField(boolean last) {
+		ensureCapacity(2);
+		if (last) {
+			buf[pos++] = '\r';
+			buf[pos++] = '\n';
+		} else
+			buf[pos++] = ',';
+	}
+
+	void put(byte b) {
+		ensureCapacity(1);
+		buf[pos++] = b;
+	}
+
+	void put(byte[] bytes) {
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, buf, pos, bytes.length);
+		pos += bytes.length;
+	}
+
+	/**
+	 * Writes a string which is known to be ASCII and to not require escaping.
+	 */
+	void putAscii(String s) {
+		final int length = s.length();
+		ensureCapacity(length);
+		for (int i = 0; i < length; i++)
+			buf[pos++] = (byte) s.charAt(i);
+	}
+
+	/**
+	 * Writes a non-negative value as exactly {@code width} digits, padded with
+	 * leading zeros.
+	 */
+	void putDigits(int value, int width) {
+		ensureCapacity(width);
+		for (int i = pos + width - 1; i >= pos; i--) {
+			buf[i] = (byte) ('0' + value % 10);
+			value /= 10;
+		}
+		pos += width;
+	}
+
+	/**
+	 * Writes a value in the same form as {@link Long#toString(long)}.
+	 */
+	void putLong(long value) {
+
+		if (value == Long.MIN_VALUE) {
+			putAscii(Long.toString(value));
+			return;
+		}
+
+		ensureCapacity(20);
+		if (value < 0) {
+			buf[pos++] = '-';
+			value = -value;
+		}
+
+		int digits = 1;
+		for (long v = value; v >= 10; v /= 10)
+			digits++;
+
+		for (int i = pos + digits - 1; i >= pos; i--) {
+			buf[i] = (byte) ('0' + value % 10);
+			value /= 10;
+		}
+		pos += digits;
+	}
+
+	void putField(String field) {
+		final byte[] bytes = field.getBytes(UTF_8);
+
+		ensureCapacity(bytes.length * 2 + 2);
+		System.arraycopy(bytes, 0, buf, pos, bytes.length);
+		escape(bytes.length, false);
+	}
+
+	/**
+	 * Writes the UTF-8 bytes at {@code [from, to)} of the buffer.
+	 */
+	void putField(BigByteBuffer bytes, long from, long to, boolean quoteEmpty) {
+		final int length = (int) (to - from);
+
+		ensureCapacity(length * 2 + 2);
+		if (length >= BULK_COPY_SIZE)
+			bytes.slice(from, to).get(buf, pos, length);
+		else {
+			for (int i = 0; i < length; i++)
+				buf[pos + i] = bytes.get(from + i);
+		}
+		escape(length, quoteEmpty);
+	}
+
+	/**
+	 * Escapes the field of the specified length which has been copied to the
+	 * buffer at {@code pos}, if required, and advances past it. There must be
+	 * enough room after the field for it to be quoted and for each of its double
+	 * quotes to be doubled.
+	 */
+	private void escape(int length, boolean quoteEmpty) {
+
+		final int end = pos + length;
+
+		boolean required = length == 0 && quoteEmpty;
+		int quotes = 0;
+		for (int i = pos; i < end; i++) {
+			switch (buf[i]) {
+			case '"':
+				quotes++;
+				required = true;
+				break;
+			case ',', '\n', '\u000B', '\f', '\r':
+				required = true;
+				break;
+			case (byte) 0xC2:
+				// U+0085 (next line)
+				required |= i + 1 < end && buf[i + 1] == (byte) 0x85;
+				break;
+			case (byte) 0xE2:
+				// U+2028 (line separator) and U+2029 (paragraph separator)
+				required |= i + 2 < end && buf[i + 1] == (byte) 0x80
+						&& (buf[i + 2] == (byte) 0xA8 || buf[i + 2] == (byte) 0xA9);
+				break;
+			}
+		}
+
+		if (!required) {
+			pos = end;
+			return;
+		}
+
+		// shift the field right, doubling its double quotes, working backwards so
+		// that no byte is overwritten before it's moved
+		int to = end + quotes + 1;
+		buf[to] = '"';
+		for (int i = end - 1; i >= pos; i--) {
+			buf[--to] = buf[i];
+			if (buf[i] == '"')
+				buf[--to] = '"';
+		}
+		buf[pos] = '"';
+
+		pos = end + quotes + 2;
+	}
+}
@@ -52,6 +52,8 @@ import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
 
+import tech.bitey.bufferstuff.BufferBitSet;
+
 /**
  * A two-dimensional, {@link Column}-oriented, immutable, heterogeneous tabular
  * data structure with labeled column names.
@@ -1391,6 +1393,24 @@ public sealed interface DataFrame extends List<Row>, RandomAccess permits DataFr
 	 */
 	DataFrame filter(Predicate<Row> criteria);
 
+	/**
+	 * Returns a dataframe containing the rows whose bits are set in the specified
+	 * mask. Masks are typically produced by the predicate methods of
+	 * {@link Column}, such as {@link Column#between(Object, Object)}, and can be
+	 * combined with {@link BufferBitSet#and(BufferBitSet) and},
+	 * {@link BufferBitSet#or(BufferBitSet) or}, and
+	 * {@link BufferBitSet#andNot(BufferBitSet) andNot}, or negated with
+	 * {@link BufferBitSet#flip(int, int) flip(0, size())}.
+	 * 
+	 * @param mask - bit {@code i} is set if row {@code i} is to be kept
+	 * 
+	 * @return a dataframe containing the rows whose bits are set in the mask
+	 * 
+	 * @throws IllegalArgumentException if the mask has a bit set at or beyond
+	 *                                  {@link #size()}
+	 */
+	DataFrame filter(BufferBitSet mask);
+
 	/**
 	 * Returns a dataframe containing the rows which do not contain any null values.
 	 * 
@@ -1567,9 +1587,10 @@ public sealed interface DataFrame extends List<Row>, RandomAccess permits DataFr
 	DataFrame joinLeftOneToMany(DataFrame df, String rightColumnName);
 
 	/**
-	 * Perform a one-to-many inner join on this (left) dataframe with the specified
-	 * (right) dataframe by building a hashtable index on the specified left
-	 * columns. The left columns taken together must form a unique index.
+	 * Perform an inner join on this (left) dataframe with the specified (right)
+	 * dataframe by building a hashtable index on the specified left columns. The
+	 * left columns need not form a unique index: each right row is paired with
+	 * every left row having the same key. Null keys match other null keys.
 	 * <p>
 	 * If the left dataframe has {@code N} columns, the right has {@code M} columns,
 	 * and the hashtable index has {@code H} columns then the resulting dataframe
@@ -1579,23 +1600,30 @@ public sealed interface DataFrame extends List<Row>, RandomAccess permits DataFr
 	 * common with the left, the duplicate right column names will have a suffix
 	 * appended to them in the result.
 	 * <p>
-	 * If the left dataframe has {@code S} rows and the right has {@code T} rows
-	 * then this join operation will use {@code O(S + T)} space and time. The space
-	 * overhead is approximately T bits, plus the space required by an
-	 * {@code <Integer,Integer>} {@link java.util.HashMap} with {@code S} entries,
-	 * plus an additional {@code S*8} bytes.
+	 * The rows of the resulting dataframe are ordered by right row, and then by
+	 * left row.
+	 * <p>
+	 * If the left dataframe has {@code S} rows, the right has {@code T} rows, and
+	 * the join produces {@code R} rows, then this join operation will use
+	 * {@code O(S + T + R)} space and time. The hashtable is a primitive
+	 * open-addressing table of row indices, and keys are compared directly against
+	 * the column buffers without boxing. Large joins are radix-partitioned by key
+	 * hash, and the partitions are joined in parallel on the
+	 * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}.
+	 * <p>
+	 * If the first key column on each side is {@link Column#isSorted() sorted}, and
+	 * the rows on each side are sorted by all of the key columns taken together,
+	 * then no hashtable is built. Instead the matching rows are found with a single
+	 * merge pass over both dataframes, using {@code O(R)} space.
 	 * 
 	 * @param df               - the right dataframe to be joined with this left one
-	 * @param leftColumnNames  - names of columns in this (left) dataframe, which
-	 *                         taken together form a unique index
+	 * @param leftColumnNames  - names of columns in this (left) dataframe
 	 * @param rightColumnNames - corresponding columns in the specified (right)
 	 *                         dataframe
 	 * 
-	 * @return a new dataframe formed by the one-to-many inner join of this
-	 *         dataframe with the specified dataframe on the specified columns
+	 * @return a new dataframe formed by the inner join of this dataframe with the
+	 *         specified dataframe on the specified columns
 	 * 
-	 * @throws IllegalStateException    if the left columns taken together do not
-	 *                                  form a unique index
 	 * @throws IllegalArgumentException if either list of column names is empty, if
 	 *                                  the two lists do not have the same length,
 	 *                                  if the respective columns do not have the
@@ -1610,16 +1638,13 @@ public sealed interface DataFrame extends List<Row>, RandomAccess permits DataFr
 	 * with {@code null} values filled in for the columns from the right dataframe.
 	 * 
 	 * @param df               - the right dataframe to be joined with this left one
-	 * @param leftColumnNames  - names of columns in this (left) dataframe, which
-	 *                         taken together form a unique index
+	 * @param leftColumnNames  - names of columns in this (left) dataframe
 	 * @param rightColumnNames - corresponding columns in the specified (right)
 	 *                         dataframe
 	 * 
-	 * @return a new dataframe formed by the one-to-many left join of this dataframe
-	 *         with the specified dataframe on the specified columns
+	 * @return a new dataframe formed by the left join of this dataframe with the
+	 *         specified dataframe on the specified columns
 	 * 
-	 * @throws IllegalStateException    if the left columns taken together do not
-	 *                                  form a unique index
 	 * @throws IllegalArgumentException if either list of column names is empty, if
 	 *                                  the two lists do not have the same length,
 	 *                                  if the respective columns do not have the
@@ -1629,7 +1654,53 @@ public sealed interface DataFrame extends List<Row>, RandomAccess permits DataFr
 	DataFrame joinLeft(DataFrame df, String[] leftColumnNames, String[] rightColumnNames);
 
 	/**
-	 * Sort this dataframe by the specified columns, in the order provided.
+	 * Works like {@link #join(DataFrame, String[], String[])}, except that any
+	 * unmatched rows from the specified dataframe will appear in the resulting
+	 * dataframe after the matched rows. The key columns of these rows take their
+	 * values from the right dataframe, and all other columns from this dataframe
+	 * are filled in with {@code null} values.
+	 * 
+	 * @param df               - the right dataframe to be joined with this left one
+	 * @param leftColumnNames  - names of columns in this (left) dataframe
+	 * @param rightColumnNames - corresponding columns in the specified (right)
+	 *                         dataframe
+	 * 
+	 * @return a new dataframe formed by the right join of this dataframe with the
+	 *         specified dataframe on the specified columns
+	 * 
+	 * @throws IllegalArgumentException if either list of column names is empty, if
+	 *                                  the two lists do not have the same length,
+	 *                                  if the respective columns do not have the
+	 *                                  same types, or if any of the column names
+	 *                                  are not recognized.
+	 */
+	DataFrame joinRight(DataFrame df, String[] leftColumnNames, String[] rightColumnNames);
+
+	/**
+	 * Full outer join, combining {@link #joinLeft(DataFrame, String[], String[])}
+	 * and {@link #joinRight(DataFrame, String[], String[])}. The matched rows are
+	 * followed by any unmatched rows from this dataframe, and then by any
+	 * unmatched rows from the specified dataframe.
+	 * 
+	 * @param df               - the right dataframe to be joined with this left one
+	 * @param leftColumnNames  - names of columns in this (left) dataframe
+	 * @param rightColumnNames - corresponding columns in the specified (right)
+	 *                         dataframe
+	 * 
+	 * @return a new dataframe formed by the full outer join of this dataframe with
+	 *         the specified dataframe on the specified columns
+	 * 
+	 * @throws IllegalArgumentException if either list of column names is empty, if
+	 *                                  the two lists do not have the same length,
+	 *                                  if the respective columns do not have the
+	 *                                  same types, or if any of the column names
+	 *                                  are not recognized.
+	 */
+	DataFrame joinFull(DataFrame df, String[] leftColumnNames, String[] rightColumnNames);
+
+	/**
+	 * Sort this dataframe by the specified columns, in the order provided. The
+	 * sort is stable, and nulls are ordered after all non-null values.
 	 * 
 	 * @param columnNames - the columns to sort by
 	 * 
@@ -1641,11 +1712,44 @@ public sealed interface DataFrame extends List<Row>, RandomAccess permits DataFr
 	DataFrame sort(String... columnNames);
 
 	/**
-	 * Perform a group by operation on this dataframe.
+	 * Sort this dataframe by the specified keys, in the order provided. Each key
+	 * specifies a column, a sort direction, and whether nulls are ordered first or
+	 * last. The sort is stable.
+	 * <p>
+	 * When every key column has a fixed-width primitive type (BOOLEAN, BYTE, SHORT,
+	 * INT, LONG, FLOAT, DOUBLE, DATE, DATETIME, or TIME), a linear-time radix sort
+	 * is used.
+	 * <p>
+	 * Dataframes with at least {@code tech.bitey.parallelSortThreshold} rows
+	 * (default is 65536) are sorted in parallel using the
+	 * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}. A value
+	 * of zero or less disables parallel sorting.
+	 * 
+	 * @param keys - the {@link SortKey keys} to sort by
+	 * 
+	 * @return a new dataframe sorted by the specified keys
+	 * 
+	 * @throws IllegalArgumentException if the list of keys is empty, or if any of
+	 *                                  the column names are not recognized.
+	 */
+	DataFrame sort(SortKey... keys);
+
+	/**
+	 * Perform a group by operation on this dataframe. Rows are grouped using a hash
+	 * table over the group by columns, and the resulting dataframe is sorted by
+	 * those columns (nulls last).
+	 * <p>
+	 * Built-in {@link Aggregate aggregates} are computed in a single pass over the
+	 * column buffers. Other reductions are passed a stream of each group's rows, in
+	 * their original order.
 	 * 
 	 * @param config - the {@link GroupByConfig}
 	 * 
 	 * @return a new dataframe grouped according to the specified config.
+	 * 
+	 * @throws IllegalArgumentException if any of the column names are not
+	 *                                  recognized, or if the derived type of an
+	 *                                  {@code Aggregate} is incorrect.
 	 */
 	DataFrame groupBy(GroupByConfig config);
 
@@ -1656,20 +1760,48 @@ public sealed interface DataFrame extends List<Row>, RandomAccess permits DataFr
 	/**
 	 * Saves this dataframe to a file in a binary format.
 	 * 
+	 * @param file   - the file to be (over)written.
+	 * @param config - encodings to apply to the columns
+	 * 
+	 * @throws IOException              if some I/O error occurs
+	 * @throws IllegalArgumentException if the config names a column which is not
+	 *                                  in this dataframe
+	 */
+	void writeTo(File file, WriteToFileConfig config) throws IOException;
+
+	/**
+	 * Equivalent to {@code writeTo(file, WriteToFileConfig.DEFAULT_CONFIG)}
+	 * 
 	 * @param file - the file to be (over)written.
 	 * 
 	 * @throws IOException if some I/O error occurs
 	 */
-	void writeTo(File file) throws IOException;
+	default void writeTo(File file) throws IOException {
+		writeTo(file, WriteToFileConfig.DEFAULT_CONFIG);
+	}
 
 	/**
 	 * Writes this dataframe to the specified {@link WritableByteChannel}.
 	 * 
 	 * @param channel - the channel to be written to
+	 * @param config  - encodings to apply to the columns
+	 * 
+	 * @throws IOException              if some I/O error occurs
+	 * @throws IllegalArgumentException if the config names a column which is not
+	 *                                  in this dataframe
+	 */
+	void writeTo(WritableByteChannel channel, WriteToFileConfig config) throws IOException;
+
+	/**
+	 * Equivalent to {@code writeTo(channel, WriteToFileConfig.DEFAULT_CONFIG)}
+	 * 
+	 * @param channel - the channel to be written to
 	 * 
 	 * @throws IOException if some I/O error occurs
 	 */
-	void writeTo(WritableByteChannel channel) throws IOException;
+	default void writeTo(WritableByteChannel channel) throws IOException {
+		writeTo(channel, WriteToFileConfig.DEFAULT_CONFIG);
+	}
 
 	/**
 	 * Save this dataframe to an <a href="https://tools.ietf.org/html/rfc4180">RFC
@@ -1678,6 +1810,10 @@ public sealed interface DataFrame extends List<Row>, RandomAccess permits DataFr
 	 * Individual elements are written using their {@code toString} methods.
 	 * {@code null} values are written as empty fields. For column type STRING,
 	 * empty strings are written as {@code ""}.
+	 * <p>
+	 * Dataframes of at least {@code tech.bitey.parallelCsvWriteThreshold} rows
+	 * (default is 1M) are formatted in parallel, in chunks of rows which are
+	 * written in order.
 	 * 
 	 * @param file - the file to be (over)written.
 	 * 
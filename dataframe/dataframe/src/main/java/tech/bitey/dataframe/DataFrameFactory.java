@@ -19,22 +19,26 @@ package tech.bitey.dataframe;
 import static tech.bitey.dataframe.Pr.checkArgument;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.lang.reflect.RecordComponent;
+import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.file.StandardOpenOption;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * Factory methods for creating {@link DataFrame DataFrames}.
@@ -222,7 +226,54 @@ public enum DataFrameFactory {
 	}
 
 	/**
-	 * Read a dataframe from the specified {@link ReadableByteChannel}.
+	 * Load the specified columns of a dataframe from a file created via
+	 * {@link DataFrame#writeTo(File)}, in the specified order. The remaining
+	 * columns are skipped without being read, unless the file was written with
+	 * {@link BlockCompression block compression} or by an older version of this
+	 * library.
+	 * <p>
+	 * The resulting dataframe will preserve the key column iff it is one of the
+	 * selected columns.
+	 * 
+	 * @param file        - the file to read from
+	 * @param columnNames - the columns names to be included in the result
+	 * 
+	 * @return a dataframe containing the specified columns, loaded from the
+	 *         specified file
+	 * 
+	 * @throws IOException              if some I/O error occurs
+	 * @throws IllegalArgumentException if any of the column names are not in the
+	 *                                  file
+	 */
+	public static DataFrame readFrom(File file, List<String> columnNames) throws IOException {
+		try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);) {
+			return readFrom(fileChannel, null, columnNames);
+		}
+	}
+
+	/**
+	 * Equivalent to {@code readFrom(file, Arrays.asList(columnNames))}
+	 * 
+	 * @param file        - the file to read from
+	 * @param columnNames - the columns names to be included in the result
+	 * 
+	 * @return a dataframe containing the specified columns, loaded from the
+	 *         specified file
+	 * 
+	 * @throws IOException              if some I/O error occurs
+	 * @throws IllegalArgumentException if any of the column names are not in the
+	 *                                  file
+	 * 
+	 * @see #readFrom(File, List)
+	 */
+	public static DataFrame readFrom(File file, String... columnNames) throws IOException {
+		return readFrom(file, Arrays.asList(columnNames));
+	}
+
+	/**
+	 * Read a dataframe from the specified {@link ReadableByteChannel}. Nothing is
+	 * read from the channel past the end of the dataframe, including when it was
+	 * written with {@link BlockCompression block compression}.
 	 * 
 	 * @param channel - the channel to read from
 	 * 
@@ -231,12 +282,16 @@ public enum DataFrameFactory {
 	 * @throws IOException if some I/O error occurs
 	 */
 	public static DataFrame readFrom(ReadableByteChannel channel) throws IOException {
-		return readFrom(channel, false);
+		return readFrom(channel, null, null);
 	}
 
 	/**
 	 * Memory-map a dataframe from a file created via
-	 * {@link DataFrame#writeTo(File)}.
+	 * {@link DataFrame#writeTo(File)}. Columns which were written with a
+	 * {@link ColumnEncoding}, or with {@link BlockCompression}, are read onto the
+	 * heap instead.
+	 * <p>
+	 * Equivalent to {@code mapFrom(file, MapMode.READ_WRITE)}.
 	 * 
 	 * @param file - the file to map from
 	 * 
@@ -245,17 +300,227 @@ public enum DataFrameFactory {
 	 * @throws IOException if some I/O error occurs
 	 */
 	public static DataFrame mapFrom(File file) throws IOException {
-		try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ,
-				StandardOpenOption.WRITE);) {
-			return readFrom(fileChannel, true);
+		return mapFrom(file, MapMode.READ_WRITE);
+	}
+
+	/**
+	 * Memory-map a dataframe from a file created via
+	 * {@link DataFrame#writeTo(File)}, in the specified mode. See
+	 * {@link #mapFrom(File)} for details.
+	 * <p>
+	 * In {@link MapMode#READ_ONLY READ_ONLY} mode the file is only opened for
+	 * reading, and the mapped columns are backed by read-only buffers. Such a file
+	 * can be shared through the page cache by any number of processes, without
+	 * write permission, and is never modified. Any column data which must be
+	 * realigned to be used in place (only found in files written by older versions
+	 * of this library) is copied onto the heap.
+	 * <p>
+	 * In {@link MapMode#READ_WRITE READ_WRITE} mode the file must be writable, and
+	 * such data is realigned in the file the first time it is mapped.
+	 * 
+	 * @param file - the file to map from
+	 * @param mode - {@code READ_ONLY} or {@code READ_WRITE}
+	 * 
+	 * @return the dataframe mapped from the specified file
+	 * 
+	 * @throws IOException              if some I/O error occurs
+	 * @throws IllegalArgumentException if {@code mode} is {@code PRIVATE}
+	 */
+	public static DataFrame mapFrom(File file, MapMode mode) throws IOException {
+		return mapFrom(file, mode, null);
+	}
+
+	/**
+	 * Memory-map the specified columns of a dataframe from a file created via
+	 * {@link DataFrame#writeTo(File)}, in the specified order. The remaining
+	 * columns are never mapped. See {@link #readFrom(File, List)} and
+	 * {@link #mapFrom(File)} for details.
+	 * 
+	 * @param file        - the file to map from
+	 * @param columnNames - the columns names to be included in the result
+	 * 
+	 * @return a dataframe containing the specified columns, mapped from the
+	 *         specified file
+	 * 
+	 * @throws IOException              if some I/O error occurs
+	 * @throws IllegalArgumentException if any of the column names are not in the
+	 *                                  file
+	 */
+	public static DataFrame mapFrom(File file, List<String> columnNames) throws IOException {
+		return mapFrom(file, MapMode.READ_WRITE, columnNames);
+	}
+
+	/**
+	 * Memory-map the specified columns of a dataframe from a file created via
+	 * {@link DataFrame#writeTo(File)}, in the specified mode. See
+	 * {@link #mapFrom(File, List)} and {@link #mapFrom(File, MapMode)} for
+	 * details.
+	 * 
+	 * @param file        - the file to map from
+	 * @param mode        - {@code READ_ONLY} or {@code READ_WRITE}
+	 * @param columnNames - the columns names to be included in the result
+	 * 
+	 * @return a dataframe containing the specified columns, mapped from the
+	 *         specified file
+	 * 
+	 * @throws IOException              if some I/O error occurs
+	 * @throws IllegalArgumentException if {@code mode} is {@code PRIVATE}, or any
+	 *                                  of the column names are not in the file
+	 */
+	public static DataFrame mapFrom(File file, MapMode mode, List<String> columnNames) throws IOException {
+		try (FileChannel fileChannel = openForMapping(file, mode);) {
+			return readFrom(fileChannel, new FileMapper(mode), columnNames);
 		}
 	}
 
-	private static DataFrame readFrom(ReadableByteChannel channel, boolean map) throws IOException {
+	/**
+	 * Equivalent to {@code mapFrom(file, Arrays.asList(columnNames))}
+	 * 
+	 * @param file        - the file to map from
+	 * @param columnNames - the columns names to be included in the result
+	 * 
+	 * @return a dataframe containing the specified columns, mapped from the
+	 *         specified file
+	 * 
+	 * @throws IOException              if some I/O error occurs
+	 * @throws IllegalArgumentException if any of the column names are not in the
+	 *                                  file
+	 * 
+	 * @see #mapFrom(File, List)
+	 */
+	public static DataFrame mapFrom(File file, String... columnNames) throws IOException {
+		return mapFrom(file, Arrays.asList(columnNames));
+	}
+
+	/**
+	 * Memory-map a dataframe from a file created via
+	 * {@link DataFrame#writeTo(File)}, deferring each column until it is first
+	 * accessed. Only the headers and the footer of the file are read up front, so
+	 * opening a file is cheap regardless of its number of columns, and columns
+	 * which are never accessed are never mapped. Otherwise equivalent to
+	 * {@link #mapFrom(File)}.
+	 * <p>
+	 * The file must not be modified or removed while the dataframe is in use. A
+	 * column which cannot be loaded results in a {@link RuntimeException} when it
+	 * is first accessed.
+	 * <p>
+	 * Files which were written with {@link BlockCompression block compression}, or
+	 * by an older version of this library, are mapped eagerly.
+	 * <p>
+	 * Equivalent to {@code lazyMapFrom(file, MapMode.READ_WRITE)}.
+	 * 
+	 * @param file - the file to map from
+	 * 
+	 * @return the dataframe mapped from the specified file
+	 * 
+	 * @throws IOException if some I/O error occurs
+	 */
+	public static DataFrame lazyMapFrom(File file) throws IOException {
+		return lazyMapFrom(file, MapMode.READ_WRITE);
+	}
+
+	/**
+	 * Memory-map a dataframe from a file created via
+	 * {@link DataFrame#writeTo(File)}, in the specified mode, deferring each
+	 * column until it is first accessed. See {@link #lazyMapFrom(File)} and
+	 * {@link #mapFrom(File, MapMode)} for details.
+	 * 
+	 * @param file - the file to map from
+	 * @param mode - {@code READ_ONLY} or {@code READ_WRITE}
+	 * 
+	 * @return the dataframe mapped from the specified file
+	 * 
+	 * @throws IOException              if some I/O error occurs
+	 * @throws IllegalArgumentException if {@code mode} is {@code PRIVATE}
+	 */
+	public static DataFrame lazyMapFrom(File file, MapMode mode) throws IOException {
+
+		try (FileChannel channel = openForMapping(file, mode);) {
+
+			ChannelDataFrameHeader dfHeader = new ChannelDataFrameHeader(channel);
+			final int cc = dfHeader.getColumnCount();
+			final int version = dfHeader.getVersion();
+
+			if (version < 10 || dfHeader.getCompression() != BlockCompression.NONE)
+				return mapFrom(file, mode);
+
+			final long base = channel.position();
+
+			String[] columnNames = new String[cc];
+			ColumnType<?>[] columnTypes = new ColumnType[cc];
+			int[] characteristics = new int[cc];
+			for (int i = 0; i < cc; i++) {
+				ChannelColumnHeader columnHeader = new ChannelColumnHeader(channel);
+				columnNames[i] = columnHeader.getColumnName();
+				columnTypes[i] = columnHeader.getColumnType();
+				characteristics[i] = columnHeader.getCharacteristics();
+			}
+
+			final ChannelDataFrameFooter footer = ChannelDataFrameFooter.readFrom(channel, base, cc, version);
+			final long[] positions = new long[cc];
+			for (int i = 0; i < cc; i++)
+				positions[i] = base + footer.columnOffset(i);
+
+			MappedColumnLoader loader = new MappedColumnLoader(file, mode, version, columnTypes, characteristics,
+					positions);
+			return new DataFrameImpl(columnNames, dfHeader.keyIndex(), footer.rowCount(), loader);
+		}
+	}
+
+	/**
+	 * Maps the whole of a file created via {@link DataFrame#writeTo(File)} up
+	 * front, in the specified mode, and returns a {@link DataFrameMapping} from
+	 * which any number of dataframes can be created. Columns are sliced from a
+	 * mapping of the whole file, rather than each of their buffers being mapped
+	 * separately as with {@link #mapFrom(File)}, and the file can be unmapped by
+	 * closing the {@code DataFrameMapping}, rather than once its dataframes have
+	 * been garbage collected (see {@link DataFrameMapping}).
+	 * 
+	 * @param file - the file to map from
+	 * @param mode - {@code READ_ONLY} or {@code READ_WRITE}
+	 * 
+	 * @return a {@link DataFrameMapping} of the specified file
+	 * 
+	 * @throws IOException              if some I/O error occurs
+	 * @throws IllegalArgumentException if {@code mode} is {@code PRIVATE}
+	 * 
+	 * @see #mapFrom(File, MapMode)
+	 */
+	public static DataFrameMapping openMapping(File file, MapMode mode) throws IOException {
+		try (FileChannel channel = openForMapping(file, mode);) {
+			return new DataFrameMapping(file, FileMapper.regions(file.toPath(), channel, mode));
+		}
+	}
+
+	static FileChannel openForMapping(File file, MapMode mode) throws IOException {
+		checkArgument(mode == MapMode.READ_ONLY || mode == MapMode.READ_WRITE, "mode must be READ_ONLY or READ_WRITE");
+
+		if (mode == MapMode.READ_ONLY)
+			return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		else
+			return FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+	}
+
+	/**
+	 * Reads the selected columns, or all of them if {@code selectedNames} is null.
+	 * Columns are mapped with the specified {@link FileMapper}, or read onto the
+	 * heap if {@code map} is null.
+	 */
+	static DataFrame readFrom(ReadableByteChannel channel, FileMapper map, List<String> selectedNames)
+			throws IOException {
 
 		ChannelDataFrameHeader dfHeader = new ChannelDataFrameHeader(channel);
 		final int cc = dfHeader.getColumnCount();
 
+		// footer offsets are relative to the end of the dataframe header
+		final long base = channel instanceof FileChannel file ? file.position() : -1;
+
+		if (dfHeader.getCompression() != BlockCompression.NONE) {
+			// compressed blocks can't be mapped
+			channel = new DecompressingChannel(channel, dfHeader.getCompression());
+			map = null;
+		}
+
 		String[] columnNames = new String[cc];
 		ColumnType<?>[] columnTypes = new ColumnType[cc];
 		int[] characteristics = new int[cc];
@@ -266,12 +531,55 @@ public enum DataFrameFactory {
 			characteristics[i] = columnHeader.getCharacteristics();
 		}
 
-		Column<?>[] columns = new Column<?>[cc];
-		for (int i = 0; i < cc; i++)
-			columns[i] = columnTypes[i].readFrom(channel, characteristics[i], dfHeader.getVersion(), map);
-
+		final int version = dfHeader.getVersion();
 		Integer keyIndex = dfHeader.keyIndex();
-		return create(columns, columnNames, keyIndex == null ? null : columnNames[keyIndex]);
+
+		if (selectedNames == null) {
+			Column<?>[] columns = new Column<?>[cc];
+			for (int i = 0; i < cc; i++)
+				columns[i] = columnTypes[i].readFrom(channel, characteristics[i], version, map);
+
+			if (version >= 9)
+				new ChannelDataFrameFooter(channel, cc, version);
+
+			return create(columns, columnNames, keyIndex == null ? null : columnNames[keyIndex]);
+		}
+
+		// duplicates are ignored, as with DataFrame.selectColumns
+		selectedNames = new ArrayList<>(new LinkedHashSet<>(selectedNames));
+
+		final List<String> names = Arrays.asList(columnNames);
+		final int[] selected = new int[selectedNames.size()];
+		for (int i = 0; i < selected.length; i++) {
+			selected[i] = names.indexOf(selectedNames.get(i));
+			checkArgument(selected[i] >= 0, "no such column name: " + selectedNames.get(i));
+		}
+
+		Column<?>[] columns = new Column<?>[selected.length];
+		if (version >= 9 && channel instanceof FileChannel file) {
+			// seek directly to each selected column
+			final ChannelDataFrameFooter footer = ChannelDataFrameFooter.readFrom(file, base, cc, version);
+
+			for (int i = 0; i < selected.length; i++) {
+				file.position(base + footer.columnOffset(selected[i]));
+				columns[i] = columnTypes[selected[i]].readFrom(file, characteristics[selected[i]], version, map);
+			}
+		} else {
+			// skipping a column requires reading it
+			final Column<?>[] all = new Column<?>[cc];
+			for (int i = 0; i < cc; i++)
+				all[i] = columnTypes[i].readFrom(channel, characteristics[i], version, map);
+
+			if (version >= 9)
+				new ChannelDataFrameFooter(channel, cc, version);
+
+			for (int i = 0; i < selected.length; i++)
+				columns[i] = all[selected[i]];
+		}
+
+		final String keyColumnName = keyIndex == null || !selectedNames.contains(columnNames[keyIndex]) ? null
+				: columnNames[keyIndex];
+		return create(columns, selectedNames.toArray(new String[0]), keyColumnName);
 	}
 
 	/**
@@ -285,6 +593,11 @@ public enum DataFrameFactory {
 	 * <li>A header line must be present if and only if the column names are not
 	 * provided in the configuration
 	 * </ul>
+	 * <p>
+	 * Files of at least {@code tech.bitey.parallelCsvThreshold} bytes (default is
+	 * 64 MB) are memory-mapped and parsed in parallel chunks, on the
+	 * {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}. A value
+	 * of zero or less disables parallel parsing.
 	 * 
 	 * @param file   - the file containing the CVS data
 	 * @param config - configuration for parsing the CSV file. See
@@ -297,9 +610,7 @@ public enum DataFrameFactory {
 	 * @see ReadCsvConfig
 	 */
 	public static DataFrame readCsvFrom(File file, ReadCsvConfig config) throws IOException {
-		try (FileInputStream fis = new FileInputStream(file)) {
-			return readCsvFrom(fis, config);
-		}
+		return config.process(file);
 	}
 
 	/**
@@ -328,6 +639,56 @@ public enum DataFrameFactory {
 		return config.process(is);
 	}
 
+	/**
+	 * Read a CSV file as a stream of dataframes, each holding up to
+	 * {@code batchSize} consecutive records, so that files which don't fit in
+	 * memory can be processed a batch at a time. The CSV is parsed as described in
+	 * {@link #readCsvFrom(File, ReadCsvConfig)}, except that it's always parsed
+	 * sequentially. Each batch is only read when it's consumed from the stream.
+	 * <p>
+	 * The stream must be closed (for example, with try-with-resources) to close
+	 * the file, unless every batch is consumed.
+	 * 
+	 * @param file      - the file containing the CVS data
+	 * @param config    - configuration for parsing the CSV file. See
+	 *                  {@link ReadCsvConfig}.
+	 * @param batchSize - the maximum number of rows in each dataframe
+	 * @return a stream of dataframes read from the CSV file
+	 * 
+	 * @throws IOException      if some I/O error occurs opening the file
+	 * @throws RuntimeException if there is any other error parsing the CVS file,
+	 *                          or an {@link java.io.UncheckedIOException} if an
+	 *                          I/O error occurs while reading it
+	 * 
+	 * @see ReadCsvConfig
+	 */
+	public static Stream<DataFrame> streamCsvFrom(File file, ReadCsvConfig config, int batchSize) throws IOException {
+		checkArgument(batchSize > 0, "batchSize must be positive");
+		return config.stream(FileChannel.open(file.toPath()), batchSize);
+	}
+
+	/**
+	 * Read CSV data from the specified {@link InputStream} as a stream of
+	 * dataframes, each holding up to {@code batchSize} consecutive records. See
+	 * {@link #streamCsvFrom(File, ReadCsvConfig, int)}.
+	 * 
+	 * @param is        - the {@code InputStream} containing the CSV data
+	 * @param config    - configuration for parsing the CSV file. See
+	 *                  {@link ReadCsvConfig}.
+	 * @param batchSize - the maximum number of rows in each dataframe
+	 * @return a stream of dataframes read from the CSV data
+	 * 
+	 * @throws RuntimeException if there is any error parsing the CVS file, or an
+	 *                          {@link java.io.UncheckedIOException} if an I/O
+	 *                          error occurs while reading it
+	 * 
+	 * @see ReadCsvConfig
+	 */
+	public static Stream<DataFrame> streamCsvFrom(InputStream is, ReadCsvConfig config, int batchSize) {
+		checkArgument(batchSize > 0, "batchSize must be positive");
+		return config.stream(Channels.newChannel(is), batchSize);
+	}
+
 	/**
 	 * Read a dataframe from the specified {@link ResultSet} according to the
 	 * specified {@link ReadFromDbConfig configuration}.
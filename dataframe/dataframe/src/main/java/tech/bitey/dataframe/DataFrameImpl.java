@@ -16,25 +16,22 @@
 
 package tech.bitey.dataframe;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.nio.file.StandardOpenOption.CREATE;
 import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
 import static java.nio.file.StandardOpenOption.WRITE;
 import static java.util.Spliterator.DISTINCT;
 import static java.util.Spliterator.SORTED;
-import static tech.bitey.dataframe.NonNullColumn.NONNULL_CHARACTERISTICS;
 import static tech.bitey.dataframe.Pr.checkArgument;
 import static tech.bitey.dataframe.Pr.checkPositionIndex;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.RecordComponent;
 import java.math.BigDecimal;
+import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
 import java.sql.PreparedStatement;
@@ -59,22 +56,15 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
-import java.util.function.IntBinaryOperator;
 import java.util.function.Predicate;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-import tech.bitey.bufferstuff.BigByteBuffer;
 import tech.bitey.bufferstuff.BufferBitSet;
-import tech.bitey.bufferstuff.BufferSort;
-import tech.bitey.bufferstuff.BufferUtils;
-import tech.bitey.bufferstuff.SmallIntBuffer;
 
 @SuppressWarnings({ "rawtypes", "unchecked" })
 final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
@@ -88,9 +78,14 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 	final Integer keyIndex;
 
 	final String[] columnNames;
-	final Column<?>[] columns;
 	final Map<String, Integer> columnToIndexMap;
 
+	private final int size;
+
+	// the elements of a lazily mapped dataframe are null until first accessed
+	private final Column<?>[] columns;
+	private final MappedColumnLoader loader;
+
 	/*--------------------------------------------------------------------------------
 	 *	Constructor & Factory Methods
 	 *--------------------------------------------------------------------------------*/
@@ -125,9 +120,29 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 			keyIndex = null;
 
 		// validate that all columns have the same size
-		int size = columns[0].size();
+		size = columns[0].size();
 		for (i = 1; i < columns.length; i++)
 			checkArgument(columns[i].size() == size, "all columns must have the same size");
+
+		loader = null;
+	}
+
+	/**
+	 * Lazily mapped dataframe, whose columns are loaded on first access. The
+	 * column names, key index, and size are those recorded in the file.
+	 */
+	DataFrameImpl(String[] columnNames, Integer keyIndex, int size, MappedColumnLoader loader) {
+
+		this.columnNames = columnNames;
+		this.keyIndex = keyIndex;
+		this.size = size;
+		this.loader = loader;
+
+		columns = new Column[columnNames.length];
+
+		columnToIndexMap = new HashMap<>();
+		for (int i = 0; i < columnNames.length; i++)
+			columnToIndexMap.put(columnNames[i], i);
 	}
 
 	private static DataFrameImpl create(Column<?>[] columns, String[] columnNames, Integer keyIndex) {
@@ -141,6 +156,30 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 		return new DataFrameImpl(columnMap, keyColumnName);
 	}
 
+	/*--------------------------------------------------------------------------------
+	 *	Column Access
+	 *--------------------------------------------------------------------------------*/
+	Column<?> column0(int columnIndex) {
+		return loader == null ? columns[columnIndex] : load(columnIndex);
+	}
+
+	private Column<?> load(int columnIndex) {
+		synchronized (columns) {
+			if (columns[columnIndex] == null)
+				columns[columnIndex] = loader.load(columnIndex);
+			return columns[columnIndex];
+		}
+	}
+
+	/**
+	 * Returns the column array, after loading any columns not yet mapped.
+	 */
+	private Column<?>[] allColumns() {
+		for (int i = 0; i < columns.length; i++)
+			column0(i);
+		return columns;
+	}
+
 	/*--------------------------------------------------------------------------------
 	 *	Precondition Utility Methods
 	 *--------------------------------------------------------------------------------*/
@@ -160,19 +199,19 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 
 	private Column<?> checkedColumn(int columnIndex) {
 		Objects.checkIndex(columnIndex, columns.length);
-		return columns[columnIndex];
+		return column0(columnIndex);
 	}
 
 	private Column<?> checkedColumn(String columnName) {
 		int columnIndex = checkedColumnIndex(columnName);
-		return columns[columnIndex];
+		return column0(columnIndex);
 	}
 
 	private NonNullColumn checkedKeyColumn(String operation) {
 		if (!hasKeyColumn())
 			throw new UnsupportedOperationException(operation + ", missing key column");
 
-		NonNullColumn keyColumn = (NonNullColumn) columns[keyIndex];
+		NonNullColumn keyColumn = (NonNullColumn) column0(keyIndex);
 		return keyColumn;
 	}
 
@@ -200,7 +239,7 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 
 	@Override
 	public int size() {
-		return columns[0].size();
+		return size;
 	}
 
 	@Override
@@ -214,7 +253,7 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 
 		DataFrameImpl rhs = (DataFrameImpl) df;
 
-		if (!Arrays.equals(columns, rhs.columns))
+		if (!Arrays.equals(allColumns(), rhs.allColumns()))
 			return false;
 
 		return dataOnly || (Arrays.equals(columnNames, rhs.columnNames) && Objects.equals(keyIndex, rhs.keyIndex));
@@ -284,7 +323,7 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 
 		for (int i = 0; i < columns.length; i++) {
 
-			ColumnType colType = columns[i].getType();
+			ColumnType colType = column0(i).getType();
 			Class<?> compType = components[i].getType();
 
 			if (compType != colType.getType() && compType != colType.getPrimitiveType())
@@ -328,7 +367,7 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 
 	@Override
 	public ColumnType keyColumnType() {
-		return keyIndex == null ? null : columns[keyIndex].getType();
+		return keyIndex == null ? null : column0(keyIndex).getType();
 	}
 
 	@Override
@@ -346,10 +385,10 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 		if (hasKeyColumn() && keyIndex == this.keyIndex)
 			return this;
 
-		checkArgument(columns[keyIndex].isDistinct(),
+		checkArgument(column0(keyIndex).isDistinct(),
 				"column must be a unique index (isDistinct) to act as a key column");
 
-		return create(columns, columnNames, keyIndex);
+		return create(allColumns(), columnNames, keyIndex);
 	}
 
 	@Override
@@ -413,14 +452,14 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 		LinkedHashMap<String, Column<?>> map = new LinkedHashMap<>();
 
 		for (int i = 0; i < columns.length; i++)
-			map.put(columnNames[i], columns[i]);
+			map.put(columnNames[i], column0(i));
 
 		return map;
 	}
 
 	@Override
 	public List<Column<?>> columns() {
-		return new ArrayList<>(Arrays.asList(columns));
+		return new ArrayList<>(Arrays.asList(allColumns()));
 	}
 
 	@Override
@@ -841,15 +880,15 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 		BufferBitSet keep = null;
 
 		for (int i = 0; i < columns.length; i++) {
-			if (!columns[i].isNonnull()) {
+			if (!column0(i).isNonnull()) {
 
 				final BufferBitSet nonNulls;
-				if (columns[i].getType() == ColumnType.NSTRING) {
-					NormalStringColumnImpl c = (NormalStringColumnImpl) columns[i];
+				if (column0(i).getType() == ColumnType.NSTRING) {
+					NormalStringColumnImpl c = (NormalStringColumnImpl) column0(i);
 					NullableColumn n = (NullableColumn) c.indices;
 					nonNulls = n.nonNulls.get(c.offset, c.offset + c.size);
 				} else {
-					NullableColumn n = (NullableColumn) columns[i];
+					NullableColumn n = (NullableColumn) column0(i);
 					nonNulls = n.nonNulls.get(n.offset, n.offset + n.size);
 				}
 
@@ -880,7 +919,7 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 		for (int i = 0; i < columnCount(); i++) {
 			checkArgument(columnType(i) == df.columnType(i), "mismatched column types");
 
-			columns[i] = this.columns[i].append((Column) df.column(i), coerce);
+			columns[i] = this.column0(i).append((Column) df.column(i), coerce);
 		}
 
 		Integer keyIndex = this.keyIndex;
@@ -897,8 +936,8 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 				"key columns must be of the same type");
 
 		DataFrameImpl rhs = (DataFrameImpl) df;
-		AbstractColumn leftKey = (AbstractColumn) columns[keyIndex];
-		AbstractColumn rightKey = (AbstractColumn) rhs.columns[rhs.keyIndex];
+		AbstractColumn leftKey = (AbstractColumn) column0(keyIndex);
+		AbstractColumn rightKey = (AbstractColumn) rhs.column0(rhs.keyIndex);
 
 		BufferBitSet keepLeft = new BufferBitSet();
 		BufferBitSet keepRight = new BufferBitSet();
@@ -909,10 +948,10 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 
 		Column<?>[] columns = new Column<?>[columnCount() + rhs.columnCount() - 1];
 		for (int i = 0; i < columnCount(); i++)
-			columns[i] = ((AbstractColumn) this.columns[i]).applyFilter(keepLeft, cardinality);
+			columns[i] = ((AbstractColumn) this.column0(i)).applyFilter(keepLeft, cardinality);
 		for (int i = 0, j = 0; i < rhs.columnCount(); i++) {
 			if (i != rhs.keyIndex)
-				columns[j++ + columnCount()] = ((AbstractColumn) rhs.columns[i]).applyFilter(keepRight, cardinality);
+				columns[j++ + columnCount()] = ((AbstractColumn) rhs.column0(i)).applyFilter(keepRight, cardinality);
 		}
 
 		return create(columns, columnNames, keyIndex);
@@ -962,8 +1001,8 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 		DataFrameImpl backasswards = ((DataFrameImpl) df).joinSingleIndex(this, columnName).df;
 
 		Column<?>[] columns = new Column<?>[backasswards.columnCount()];
-		System.arraycopy(backasswards.columns, df.columnCount(), columns, 0, this.columnCount() - 1);
-		System.arraycopy(backasswards.columns, 0, columns, this.columnCount() - 1, df.columnCount());
+		System.arraycopy(backasswards.allColumns(), df.columnCount(), columns, 0, this.columnCount() - 1);
+		System.arraycopy(backasswards.allColumns(), 0, columns, this.columnCount() - 1, df.columnCount());
 
 		int idx = this.columnCount() - 1 + df.keyColumnIndex();
 		Column<?> indexColumn = columns[idx];
@@ -985,7 +1024,7 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 		checkArgument(hasKeyColumn(), "missing key column");
 
 		DataFrameImpl rhs = (DataFrameImpl) df;
-		AbstractColumn leftKey = (AbstractColumn) columns[keyIndex];
+		AbstractColumn leftKey = (AbstractColumn) column0(keyIndex);
 		AbstractColumn rightColumn = (AbstractColumn) rhs.column(columnName);
 		int rightColumnIndex = rhs.columnToIndexMap.get(columnName);
 
@@ -1000,10 +1039,10 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 
 		Column<?>[] columns = new Column<?>[columnCount() + rhs.columnCount() - 1];
 		for (int i = 0; i < columnCount(); i++)
-			columns[i] = ((AbstractColumn) this.columns[i]).select(indices);
+			columns[i] = ((AbstractColumn) this.column0(i)).select(indices);
 		for (int i = 0, j = 0; i < rhs.columnCount(); i++) {
 			if (i != rightColumnIndex)
-				columns[j++ + columnCount()] = rhs.columns[i];
+				columns[j++ + columnCount()] = rhs.column0(i);
 		}
 
 		DataFrameImpl result = create(columns, columnNames, null);
@@ -1030,11 +1069,11 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 
 		Column<?>[] columns = new Column<?>[columnCount() + df.columnCount() - 1];
 		for (int i = 0; i < columnCount(); i++)
-			columns[i] = left.columns[i];
+			columns[i] = left.column0(i);
 		int rightColumnIndex = rhs.columnToIndexMap.get(rightColumnName);
 		for (int i = 0, j = 0; i < rhs.columnCount(); i++) {
 			if (i != rightColumnIndex)
-				columns[j++ + columnCount()] = rhs.columns[i].getType().nullColumn(left.size());
+				columns[j++ + columnCount()] = rhs.column0(i).getType().nullColumn(left.size());
 		}
 
 		left = create(columns, inner.columnNames, null);
@@ -1042,7 +1081,8 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 		return inner.append(left, true);
 	}
 
-	private DataFrame join(DataFrame df, String[] leftColumnNames, String[] rightColumnNames, boolean isLeftJoin) {
+	private DataFrame join(DataFrame df, String[] leftColumnNames, String[] rightColumnNames, boolean isLeftJoin,
+			boolean isRightJoin) {
 
 		DataFrameImpl rhs = (DataFrameImpl) df;
 
@@ -1059,60 +1099,62 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 			rightColumnIndices[i] = rhs.checkedColumnIndex(rightColumnNames[i]);
 
 		for (int i = 0; i < leftColumnIndices.length; i++)
-			checkArgument(columns[leftColumnIndices[i]].getType() == rhs.columns[rightColumnIndices[i]].getType(),
+			checkArgument(column0(leftColumnIndices[i]).getType() == rhs.column0(rightColumnIndices[i]).getType(),
 					"mismatched key column types");
 
-		IntColumn indices; // not a BufferBitSet because one-to-many
-		BufferBitSet keepRight = new BufferBitSet();
-		BufferBitSet matchedLeft = isLeftJoin ? new BufferBitSet() : null;
-
-		{
-			Map<Row, Integer> hashMap = new HashMap<>();
-
-			for (Row row : selectColumns(leftColumnIndices)) {
-				if (hashMap.containsKey(row))
-					throw new IllegalStateException("columns do not form a unqiue index");
-				else
-					hashMap.put(row, row.rowIndex());
-			}
-
-			IntColumnBuilder builder = IntColumn.builder();
+		AbstractColumn<?, ?, ?>[] leftKeys = new AbstractColumn<?, ?, ?>[leftColumnIndices.length];
+		AbstractColumn<?, ?, ?>[] rightKeys = new AbstractColumn<?, ?, ?>[rightColumnIndices.length];
+		for (int i = 0; i < leftKeys.length; i++) {
+			leftKeys[i] = (AbstractColumn<?, ?, ?>) column0(leftColumnIndices[i]);
+			rightKeys[i] = (AbstractColumn<?, ?, ?>) rhs.column0(rightColumnIndices[i]);
+		}
 
-			for (Row row : rhs.selectColumns(rightColumnIndices)) {
-				int leftRowIndex = hashMap.getOrDefault(row, -1);
-				if (leftRowIndex >= 0) {
-					builder.add(leftRowIndex);
-					keepRight.set(row.rowIndex());
-					if (matchedLeft != null)
-						matchedLeft.set(leftRowIndex);
-				}
-			}
+		JoinIndices join;
+		if (MergeJoin.isSorted(leftKeys, size()) && MergeJoin.isSorted(rightKeys, rhs.size()))
+			join = MergeJoin.join(leftKeys, size(), rightKeys, rhs.size(), isLeftJoin);
+		else
+			join = HashJoin.join(leftKeys, size(), rightKeys, rhs.size(), isLeftJoin);
 
-			if (matchedLeft != null) {
-				for (int index = matchedLeft.nextClearBit(0); index < size(); index = matchedLeft
-						.nextClearBit(index + 1))
-					builder.add(index);
-			}
+		DataFrameImpl left = select(join.leftIndices());
+		DataFrameImpl right = join.rightUnique() ? rhs.filter(join.keepRight()) : rhs.select(join.rightIndices());
 
-			indices = builder.build();
+		// right rows without a match, for a right or full join
+		DataFrameImpl unmatchedRight = null;
+		if (isRightJoin) {
+			BufferBitSet unmatched = join.keepRight().copy();
+			unmatched.flip(0, rhs.size());
+			unmatchedRight = rhs.filter(unmatched);
 		}
 
-		DataFrameImpl left = select(indices);
-		DataFrameImpl right = rhs.filter(keepRight);
-
 		Set<Integer> rightColumnIndicesSet = Arrays.stream(rightColumnIndices).boxed().collect(Collectors.toSet());
 		String[] columnNames = jointColumnNames(right, rightColumnIndicesSet);
 
-		Column<?>[] columns = Arrays.copyOf(left.columns, columnNames.length);
+		Column<?>[] columns = Arrays.copyOf(left.allColumns(), columnNames.length);
+
+		if (unmatchedRight != null && unmatchedRight.size() > 0) {
+			// key columns take their values from the right, all others are null
+			Column[] unmatchedLeft = new Column[columnCount()];
+			for (int i = 0; i < columnCount(); i++)
+				unmatchedLeft[i] = columns[i].getType().nullColumn(unmatchedRight.size());
+			for (int i = 0; i < leftColumnIndices.length; i++)
+				unmatchedLeft[leftColumnIndices[i]] = unmatchedRight.column0(rightColumnIndices[i]);
+
+			for (int i = 0; i < columnCount(); i++)
+				columns[i] = appendHeap(columns[i], unmatchedLeft[i]);
+		}
+
 		for (int i = 0, j = columnCount(); i < rhs.columnCount(); i++) {
 			if (!rightColumnIndicesSet.contains(i)) {
-				columns[j] = right.columns[i];
+				columns[j] = right.column0(i);
 
 				if (isLeftJoin && left.size() > right.size()) {
 					Column nulls = columns[j].getType().nullColumn(left.size() - right.size());
-					columns[j] = columns[j].append(nulls);
+					columns[j] = appendHeap(columns[j], nulls);
 				}
 
+				if (unmatchedRight != null && unmatchedRight.size() > 0)
+					columns[j] = appendHeap(columns[j], unmatchedRight.column0(i));
+
 				j++;
 			}
 		}
@@ -1120,121 +1162,118 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 		return create(columns, columnNames, null);
 	}
 
+	// the rows of a joined column are not in any particular order
+	private static Column appendHeap(Column head, Column tail) {
+		return head.toHeap().append(tail.toHeap());
+	}
+
 	@Override
 	public DataFrame join(DataFrame df, String[] leftColumnNames, String[] rightColumnNames) {
-		return join(df, leftColumnNames, rightColumnNames, false);
+		return join(df, leftColumnNames, rightColumnNames, false, false);
 	}
 
 	@Override
 	public DataFrame joinLeft(DataFrame df, String[] leftColumnNames, String[] rightColumnNames) {
-		return join(df, leftColumnNames, rightColumnNames, true);
+		return join(df, leftColumnNames, rightColumnNames, true, false);
 	}
 
 	@Override
-	public DataFrame sort(String... columnNames) {
-
-		return select(sortIndices(selectColumns(columnNames)));
+	public DataFrame joinRight(DataFrame df, String[] leftColumnNames, String[] rightColumnNames) {
+		return join(df, leftColumnNames, rightColumnNames, false, true);
 	}
 
-	private static IntColumn sortIndices(DataFrame df) {
-
-		IntBinaryOperator comparator = (l, r) -> {
-			if (l == r)
-				return 0;
+	@Override
+	public DataFrame joinFull(DataFrame df, String[] leftColumnNames, String[] rightColumnNames) {
+		return join(df, leftColumnNames, rightColumnNames, true, true);
+	}
 
-			for (int i = 0; i < df.columnCount(); i++) {
+	@Override
+	public DataFrame sort(String... columnNames) {
 
-				Comparable lc = df.get(l, i);
-				Comparable rc = df.get(r, i);
+		SortKey[] keys = new SortKey[columnNames.length];
+		for (int i = 0; i < keys.length; i++)
+			keys[i] = SortKey.asc(columnNames[i]);
 
-				int d = lc.compareTo(rc);
-				if (d != 0)
-					return d;
-			}
+		return sort(keys);
+	}
 
-			return 0;
-		};
+	@Override
+	public DataFrame sort(SortKey... keys) {
 
-		BigByteBuffer bb = BufferUtils.allocateBig((long) df.size() * 4);
-		SmallIntBuffer b = bb.asIntBuffer();
-		for (int i = 0; i < df.size(); i++)
-			b.put(i, i);
+		checkArgument(keys.length > 0, "keys cannot be empty");
 
-		BufferSort.heapSort(b, comparator, 0, df.size());
+		AbstractColumn<?, ?, ?>[] columns = new AbstractColumn<?, ?, ?>[keys.length];
+		for (int i = 0; i < keys.length; i++)
+			columns[i] = (AbstractColumn<?, ?, ?>) this.column0(checkedColumnIndex(keys[i].columnName()));
 
-		return new NonNullIntColumn(bb, 0, df.size(), NONNULL_CHARACTERISTICS, false);
+		return select(RowSort.sortIndices(columns, keys, size()));
 	}
 
 	@Override
 	public DataFrame groupBy(GroupByConfig config) {
 
-		// sort by 'group by' columns
+		// assign group ids with a hash table over the 'group by' columns
 		DataFrame dfSelect = selectColumns(config.groupByNames());
-		IntColumn indices = sortIndices(dfSelect);
+		AbstractColumn<?, ?, ?>[] keyColumns = new AbstractColumn<?, ?, ?>[dfSelect.columnCount()];
+		SortKey[] keys = new SortKey[keyColumns.length];
+		for (int i = 0; i < keys.length; i++) {
+			keyColumns[i] = (AbstractColumn<?, ?, ?>) dfSelect.column(i);
+			keys[i] = SortKey.asc(dfSelect.columnName(i));
+		}
+		HashGroupBy groups = new HashGroupBy(keyColumns, size());
 
-		// set up new column builders
 		final int dfScc = dfSelect.columnCount();
-		ColumnBuilder[] builders = new ColumnBuilder[dfScc + config.derivedNames().size()];
-		for (int i = 0; i < dfScc; i++)
-			builders[i] = dfSelect.column(i).getType().builder();
-		for (int i = dfScc; i < builders.length; i++)
-			builders[i] = config.derivedTypes().get(i - dfScc).builder();
-
-		// loop over groups
-		for (int begin = 0; begin < size();) {
-
-			int end = findGroupEnd(dfSelect, indices, begin);
-
-			// set group values
-			Row group = dfSelect.get(indices.getInt(begin));
-			for (int i = 0; i < dfScc; i++)
-				builders[i].add(group.get(i));
-
-			// apply reductions and set derived values
-			for (int i = 0; i < config.reductions().size(); i++) {
-				GroupByReduction reduction = config.reductions().get(i);
-				try (Stream<Row> rows = indices.subColumn(begin, end).intStream().mapToObj(this::get)) {
-					builders[i + dfScc].add(reduction.reduce(rows));
-				}
-			}
-
-			begin = end;
-		}
+		final int groupCount = groups.groupCount();
+		String[] columnNames = new String[dfScc + config.derivedNames().size()];
+		Column[] columns = new Column[columnNames.length];
 
-		// create new df
-		String[] columnNames = new String[builders.length];
-		Column[] columns = new Column[builders.length];
+		// set group values
+		IntColumn firstRows = groups.firstRows();
 		for (int i = 0; i < dfScc; i++) {
 			columnNames[i] = dfSelect.columnName(i);
-			columns[i] = builders[i].build();
-		}
-		for (int i = dfScc; i < builders.length; i++) {
-			columnNames[i] = config.derivedNames().get(i - dfScc);
-			columns[i] = builders[i].build();
+			columns[i] = keyColumns[i].select(firstRows);
 		}
 
-		DataFrame grouped = DataFrameFactory.create(columns, columnNames);
-		return grouped;
-	}
+		// rows grouped by group id, only needed for custom reductions
+		IntColumn groupedRows = null;
+		int[] offsets = null;
+
+		// apply reductions and set derived values
+		for (int i = 0; i < config.reductions().size(); i++) {
+			GroupByReduction reduction = config.reductions().get(i);
+			ColumnType<?> derivedType = config.derivedTypes().get(i);
 
-	private static int findGroupEnd(DataFrame dfSelect, IntColumn indices, int begin) {
+			columnNames[i + dfScc] = config.derivedNames().get(i);
 
-		final Row key = dfSelect.get(indices.getInt(begin));
-		final int maxIndex = dfSelect.size() - 1;
-		int fromIndex = begin;
+			if (reduction instanceof Aggregate aggregate) {
+				AbstractColumn<?, ?, ?> column = aggregate.columnName() == null ? null
+						: (AbstractColumn<?, ?, ?>) this.column0(checkedColumnIndex(aggregate.columnName()));
 
-		while (fromIndex != maxIndex && key.equals(dfSelect.get(indices.getInt(fromIndex + 1)))) {
+				ColumnType<?> resultType = aggregate.resultType(column == null ? null : column.getType());
+				checkArgument(resultType.equals(derivedType),
+						"derived type for " + aggregate + " must be " + resultType);
 
-			int range = 1, rangeIndex;
-			do {
-				range <<= 1;
-				rangeIndex = fromIndex + range;
-			} while (rangeIndex <= maxIndex && key.equals(dfSelect.get(indices.getInt(rangeIndex))));
+				columns[i + dfScc] = groups.aggregate(aggregate, column);
+			} else {
+				if (groupedRows == null) {
+					offsets = new int[groupCount + 1];
+					groupedRows = groups.groupedRows(offsets);
+				}
 
-			fromIndex += range >> 1;
+				ColumnBuilder builder = derivedType.builder();
+				for (int g = 0; g < groupCount; g++) {
+					try (Stream<Row> rows = groupedRows.subColumn(offsets[g], offsets[g + 1]).intStream()
+							.mapToObj(this::get)) {
+						builder.add(reduction.reduce(rows));
+					}
+				}
+				columns[i + dfScc] = builder.build();
+			}
 		}
 
-		return fromIndex + 1;
+		// create new df, ordered by the 'group by' columns
+		DataFrame grouped = DataFrameFactory.create(columns, columnNames);
+		return keys.length == 0 ? grouped : grouped.sort(keys);
 	}
 
 	/*--------------------------------------------------------------------------------
@@ -1242,78 +1281,57 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 	 *--------------------------------------------------------------------------------*/
 
 	@Override
-	public void writeTo(File file) throws IOException {
+	public void writeTo(File file, WriteToFileConfig config) throws IOException {
 		try (FileChannel fileChannel = FileChannel.open(file.toPath(), WRITE, CREATE, TRUNCATE_EXISTING);) {
-			writeTo(fileChannel);
+			writeTo(fileChannel, config);
 		}
 	}
 
 	@Override
-	public void writeTo(WritableByteChannel channel) throws IOException {
-		ChannelDataFrameHeader dfHeader = new ChannelDataFrameHeader(this);
+	public void writeTo(WritableByteChannel channel, WriteToFileConfig config) throws IOException {
+		for (String columnName : config.columnEncodings().keySet())
+			checkArgument(columnToIndexMap.containsKey(columnName), "no such column name: " + columnName);
+
+		ChannelDataFrameHeader dfHeader = new ChannelDataFrameHeader(this, config.compression());
 		dfHeader.writeTo(channel);
 
+		final WritableByteChannel compressed = config.compression() == BlockCompression.NONE ? channel
+				: new CompressingChannel(channel, config.compression());
+		final CountingChannel out = new CountingChannel(compressed);
+
 		for (int i = 0; i < columnCount(); i++) {
 			ChannelColumnHeader columnHeader = new ChannelColumnHeader(this, i);
-			columnHeader.writeTo(channel);
+			columnHeader.writeTo(out);
 		}
 
-		for (Column<?> column : columns)
-			((AbstractColumn) column).writeTo(channel);
+		final long[] columnOffsets = new long[columnCount()];
+		for (int i = 0; i < columnCount(); i++) {
+			columnOffsets[i] = out.count();
+			((AbstractColumn) column0(i)).writeTo(out, config.encoding(columnNames[i]));
+		}
+
+		ChannelDataFrameFooter footer = new ChannelDataFrameFooter(columnOffsets, size(), out.count());
+		footer.writeTo(out);
+
+		// writes the last block, leaving the channel open
+		if (compressed != channel)
+			compressed.close();
 	}
 
 	@Override
 	public void writeCsvTo(File file) throws IOException {
-		try (FileOutputStream fos = new FileOutputStream(file);) {
-			writeCsvTo(fos);
+		try (FileChannel channel = FileChannel.open(file.toPath(), WRITE, CREATE, TRUNCATE_EXISTING);) {
+			CsvWriter.write(columnNames, allColumns(), size(), channel);
 		}
 	}
 
-	private static final byte[] EMPTY_STRING = "\"\"".getBytes(UTF_8);
-
 	@Override
 	public void writeCsvTo(OutputStream os) throws IOException {
-
-		Matcher escapeRequired = Pattern.compile("\"|,|\\R").matcher("");
-
-		try (BufferedOutputStream bos = new BufferedOutputStream(os);) {
-			// write header
-			for (int i = 0; i < columnNames.length; i++) {
-				bos.write(csvEscape(columnNames[i], escapeRequired).getBytes(UTF_8));
-				terminateCsvField(bos, i == columns.length - 1);
-			}
-
-			// write body
-			for (Cursor cursor = cursor(); cursor.hasNext(); cursor.next()) {
-				for (int i = 0; i < columns.length; i++) {
-					if (!cursor.isNull(i)) {
-						String value = cursor.get(i).toString();
-						if (value.isEmpty() && columns[i].getType() == ColumnType.STRING)
-							bos.write(EMPTY_STRING);
-						else
-							bos.write(csvEscape(value, escapeRequired).getBytes(UTF_8));
-					}
-					terminateCsvField(bos, i == columns.length - 1);
-				}
-			}
+		try (WritableByteChannel channel = Channels.newChannel(os);) {
+			CsvWriter.write(columnNames, allColumns(), size(), channel);
 		}
 	}
 
-	private static String csvEscape(String field, Matcher escapeRequired) {
-		if (escapeRequired.reset(field).find())
-			return '"' + field.replace("\"", "\"\"") + '"';
-		else
-			return field;
-	}
-
-	private static void terminateCsvField(BufferedOutputStream bos, boolean last) throws IOException {
-		if (last) {
-			bos.write('\r');
-			bos.write('\n');
-		} else
-			bos.write(',');
-	}
-
 	@Override
 	public void writeTo(PreparedStatement ps, WriteToDbConfig config) throws SQLException {
 		config.write(this, ps);
@@ -1514,7 +1532,7 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 		Column<?>[] columns = new Column[columnCount()];
 
 		IntStream.range(0, columns.length).forEach(i -> {
-			AbstractColumn column = (AbstractColumn) this.columns[i];
+			AbstractColumn column = (AbstractColumn) this.column0(i);
 			columns[i] = transformation.apply(column);
 		});
 
@@ -1525,8 +1543,10 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 		return create(columns, columnNames, keyIndex);
 	}
 
-	private DataFrameImpl filter(BufferBitSet keep) {
-		return filter(keep, keep.cardinality());
+	@Override
+	public DataFrameImpl filter(BufferBitSet mask) {
+		checkArgument(mask.lastSetBit() < size(), "mask cannot have bits set at or beyond size()");
+		return filter(mask, mask.cardinality());
 	}
 
 	private DataFrameImpl filter(BufferBitSet keep, int cardinality) {
@@ -1801,7 +1821,7 @@ final class DataFrameImpl extends AbstractList<Row> implements DataFrame {
 		@Override
 		public int compareTo(RowImpl rhs) {
 			for (int i = 0; i < columnCount(); i++) {
-				int d = columns[i].getType().compare(get(i), rhs.get(i));
+				int d = column0(i).getType().compare(get(i), rhs.get(i));
 				if (d != 0)
 					return d;
 			}
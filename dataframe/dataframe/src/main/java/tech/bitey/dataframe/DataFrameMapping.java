@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import static tech.bitey.dataframe.Pr.checkState;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A memory-mapping of a whole file created via {@link DataFrame#writeTo(File)},
+ * from which dataframes can be created without mapping any more of the file.
+ * Created by {@link DataFrameFactory#openMapping(File, MapMode)
+ * DataFrameFactory.openMapping}.
+ * <p>
+ * {@link #close() Closing} a mapping unmaps the file immediately, rather than
+ * once every dataframe created from it has been garbage collected. Those
+ * dataframes can no longer be used afterwards: any access to a mapped column
+ * fails with an {@link IllegalStateException}, rather than reading unmapped
+ * memory. Columns which were read onto the heap (see
+ * {@link DataFrameFactory#mapFrom(File)}) are unaffected.
+ * <p>
+ * Unmapping requires the {@code jdk.incubator.foreign} module (for example,
+ * {@code --add-modules jdk.incubator.foreign}). Without it, closing a mapping
+ * only prevents more dataframes from being created from it, and the file is
+ * unmapped once the dataframes which were already created have been garbage
+ * collected.
+ */
+public final class DataFrameMapping implements AutoCloseable {
+
+	private final File file;
+	private final FileMapper mapper;
+
+	DataFrameMapping(File file, FileMapper mapper) {
+		this.file = file;
+		this.mapper = mapper;
+	}
+
+	/**
+	 * Returns a dataframe containing every column in the file.
+	 * 
+	 * @return a dataframe backed by this mapping
+	 * 
+	 * @throws IOException           if some I/O error occurs
+	 * @throws IllegalStateException if this mapping is closed
+	 */
+	public DataFrame dataFrame() throws IOException {
+		return dataFrame0(null);
+	}
+
+	/**
+	 * Returns a dataframe containing the specified columns, in the specified
+	 * order. See {@link DataFrameFactory#readFrom(File, List)}.
+	 * 
+	 * @param columnNames - the columns names to be included in the result
+	 * 
+	 * @return a dataframe backed by this mapping
+	 * 
+	 * @throws IOException              if some I/O error occurs
+	 * @throws IllegalStateException    if this mapping is closed
+	 * @throws IllegalArgumentException if any of the column names are not in the
+	 *                                  file
+	 */
+	public DataFrame dataFrame(List<String> columnNames) throws IOException {
+		return dataFrame0(columnNames);
+	}
+
+	/**
+	 * Equivalent to {@code dataFrame(Arrays.asList(columnNames))}
+	 * 
+	 * @param columnNames - the columns names to be included in the result
+	 * 
+	 * @return a dataframe backed by this mapping
+	 * 
+	 * @throws IOException              if some I/O error occurs
+	 * @throws IllegalStateException    if this mapping is closed
+	 * @throws IllegalArgumentException if any of the column names are not in the
+	 *                                  file
+	 * 
+	 * @see #dataFrame(List)
+	 */
+	public DataFrame dataFrame(String... columnNames) throws IOException {
+		return dataFrame0(Arrays.asList(columnNames));
+	}
+
+	private DataFrame dataFrame0(List<String> columnNames) throws IOException {
+		checkState(!mapper.isClosed(), "mapping is closed");
+
+		try (FileChannel channel = DataFrameFactory.openForMapping(file, mapper.mode);) {
+			return DataFrameFactory.readFrom(channel, mapper, columnNames);
+		}
+	}
+
+	/**
+	 * Unmaps the file, if the {@code jdk.incubator.foreign} module is present.
+	 * Dataframes created from this mapping can no longer be used afterwards.
+	 */
+	@Override
+	public void close() {
+		mapper.close();
+	}
+}
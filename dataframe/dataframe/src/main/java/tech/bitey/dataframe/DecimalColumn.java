@@ -18,8 +18,10 @@ package tech.bitey.dataframe;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.MathContext;
 import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collector;
 
@@ -94,6 +96,56 @@ public interface DecimalColumn extends Column<BigDecimal> {
 		return filter(predicate, true);
 	}
 
+	/**
+	 * Returns the exact sum of the non-null elements in this column, or
+	 * {@link BigDecimal#ZERO} if there are none.
+	 * 
+	 * @return the sum of the non-null elements
+	 */
+	BigDecimal sum();
+
+	/**
+	 * Returns the arithmetic mean of the non-null elements in this column, rounded
+	 * according to the specified context.
+	 * 
+	 * @param mc - the precision and rounding mode of the result
+	 * 
+	 * @return the mean of the non-null elements, or an empty optional if there are
+	 *         none
+	 */
+	Optional<BigDecimal> mean(MathContext mc);
+
+	/**
+	 * Returns the smallest non-null element in this column, as determined by
+	 * {@link BigDecimal#compareTo}. Takes constant time if this column is
+	 * {@link #isSorted() sorted}.
+	 * 
+	 * @return the smallest non-null element, or an empty optional if there are none
+	 */
+	Optional<BigDecimal> min();
+
+	/**
+	 * Returns the largest non-null element in this column, as determined by
+	 * {@link BigDecimal#compareTo}. Takes constant time if this column is
+	 * {@link #isSorted() sorted}.
+	 * 
+	 * @return the largest non-null element, or an empty optional if there are none
+	 */
+	Optional<BigDecimal> max();
+
+	/**
+	 * Returns the sample variance of the non-null elements in this column: the sum
+	 * of their squared deviations from the mean, divided by {@code n - 1}. The
+	 * result is computed exactly, and then rounded according to the specified
+	 * context.
+	 * 
+	 * @param mc - the precision and rounding mode of the result
+	 * 
+	 * @return the sample variance of the non-null elements, or an empty optional if
+	 *         there are fewer than two
+	 */
+	Optional<BigDecimal> variance(MathContext mc);
+
 	/**
 	 * Returns a {@link DecimalColumnBuilder builder} with the specified
 	 * characteristic.
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.bitey.dataframe;
+
+import static tech.bitey.dataframe.Pr.checkState;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Decompresses blocks written by a {@link CompressingChannel}. Blocks are read
+ * from the underlying channel one at a time, and only when more bytes are
+ * needed, so that nothing is read past the last block a caller consumes.
+ * <p>
+ * {@link #close()} does not close the underlying channel.
+ */
+final class DecompressingChannel implements ReadableByteChannel {
+
+	private final ReadableByteChannel channel;
+	private final BlockCompression compression;
+
+	private final ByteBuffer header = ByteBuffer.allocate(8);
+	private byte[] block = new byte[0];
+	private byte[] compressed = new byte[0];
+	private int position, length;
+
+	private boolean open = true;
+
+	DecompressingChannel(ReadableByteChannel channel, BlockCompression compression) {
+		this.channel = channel;
+		this.compression = compression;
+	}
+
+	@Override
+	public int read(ByteBuffer dst) throws IOException {
+
+		int read = 0;
+		while (dst.hasRemaining()) {
+			if (position == length && !readBlock())
+				return read == 0 ? -1 : read;
+
+			final int n = Math.min(dst.remaining(), length - position);
+			dst.put(block, position, n);
+			position += n;
+			read += n;
+		}
+
+		return read;
+	}
+
+	private boolean readBlock() throws IOException {
+
+		header.clear();
+		if (!readFully(header, true))
+			return false;
+
+		final int length = header.getInt(0);
+		final int stored = header.getInt(4);
+		checkState(length > 0 && length <= CompressingChannel.BLOCK_SIZE && stored > 0 && stored <= length,
+				"bad compressed block: " + length + ", " + stored);
+
+		if (block.length < length)
+			block = new byte[length];
+
+		if (stored == length)
+			readFully(ByteBuffer.wrap(block, 0, length), false);
+		else {
+			if (compressed.length < stored)
+				compressed = new byte[stored];
+			readFully(ByteBuffer.wrap(compressed, 0, stored), false);
+
+			switch (compression) {
+			case LZ4 -> LZ4Block.decompress(compressed, stored, block, length);
+			case NONE -> throw new IllegalStateException("block is compressed");
+			}
+		}
+
+		this.position = 0;
+		this.length = length;
+		return true;
+	}
+
+	/**
+	 * Returns false if the channel was already at end-of-stream, and
+	 * {@code atBoundary} is set.
+	 */
+	private boolean readFully(ByteBuffer b, boolean atBoundary) throws IOException {
+		while (b.hasRemaining()) {
+			if (channel.read(b) < 0) {
+				if (atBoundary && b.position() == 0)
+					return false;
+				throw new EOFException("truncated compressed block");
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean isOpen() {
+		return open;
+	}
+
+	@Override
+	public void close() {
+		open = false;
+	}
+}
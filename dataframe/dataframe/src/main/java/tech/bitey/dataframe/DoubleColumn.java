@@ -20,6 +20,7 @@ import static java.util.Spliterator.NONNULL;
 
 import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.OptionalDouble;
 import java.util.function.DoublePredicate;
 import java.util.function.DoubleUnaryOperator;
 import java.util.function.Predicate;
@@ -182,6 +183,51 @@ public interface DoubleColumn extends Column<Double> {
 	 */
 	DoubleStream doubleStream();
 
+	/**
+	 * Returns the sum of the non-null elements in this column, or zero if there
+	 * are none. Elements are summed in index order.
+	 * 
+	 * @return the sum of the non-null elements
+	 */
+	double sum();
+
+	/**
+	 * Returns the arithmetic mean of the non-null elements in this column.
+	 * 
+	 * @return the mean of the non-null elements, or an empty optional if there are
+	 *         none
+	 */
+	OptionalDouble mean();
+
+	/**
+	 * Returns the smallest non-null element in this column. Elements are ordered by
+	 * {@link Double#compare}, so {@code NaN} is the largest value and
+	 * {@code -0.0} is less than {@code 0.0}. Takes constant time if this column
+	 * is {@link #isSorted() sorted}.
+	 * 
+	 * @return the smallest non-null element, or an empty optional if there are none
+	 */
+	OptionalDouble min();
+
+	/**
+	 * Returns the largest non-null element in this column. Elements are ordered by
+	 * {@link Double#compare}, so {@code NaN} is the largest value and
+	 * {@code -0.0} is less than {@code 0.0}. Takes constant time if this column
+	 * is {@link #isSorted() sorted}.
+	 * 
+	 * @return the largest non-null element, or an empty optional if there are none
+	 */
+	OptionalDouble max();
+
+	/**
+	 * Returns the sample variance of the non-null elements in this column: the sum
+	 * of their squared deviations from the mean, divided by {@code n - 1}.
+	 * 
+	 * @return the sample variance of the non-null elements, or an empty optional if
+	 *         there are fewer than two
+	 */
+	OptionalDouble variance();
+
 	/**
 	 * Returns a {@link DoubleColumnBuilder builder} with the specified
 	 * characteristic.
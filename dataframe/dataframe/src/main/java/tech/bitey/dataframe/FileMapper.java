@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import static tech.bitey.dataframe.Pr.checkState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import tech.bitey.bufferstuff.BufferBitSet;
+
+/**
+ * Memory-maps the buffers of columns read from a file, in the specified
+ * {@link MapMode}. By default each buffer is mapped on its own.
+ * <p>
+ * A mapper created by {@link #regions(Path, FileChannel, MapMode)} instead maps
+ * the whole file up front and hands out slices of it. Bitsets, which hold at
+ * most one bit per row, are read onto the heap rather than mapped on their own.
+ * When the {@code jdk.incubator.foreign} module is present, the file is mapped
+ * as a single memory segment by {@link SegmentFileMapper}, and closing the
+ * mapper unmaps it immediately. Otherwise the file is mapped as a few large
+ * regions. Region {@code r} starts at byte {@code r << 30}, and extends for up
+ * to {@code Integer.MAX_VALUE} bytes, so consecutive regions overlap and any
+ * buffer of up to 1 GB (the largest chunk of a {@code BigByteBuffer}) lies
+ * entirely within the region where it starts. Closing the mapper drops its
+ * references to the regions, which are unmapped once garbage collected.
+ */
+class FileMapper implements AutoCloseable {
+
+	private static final String FOREIGN_MODULE = "jdk.incubator.foreign";
+
+	private static final boolean SEGMENTS = ModuleLayer.boot().findModule(FOREIGN_MODULE).isPresent();
+
+	private static final int REGION_BITS = 30;
+	private static final long REGION_MASK = (1L << REGION_BITS) - 1;
+
+	final MapMode mode;
+
+	// null if each buffer is mapped on its own
+	private final ByteBuffer[] regions;
+
+	// buffers too large to slice from a region, which this library doesn't write
+	private final List<ByteBuffer> separate = new ArrayList<>();
+
+	private boolean closed;
+
+	FileMapper(MapMode mode) {
+		this(mode, null);
+	}
+
+	private FileMapper(MapMode mode, ByteBuffer[] regions) {
+		this.mode = mode;
+		this.regions = regions;
+	}
+
+	static FileMapper regions(Path path, FileChannel channel, MapMode mode) throws IOException {
+
+		final long size = channel.size();
+
+		// only linked when the module is present
+		if (SEGMENTS)
+			return SegmentFileMapper.map(path, size, mode);
+
+		ByteBuffer[] regions = new ByteBuffer[(int) ((size + REGION_MASK) >> REGION_BITS)];
+		for (int r = 0; r < regions.length; r++) {
+			final long position = (long) r << REGION_BITS;
+			regions[r] = channel.map(mode, position, Math.min(Integer.MAX_VALUE, size - position));
+		}
+
+		return new FileMapper(mode, regions);
+	}
+
+	/**
+	 * Maps the next {@code size} bytes of the channel, and advances its position
+	 * past them.
+	 */
+	ByteBuffer map(FileChannel channel, int size) throws IOException {
+
+		final long position = channel.position();
+		final ByteBuffer buffer = map(channel, position, size);
+
+		channel.position(position + size);
+		return buffer;
+	}
+
+	/**
+	 * Maps {@code size} bytes of the channel at the specified position, without
+	 * changing the position of the channel.
+	 */
+	ByteBuffer map(FileChannel channel, long position, int size) throws IOException {
+		if (regions == null)
+			return channel.map(mode, position, size);
+		else
+			return slice(channel, position, size);
+	}
+
+	private synchronized ByteBuffer slice(FileChannel channel, long position, int size) throws IOException {
+
+		checkState(!closed, "mapping is closed");
+
+		// only a buffer which ends the file can start past the last region
+		final int r = (int) Math.min(position >> REGION_BITS, regions.length - 1);
+		final long offset = position - ((long) r << REGION_BITS);
+
+		if (offset + size <= regions[r].capacity())
+			return regions[r].slice((int) offset, size);
+
+		ByteBuffer buffer = channel.map(mode, position, size);
+		separate.add(buffer);
+		return buffer;
+	}
+
+	BufferBitSet mapBitSet(FileChannel channel) throws IOException {
+		return regions == null ? BufferBitSet.mapFrom(channel, mode) : BufferBitSet.readFrom(channel);
+	}
+
+	/**
+	 * Prevents any more buffers from being sliced from this mapper, and drops its
+	 * references to the regions. Each region is unmapped once it and every buffer
+	 * sliced from it have been garbage collected, so buffers which are still in
+	 * use remain valid.
+	 */
+	@Override
+	public synchronized void close() {
+
+		if (closed || regions == null)
+			return;
+		closed = true;
+
+		Arrays.fill(regions, null);
+		separate.clear();
+	}
+
+	synchronized boolean isClosed() {
+		return closed;
+	}
+}
@@ -18,6 +18,7 @@ package tech.bitey.dataframe;
 
 import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.OptionalDouble;
 import java.util.function.Predicate;
 import java.util.stream.Collector;
 
@@ -170,6 +171,51 @@ public interface FloatColumn extends Column<Float> {
 	 */
 	float getFloat(int index);
 
+	/**
+	 * Returns the sum of the non-null elements in this column, or zero if there
+	 * are none. Elements are summed as doubles, in index order.
+	 * 
+	 * @return the sum of the non-null elements
+	 */
+	double sum();
+
+	/**
+	 * Returns the arithmetic mean of the non-null elements in this column.
+	 * 
+	 * @return the mean of the non-null elements, or an empty optional if there are
+	 *         none
+	 */
+	OptionalDouble mean();
+
+	/**
+	 * Returns the smallest non-null element in this column, widened to a double.
+	 * Elements are ordered by {@link Float#compare}, so {@code NaN} is the
+	 * largest value and {@code -0.0f} is less than {@code 0.0f}. Takes constant
+	 * time if this column is {@link #isSorted() sorted}.
+	 * 
+	 * @return the smallest non-null element, or an empty optional if there are none
+	 */
+	OptionalDouble min();
+
+	/**
+	 * Returns the largest non-null element in this column, widened to a double.
+	 * Elements are ordered by {@link Float#compare}, so {@code NaN} is the
+	 * largest value and {@code -0.0f} is less than {@code 0.0f}. Takes constant
+	 * time if this column is {@link #isSorted() sorted}.
+	 * 
+	 * @return the largest non-null element, or an empty optional if there are none
+	 */
+	OptionalDouble max();
+
+	/**
+	 * Returns the sample variance of the non-null elements in this column: the sum
+	 * of their squared deviations from the mean, divided by {@code n - 1}.
+	 * 
+	 * @return the sample variance of the non-null elements, or an empty optional if
+	 *         there are fewer than two
+	 */
+	OptionalDouble variance();
+
 	/**
 	 * Returns a {@link FloatColumnBuilder builder} with the specified
 	 * characteristic.
@@ -0,0 +1,468 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import static tech.bitey.dataframe.NonNullColumn.NONNULL_CHARACTERISTICS;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+
+import tech.bitey.bufferstuff.BigByteBuffer;
+import tech.bitey.bufferstuff.BufferUtils;
+import tech.bitey.bufferstuff.SmallIntBuffer;
+
+/**
+ * Assigns a group id to each row of a set of key columns, using an
+ * open-addressing hash table keyed by the columns' {@link AbstractColumn#hashAt
+ * element hashes} and {@link AbstractColumn#indexComparator comparators}.
+ * Group ids are assigned in order of first appearance.
+ * <p>
+ * Built-in {@link Aggregate aggregates} are then computed in a single pass over
+ * the aggregated column, accumulating into per-group primitive arrays.
+ */
+final class HashGroupBy {
+
+	static final int EMPTY = -1;
+
+	/** group id of each row */
+	private final int[] groups;
+
+	/** first row of each group */
+	private int[] firstRows;
+
+	/** key hash of each group */
+	private int[] hashes;
+
+	/** group ids, indexed by hash */
+	private int[] table;
+
+	private int groupCount;
+
+	HashGroupBy(AbstractColumn<?, ?, ?>[] keyColumns, int size) {
+
+		final IntBinaryOperator comparator = RowSort.comparator(keyColumns, false, false);
+
+		groups = new int[size];
+		firstRows = new int[16];
+		hashes = new int[16];
+
+		table = newTable(16);
+		int mask = table.length - 1;
+
+		for (int row = 0; row < size; row++) {
+
+			final int hash = hash(keyColumns, row);
+
+			int slot = hash & mask;
+			int group;
+			while ((group = table[slot]) != EMPTY) {
+				if (hashes[group] == hash && comparator.applyAsInt(firstRows[group], row) == 0)
+					break;
+				slot = (slot + 1) & mask;
+			}
+
+			if (group == EMPTY) {
+				group = groupCount++;
+
+				if (group == firstRows.length) {
+					firstRows = Arrays.copyOf(firstRows, group << 1);
+					hashes = Arrays.copyOf(hashes, group << 1);
+				}
+				firstRows[group] = row;
+				hashes[group] = hash;
+				table[slot] = group;
+
+				// keep load factor at or below 1/2
+				if (groupCount << 1 > table.length) {
+					table = rehash(hashes, groupCount, table.length << 1);
+					mask = table.length - 1;
+				}
+			}
+
+			groups[row] = group;
+		}
+	}
+
+	int groupCount() {
+		return groupCount;
+	}
+
+	/**
+	 * Returns the hash of the specified row of the key columns.
+	 */
+	static int hash(AbstractColumn<?, ?, ?>[] keyColumns, int row) {
+		int hash = 1;
+		for (AbstractColumn<?, ?, ?> column : keyColumns)
+			hash = 31 * hash + column.hashAt(row);
+		return mix(hash);
+	}
+
+	/**
+	 * Finds the group matching a row from some other set of columns.
+	 * 
+	 * @param hash       - the {@link #hash} of the row
+	 * @param comparator - compares the first row of a group with {@code row}
+	 * @param row        - the row to find
+	 * 
+	 * @return the matching group id, or -1 if there is none
+	 */
+	int find(int hash, IntBinaryOperator comparator, int row) {
+
+		final int mask = table.length - 1;
+
+		for (int slot = hash & mask, group; (group = table[slot]) != EMPTY; slot = (slot + 1) & mask)
+			if (hashes[group] == hash && comparator.applyAsInt(firstRows[group], row) == 0)
+				return group;
+
+		return EMPTY;
+	}
+
+	/**
+	 * Returns the first row of each group, in group id order.
+	 */
+	IntColumn firstRows() {
+		return IntColumn.of(Arrays.copyOf(firstRows, groupCount));
+	}
+
+	/**
+	 * Returns the rows of the dataframe grouped by group id, with the rows of each
+	 * group in their original order. The rows of group {@code g} are found at
+	 * {@code [offsets[g], offsets[g+1])}.
+	 */
+	IntColumn groupedRows(int[] offsets) {
+
+		for (int group : groups)
+			offsets[group + 1]++;
+		for (int g = 0; g < groupCount; g++)
+			offsets[g + 1] += offsets[g];
+
+		final int[] next = Arrays.copyOf(offsets, groupCount);
+
+		BigByteBuffer bb = BufferUtils.allocateBig((long) groups.length * 4);
+		SmallIntBuffer b = bb.asIntBuffer();
+		for (int row = 0; row < groups.length; row++)
+			b.put(next[groups[row]]++, row);
+
+		return new NonNullIntColumn(bb, 0, groups.length, NONNULL_CHARACTERISTICS, false);
+	}
+
+	/**
+	 * Computes the specified aggregate for each group.
+	 *
+	 * @param aggregate - the aggregate to compute
+	 * @param column    - the aggregated column, or null for {@link Aggregate#count()}
+	 *
+	 * @return a column with one value per group, in group id order
+	 */
+	Column<?> aggregate(Aggregate aggregate, AbstractColumn<?, ?, ?> column) {
+
+		return switch (aggregate.function()) {
+		case COUNT -> count(column);
+		case SUM -> sum(column);
+		case MEAN -> mean(column);
+		case MIN -> best(column, column.indexComparator(false, false));
+		case MAX -> best(column, column.indexComparator(true, false));
+		case FIRST -> firstOrLast(column, true);
+		case LAST -> firstOrLast(column, false);
+		case COUNT_DISTINCT -> countDistinct(column);
+		};
+	}
+
+	private IntColumn count(AbstractColumn<?, ?, ?> column) {
+
+		final int[] counts = new int[groupCount];
+
+		if (column == null || column.isNonnull()) {
+			for (int group : groups)
+				counts[group]++;
+		} else {
+			for (int row = 0; row < groups.length; row++)
+				if (!column.isNullNoOffset(row + column.offset))
+					counts[groups[row]]++;
+		}
+
+		return IntColumn.of(counts);
+	}
+
+	private Column<?> sum(AbstractColumn<?, ?, ?> column) {
+
+		final int[] counts = new int[groupCount];
+
+		switch (column.getType().getCode()) {
+		case F, D: {
+			final IntToDoubleFunction values = doubleValues(column);
+			final double[] sums = new double[groupCount];
+			forEachNonNull(column, (row, index) -> {
+				sums[groups[row]] += values.applyAsDouble(index);
+				counts[groups[row]]++;
+			});
+
+			DoubleColumnBuilder builder = DoubleColumn.builder();
+			for (int g = 0; g < groupCount; g++)
+				if (counts[g] == 0)
+					builder.addNull();
+				else
+					builder.add(sums[g]);
+			return builder.build();
+		}
+		default: {
+			final IntToLongFunction values = longValues(column);
+			final long[] sums = new long[groupCount];
+			forEachNonNull(column, (row, index) -> {
+				sums[groups[row]] += values.applyAsLong(index);
+				counts[groups[row]]++;
+			});
+
+			LongColumnBuilder builder = LongColumn.builder();
+			for (int g = 0; g < groupCount; g++)
+				if (counts[g] == 0)
+					builder.addNull();
+				else
+					builder.add(sums[g]);
+			return builder.build();
+		}
+		}
+	}
+
+	private DoubleColumn mean(AbstractColumn<?, ?, ?> column) {
+
+		final int[] counts = new int[groupCount];
+		final double[] sums = new double[groupCount];
+
+		final IntToDoubleFunction values = switch (column.getType().getCode()) {
+		case F, D -> doubleValues(column);
+		default -> {
+			IntToLongFunction longs = longValues(column);
+			yield i -> longs.applyAsLong(i);
+		}
+		};
+
+		forEachNonNull(column, (row, index) -> {
+			sums[groups[row]] += values.applyAsDouble(index);
+			counts[groups[row]]++;
+		});
+
+		DoubleColumnBuilder builder = DoubleColumn.builder();
+		for (int g = 0; g < groupCount; g++)
+			if (counts[g] == 0)
+				builder.addNull();
+			else
+				builder.add(sums[g] / counts[g]);
+		return builder.build();
+	}
+
+	// min or max, depending on the comparator
+	private Column<?> best(AbstractColumn<?, ?, ?> column, IntBinaryOperator comparator) {
+
+		final int[] best = new int[groupCount];
+		Arrays.fill(best, EMPTY);
+
+		for (int row = 0; row < groups.length; row++) {
+			if (column.isNullNoOffset(row + column.offset))
+				continue;
+
+			final int group = groups[row];
+			if (best[group] == EMPTY || comparator.applyAsInt(row, best[group]) < 0)
+				best[group] = row;
+		}
+
+		return select(column, best);
+	}
+
+	private Column<?> firstOrLast(AbstractColumn<?, ?, ?> column, boolean first) {
+
+		final int[] rows = new int[groupCount];
+		Arrays.fill(rows, EMPTY);
+
+		for (int row = 0; row < groups.length; row++)
+			if (!column.isNullNoOffset(row + column.offset) && (!first || rows[groups[row]] == EMPTY))
+				rows[groups[row]] = row;
+
+		return select(column, rows);
+	}
+
+	private IntColumn countDistinct(AbstractColumn<?, ?, ?> column) {
+
+		final IntBinaryOperator comparator = column.indexComparator(false, false);
+		final int[] counts = new int[groupCount];
+
+		// distinct (group, value) pairs, represented by their first row
+		int[] rows = new int[16];
+		int[] pairHashes = new int[16];
+		int distinct = 0;
+
+		int[] pairTable = newTable(16);
+		int mask = pairTable.length - 1;
+
+		for (int row = 0; row < groups.length; row++) {
+			if (column.isNullNoOffset(row + column.offset))
+				continue;
+
+			final int group = groups[row];
+			final int hash = mix(31 * group + column.hashAt(row));
+
+			int slot = hash & mask;
+			int entry;
+			while ((entry = pairTable[slot]) != EMPTY) {
+				int other = rows[entry];
+				if (pairHashes[entry] == hash && groups[other] == group && comparator.applyAsInt(other, row) == 0)
+					break;
+				slot = (slot + 1) & mask;
+			}
+
+			if (entry == EMPTY) {
+				entry = distinct++;
+
+				if (entry == rows.length) {
+					rows = Arrays.copyOf(rows, entry << 1);
+					pairHashes = Arrays.copyOf(pairHashes, entry << 1);
+				}
+				rows[entry] = row;
+				pairHashes[entry] = hash;
+				pairTable[slot] = entry;
+				counts[group]++;
+
+				if (distinct << 1 > pairTable.length) {
+					pairTable = rehash(pairHashes, distinct, pairTable.length << 1);
+					mask = pairTable.length - 1;
+				}
+			}
+		}
+
+		return IntColumn.of(counts);
+	}
+
+	/*------------------------------------------------------------
+	 *  helpers
+	 *------------------------------------------------------------*/
+
+	@FunctionalInterface
+	private interface NonNullConsumer {
+		/**
+		 * @param row   - row index (offset not applied)
+		 * @param index - index into the column's {@link #nonNullValues non-null
+		 *              values} (offset not applied)
+		 */
+		void accept(int row, int index);
+	}
+
+	/**
+	 * Returns the non-null values backing a nullable column, or the column itself.
+	 */
+	private static AbstractColumn<?, ?, ?> nonNullValues(AbstractColumn<?, ?, ?> column) {
+		return column instanceof NullableColumn<?, ?, ?, ?> nullable ? nullable.column : column;
+	}
+
+	/**
+	 * Invokes the consumer for each non-null value, in row order. For nullable
+	 * columns, the index into the non-null values is tracked incrementally rather
+	 * than computed for each row.
+	 */
+	private static void forEachNonNull(AbstractColumn<?, ?, ?> column, NonNullConsumer consumer) {
+
+		final int size = column.size();
+
+		if (column instanceof NullableColumn<?, ?, ?, ?> nullable) {
+			int index = -1;
+			for (int row = 0; row < size; row++) {
+				final int i = row + nullable.offset;
+				if (nullable.nonNulls.get(i)) {
+					if (index == -1)
+						index = nullable.nonNullIndex(i) - nullable.column.offset;
+					consumer.accept(row, index++);
+				}
+			}
+		} else {
+			for (int row = 0; row < size; row++)
+				consumer.accept(row, row);
+		}
+	}
+
+	private static IntToLongFunction longValues(AbstractColumn<?, ?, ?> column) {
+		final AbstractColumn<?, ?, ?> values = nonNullValues(column);
+		return switch (values.getType().getCode()) {
+		case Y -> ((ByteColumn) values)::getByte;
+		case T -> ((ShortColumn) values)::getShort;
+		case I -> ((IntColumn) values)::getInt;
+		default -> ((LongColumn) values)::getLong;
+		};
+	}
+
+	private static IntToDoubleFunction doubleValues(AbstractColumn<?, ?, ?> column) {
+		final AbstractColumn<?, ?, ?> values = nonNullValues(column);
+		if (values.getType().getCode() == ColumnTypeCode.F)
+			return ((FloatColumn) values)::getFloat;
+		else
+			return ((DoubleColumn) values)::getDouble;
+	}
+
+	/**
+	 * Selects one row of the column for each group, or null where the row is
+	 * {@link #EMPTY}.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private Column<?> select(AbstractColumn<?, ?, ?> column, int[] rows) {
+
+		boolean anyEmpty = false;
+		for (int row : rows)
+			anyEmpty |= row == EMPTY;
+
+		if (!anyEmpty)
+			return column.select(IntColumn.of(rows));
+
+		ColumnBuilder builder = column.getType().builder();
+		for (int row : rows)
+			if (row == EMPTY)
+				builder.addNull();
+			else
+				builder.add(column.get(row));
+		return builder.build();
+	}
+
+	static int[] newTable(int capacity) {
+		int[] table = new int[capacity];
+		Arrays.fill(table, EMPTY);
+		return table;
+	}
+
+	private static int[] rehash(int[] hashes, int count, int capacity) {
+
+		final int[] table = newTable(capacity);
+		final int mask = capacity - 1;
+
+		for (int entry = 0; entry < count; entry++) {
+			int slot = hashes[entry] & mask;
+			while (table[slot] != EMPTY)
+				slot = (slot + 1) & mask;
+			table[slot] = entry;
+		}
+
+		return table;
+	}
+
+	// murmur3 finalizer
+	private static int mix(int h) {
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+}
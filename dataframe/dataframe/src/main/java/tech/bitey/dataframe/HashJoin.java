@@ -0,0 +1,303 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import static tech.bitey.dataframe.HashGroupBy.EMPTY;
+import static tech.bitey.dataframe.NonNullColumn.NONNULL_CHARACTERISTICS;
+import static tech.bitey.dataframe.Pr.checkState;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntBinaryOperator;
+
+import tech.bitey.bufferstuff.BigByteBuffer;
+import tech.bitey.bufferstuff.BufferBitSet;
+import tech.bitey.bufferstuff.BufferUtils;
+import tech.bitey.bufferstuff.SmallIntBuffer;
+
+/**
+ * Equi-join of two sets of key columns. Keys are compared directly against the
+ * column buffers, and nulls are equal to each other.
+ * <p>
+ * Small joins group the left rows by key with a {@link HashGroupBy}, which is
+ * then probed with the hash of each right row. Large joins (see
+ * {@link ParallelSort#isParallel(int)}) are radix-partitioned instead: both
+ * sides are split by the high bits of their key hashes into partitions small
+ * enough for each build table to stay in cache, and the partitions are built
+ * and probed concurrently on the {@link ForkJoinPool#commonPool() common pool}.
+ * <p>
+ * Either way, the result is in the order described by {@link JoinIndices}.
+ */
+enum HashJoin {
+	;
+
+	/** Target number of left rows per partition */
+	private static final int PARTITION_SIZE = 1 << 14;
+
+	private static final int MAX_PARTITION_BITS = 16;
+
+	static JoinIndices join(AbstractColumn<?, ?, ?>[] leftKeys, int leftSize, AbstractColumn<?, ?, ?>[] rightKeys,
+			int rightSize, boolean isLeftJoin) {
+
+		if (ParallelSort.isParallel(Math.max(leftSize, rightSize)))
+			return partitioned(leftKeys, leftSize, rightKeys, rightSize, isLeftJoin);
+		else
+			return sequential(leftKeys, leftSize, rightKeys, rightSize, isLeftJoin);
+	}
+
+	private static JoinIndices sequential(AbstractColumn<?, ?, ?>[] leftKeys, int leftSize,
+			AbstractColumn<?, ?, ?>[] rightKeys, int rightSize, boolean isLeftJoin) {
+
+		final HashGroupBy build = new HashGroupBy(leftKeys, leftSize);
+		final IntBinaryOperator comparator = RowSort.comparator(leftKeys, rightKeys);
+
+		// left rows of each group are at [offsets[g], offsets[g+1])
+		final int[] offsets = new int[build.groupCount() + 1];
+		final IntColumn groupedRows = build.groupedRows(offsets);
+
+		final IntColumnBuilder left = IntColumn.builder();
+		final IntColumnBuilder right = IntColumn.builder();
+		final BufferBitSet keepRight = new BufferBitSet();
+		final BufferBitSet matchedLeft = isLeftJoin ? new BufferBitSet() : null;
+
+		for (int r = 0; r < rightSize; r++) {
+
+			final int group = build.find(HashGroupBy.hash(rightKeys, r), comparator, r);
+			if (group == EMPTY)
+				continue;
+
+			keepRight.set(r);
+			for (int i = offsets[group]; i < offsets[group + 1]; i++) {
+				final int l = groupedRows.getInt(i);
+				left.add(l);
+				right.add(r);
+				if (matchedLeft != null)
+					matchedLeft.set(l);
+			}
+		}
+
+		if (matchedLeft != null) {
+			for (int l = matchedLeft.nextClearBit(0); l < leftSize; l = matchedLeft.nextClearBit(l + 1))
+				left.add(l);
+		}
+
+		return new JoinIndices(left.build(), right.build(), keepRight, build.groupCount() == leftSize);
+	}
+
+	private static JoinIndices partitioned(AbstractColumn<?, ?, ?>[] leftKeys, int leftSize,
+			AbstractColumn<?, ?, ?>[] rightKeys, int rightSize, boolean isLeftJoin) {
+
+		final int bits = partitionBits(leftSize);
+		final int partitions = 1 << bits;
+
+		final int[] leftRows = new int[leftSize];
+		final int[] leftHashes = new int[leftSize];
+		final int[] leftStarts = partition(leftKeys, leftSize, bits, leftRows, leftHashes);
+
+		final int[] rightRows = new int[rightSize];
+		final int[] rightHashes = new int[rightSize];
+		final int[] rightStarts = partition(rightKeys, rightSize, bits, rightRows, rightHashes);
+
+		final IntBinaryOperator buildComparator = RowSort.comparator(leftKeys, leftKeys);
+		final IntBinaryOperator probeComparator = RowSort.comparator(leftKeys, rightKeys);
+
+		// position in leftRows of the next left row with the same key, or EMPTY
+		final int[] next = new int[leftSize];
+		// position in leftRows of the first left row matching each element of
+		// rightRows, or EMPTY
+		final int[] heads = new int[rightSize];
+		// number of matches for each right row
+		final int[] matches = new int[rightSize];
+		// number of distinct left keys in each partition
+		final int[] groupCounts = new int[partitions];
+		final boolean[] matchedLeft = isLeftJoin ? new boolean[leftSize] : null;
+
+		ParallelSort.forEachChunk(partitions, p -> {
+
+			final int leftFrom = leftStarts[p], leftTo = leftStarts[p + 1];
+
+			// load factor at or below 1/2
+			final int[] table = HashGroupBy.newTable(Integer.highestOneBit(Math.max(leftTo - leftFrom, 1)) << 2);
+			final int[] tails = new int[table.length];
+			final int mask = table.length - 1;
+
+			// build: chain together left rows with the same key, in row order
+			int groups = 0;
+			for (int i = leftFrom; i < leftTo; i++) {
+
+				final int hash = leftHashes[i];
+
+				int slot = hash & mask;
+				int head;
+				while ((head = table[slot]) != EMPTY) {
+					if (leftHashes[head] == hash && buildComparator.applyAsInt(leftRows[head], leftRows[i]) == 0)
+						break;
+					slot = (slot + 1) & mask;
+				}
+
+				if (head == EMPTY) {
+					table[slot] = i;
+					groups++;
+				} else
+					next[tails[slot]] = i;
+
+				tails[slot] = i;
+				next[i] = EMPTY;
+			}
+			groupCounts[p] = groups;
+
+			// probe
+			for (int j = rightStarts[p]; j < rightStarts[p + 1]; j++) {
+
+				final int hash = rightHashes[j];
+				final int r = rightRows[j];
+
+				int head;
+				for (int slot = hash & mask; (head = table[slot]) != EMPTY; slot = (slot + 1) & mask)
+					if (leftHashes[head] == hash && probeComparator.applyAsInt(leftRows[head], r) == 0)
+						break;
+
+				int count = 0;
+				for (int i = head; i != EMPTY; i = next[i]) {
+					count++;
+					if (matchedLeft != null)
+						matchedLeft[leftRows[i]] = true;
+				}
+
+				heads[j] = head;
+				matches[r] = count;
+			}
+		});
+
+		// convert match counts into output offsets
+		final BufferBitSet keepRight = new BufferBitSet();
+		long total = 0;
+		for (int r = 0; r < rightSize; r++) {
+			final int count = matches[r];
+			matches[r] = (int) total;
+			if (count > 0) {
+				keepRight.set(r);
+				total += count;
+			}
+		}
+		checkState(total <= Integer.MAX_VALUE, "join result is too large");
+		final int matchCount = (int) total;
+
+		int unmatched = 0;
+		if (matchedLeft != null)
+			for (boolean matched : matchedLeft)
+				if (!matched)
+					unmatched++;
+
+		final BigByteBuffer leftBuffer = BufferUtils.allocateBig(((long) matchCount + unmatched) * 4);
+		final BigByteBuffer rightBuffer = BufferUtils.allocateBig((long) matchCount * 4);
+		final SmallIntBuffer left = leftBuffer.asIntBuffer();
+		final SmallIntBuffer right = rightBuffer.asIntBuffer();
+
+		ParallelSort.forEachChunk(partitions, p -> {
+			for (int j = rightStarts[p]; j < rightStarts[p + 1]; j++) {
+				final int r = rightRows[j];
+				int position = matches[r];
+				for (int i = heads[j]; i != EMPTY; i = next[i]) {
+					left.put(position, leftRows[i]);
+					right.put(position++, r);
+				}
+			}
+		});
+
+		if (matchedLeft != null) {
+			for (int l = 0, position = matchCount; l < leftSize; l++)
+				if (!matchedLeft[l])
+					left.put(position++, l);
+		}
+
+		int groupCount = 0;
+		for (int groups : groupCounts)
+			groupCount += groups;
+
+		return new JoinIndices(
+				new NonNullIntColumn(leftBuffer, 0, matchCount + unmatched, NONNULL_CHARACTERISTICS, false),
+				new NonNullIntColumn(rightBuffer, 0, matchCount, NONNULL_CHARACTERISTICS, false), keepRight,
+				groupCount == leftSize);
+	}
+
+	/**
+	 * Returns the number of hash bits to partition on: enough for each partition
+	 * to be cache-sized, and for every thread to have several partitions.
+	 */
+	private static int partitionBits(int leftSize) {
+		final int partitions = Math.max(leftSize / PARTITION_SIZE, ForkJoinPool.getCommonPoolParallelism() * 4);
+		return Math.max(1, Math.min(MAX_PARTITION_BITS, 32 - Integer.numberOfLeadingZeros(partitions - 1)));
+	}
+
+	/**
+	 * Stable partition of the rows of the key columns by the high bits of their
+	 * {@link HashGroupBy#hash hashes}. Chunks of rows are hashed and scattered
+	 * concurrently.
+	 *
+	 * @param keys   - the key columns
+	 * @param size   - the number of rows
+	 * @param bits   - the number of hash bits to partition on
+	 * @param rows   - receives the partitioned row indices
+	 * @param hashes - receives the hash of each element of {@code rows}
+	 *
+	 * @return the start of each partition in {@code rows}, followed by
+	 *         {@code size}
+	 */
+	private static int[] partition(AbstractColumn<?, ?, ?>[] keys, int size, int bits, int[] rows, int[] hashes) {
+
+		final int partitions = 1 << bits;
+		final int shift = 32 - bits;
+
+		final int chunks = ParallelSort.chunks(size);
+		final int chunkSize = (size + chunks - 1) / chunks;
+		final int[][] counts = new int[chunks][partitions];
+		final int[] rowHashes = new int[size];
+
+		ParallelSort.forEachChunk(chunks, chunk -> {
+			final int[] count = counts[chunk];
+			for (int i = chunk * chunkSize, end = Math.min(size, i + chunkSize); i < end; i++) {
+				final int hash = HashGroupBy.hash(keys, i);
+				rowHashes[i] = hash;
+				count[hash >>> shift]++;
+			}
+		});
+
+		// partition-major, chunk-minor offsets keep the scatter stable
+		final int[] starts = new int[partitions + 1];
+		for (int p = 0, offset = 0; p < partitions; p++) {
+			starts[p] = offset;
+			for (int chunk = 0; chunk < chunks; chunk++) {
+				final int count = counts[chunk][p];
+				counts[chunk][p] = offset;
+				offset += count;
+			}
+		}
+		starts[partitions] = size;
+
+		ParallelSort.forEachChunk(chunks, chunk -> {
+			final int[] offsets = counts[chunk];
+			for (int i = chunk * chunkSize, end = Math.min(size, i + chunkSize); i < end; i++) {
+				final int hash = rowHashes[i];
+				final int position = offsets[hash >>> shift]++;
+				rows[position] = i;
+				hashes[position] = hash;
+			}
+		});
+
+		return starts;
+	}
+}
@@ -19,6 +19,9 @@ package tech.bitey.dataframe;
 import static java.util.Spliterator.NONNULL;
 import static tech.bitey.bufferstuff.BufferUtils.isSortedAndDistinct;
 
+import java.util.Arrays;
+import java.util.Collection;
+
 import tech.bitey.bufferstuff.BigByteBuffer;
 import tech.bitey.bufferstuff.BufferBitSet;
 import tech.bitey.bufferstuff.BufferSearch;
@@ -44,6 +47,52 @@ abstract class IntArrayColumn<E, I extends Column<E>, C extends IntArrayColumn<E
 		return elements.get(index);
 	}
 
+	@Override
+	int sortKeyBytes() {
+		return 4;
+	}
+
+	@Override
+	long sortKey(int index) {
+		return (at(index + offset) ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+	}
+
+	@Override
+	boolean keyed() {
+		return true;
+	}
+
+	@Override
+	long key(E value) {
+		return packer.pack(value);
+	}
+
+	@Override
+	long keyAt(int index) {
+		return at(index);
+	}
+
+	@Override
+	void scan(long min, long max, int fromIndex, int toIndex, BufferBitSet mask) {
+		if (min <= Integer.MAX_VALUE && max >= Integer.MIN_VALUE)
+			NumericKernels.INSTANCE.range(elements, offset, fromIndex, toIndex, (int) Math.max(min, Integer.MIN_VALUE),
+					(int) Math.min(max, Integer.MAX_VALUE), mask);
+	}
+
+	@Override
+	void inMask0(Collection<E> values, BufferBitSet mask) {
+
+		final int[] packed = new int[values.size()];
+		int i = 0;
+		for (E value : values)
+			packed[i++] = packer.pack(value);
+		Arrays.sort(packed);
+
+		for (i = lastIndex(); i >= offset; i--)
+			if (Arrays.binarySearch(packed, at(i)) >= 0)
+				mask.set(i - offset);
+	}
+
 	@Override
 	E getNoOffset(int index) {
 		return packer.unpack(at(index));
@@ -59,6 +108,10 @@ abstract class IntArrayColumn<E, I extends Column<E>, C extends IntArrayColumn<E
 		final int packed = packer.pack(value);
 
 		if (isSorted()) {
+			final C window = searchWindow(key(value), first);
+			if (window != null)
+				return window.search(value, first);
+
 			int index = search(packed);
 			if (isDistinct() || index < 0)
 				return index;
@@ -83,7 +136,10 @@ abstract class IntArrayColumn<E, I extends Column<E>, C extends IntArrayColumn<E
 
 	@Override
 	void sort() {
-		BufferSort.sort(elements, offset, offset + size);
+		if (ParallelSort.isParallel(size))
+			BufferSort.parallelSort(elements, offset, offset + size);
+		else
+			BufferSort.sort(elements, offset, offset + size);
 	}
 
 	@Override
@@ -20,6 +20,8 @@ import static java.util.Spliterator.NONNULL;
 
 import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
 import java.util.function.IntPredicate;
 import java.util.function.IntUnaryOperator;
 import java.util.function.Predicate;
@@ -170,6 +172,47 @@ public interface IntColumn extends Column<Integer> {
 	 */
 	IntStream intStream();
 
+	/**
+	 * Returns the sum of the non-null elements in this column, or zero if there
+	 * are none. Elements are summed as longs, so the sum does not overflow.
+	 * 
+	 * @return the sum of the non-null elements
+	 */
+	long sum();
+
+	/**
+	 * Returns the arithmetic mean of the non-null elements in this column.
+	 * 
+	 * @return the mean of the non-null elements, or an empty optional if there are
+	 *         none
+	 */
+	OptionalDouble mean();
+
+	/**
+	 * Returns the smallest non-null element in this column. Takes constant
+	 * time if this column is {@link #isSorted() sorted}.
+	 * 
+	 * @return the smallest non-null element, or an empty optional if there are none
+	 */
+	OptionalInt min();
+
+	/**
+	 * Returns the largest non-null element in this column. Takes constant
+	 * time if this column is {@link #isSorted() sorted}.
+	 * 
+	 * @return the largest non-null element, or an empty optional if there are none
+	 */
+	OptionalInt max();
+
+	/**
+	 * Returns the sample variance of the non-null elements in this column: the sum
+	 * of their squared deviations from the mean, divided by {@code n - 1}.
+	 * 
+	 * @return the sample variance of the non-null elements, or an empty optional if
+	 *         there are fewer than two
+	 */
+	OptionalDouble variance();
+
 	/**
 	 * Returns an {@link IntColumnBuilder builder} with the specified
 	 * characteristic.
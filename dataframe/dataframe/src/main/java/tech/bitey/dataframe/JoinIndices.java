@@ -0,0 +1,37 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import tech.bitey.bufferstuff.BufferBitSet;
+
+/**
+ * Row indices produced by an equi-join of two sets of key columns. Matches are
+ * ordered by right row, and then by left row.
+ * 
+ * @param leftIndices  - left row of each match, followed by unmatched left rows
+ *                     for a left or full join
+ * @param rightIndices - right row of each match
+ * @param keepRight    - right rows with at least one match
+ * @param rightUnique  - true if each right row has at most one match, in which
+ *                     case the {@code rightIndices} are the set bits of
+ *                     {@code keepRight}
+ * 
+ * @see HashJoin
+ * @see MergeJoin
+ */
+record JoinIndices(IntColumn leftIndices, IntColumn rightIndices, BufferBitSet keepRight, boolean rightUnique) {
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.bitey.dataframe;
+
+import static tech.bitey.dataframe.Pr.checkState;
+
+import java.util.Arrays;
+
+/**
+ * Compression and decompression of the
+ * <a href="https://github.com/lz4/lz4/blob/dev/doc/lz4_Block_format.md">LZ4
+ * block format</a>. A block is a sequence of tokens, each of which is made up
+ * of a run of literal bytes followed by a match: a copy of earlier output,
+ * given as a two byte offset and a length. The last token has literals only.
+ * <p>
+ * Matches are found with a single hash table of four byte sequences, as in the
+ * reference implementation's fast mode.
+ */
+enum LZ4Block {
+	;
+
+	private static final int MIN_MATCH = 4;
+	private static final int MAX_OFFSET = 0xFFFF;
+
+	// the last match must start at least 12 bytes before the end of the block,
+	// and the last 5 bytes are always literals
+	private static final int MF_LIMIT = 12;
+	private static final int LAST_LITERALS = 5;
+
+	private static final int HASH_BITS = 16;
+
+	/**
+	 * Returns the largest possible compressed size of {@code length} bytes.
+	 */
+	static int maxCompressedLength(int length) {
+		return length + length / 255 + 16;
+	}
+
+	/**
+	 * Compresses {@code src[0, length)} into {@code dest}, which must be at least
+	 * {@link #maxCompressedLength(int) maxCompressedLength(length)} bytes long.
+	 * Returns the compressed length.
+	 */
+	static int compress(byte[] src, int length, byte[] dest) {
+
+		int in = 0, anchor = 0, out = 0;
+
+		if (length >= MF_LIMIT + 1) {
+
+			final int[] table = new int[1 << HASH_BITS];
+			Arrays.fill(table, -1);
+
+			final int matchLimit = length - MF_LIMIT;
+			final int literalLimit = length - LAST_LITERALS;
+
+			while (in < matchLimit) {
+
+				final int sequence = readInt(src, in);
+				final int h = sequence * -1640531535 >>> 32 - HASH_BITS;
+				int ref = table[h];
+				table[h] = in;
+
+				if (ref < 0 || in - ref > MAX_OFFSET || readInt(src, ref) != sequence) {
+					in++;
+					continue;
+				}
+
+				// extend the match backwards over pending literals, then forwards
+				while (in > anchor && ref > 0 && src[in - 1] == src[ref - 1]) {
+					in--;
+					ref--;
+				}
+
+				int matchLength = MIN_MATCH;
+				while (in + matchLength < literalLimit && src[ref + matchLength] == src[in + matchLength])
+					matchLength++;
+
+				out = writeSequence(src, anchor, in - anchor, dest, out, in - ref, matchLength - MIN_MATCH);
+
+				in += matchLength;
+				anchor = in;
+			}
+		}
+
+		return writeSequence(src, anchor, length - anchor, dest, out, 0, -1);
+	}
+
+	/**
+	 * Decompresses {@code src[0, length)} into {@code dest[0, destLength)}, where
+	 * {@code destLength} is exactly the size of the decompressed data.
+	 *
+	 * @throws IllegalStateException if the compressed data is corrupt
+	 */
+	static void decompress(byte[] src, int length, byte[] dest, int destLength) {
+
+		int in = 0, out = 0;
+
+		while (in < length) {
+
+			final int token = src[in++] & 0xFF;
+
+			int literalLength = token >>> 4;
+			if (literalLength == 15) {
+				int b;
+				do {
+					checkState(in < length, "corrupt LZ4 block");
+					literalLength += b = src[in++] & 0xFF;
+				} while (b == 255);
+			}
+
+			checkState(literalLength <= length - in && literalLength <= destLength - out, "corrupt LZ4 block");
+			System.arraycopy(src, in, dest, out, literalLength);
+			in += literalLength;
+			out += literalLength;
+
+			// the last token has no match
+			if (in == length)
+				break;
+
+			checkState(in + 2 <= length, "corrupt LZ4 block");
+			final int offset = src[in] & 0xFF | (src[in + 1] & 0xFF) << 8;
+			in += 2;
+
+			int matchLength = token & 0xF;
+			if (matchLength == 15) {
+				int b;
+				do {
+					checkState(in < length, "corrupt LZ4 block");
+					matchLength += b = src[in++] & 0xFF;
+				} while (b == 255);
+			}
+			matchLength += MIN_MATCH;
+
+			checkState(offset > 0 && offset <= out && matchLength <= destLength - out, "corrupt LZ4 block");
+
+			// matches may overlap their own output, so copy forwards
+			if (offset >= matchLength)
+				System.arraycopy(dest, out - offset, dest, out, matchLength);
+			else
+				for (int i = 0; i < matchLength; i++)
+					dest[out + i] = dest[out - offset + i];
+			out += matchLength;
+		}
+
+		checkState(out == destLength, "corrupt LZ4 block");
+	}
+
+	/**
+	 * Writes a token, or the last token if {@code matchLength} is negative.
+	 * {@code matchLength} excludes the minimum match length.
+	 */
+	private static int writeSequence(byte[] src, int literalOffset, int literalLength, byte[] dest, int out,
+			int offset, int matchLength) {
+
+		final int tokenIndex = out++;
+		int token = Math.min(literalLength, 15) << 4;
+
+		if (literalLength >= 15)
+			out = writeLength(dest, out, literalLength - 15);
+
+		System.arraycopy(src, literalOffset, dest, out, literalLength);
+		out += literalLength;
+
+		if (matchLength >= 0) {
+			dest[out++] = (byte) offset;
+			dest[out++] = (byte) (offset >>> 8);
+
+			token |= Math.min(matchLength, 15);
+			if (matchLength >= 15)
+				out = writeLength(dest, out, matchLength - 15);
+		}
+
+		dest[tokenIndex] = (byte) token;
+		return out;
+	}
+
+	private static int writeLength(byte[] dest, int out, int length) {
+		for (; length >= 255; length -= 255)
+			dest[out++] = (byte) 255;
+		dest[out++] = (byte) length;
+		return out;
+	}
+
+	private static int readInt(byte[] b, int index) {
+		return b[index] & 0xFF | (b[index + 1] & 0xFF) << 8 | (b[index + 2] & 0xFF) << 16 | b[index + 3] << 24;
+	}
+}
@@ -19,6 +19,9 @@ package tech.bitey.dataframe;
 import static java.util.Spliterator.NONNULL;
 import static tech.bitey.bufferstuff.BufferUtils.isSortedAndDistinct;
 
+import java.util.Arrays;
+import java.util.Collection;
+
 import tech.bitey.bufferstuff.BigByteBuffer;
 import tech.bitey.bufferstuff.BufferBitSet;
 import tech.bitey.bufferstuff.BufferSearch;
@@ -44,6 +47,50 @@ abstract class LongArrayColumn<E, I extends Column<E>, C extends LongArrayColumn
 		return elements.get(index);
 	}
 
+	@Override
+	int sortKeyBytes() {
+		return 8;
+	}
+
+	@Override
+	long sortKey(int index) {
+		return at(index + offset) ^ Long.MIN_VALUE;
+	}
+
+	@Override
+	boolean keyed() {
+		return true;
+	}
+
+	@Override
+	long key(E value) {
+		return packer.pack(value);
+	}
+
+	@Override
+	long keyAt(int index) {
+		return at(index);
+	}
+
+	@Override
+	void scan(long min, long max, int fromIndex, int toIndex, BufferBitSet mask) {
+		NumericKernels.INSTANCE.range(elements, offset, fromIndex, toIndex, min, max, mask);
+	}
+
+	@Override
+	void inMask0(Collection<E> values, BufferBitSet mask) {
+
+		final long[] packed = new long[values.size()];
+		int i = 0;
+		for (E value : values)
+			packed[i++] = packer.pack(value);
+		Arrays.sort(packed);
+
+		for (i = lastIndex(); i >= offset; i--)
+			if (Arrays.binarySearch(packed, at(i)) >= 0)
+				mask.set(i - offset);
+	}
+
 	@Override
 	E getNoOffset(int index) {
 		return packer.unpack(at(index));
@@ -59,6 +106,10 @@ abstract class LongArrayColumn<E, I extends Column<E>, C extends LongArrayColumn
 		final long packed = packer.pack(value);
 
 		if (isSorted()) {
+			final C window = searchWindow(key(value), first);
+			if (window != null)
+				return window.search(value, first);
+
 			int index = search(packed);
 			if (isDistinct() || index < 0)
 				return index;
@@ -83,7 +134,10 @@ abstract class LongArrayColumn<E, I extends Column<E>, C extends LongArrayColumn
 
 	@Override
 	void sort() {
-		BufferSort.sort(elements, offset, offset + size);
+		if (ParallelSort.isParallel(size))
+			BufferSort.parallelSort(elements, offset, offset + size);
+		else
+			BufferSort.sort(elements, offset, offset + size);
 	}
 
 	@Override
@@ -20,6 +20,8 @@ import static java.util.Spliterator.NONNULL;
 
 import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
 import java.util.function.LongPredicate;
 import java.util.function.LongUnaryOperator;
 import java.util.function.Predicate;
@@ -171,6 +173,48 @@ public interface LongColumn extends Column<Long> {
 	 */
 	LongStream longStream();
 
+	/**
+	 * Returns the sum of the non-null elements in this column, or zero if there
+	 * are none. Overflow wraps around, as with {@link LongStream#sum()}.
+	 * 
+	 * @return the sum of the non-null elements
+	 */
+	long sum();
+
+	/**
+	 * Returns the arithmetic mean of the non-null elements in this column.
+	 * Elements are summed as doubles, so the mean is not affected by overflow.
+	 * 
+	 * @return the mean of the non-null elements, or an empty optional if there are
+	 *         none
+	 */
+	OptionalDouble mean();
+
+	/**
+	 * Returns the smallest non-null element in this column. Takes constant
+	 * time if this column is {@link #isSorted() sorted}.
+	 * 
+	 * @return the smallest non-null element, or an empty optional if there are none
+	 */
+	OptionalLong min();
+
+	/**
+	 * Returns the largest non-null element in this column. Takes constant
+	 * time if this column is {@link #isSorted() sorted}.
+	 * 
+	 * @return the largest non-null element, or an empty optional if there are none
+	 */
+	OptionalLong max();
+
+	/**
+	 * Returns the sample variance of the non-null elements in this column: the sum
+	 * of their squared deviations from the mean, divided by {@code n - 1}.
+	 * 
+	 * @return the sample variance of the non-null elements, or an empty optional if
+	 *         there are fewer than two
+	 */
+	OptionalDouble variance();
+
 	/**
 	 * Returns a {@link LongColumnBuilder builder} with the specified
 	 * characteristic.
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * Maps the columns of a file created via {@link DataFrame#writeTo(File)} one at
+ * a time, from their positions in the {@link ChannelDataFrameFooter footer}.
+ * Backs the dataframes returned by {@link DataFrameFactory#lazyMapFrom(File)}.
+ */
+final class MappedColumnLoader {
+
+	private final File file;
+	private final MapMode mode;
+	private final FileMapper mapper;
+	private final int version;
+
+	private final ColumnType<?>[] columnTypes;
+	private final int[] characteristics;
+	private final long[] positions;
+
+	MappedColumnLoader(File file, MapMode mode, int version, ColumnType<?>[] columnTypes, int[] characteristics,
+			long[] positions) {
+
+		this.file = file;
+		this.mode = mode;
+		this.mapper = new FileMapper(mode);
+		this.version = version;
+		this.columnTypes = columnTypes;
+		this.characteristics = characteristics;
+		this.positions = positions;
+	}
+
+	Column<?> load(int columnIndex) {
+		try (FileChannel channel = DataFrameFactory.openForMapping(file, mode);) {
+			channel.position(positions[columnIndex]);
+			return columnTypes[columnIndex].readFrom(channel, characteristics[columnIndex], version, mapper);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
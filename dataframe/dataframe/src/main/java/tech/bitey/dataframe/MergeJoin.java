@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import java.util.function.IntBinaryOperator;
+
+import tech.bitey.bufferstuff.BufferBitSet;
+
+/**
+ * Equi-join of two sets of key columns which are both sorted, in which case the
+ * matching rows can be found with a single merge pass and no hash table. Keys
+ * are compared directly against the column buffers, and nulls are equal to
+ * each other.
+ * <p>
+ * Because the right rows are in key order, the result is in the same order as
+ * a {@link HashJoin}, as described by {@link JoinIndices}.
+ */
+enum MergeJoin {
+	;
+
+	/**
+	 * Returns true if the rows of the specified key columns are sorted, in the
+	 * order of {@link RowSort#comparator(AbstractColumn[], AbstractColumn[])}.
+	 * <p>
+	 * The first key column must be {@link Column#isSorted() sorted}. Any
+	 * remaining key columns are then checked with a linear scan.
+	 */
+	static boolean isSorted(AbstractColumn<?, ?, ?>[] keys, int size) {
+
+		if (!keys[0].isSorted())
+			return false;
+		else if (keys.length == 1)
+			return true;
+
+		final IntBinaryOperator comparator = RowSort.comparator(keys, keys);
+		for (int i = 1; i < size; i++)
+			if (comparator.applyAsInt(i - 1, i) > 0)
+				return false;
+
+		return true;
+	}
+
+	/**
+	 * Joins two sets of key columns, which must both be {@link #isSorted sorted}.
+	 */
+	static JoinIndices join(AbstractColumn<?, ?, ?>[] leftKeys, int leftSize, AbstractColumn<?, ?, ?>[] rightKeys,
+			int rightSize, boolean isLeftJoin) {
+
+		final IntBinaryOperator leftComparator = RowSort.comparator(leftKeys, leftKeys);
+		final IntBinaryOperator rightComparator = RowSort.comparator(rightKeys, rightKeys);
+		final IntBinaryOperator comparator = RowSort.comparator(leftKeys, rightKeys);
+
+		final IntColumnBuilder left = IntColumn.builder();
+		final IntColumnBuilder right = IntColumn.builder();
+		final BufferBitSet keepRight = new BufferBitSet();
+		final BufferBitSet matchedLeft = isLeftJoin ? new BufferBitSet() : null;
+		boolean rightUnique = true;
+
+		for (int l = 0, r = 0; l < leftSize && r < rightSize;) {
+
+			final int cmp = comparator.applyAsInt(l, r);
+			if (cmp < 0)
+				l++;
+			else if (cmp > 0)
+				r++;
+			else {
+				// find the runs of equal keys on each side
+				int leftEnd = l + 1;
+				while (leftEnd < leftSize && leftComparator.applyAsInt(l, leftEnd) == 0)
+					leftEnd++;
+
+				int rightEnd = r + 1;
+				while (rightEnd < rightSize && rightComparator.applyAsInt(r, rightEnd) == 0)
+					rightEnd++;
+
+				for (int j = r; j < rightEnd; j++) {
+					for (int i = l; i < leftEnd; i++) {
+						left.add(i);
+						right.add(j);
+					}
+				}
+
+				keepRight.set(r, rightEnd);
+				if (matchedLeft != null)
+					matchedLeft.set(l, leftEnd);
+				if (leftEnd - l > 1)
+					rightUnique = false;
+
+				l = leftEnd;
+				r = rightEnd;
+			}
+		}
+
+		if (matchedLeft != null) {
+			for (int l = matchedLeft.nextClearBit(0); l < leftSize; l = matchedLeft.nextClearBit(l + 1))
+				left.add(l);
+		}
+
+		return new JoinIndices(left.build(), right.build(), keepRight, rightUnique);
+	}
+}
@@ -156,7 +156,17 @@ final class NonNullBooleanColumn extends NonNullColumn<Boolean, BooleanColumn, N
 
 	@Override
 	int compareValuesAt(NonNullBooleanColumn rhs, int l, int r) {
-		throw new UnsupportedOperationException("compareValuesAt");
+		return Boolean.compare(elements.get(l + offset), rhs.elements.get(r + rhs.offset));
+	}
+
+	@Override
+	int sortKeyBytes() {
+		return 1;
+	}
+
+	@Override
+	long sortKey(int index) {
+		return elements.get(index + offset) ? 1 : 0;
 	}
 
 	@Override
@@ -195,13 +205,13 @@ final class NonNullBooleanColumn extends NonNullColumn<Boolean, BooleanColumn, N
 	}
 
 	@Override
-	void writeTo(WritableByteChannel channel) throws IOException {
+	void writeTo(WritableByteChannel channel, ColumnEncoding encoding) throws IOException {
 		writeInt(channel, BIG_ENDIAN, size);
-		elements.writeTo(channel, offset, offset + size);
+		writeBitSet(channel, elements, offset, offset + size);
 	}
 
 	@Override
-	NonNullBooleanColumn readFrom(ReadableByteChannel channel, int version, boolean map) throws IOException {
+	NonNullBooleanColumn readFrom(ReadableByteChannel channel, int version, FileMapper map) throws IOException {
 		int size = readInt(channel, BIG_ENDIAN);
 		BufferBitSet elements = readBitSet(channel, map);
 
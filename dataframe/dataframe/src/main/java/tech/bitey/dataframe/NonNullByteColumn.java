@@ -23,6 +23,8 @@ import static tech.bitey.bufferstuff.BufferUtils.EMPTY_BIG_BUFFER;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
 
 import tech.bitey.bufferstuff.BigByteBuffer;
 import tech.bitey.bufferstuff.BufferBitSet;
@@ -132,4 +134,55 @@ final class NonNullByteColumn extends ByteArrayColumn<Byte, ByteColumn, NonNullB
 
 		return new NonNullByteColumn(bb, 0, size, NONNULL_CHARACTERISTICS, false);
 	}
+
+	@Override
+	public long sum() {
+		long sum = 0;
+		for (int i = offset; i <= lastIndex(); i++)
+			sum += at(i);
+		return sum;
+	}
+
+	@Override
+	public OptionalDouble mean() {
+		return size == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) sum() / size);
+	}
+
+	@Override
+	public OptionalInt min() {
+		if (size == 0)
+			return OptionalInt.empty();
+		else if (isSorted())
+			return OptionalInt.of(at(offset));
+		else if (zoneMap != null)
+			return OptionalInt.of((int) zoneMap.min(this));
+
+		int min = at(offset);
+		for (int i = offset + 1; i <= lastIndex(); i++)
+			min = Math.min(min, at(i));
+		return OptionalInt.of(min);
+	}
+
+	@Override
+	public OptionalInt max() {
+		if (size == 0)
+			return OptionalInt.empty();
+		else if (isSorted())
+			return OptionalInt.of(at(lastIndex()));
+		else if (zoneMap != null)
+			return OptionalInt.of((int) zoneMap.max(this));
+
+		int max = at(offset);
+		for (int i = offset + 1; i <= lastIndex(); i++)
+			max = Math.max(max, at(i));
+		return OptionalInt.of(max);
+	}
+
+	@Override
+	public OptionalDouble variance() {
+		if (size < 2)
+			return OptionalDouble.empty();
+
+		return OptionalDouble.of(NumericKernels.variance(this::at, offset, offset + size));
+	}
 }
@@ -27,13 +27,16 @@ import java.math.BigDecimal;
 import java.nio.channels.ReadableByteChannel;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.ListIterator;
 import java.util.NavigableSet;
 import java.util.NoSuchElementException;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
 import java.util.function.Predicate;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
@@ -80,7 +83,7 @@ abstract class NonNullColumn<E, I extends Column<E>, C extends NonNullColumn<E,
 
 	abstract C slice();
 
-	abstract C readFrom(ReadableByteChannel channel, int version, boolean map) throws IOException;
+	abstract C readFrom(ReadableByteChannel channel, int version, FileMapper map) throws IOException;
 
 	@Override
 	public C toHeap() {
@@ -158,6 +161,33 @@ abstract class NonNullColumn<E, I extends Column<E>, C extends NonNullColumn<E,
 
 	abstract int compareValuesAt(C rhs, int l, int r);
 
+	@Override
+	int hashAt(int index) {
+		index += offset;
+		return hashCode(index, index);
+	}
+
+	/**
+	 * Returns a comparator between indices into this column and indices into the
+	 * specified column (offsets not applied).
+	 * 
+	 * @param rhs - the column to compare against
+	 * 
+	 * @return a comparator between indices into this column and {@code rhs}
+	 */
+	IntBinaryOperator indexComparator(C rhs) {
+		return (l, r) -> compareValuesAt(rhs, l, r);
+	}
+
+	@Override
+	IntBinaryOperator indexComparator(boolean descending, boolean nullsFirst) {
+		final IntBinaryOperator comparator = indexComparator((C) this);
+		if (descending)
+			return (l, r) -> comparator.applyAsInt(r, l);
+		else
+			return comparator;
+	}
+
 	@Override
 	int intersectBothSorted(C rhs, BufferBitSet keepLeft, BufferBitSet keepRight) {
 
@@ -684,4 +714,91 @@ abstract class NonNullColumn<E, I extends Column<E>, C extends NonNullColumn<E,
 
 		return cardinality;
 	}
+
+	@Override
+	public BufferBitSet isNull() {
+		return new BufferBitSet();
+	}
+
+	@Override
+	BufferBitSet rangeMask(E from, boolean fromInclusive, E to, boolean toInclusive) {
+
+		final BufferBitSet mask = new BufferBitSet();
+
+		if (isSorted()) {
+			// matching elements are contiguous
+			final int fromIndex = from == null ? offset : bound(from, fromInclusive);
+			final int toIndex = to == null ? offset + size : bound(to, !toInclusive);
+			if (fromIndex < toIndex)
+				mask.set(fromIndex - offset, toIndex - offset);
+		} else
+			rangeMask0(from, fromInclusive, to, toInclusive, mask);
+
+		return mask;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the specified value if
+	 * {@code first} is true, or one past its last occurrence otherwise. Returns
+	 * the insertion point if the value is not present. Column must be sorted.
+	 */
+	private int bound(E value, boolean first) {
+		final int index = search(value, first);
+		if (index < 0)
+			return -(index + 1);
+		else
+			return first ? index : index + 1;
+	}
+
+	/**
+	 * Sets the bits of the mask for elements within the specified range. Subclasses
+	 * override this to compare against their buffers without boxing.
+	 */
+	void rangeMask0(E from, boolean fromInclusive, E to, boolean toInclusive, BufferBitSet mask) {
+
+		final ColumnType<E> type = getType();
+
+		for (int i = lastIndex(); i >= offset; i--) {
+			final E e = getNoOffset(i);
+
+			if (from != null) {
+				final int cmp = type.compare(e, from);
+				if (cmp < 0 || cmp == 0 && !fromInclusive)
+					continue;
+			}
+
+			if (to != null) {
+				final int cmp = type.compare(e, to);
+				if (cmp > 0 || cmp == 0 && !toInclusive)
+					continue;
+			}
+
+			mask.set(i - offset);
+		}
+	}
+
+	@Override
+	BufferBitSet inMask(Collection<E> values) {
+
+		final BufferBitSet mask = new BufferBitSet();
+		if (!values.isEmpty())
+			inMask0(values, mask);
+
+		return mask;
+	}
+
+	/**
+	 * Sets the bits of the mask for elements equal to any of the specified values.
+	 * Subclasses override this to compare against their buffers without boxing.
+	 */
+	void inMask0(Collection<E> values, BufferBitSet mask) {
+
+		final ColumnType<E> type = getType();
+		final NavigableSet<E> set = new TreeSet<>(type::compare);
+		set.addAll(values);
+
+		for (int i = lastIndex(); i >= offset; i--)
+			if (set.contains(getNoOffset(i)))
+				mask.set(i - offset);
+	}
 }
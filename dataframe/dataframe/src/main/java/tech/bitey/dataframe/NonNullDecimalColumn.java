@@ -21,8 +21,10 @@ import static java.util.Spliterator.SORTED;
 import static tech.bitey.bufferstuff.BufferUtils.EMPTY_BIG_BUFFER;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import tech.bitey.bufferstuff.BigByteBuffer;
 
@@ -68,4 +70,68 @@ final class NonNullDecimalColumn extends NonNullVarLenColumn<BigDecimal, Decimal
 	boolean checkType(Object o) {
 		return o instanceof BigDecimal;
 	}
+
+	@Override
+	int hashAt(int index) {
+		// consistent with compareTo, which ignores scale
+		return getNoOffset(index + offset).stripTrailingZeros().hashCode();
+	}
+
+	@Override
+	public BigDecimal sum() {
+		BigDecimal sum = BigDecimal.ZERO;
+		for (int i = offset; i <= lastIndex(); i++)
+			sum = sum.add(getNoOffset(i));
+		return sum;
+	}
+
+	@Override
+	public Optional<BigDecimal> mean(MathContext mc) {
+		return size == 0 ? Optional.empty() : Optional.of(sum().divide(BigDecimal.valueOf(size), mc));
+	}
+
+	@Override
+	public Optional<BigDecimal> min() {
+		if (size == 0)
+			return Optional.empty();
+		else if (isSorted())
+			return Optional.of(getNoOffset(offset));
+
+		BigDecimal min = getNoOffset(offset);
+		for (int i = offset + 1; i <= lastIndex(); i++)
+			min = min.min(getNoOffset(i));
+		return Optional.of(min);
+	}
+
+	@Override
+	public Optional<BigDecimal> max() {
+		if (size == 0)
+			return Optional.empty();
+		else if (isSorted())
+			return Optional.of(getNoOffset(lastIndex()));
+
+		BigDecimal max = getNoOffset(offset);
+		for (int i = offset + 1; i <= lastIndex(); i++)
+			max = max.max(getNoOffset(i));
+		return Optional.of(max);
+	}
+
+	@Override
+	public Optional<BigDecimal> variance(MathContext mc) {
+		if (size < 2)
+			return Optional.empty();
+
+		// (n * sum(x^2) - sum(x)^2) / (n * (n - 1)), which is exact until the
+		// final division
+		BigDecimal sum = BigDecimal.ZERO, sumOfSquares = BigDecimal.ZERO;
+		for (int i = offset; i <= lastIndex(); i++) {
+			final BigDecimal value = getNoOffset(i);
+			sum = sum.add(value);
+			sumOfSquares = sumOfSquares.add(value.multiply(value));
+		}
+
+		final BigDecimal n = BigDecimal.valueOf(size);
+		return Optional.of(sumOfSquares.multiply(n).subtract(sum.multiply(sum))
+				.divide(n.multiply(BigDecimal.valueOf(size - 1)), mc));
+	}
 }
@@ -21,10 +21,15 @@ import static java.util.Spliterator.NONNULL;
 import static java.util.Spliterator.SORTED;
 import static tech.bitey.bufferstuff.BufferUtils.EMPTY_BIG_BUFFER;
 import static tech.bitey.bufferstuff.BufferUtils.isSortedAndDistinct;
+import static tech.bitey.dataframe.NumericKernels.fromOrdered;
+import static tech.bitey.dataframe.NumericKernels.ordered;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.OptionalDouble;
 import java.util.function.DoublePredicate;
 import java.util.function.DoubleUnaryOperator;
 import java.util.stream.DoubleStream;
@@ -69,6 +74,53 @@ final class NonNullDoubleColumn extends NonNullSingleBufferColumn<Double, Double
 		return elements.get(index);
 	}
 
+	@Override
+	int sortKeyBytes() {
+		return 8;
+	}
+
+	@Override
+	long sortKey(int index) {
+		// same order as Double.compare: flip all bits of negatives, only the sign bit
+		// of positives
+		final long bits = Double.doubleToLongBits(at(index + offset));
+		return bits ^ (bits >> 63 | Long.MIN_VALUE);
+	}
+
+	@Override
+	boolean keyed() {
+		return true;
+	}
+
+	@Override
+	long key(Double value) {
+		return ordered(value);
+	}
+
+	@Override
+	long keyAt(int index) {
+		return ordered(at(index));
+	}
+
+	@Override
+	void scan(long min, long max, int fromIndex, int toIndex, BufferBitSet mask) {
+		NumericKernels.INSTANCE.range(elements, offset, fromIndex, toIndex, min, max, mask);
+	}
+
+	@Override
+	void inMask0(Collection<Double> values, BufferBitSet mask) {
+
+		final long[] sorted = new long[values.size()];
+		int i = 0;
+		for (double value : values)
+			sorted[i++] = ordered(value);
+		Arrays.sort(sorted);
+
+		for (i = lastIndex(); i >= offset; i--)
+			if (Arrays.binarySearch(sorted, ordered(at(i))) >= 0)
+				mask.set(i - offset);
+	}
+
 	@Override
 	Double getNoOffset(int index) {
 		return at(index);
@@ -81,6 +133,10 @@ final class NonNullDoubleColumn extends NonNullSingleBufferColumn<Double, Double
 	@Override
 	int search(Double value, boolean first) {
 		if (isSorted()) {
+			final NonNullDoubleColumn window = searchWindow(key(value), first);
+			if (window != null)
+				return window.search(value, first);
+
 			int index = search(value);
 			if (isDistinct() || index < 0)
 				return index;
@@ -107,7 +163,10 @@ final class NonNullDoubleColumn extends NonNullSingleBufferColumn<Double, Double
 
 	@Override
 	void sort() {
-		BufferSort.sort(elements, offset, offset + size);
+		if (ParallelSort.isParallel(size))
+			BufferSort.parallelSort(elements, offset, offset + size);
+		else
+			BufferSort.sort(elements, offset, offset + size);
 	}
 
 	@Override
@@ -270,4 +329,44 @@ final class NonNullDoubleColumn extends NonNullSingleBufferColumn<Double, Double
 
 		return new NonNullDoubleColumn(bb, 0, size, NONNULL_CHARACTERISTICS, false);
 	}
+
+	@Override
+	public double sum() {
+		return NumericKernels.INSTANCE.sum(elements, offset, offset + size);
+	}
+
+	@Override
+	public OptionalDouble mean() {
+		return size == 0 ? OptionalDouble.empty() : OptionalDouble.of(sum() / size);
+	}
+
+	@Override
+	public OptionalDouble min() {
+		if (size == 0)
+			return OptionalDouble.empty();
+		else if (isSorted())
+			return OptionalDouble.of(at(offset));
+		else if (zoneMap != null)
+			return OptionalDouble.of(fromOrdered(zoneMap.min(this)));
+		else
+			return OptionalDouble.of(NumericKernels.INSTANCE.min(elements, offset, offset + size));
+	}
+
+	@Override
+	public OptionalDouble max() {
+		if (size == 0)
+			return OptionalDouble.empty();
+		else if (isSorted())
+			return OptionalDouble.of(at(lastIndex()));
+		else if (zoneMap != null)
+			return OptionalDouble.of(fromOrdered(zoneMap.max(this)));
+		else
+			return OptionalDouble.of(NumericKernels.INSTANCE.max(elements, offset, offset + size));
+	}
+
+	@Override
+	public OptionalDouble variance() {
+		return size < 2 ? OptionalDouble.empty()
+				: OptionalDouble.of(NumericKernels.INSTANCE.variance(elements, offset, offset + size));
+	}
 }
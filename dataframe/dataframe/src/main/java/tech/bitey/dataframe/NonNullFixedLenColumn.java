@@ -18,6 +18,8 @@ package tech.bitey.dataframe;
 
 import static java.util.Spliterator.NONNULL;
 
+import java.util.function.IntBinaryOperator;
+
 import tech.bitey.bufferstuff.BigByteBuffer;
 import tech.bitey.bufferstuff.BufferBitSet;
 
@@ -33,6 +35,12 @@ abstract class NonNullFixedLenColumn<E, I extends Column<E>, C extends NonNullFi
 		return compareValuesAt((C) this, l, r);
 	}
 
+	@Override
+	IntBinaryOperator indexComparator(C rhs) {
+		// compareValuesAt expects the offset to already be applied
+		return (l, r) -> compareValuesAt(rhs, l + offset, r + rhs.offset);
+	}
+
 	int search(E value) {
 		return AbstractColumnSearch.binarySearch(this, offset, offset + size, value);
 	}
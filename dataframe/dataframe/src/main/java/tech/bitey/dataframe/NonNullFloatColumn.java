@@ -21,10 +21,15 @@ import static java.util.Spliterator.NONNULL;
 import static java.util.Spliterator.SORTED;
 import static tech.bitey.bufferstuff.BufferUtils.EMPTY_BIG_BUFFER;
 import static tech.bitey.bufferstuff.BufferUtils.isSortedAndDistinct;
+import static tech.bitey.dataframe.NumericKernels.fromOrdered;
+import static tech.bitey.dataframe.NumericKernels.ordered;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.OptionalDouble;
 
 import tech.bitey.bufferstuff.BigByteBuffer;
 import tech.bitey.bufferstuff.BufferBitSet;
@@ -66,6 +71,55 @@ final class NonNullFloatColumn extends NonNullSingleBufferColumn<Float, FloatCol
 		return elements.get(index);
 	}
 
+	@Override
+	int sortKeyBytes() {
+		return 4;
+	}
+
+	@Override
+	long sortKey(int index) {
+		// same order as Float.compare: flip all bits of negatives, only the sign bit
+		// of positives
+		final int bits = Float.floatToIntBits(at(index + offset));
+		return (bits ^ (bits >> 31 | Integer.MIN_VALUE)) & 0xFFFFFFFFL;
+	}
+
+	@Override
+	boolean keyed() {
+		return true;
+	}
+
+	@Override
+	long key(Float value) {
+		return ordered(value);
+	}
+
+	@Override
+	long keyAt(int index) {
+		return ordered(at(index));
+	}
+
+	@Override
+	void scan(long min, long max, int fromIndex, int toIndex, BufferBitSet mask) {
+		if (min <= Integer.MAX_VALUE && max >= Integer.MIN_VALUE)
+			NumericKernels.INSTANCE.range(elements, offset, fromIndex, toIndex, (int) Math.max(min, Integer.MIN_VALUE),
+					(int) Math.min(max, Integer.MAX_VALUE), mask);
+	}
+
+	@Override
+	void inMask0(Collection<Float> values, BufferBitSet mask) {
+
+		final int[] sorted = new int[values.size()];
+		int i = 0;
+		for (float value : values)
+			sorted[i++] = ordered(value);
+		Arrays.sort(sorted);
+
+		for (i = lastIndex(); i >= offset; i--)
+			if (Arrays.binarySearch(sorted, ordered(at(i))) >= 0)
+				mask.set(i - offset);
+	}
+
 	@Override
 	Float getNoOffset(int index) {
 		return at(index);
@@ -78,6 +132,10 @@ final class NonNullFloatColumn extends NonNullSingleBufferColumn<Float, FloatCol
 	@Override
 	int search(Float value, boolean first) {
 		if (isSorted()) {
+			final NonNullFloatColumn window = searchWindow(key(value), first);
+			if (window != null)
+				return window.search(value, first);
+
 			int index = search(value);
 			if (isDistinct() || index < 0)
 				return index;
@@ -104,7 +162,10 @@ final class NonNullFloatColumn extends NonNullSingleBufferColumn<Float, FloatCol
 
 	@Override
 	void sort() {
-		BufferSort.sort(elements, offset, offset + size);
+		if (ParallelSort.isParallel(size))
+			BufferSort.parallelSort(elements, offset, offset + size);
+		else
+			BufferSort.sort(elements, offset, offset + size);
 	}
 
 	@Override
@@ -262,4 +323,44 @@ final class NonNullFloatColumn extends NonNullSingleBufferColumn<Float, FloatCol
 
 		return new NonNullFloatColumn(bb, 0, size, NONNULL_CHARACTERISTICS, false);
 	}
+
+	@Override
+	public double sum() {
+		return NumericKernels.INSTANCE.sum(elements, offset, offset + size);
+	}
+
+	@Override
+	public OptionalDouble mean() {
+		return size == 0 ? OptionalDouble.empty() : OptionalDouble.of(sum() / size);
+	}
+
+	@Override
+	public OptionalDouble min() {
+		if (size == 0)
+			return OptionalDouble.empty();
+		else if (isSorted())
+			return OptionalDouble.of(at(offset));
+		else if (zoneMap != null)
+			return OptionalDouble.of(fromOrdered((int) zoneMap.min(this)));
+		else
+			return OptionalDouble.of(NumericKernels.INSTANCE.min(elements, offset, offset + size));
+	}
+
+	@Override
+	public OptionalDouble max() {
+		if (size == 0)
+			return OptionalDouble.empty();
+		else if (isSorted())
+			return OptionalDouble.of(at(lastIndex()));
+		else if (zoneMap != null)
+			return OptionalDouble.of(fromOrdered((int) zoneMap.max(this)));
+		else
+			return OptionalDouble.of(NumericKernels.INSTANCE.max(elements, offset, offset + size));
+	}
+
+	@Override
+	public OptionalDouble variance() {
+		return size < 2 ? OptionalDouble.empty()
+				: OptionalDouble.of(NumericKernels.INSTANCE.variance(elements, offset, offset + size));
+	}
 }
@@ -24,6 +24,8 @@ import static tech.bitey.dataframe.IntArrayPacker.INTEGER;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
 import java.util.function.IntPredicate;
 import java.util.function.IntUnaryOperator;
 import java.util.stream.IntStream;
@@ -144,4 +146,44 @@ final class NonNullIntColumn extends IntArrayColumn<Integer, IntColumn, NonNullI
 
 		return new NonNullIntColumn(bb, 0, size, NONNULL_CHARACTERISTICS, false);
 	}
+
+	@Override
+	public long sum() {
+		return NumericKernels.INSTANCE.sum(elements, offset, offset + size);
+	}
+
+	@Override
+	public OptionalDouble mean() {
+		return size == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) sum() / size);
+	}
+
+	@Override
+	public OptionalInt min() {
+		if (size == 0)
+			return OptionalInt.empty();
+		else if (isSorted())
+			return OptionalInt.of(at(offset));
+		else if (zoneMap != null)
+			return OptionalInt.of((int) zoneMap.min(this));
+		else
+			return OptionalInt.of(NumericKernels.INSTANCE.min(elements, offset, offset + size));
+	}
+
+	@Override
+	public OptionalInt max() {
+		if (size == 0)
+			return OptionalInt.empty();
+		else if (isSorted())
+			return OptionalInt.of(at(lastIndex()));
+		else if (zoneMap != null)
+			return OptionalInt.of((int) zoneMap.max(this));
+		else
+			return OptionalInt.of(NumericKernels.INSTANCE.max(elements, offset, offset + size));
+	}
+
+	@Override
+	public OptionalDouble variance() {
+		return size < 2 ? OptionalDouble.empty()
+				: OptionalDouble.of(NumericKernels.INSTANCE.variance(elements, offset, offset + size));
+	}
 }
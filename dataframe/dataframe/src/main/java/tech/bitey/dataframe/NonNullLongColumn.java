@@ -24,6 +24,8 @@ import static tech.bitey.dataframe.LongArrayPacker.LONG;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
 import java.util.function.LongPredicate;
 import java.util.function.LongUnaryOperator;
 import java.util.stream.LongStream;
@@ -144,4 +146,44 @@ final class NonNullLongColumn extends LongArrayColumn<Long, LongColumn, NonNullL
 
 		return new NonNullLongColumn(bb, 0, size, NONNULL_CHARACTERISTICS, false);
 	}
+
+	@Override
+	public long sum() {
+		return NumericKernels.INSTANCE.sum(elements, offset, offset + size);
+	}
+
+	@Override
+	public OptionalDouble mean() {
+		return size == 0 ? OptionalDouble.empty() : OptionalDouble.of(NumericKernels.INSTANCE.doubleSum(elements, offset, offset + size) / size);
+	}
+
+	@Override
+	public OptionalLong min() {
+		if (size == 0)
+			return OptionalLong.empty();
+		else if (isSorted())
+			return OptionalLong.of(at(offset));
+		else if (zoneMap != null)
+			return OptionalLong.of(zoneMap.min(this));
+		else
+			return OptionalLong.of(NumericKernels.INSTANCE.min(elements, offset, offset + size));
+	}
+
+	@Override
+	public OptionalLong max() {
+		if (size == 0)
+			return OptionalLong.empty();
+		else if (isSorted())
+			return OptionalLong.of(at(lastIndex()));
+		else if (zoneMap != null)
+			return OptionalLong.of(zoneMap.max(this));
+		else
+			return OptionalLong.of(NumericKernels.INSTANCE.max(elements, offset, offset + size));
+	}
+
+	@Override
+	public OptionalDouble variance() {
+		return size < 2 ? OptionalDouble.empty()
+				: OptionalDouble.of(NumericKernels.INSTANCE.variance(elements, offset, offset + size));
+	}
 }
@@ -22,9 +22,13 @@ import static java.util.Spliterator.SORTED;
 import static tech.bitey.bufferstuff.BufferUtils.EMPTY_BIG_BUFFER;
 import static tech.bitey.bufferstuff.BufferUtils.isSortedAndDistinct;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
 
 import tech.bitey.bufferstuff.BigByteBuffer;
 import tech.bitey.bufferstuff.BufferBitSet;
@@ -66,6 +70,54 @@ final class NonNullShortColumn extends NonNullSingleBufferColumn<Short, ShortCol
 		return elements.get(index);
 	}
 
+	@Override
+	int sortKeyBytes() {
+		return 2;
+	}
+
+	@Override
+	long sortKey(int index) {
+		return (at(index + offset) ^ Short.MIN_VALUE) & 0xFFFFL;
+	}
+
+	@Override
+	boolean keyed() {
+		return true;
+	}
+
+	@Override
+	long key(Short value) {
+		return value;
+	}
+
+	@Override
+	long keyAt(int index) {
+		return at(index);
+	}
+
+	@Override
+	void scan(long min, long max, int fromIndex, int toIndex, BufferBitSet mask) {
+		for (int i = toIndex - 1; i >= fromIndex; i--) {
+			final short value = at(i);
+			if (value >= min && value <= max)
+				mask.set(i - offset);
+		}
+	}
+
+	@Override
+	void inMask0(Collection<Short> values, BufferBitSet mask) {
+
+		final short[] sorted = new short[values.size()];
+		int i = 0;
+		for (short value : values)
+			sorted[i++] = value;
+		Arrays.sort(sorted);
+
+		for (i = lastIndex(); i >= offset; i--)
+			if (Arrays.binarySearch(sorted, at(i)) >= 0)
+				mask.set(i - offset);
+	}
+
 	@Override
 	Short getNoOffset(int index) {
 		return at(index);
@@ -78,6 +130,10 @@ final class NonNullShortColumn extends NonNullSingleBufferColumn<Short, ShortCol
 	@Override
 	int search(Short value, boolean first) {
 		if (isSorted()) {
+			final NonNullShortColumn window = searchWindow(key(value), first);
+			if (window != null)
+				return window.search(value, first);
+
 			int index = search(value);
 			if (isDistinct() || index < 0)
 				return index;
@@ -261,4 +317,55 @@ final class NonNullShortColumn extends NonNullSingleBufferColumn<Short, ShortCol
 
 		return new NonNullShortColumn(bb, 0, size, NONNULL_CHARACTERISTICS, false);
 	}
+
+	@Override
+	public long sum() {
+		long sum = 0;
+		for (int i = offset; i <= lastIndex(); i++)
+			sum += at(i);
+		return sum;
+	}
+
+	@Override
+	public OptionalDouble mean() {
+		return size == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) sum() / size);
+	}
+
+	@Override
+	public OptionalInt min() {
+		if (size == 0)
+			return OptionalInt.empty();
+		else if (isSorted())
+			return OptionalInt.of(at(offset));
+		else if (zoneMap != null)
+			return OptionalInt.of((int) zoneMap.min(this));
+
+		int min = at(offset);
+		for (int i = offset + 1; i <= lastIndex(); i++)
+			min = Math.min(min, at(i));
+		return OptionalInt.of(min);
+	}
+
+	@Override
+	public OptionalInt max() {
+		if (size == 0)
+			return OptionalInt.empty();
+		else if (isSorted())
+			return OptionalInt.of(at(lastIndex()));
+		else if (zoneMap != null)
+			return OptionalInt.of((int) zoneMap.max(this));
+
+		int max = at(offset);
+		for (int i = offset + 1; i <= lastIndex(); i++)
+			max = Math.max(max, at(i));
+		return OptionalInt.of(max);
+	}
+
+	@Override
+	public OptionalDouble variance() {
+		if (size < 2)
+			return OptionalDouble.empty();
+
+		return OptionalDouble.of(NumericKernels.variance(this::at, offset, offset + size));
+	}
 }
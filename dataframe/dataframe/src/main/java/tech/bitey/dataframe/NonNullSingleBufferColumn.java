@@ -27,6 +27,7 @@ import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 
 import tech.bitey.bufferstuff.BigByteBuffer;
+import tech.bitey.bufferstuff.BufferBitSet;
 import tech.bitey.bufferstuff.BufferUtils;
 
 abstract class NonNullSingleBufferColumn<E, I extends Column<E>, C extends NonNullSingleBufferColumn<E, I, C>>
@@ -34,6 +35,12 @@ abstract class NonNullSingleBufferColumn<E, I extends Column<E>, C extends NonNu
 
 	final BigByteBuffer buffer;
 
+	/**
+	 * Block statistics of {@link #buffer}, or null. Read along with the column, and
+	 * shared with views of the same buffer.
+	 */
+	ZoneMap zoneMap;
+
 	abstract C construct(BigByteBuffer buffer, int offset, int size, int characteristics, boolean view);
 
 	NonNullSingleBufferColumn(BigByteBuffer buffer, int offset, int size, int characteristics, boolean view) {
@@ -51,7 +58,92 @@ abstract class NonNullSingleBufferColumn<E, I extends Column<E>, C extends NonNu
 
 	@Override
 	C withCharacteristics(int characteristics) {
-		return construct(buffer, offset, size, characteristics, view);
+		return share(construct(buffer, offset, size, characteristics, view));
+	}
+
+	private C share(C column) {
+		column.zoneMap = zoneMap;
+		return column;
+	}
+
+	/**
+	 * Returns true if the elements of this column map to {@link #key(Object)
+	 * keys}, in which case it has a {@link ZoneMap} when read from a channel.
+	 */
+	boolean keyed() {
+		return false;
+	}
+
+	/**
+	 * Maps an element to a long with the same order as the column type.
+	 */
+	long key(E value) {
+		throw new UnsupportedOperationException("key");
+	}
+
+	/**
+	 * Returns the {@link #key(Object) key} of the element at the specified index,
+	 * which includes the offset.
+	 */
+	long keyAt(int index) {
+		throw new UnsupportedOperationException("keyAt");
+	}
+
+	/**
+	 * Sets bit {@code i - offset} of the mask for each index {@code i} in
+	 * {@code [fromIndex, toIndex)} whose element's {@link #key(Object) key} is
+	 * within the closed range {@code [min, max]}.
+	 */
+	void scan(long min, long max, int fromIndex, int toIndex, BufferBitSet mask) {
+		throw new UnsupportedOperationException("scan");
+	}
+
+	@Override
+	void rangeMask0(E from, boolean fromInclusive, E to, boolean toInclusive, BufferBitSet mask) {
+
+		if (!keyed()) {
+			super.rangeMask0(from, fromInclusive, to, toInclusive, mask);
+			return;
+		}
+
+		// closed range of keys
+		long min = Long.MIN_VALUE;
+		if (from != null) {
+			min = key(from);
+			if (!fromInclusive) {
+				if (min == Long.MAX_VALUE)
+					return;
+				min++;
+			}
+		}
+
+		long max = Long.MAX_VALUE;
+		if (to != null) {
+			max = key(to);
+			if (!toInclusive) {
+				if (max == Long.MIN_VALUE)
+					return;
+				max--;
+			}
+		}
+
+		if (min > max)
+			return;
+
+		if (zoneMap == null)
+			scan(min, max, offset, offset + size, mask);
+		else
+			zoneMap.rangeMask(this, min, max, mask);
+	}
+
+	/**
+	 * Returns a view of this sorted column in which to search for the element with
+	 * the specified key, narrowed down by the zone map. Returns null if there is
+	 * no zone map.
+	 */
+	@SuppressWarnings("unchecked")
+	C searchWindow(long key, boolean first) {
+		return zoneMap == null || size == 0 ? null : zoneMap.searchWindow((C) this, key, first);
 	}
 
 	abstract void sort();
@@ -78,7 +170,7 @@ abstract class NonNullSingleBufferColumn<E, I extends Column<E>, C extends NonNu
 
 	@Override
 	C subColumn0(int fromIndex, int toIndex) {
-		return construct(buffer, fromIndex + offset, toIndex - fromIndex, characteristics, true);
+		return share(construct(buffer, fromIndex + offset, toIndex - fromIndex, characteristics, true));
 	}
 
 	@Override
@@ -121,14 +213,23 @@ abstract class NonNullSingleBufferColumn<E, I extends Column<E>, C extends NonNu
 	}
 
 	@Override
-	void writeTo(WritableByteChannel channel) throws IOException {
+	void writeTo(WritableByteChannel channel, ColumnEncoding encoding) throws IOException {
 
 		final ByteOrder order = buffer.order();
 
 		writeByteOrder(channel, order);
 		writeInt(channel, order, size);
 
-		writeBuffer(channel, slice0());
+		if (keyed())
+			ZoneMap.of(this).writeTo(channel, order);
+
+		final ColumnCodec codec = ColumnCodec.supports(elementSize())
+				? new ColumnCodec(buffer, elementSize(), offset, size)
+				: null;
+		encoding = codec == null ? ColumnEncoding.PLAIN : codec.resolve(encoding);
+
+		ColumnCodec.writeEncoding(channel, encoding);
+		writeBuffer(channel, encoding == ColumnEncoding.PLAIN ? slice0() : codec.encode(encoding));
 
 		writeTo0(channel, order);
 	}
@@ -138,11 +239,13 @@ abstract class NonNullSingleBufferColumn<E, I extends Column<E>, C extends NonNu
 	}
 
 	@Override
-	C readFrom(ReadableByteChannel channel, int version, boolean map) throws IOException {
+	C readFrom(ReadableByteChannel channel, int version, FileMapper map) throws IOException {
 
 		ByteOrder order = readByteOrder(channel);
 		int size = readInt(channel, order);
 
+		final ZoneMap zoneMap = version >= 6 && keyed() ? ZoneMap.readFrom(channel, order) : null;
+
 		final BigByteBuffer bbb;
 
 		if (version <= 3) {
@@ -152,9 +255,16 @@ abstract class NonNullSingleBufferColumn<E, I extends Column<E>, C extends NonNu
 			buffer.flip();
 			bbb = BufferUtils.wrap(new ByteBuffer[] { buffer });
 		} else {
-			bbb = readBuffer(channel, order, map);
+			final ColumnEncoding encoding = version >= 7 ? ColumnCodec.readEncoding(channel) : ColumnEncoding.PLAIN;
+
+			if (encoding == ColumnEncoding.PLAIN)
+				bbb = readBuffer(channel, order, map);
+			else
+				bbb = ColumnCodec.decode(encoding, readBuffer(channel, order, map), elementSize(), size);
 		}
 
-		return readFrom0(channel, order, bbb, size);
+		final C column = readFrom0(channel, order, bbb, size);
+		column.zoneMap = zoneMap;
+		return column;
 	}
 }
@@ -29,6 +29,7 @@ import java.nio.channels.WritableByteChannel;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.IntBinaryOperator;
 
 import tech.bitey.bufferstuff.BufferBitSet;
 import tech.bitey.bufferstuff.BufferUtils;
@@ -223,6 +224,12 @@ final class NonNullUuidColumn extends NonNullColumn<UUID, UuidColumn, NonNullUui
 		return compareValuesAt(this, l, r);
 	}
 
+	@Override
+	IntBinaryOperator indexComparator(NonNullUuidColumn rhs) {
+		// compareValuesAt expects the offset to already be applied
+		return (l, r) -> compareValuesAt(rhs, l + offset, r + rhs.offset);
+	}
+
 	@Override
 	void intersectLeftSorted(NonNullUuidColumn rhs, IntColumnBuilder indices, BufferBitSet keepRight) {
 
@@ -273,13 +280,13 @@ final class NonNullUuidColumn extends NonNullColumn<UUID, UuidColumn, NonNullUui
 	}
 
 	@Override
-	void writeTo(WritableByteChannel channel) throws IOException {
-		sub(msb).writeTo(channel);
-		sub(lsb).writeTo(channel);
+	void writeTo(WritableByteChannel channel, ColumnEncoding encoding) throws IOException {
+		sub(msb).writeTo(channel, encoding);
+		sub(lsb).writeTo(channel, encoding);
 	}
 
 	@Override
-	NonNullUuidColumn readFrom(ReadableByteChannel channel, int version, boolean map) throws IOException {
+	NonNullUuidColumn readFrom(ReadableByteChannel channel, int version, FileMapper map) throws IOException {
 		if (version <= 2) {
 			ByteOrder order = readByteOrder(channel);
 			int size = readInt(channel, order);
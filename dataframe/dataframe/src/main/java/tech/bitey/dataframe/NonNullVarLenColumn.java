@@ -26,9 +26,12 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.IntBuffer;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.IntBinaryOperator;
 import java.util.function.IntUnaryOperator;
 
@@ -200,6 +203,19 @@ abstract class NonNullVarLenColumn<E, I extends Column<E>, C extends NonNullVarL
 		return rawPointers.copy((long) offset * 8, (long) (offset + size) * 8);
 	}
 
+	/**
+	 * Returns the raw pointers of this column, rebased to start from zero if they
+	 * don't already.
+	 */
+	private BigByteBuffer zeroBasedRawPointers() {
+		if (pat(offset) == 0)
+			return sliceRawPointers();
+
+		final BigByteBuffer rawPointers = copyRawPointers();
+		zero(rawPointers, size);
+		return rawPointers;
+	}
+
 	@Override
 	C appendNonNull(C tail) {
 
@@ -348,7 +364,10 @@ abstract class NonNullVarLenColumn<E, I extends Column<E>, C extends NonNullVarL
 		for (int i = 0; i < size; i++)
 			b.put(i, i);
 
-		BufferSort.heapSort(b, comparator, 0, size);
+		if (ParallelSort.isParallel(size))
+			BufferSort.parallelMergeSort(b, comparator, 0, size);
+		else
+			BufferSort.heapSort(b, comparator, 0, size);
 
 		NonNullIntColumn indices = new NonNullIntColumn(bb, 0, size, NONNULL_CHARACTERISTICS, false);
 
@@ -392,7 +411,7 @@ abstract class NonNullVarLenColumn<E, I extends Column<E>, C extends NonNullVarL
 	}
 
 	@Override
-	void writeTo(WritableByteChannel channel) throws IOException {
+	void writeTo(WritableByteChannel channel, ColumnEncoding encoding) throws IOException {
 
 		final ByteOrder order = rawPointers.order();
 
@@ -400,14 +419,66 @@ abstract class NonNullVarLenColumn<E, I extends Column<E>, C extends NonNullVarL
 		writeInt(channel, order, size);
 
 		if (size > 0) {
-			writeBuffer(channel, sliceRawPointers());
-			writeBuffer(channel, sliceElements());
+			final IntColumn[] dictionary = switch (encoding) {
+			case DICTIONARY -> dictionary(false);
+			case AUTO -> dictionary(true);
+			default -> null;
+			};
+
+			if (dictionary == null) {
+				ColumnCodec.writeEncoding(channel, ColumnEncoding.PLAIN);
+				writeBuffer(channel, zeroBasedRawPointers());
+				writeBuffer(channel, sliceElements());
+			} else {
+				ColumnCodec.writeEncoding(channel, ColumnEncoding.DICTIONARY);
+				select0(dictionary[0]).writeTo(channel, ColumnEncoding.PLAIN);
+				((AbstractColumn<?, ?, ?>) dictionary[1]).writeTo(channel, ColumnEncoding.AUTO);
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the first occurrence of each distinct element, and the
+	 * index into those first occurrences of every element. If {@code auto} is set,
+	 * returns null instead when the dictionary would not make the column smaller.
+	 */
+	private IntColumn[] dictionary(boolean auto) {
+
+		final Map<ByteBuffer, Integer> codes = new HashMap<>();
+		final IntColumnBuilder entries = IntColumn.builder(NONNULL);
+		final IntColumnBuilder indices = IntColumn.builder(NONNULL);
+		indices.ensureCapacity(size);
+
+		long entryBytes = 0;
+		for (int i = offset; i <= lastIndex(); i++) {
+			final ByteBuffer element = elements.smallSlice(pat(i), end(i));
+
+			Integer code = codes.get(element);
+			if (code == null) {
+				codes.put(element, code = codes.size());
+				entries.add(i - offset);
+				entryBytes += element.remaining() + 8;
+
+				if (auto && codes.size() > size / 2)
+					return null;
+			}
+			indices.add(code);
 		}
+
+		if (auto) {
+			// pointers and elements, versus distinct elements plus bit-packed indices
+			final long plainBytes = (long) size * 8 + sliceElements().limit();
+			final int indexBits = 32 - Integer.numberOfLeadingZeros(codes.size() - 1);
+			if (entryBytes + (long) size * indexBits / 8 >= plainBytes)
+				return null;
+		}
+
+		return new IntColumn[] { entries.build(), indices.build() };
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
-	C readFrom(ReadableByteChannel channel, int version, boolean map) throws IOException {
+	C readFrom(ReadableByteChannel channel, int version, FileMapper map) throws IOException {
 
 		Pr.checkState(isEmpty(), "readFrom can only be called on empty column");
 
@@ -417,7 +488,7 @@ abstract class NonNullVarLenColumn<E, I extends Column<E>, C extends NonNullVarL
 		if (size == 0)
 			return (C) this;
 
-		final BigByteBuffer rawPointers;
+		BigByteBuffer rawPointers;
 		final BigByteBuffer elements;
 
 		if (version <= 3) {
@@ -436,11 +507,25 @@ abstract class NonNullVarLenColumn<E, I extends Column<E>, C extends NonNullVarL
 			el.flip();
 			elements = BufferUtils.wrap(new ByteBuffer[] { el });
 		} else {
+			if (version >= 7 && ColumnCodec.readEncoding(channel) == ColumnEncoding.DICTIONARY) {
+				final C dictionary = readFrom(channel, version, map);
+				final IntColumn indices = (IntColumn) ColumnType.INT.readFrom(channel, NONNULL_CHARACTERISTICS, version,
+						map);
+
+				return dictionary.select0(indices).withCharacteristics(characteristics);
+			}
+
 			rawPointers = readBuffer(channel, order, map);
 			elements = readBuffer(channel, order, map);
 		}
 
-		if (zero(rawPointers, size) && map) {
+		if (map != null && map.mode == MapMode.READ_ONLY) {
+			// rebase a copy of the pointers, rather than the file
+			if (rawPointers.asLongBuffer().get(0) != 0) {
+				rawPointers = rawPointers.copy(0, rawPointers.capacity());
+				zero(rawPointers, size);
+			}
+		} else if (zero(rawPointers, size) && map != null) {
 			((FileChannel) channel).force(true);
 		}
 
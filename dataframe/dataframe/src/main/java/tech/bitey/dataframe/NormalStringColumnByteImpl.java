@@ -48,6 +48,11 @@ public class NormalStringColumnByteImpl extends NormalStringColumnImpl<Byte, Byt
 		return values.get(indices.get(index) & 0xFF);
 	}
 
+	@Override
+	int code(int index) {
+		return indices.getByte(index) & 0xFF;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (o == this) {
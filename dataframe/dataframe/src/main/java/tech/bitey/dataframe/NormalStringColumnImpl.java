@@ -24,12 +24,14 @@ import java.nio.ByteBuffer;
 import java.nio.channels.WritableByteChannel;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.ListIterator;
 import java.util.NavigableSet;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
 import java.util.function.Predicate;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
@@ -53,6 +55,12 @@ abstract class NormalStringColumnImpl<N extends Number, I extends Column<N>, C e
 
 	abstract String at(int index);
 
+	/**
+	 * Returns the index into {@link #values} of the element at the specified
+	 * index, which must not be null.
+	 */
+	abstract int code(int index);
+
 	abstract C constuct(I indices, NonNullStringColumn values, int offset, int size);
 
 	@Override
@@ -117,6 +125,30 @@ abstract class NormalStringColumnImpl<N extends Number, I extends Column<N>, C e
 		return indices.isNull(index);
 	}
 
+	@Override
+	IntBinaryOperator indexComparator(boolean descending, boolean nullsFirst) {
+		return (l, r) -> {
+			final int li = l + offset;
+			final int ri = r + offset;
+
+			final boolean lNull = isNullNoOffset(li);
+			final boolean rNull = isNullNoOffset(ri);
+
+			if (lNull || rNull)
+				return nullsFirst ? Boolean.compare(rNull, lNull) : Boolean.compare(lNull, rNull);
+			else if (descending)
+				return at(ri).compareTo(at(li));
+			else
+				return at(li).compareTo(at(ri));
+		};
+	}
+
+	@Override
+	int hashAt(int index) {
+		index += offset;
+		return isNullNoOffset(index) ? 0 : at(index).hashCode();
+	}
+
 	@Override
 	boolean checkType(Object o) {
 		return o instanceof String;
@@ -204,12 +236,13 @@ abstract class NormalStringColumnImpl<N extends Number, I extends Column<N>, C e
 
 	@SuppressWarnings("rawtypes")
 	@Override
-	void writeTo(WritableByteChannel channel) throws IOException {
+	void writeTo(WritableByteChannel channel, ColumnEncoding encoding) throws IOException {
 
 		channel.write(ByteBuffer.wrap(new byte[] { indices.getType().getCode().name().getBytes()[0] }));
-		((AbstractColumn) sliceIndices()).writeTo(channel);
+		((AbstractColumn) sliceIndices()).writeTo(channel, encoding);
 
-		values.writeTo(channel);
+		// values are already distinct
+		values.writeTo(channel, ColumnEncoding.PLAIN);
 	}
 
 	/*------------------------------------------------------------
@@ -511,4 +544,36 @@ abstract class NormalStringColumnImpl<N extends Number, I extends Column<N>, C e
 
 		return builder.build();
 	}
+
+	@Override
+	public BufferBitSet isNull() {
+		return sliceIndices().isNull();
+	}
+
+	@Override
+	BufferBitSet rangeMask(String from, boolean fromInclusive, String to, boolean toInclusive) {
+		return dictionaryMask(values.rangeMask(from, fromInclusive, to, toInclusive));
+	}
+
+	@Override
+	BufferBitSet inMask(Collection<String> values) {
+		return dictionaryMask(this.values.inMask(values));
+	}
+
+	/**
+	 * Maps a mask over the distinct {@link #values} to a mask over this column, so
+	 * that each distinct value is only compared once.
+	 */
+	private BufferBitSet dictionaryMask(BufferBitSet valuesMask) {
+
+		final BufferBitSet mask = new BufferBitSet();
+		if (valuesMask.isEmpty())
+			return mask;
+
+		for (int i = lastIndex(); i >= offset; i--)
+			if (!isNullNoOffset(i) && valuesMask.get(code(i)))
+				mask.set(i - offset);
+
+		return mask;
+	}
 }
@@ -49,6 +49,11 @@ public class NormalStringColumnShortImpl extends NormalStringColumnImpl<Short, S
 		return values.get(indices.get(index) & 0xFFFF);
 	}
 
+	@Override
+	int code(int index) {
+		return indices.getShort(index) & 0xFFFF;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (o == this) {
@@ -25,6 +25,7 @@ import java.math.BigDecimal;
 import java.nio.channels.WritableByteChannel;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.EnumMap;
 import java.util.ListIterator;
 import java.util.Map;
@@ -33,6 +34,7 @@ import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
 import java.util.function.Predicate;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
@@ -115,6 +117,44 @@ abstract class NullableColumn<E, I extends Column<E>, C extends NonNullColumn<E,
 		return nullCounts.nonNullIndex(index);
 	}
 
+	@Override
+	IntBinaryOperator indexComparator(boolean descending, boolean nullsFirst) {
+
+		final IntBinaryOperator nonNullComparator = column.indexComparator(descending, nullsFirst);
+		final int columnOffset = column.offset;
+
+		return (l, r) -> {
+			final int li = l + offset;
+			final int ri = r + offset;
+
+			final boolean lNonNull = nonNulls.get(li);
+			final boolean rNonNull = nonNulls.get(ri);
+
+			if (lNonNull && rNonNull)
+				return nonNullComparator.applyAsInt(nonNullIndex(li) - columnOffset, nonNullIndex(ri) - columnOffset);
+			else if (nullsFirst)
+				return Boolean.compare(lNonNull, rNonNull);
+			else
+				return Boolean.compare(rNonNull, lNonNull);
+		};
+	}
+
+	@Override
+	int hashAt(int index) {
+		index += offset;
+		return nonNulls.get(index) ? column.hashAt(nonNullIndex(index) - column.offset) : 0;
+	}
+
+	@Override
+	int sortKeyBytes() {
+		return column.sortKeyBytes();
+	}
+
+	@Override
+	long sortKey(int index) {
+		return column.sortKey(nonNullIndex(index + offset) - column.offset);
+	}
+
 	private int nullIndex(int index) {
 
 		int nullIndex = -1;
@@ -460,10 +500,10 @@ abstract class NullableColumn<E, I extends Column<E>, C extends NonNullColumn<E,
 	}
 
 	@Override
-	void writeTo(WritableByteChannel channel) throws IOException {
+	void writeTo(WritableByteChannel channel, ColumnEncoding encoding) throws IOException {
 		writeInt(channel, BIG_ENDIAN, size);
-		nonNulls.writeTo(channel, offset, offset + size);
-		subColumn.writeTo(channel);
+		writeBitSet(channel, nonNulls, offset, offset + size);
+		subColumn.writeTo(channel, encoding);
 	}
 
 	/*------------------------------------------------------------
@@ -619,4 +659,37 @@ abstract class NullableColumn<E, I extends Column<E>, C extends NonNullColumn<E,
 	N empty() {
 		return (N) EMPTY_MAP.get(getType().getCode());
 	}
+
+	@Override
+	public BufferBitSet isNull() {
+		final BufferBitSet mask = nonNulls.get(offset, offset + size);
+		mask.flip(0, size);
+		return mask;
+	}
+
+	@Override
+	BufferBitSet rangeMask(E from, boolean fromInclusive, E to, boolean toInclusive) {
+		return expand(subColumn.rangeMask(from, fromInclusive, to, toInclusive));
+	}
+
+	@Override
+	BufferBitSet inMask(Collection<E> values) {
+		return expand(subColumn.inMask(values));
+	}
+
+	/**
+	 * Maps a mask over {@link #subColumn} to a mask over this column.
+	 */
+	private BufferBitSet expand(BufferBitSet subMask) {
+
+		final BufferBitSet mask = new BufferBitSet();
+		if (subMask.isEmpty())
+			return mask;
+
+		for (int i = nonNulls.nextSetBit(offset), j = 0; i != -1 && i <= lastIndex(); i = nonNulls.nextSetBit(i + 1))
+			if (subMask.get(j++))
+				mask.set(i - offset);
+
+		return mask;
+	}
 }
@@ -17,6 +17,8 @@
 package tech.bitey.dataframe;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Optional;
 
 import tech.bitey.bufferstuff.BufferBitSet;
 
@@ -28,4 +30,29 @@ final class NullableDecimalColumn
 			INullCounts nullCounts, int offset, int size) {
 		super((NonNullDecimalColumn) column, nonNulls, nullCounts, offset, size);
 	}
+
+	@Override
+	public BigDecimal sum() {
+		return subColumn.sum();
+	}
+
+	@Override
+	public Optional<BigDecimal> mean(MathContext mc) {
+		return subColumn.mean(mc);
+	}
+
+	@Override
+	public Optional<BigDecimal> min() {
+		return subColumn.min();
+	}
+
+	@Override
+	public Optional<BigDecimal> max() {
+		return subColumn.max();
+	}
+
+	@Override
+	public Optional<BigDecimal> variance(MathContext mc) {
+		return subColumn.variance(mc);
+	}
 }
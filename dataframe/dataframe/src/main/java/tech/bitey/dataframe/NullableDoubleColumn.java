@@ -16,6 +16,7 @@
 
 package tech.bitey.dataframe;
 
+import java.util.OptionalDouble;
 import java.util.function.DoublePredicate;
 import java.util.function.DoubleUnaryOperator;
 import java.util.stream.DoubleStream;
@@ -64,4 +65,29 @@ final class NullableDoubleColumn extends NullableColumn<Double, DoubleColumn, No
 
 		return new NullableDoubleColumn((NonNullDoubleColumn) subColumn.evaluate(op), subNonNulls(), null, 0, size);
 	}
+
+	@Override
+	public double sum() {
+		return subColumn.sum();
+	}
+
+	@Override
+	public OptionalDouble mean() {
+		return subColumn.mean();
+	}
+
+	@Override
+	public OptionalDouble min() {
+		return subColumn.min();
+	}
+
+	@Override
+	public OptionalDouble max() {
+		return subColumn.max();
+	}
+
+	@Override
+	public OptionalDouble variance() {
+		return subColumn.variance();
+	}
 }
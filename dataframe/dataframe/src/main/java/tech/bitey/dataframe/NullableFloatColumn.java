@@ -16,6 +16,8 @@
 
 package tech.bitey.dataframe;
 
+import java.util.OptionalDouble;
+
 import tech.bitey.bufferstuff.BufferBitSet;
 
 final class NullableFloatColumn extends NullableColumn<Float, FloatColumn, NonNullFloatColumn, NullableFloatColumn>
@@ -55,4 +57,29 @@ final class NullableFloatColumn extends NullableColumn<Float, FloatColumn, NonNu
 
 		return new NullableFloatColumn((NonNullFloatColumn) subColumn.evaluate(op), subNonNulls(), null, 0, size);
 	}
+
+	@Override
+	public double sum() {
+		return subColumn.sum();
+	}
+
+	@Override
+	public OptionalDouble mean() {
+		return subColumn.mean();
+	}
+
+	@Override
+	public OptionalDouble min() {
+		return subColumn.min();
+	}
+
+	@Override
+	public OptionalDouble max() {
+		return subColumn.max();
+	}
+
+	@Override
+	public OptionalDouble variance() {
+		return subColumn.variance();
+	}
 }
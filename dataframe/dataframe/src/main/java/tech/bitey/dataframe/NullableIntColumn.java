@@ -16,6 +16,8 @@
 
 package tech.bitey.dataframe;
 
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
 import java.util.function.IntPredicate;
 import java.util.function.IntUnaryOperator;
 import java.util.stream.IntStream;
@@ -64,4 +66,29 @@ final class NullableIntColumn extends NullableIntArrayColumn<Integer, IntColumn,
 
 		return new NullableIntColumn((NonNullIntColumn) subColumn.evaluate(op), subNonNulls(), null, 0, size);
 	}
+
+	@Override
+	public long sum() {
+		return subColumn.sum();
+	}
+
+	@Override
+	public OptionalDouble mean() {
+		return subColumn.mean();
+	}
+
+	@Override
+	public OptionalInt min() {
+		return subColumn.min();
+	}
+
+	@Override
+	public OptionalInt max() {
+		return subColumn.max();
+	}
+
+	@Override
+	public OptionalDouble variance() {
+		return subColumn.variance();
+	}
 }
@@ -16,6 +16,8 @@
 
 package tech.bitey.dataframe;
 
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
 import java.util.function.LongPredicate;
 import java.util.function.LongUnaryOperator;
 import java.util.stream.LongStream;
@@ -64,4 +66,29 @@ final class NullableLongColumn extends NullableLongArrayColumn<Long, LongColumn,
 
 		return new NullableLongColumn((NonNullLongColumn) subColumn.evaluate(op), subNonNulls(), null, 0, size);
 	}
+
+	@Override
+	public long sum() {
+		return subColumn.sum();
+	}
+
+	@Override
+	public OptionalDouble mean() {
+		return subColumn.mean();
+	}
+
+	@Override
+	public OptionalLong min() {
+		return subColumn.min();
+	}
+
+	@Override
+	public OptionalLong max() {
+		return subColumn.max();
+	}
+
+	@Override
+	public OptionalDouble variance() {
+		return subColumn.variance();
+	}
 }
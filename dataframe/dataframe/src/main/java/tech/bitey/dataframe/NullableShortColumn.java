@@ -16,6 +16,9 @@
 
 package tech.bitey.dataframe;
 
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+
 import tech.bitey.bufferstuff.BufferBitSet;
 
 final class NullableShortColumn extends NullableColumn<Short, ShortColumn, NonNullShortColumn, NullableShortColumn>
@@ -55,4 +58,29 @@ final class NullableShortColumn extends NullableColumn<Short, ShortColumn, NonNu
 
 		return new NullableShortColumn((NonNullShortColumn) subColumn.evaluate(op), subNonNulls(), null, 0, size);
 	}
+
+	@Override
+	public long sum() {
+		return subColumn.sum();
+	}
+
+	@Override
+	public OptionalDouble mean() {
+		return subColumn.mean();
+	}
+
+	@Override
+	public OptionalInt min() {
+		return subColumn.min();
+	}
+
+	@Override
+	public OptionalInt max() {
+		return subColumn.max();
+	}
+
+	@Override
+	public OptionalDouble variance() {
+		return subColumn.variance();
+	}
 }
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import java.util.function.IntToDoubleFunction;
+
+import tech.bitey.bufferstuff.BufferBitSet;
+import tech.bitey.bufferstuff.SmallDoubleBuffer;
+import tech.bitey.bufferstuff.SmallFloatBuffer;
+import tech.bitey.bufferstuff.SmallIntBuffer;
+import tech.bitey.bufferstuff.SmallLongBuffer;
+
+/**
+ * Scans of numeric column buffers. This class implements each scan as a scalar
+ * loop. When the {@code jdk.incubator.vector} module is present (for example,
+ * with {@code --add-modules jdk.incubator.vector}), {@link #INSTANCE} is a
+ * {@link VectorKernels} instead, which processes several elements per
+ * instruction.
+ * <p>
+ * Setting {@code tech.bitey.vectorKernels} to {@code false} disables the vector
+ * kernels.
+ * <p>
+ * Each range scan sets bit {@code i - offset} of the mask for every index
+ * {@code i} in {@code [fromIndex, toIndex)} whose element falls within the
+ * closed range {@code [min, max]}. The remaining scans aggregate the elements
+ * in {@code [fromIndex, toIndex)}; min, max, and variance require the range to
+ * be non-empty. Float and double min and max follow the order of
+ * {@link Float#compare} and {@link Double#compare}, and their sums are
+ * accumulated in index order.
+ */
+class NumericKernels {
+
+	private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+	static final NumericKernels INSTANCE = load();
+
+	private static NumericKernels load() {
+
+		if (Boolean.parseBoolean(System.getProperty("tech.bitey.vectorKernels", "true"))
+				&& ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+			try {
+				// loaded reflectively so that this class links without the module
+				return (NumericKernels) Class.forName(NumericKernels.class.getPackageName() + ".VectorKernels")
+						.getDeclaredConstructor().newInstance();
+			} catch (ReflectiveOperationException | LinkageError e) {
+				// fall back to scalar loops
+			}
+		}
+
+		return new NumericKernels();
+	}
+
+	/**
+	 * Maps a float to an int with the same order as {@link Float#compare}.
+	 */
+	static int ordered(float value) {
+		final int bits = Float.floatToIntBits(value);
+		return bits ^ (bits >> 31 & Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Maps a double to a long with the same order as {@link Double#compare}.
+	 */
+	static long ordered(double value) {
+		final long bits = Double.doubleToLongBits(value);
+		return bits ^ (bits >> 63 & Long.MAX_VALUE);
+	}
+
+	/**
+	 * Inverse of {@link #ordered(float)}.
+	 */
+	static float fromOrdered(int ordered) {
+		return Float.intBitsToFloat(ordered ^ (ordered >> 31 & Integer.MAX_VALUE));
+	}
+
+	/**
+	 * Inverse of {@link #ordered(double)}.
+	 */
+	static double fromOrdered(long ordered) {
+		return Double.longBitsToDouble(ordered ^ (ordered >> 63 & Long.MAX_VALUE));
+	}
+
+	/**
+	 * Sample variance of the elements in {@code [fromIndex, toIndex)}, computed
+	 * with Welford's algorithm. The range must contain at least two elements.
+	 */
+	static double variance(IntToDoubleFunction element, int fromIndex, int toIndex) {
+		double mean = 0, m2 = 0;
+		for (int i = fromIndex, n = 1; i < toIndex; i++, n++) {
+			final double value = element.applyAsDouble(i);
+			final double delta = value - mean;
+			mean += delta / n;
+			m2 += delta * (value - mean);
+		}
+		return m2 / (toIndex - fromIndex - 1);
+	}
+
+	void range(SmallIntBuffer buffer, int offset, int fromIndex, int toIndex, int min, int max, BufferBitSet mask) {
+		for (int i = toIndex - 1; i >= fromIndex; i--) {
+			final int value = buffer.get(i);
+			if (value >= min && value <= max)
+				mask.set(i - offset);
+		}
+	}
+
+	void range(SmallLongBuffer buffer, int offset, int fromIndex, int toIndex, long min, long max, BufferBitSet mask) {
+		for (int i = toIndex - 1; i >= fromIndex; i--) {
+			final long value = buffer.get(i);
+			if (value >= min && value <= max)
+				mask.set(i - offset);
+		}
+	}
+
+	/**
+	 * Range scan of floats, where {@code min} and {@code max} are
+	 * {@link #ordered(float) ordered}.
+	 */
+	void range(SmallFloatBuffer buffer, int offset, int fromIndex, int toIndex, int min, int max, BufferBitSet mask) {
+		for (int i = toIndex - 1; i >= fromIndex; i--) {
+			final int value = ordered(buffer.get(i));
+			if (value >= min && value <= max)
+				mask.set(i - offset);
+		}
+	}
+
+	/**
+	 * Range scan of doubles, where {@code min} and {@code max} are
+	 * {@link #ordered(double) ordered}.
+	 */
+	void range(SmallDoubleBuffer buffer, int offset, int fromIndex, int toIndex, long min, long max,
+			BufferBitSet mask) {
+		for (int i = toIndex - 1; i >= fromIndex; i--) {
+			final long value = ordered(buffer.get(i));
+			if (value >= min && value <= max)
+				mask.set(i - offset);
+		}
+	}
+
+	long sum(SmallIntBuffer buffer, int fromIndex, int toIndex) {
+		long sum = 0;
+		for (int i = fromIndex; i < toIndex; i++)
+			sum += buffer.get(i);
+		return sum;
+	}
+
+	int min(SmallIntBuffer buffer, int fromIndex, int toIndex) {
+		int min = Integer.MAX_VALUE;
+		for (int i = fromIndex; i < toIndex; i++)
+			min = Math.min(min, buffer.get(i));
+		return min;
+	}
+
+	int max(SmallIntBuffer buffer, int fromIndex, int toIndex) {
+		int max = Integer.MIN_VALUE;
+		for (int i = fromIndex; i < toIndex; i++)
+			max = Math.max(max, buffer.get(i));
+		return max;
+	}
+
+	double variance(SmallIntBuffer buffer, int fromIndex, int toIndex) {
+		return variance(buffer::get, fromIndex, toIndex);
+	}
+
+	/**
+	 * Sum which wraps around on overflow, like
+	 * {@link java.util.stream.LongStream#sum()}.
+	 */
+	long sum(SmallLongBuffer buffer, int fromIndex, int toIndex) {
+		long sum = 0;
+		for (int i = fromIndex; i < toIndex; i++)
+			sum += buffer.get(i);
+		return sum;
+	}
+
+	/**
+	 * Sum accumulated as a double, which does not overflow.
+	 */
+	double doubleSum(SmallLongBuffer buffer, int fromIndex, int toIndex) {
+		double sum = 0;
+		for (int i = fromIndex; i < toIndex; i++)
+			sum += buffer.get(i);
+		return sum;
+	}
+
+	long min(SmallLongBuffer buffer, int fromIndex, int toIndex) {
+		long min = Long.MAX_VALUE;
+		for (int i = fromIndex; i < toIndex; i++)
+			min = Math.min(min, buffer.get(i));
+		return min;
+	}
+
+	long max(SmallLongBuffer buffer, int fromIndex, int toIndex) {
+		long max = Long.MIN_VALUE;
+		for (int i = fromIndex; i < toIndex; i++)
+			max = Math.max(max, buffer.get(i));
+		return max;
+	}
+
+	double variance(SmallLongBuffer buffer, int fromIndex, int toIndex) {
+		return variance(buffer::get, fromIndex, toIndex);
+	}
+
+	double sum(SmallFloatBuffer buffer, int fromIndex, int toIndex) {
+		double sum = 0;
+		for (int i = fromIndex; i < toIndex; i++)
+			sum += buffer.get(i);
+		return sum;
+	}
+
+	float min(SmallFloatBuffer buffer, int fromIndex, int toIndex) {
+		float min = buffer.get(fromIndex);
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			if (Float.compare(buffer.get(i), min) < 0)
+				min = buffer.get(i);
+		return min;
+	}
+
+	float max(SmallFloatBuffer buffer, int fromIndex, int toIndex) {
+		float max = buffer.get(fromIndex);
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			if (Float.compare(buffer.get(i), max) > 0)
+				max = buffer.get(i);
+		return max;
+	}
+
+	double variance(SmallFloatBuffer buffer, int fromIndex, int toIndex) {
+		return variance(buffer::get, fromIndex, toIndex);
+	}
+
+	double sum(SmallDoubleBuffer buffer, int fromIndex, int toIndex) {
+		double sum = 0;
+		for (int i = fromIndex; i < toIndex; i++)
+			sum += buffer.get(i);
+		return sum;
+	}
+
+	double min(SmallDoubleBuffer buffer, int fromIndex, int toIndex) {
+		double min = buffer.get(fromIndex);
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			if (Double.compare(buffer.get(i), min) < 0)
+				min = buffer.get(i);
+		return min;
+	}
+
+	double max(SmallDoubleBuffer buffer, int fromIndex, int toIndex) {
+		double max = buffer.get(fromIndex);
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			if (Double.compare(buffer.get(i), max) > 0)
+				max = buffer.get(i);
+		return max;
+	}
+
+	double variance(SmallDoubleBuffer buffer, int fromIndex, int toIndex) {
+		return variance(buffer::get, fromIndex, toIndex);
+	}
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import static tech.bitey.dataframe.Pr.checkState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Decides when {@link DataFrameFactory#readCsvFrom(java.io.File, ReadCsvConfig)}
+ * should parse the file on the {@link ForkJoinPool#commonPool() common pool},
+ * and does so.
+ * <p>
+ * Files of at least {@code tech.bitey.parallelCsvThreshold} bytes are read in
+ * parallel (default is 64 MB). A value of zero or less disables parallel
+ * reading.
+ * <p>
+ * The file is memory-mapped and split into chunks, each of which starts at a
+ * record boundary: the first CR, LF, or CRLF after the chunk's nominal start
+ * which is outside of double quotes. A byte is within double quotes if an odd
+ * number of double quotes precede it in the file, so the double quotes in each
+ * nominal chunk are counted first. The chunks are then parsed concurrently,
+ * and their columns are concatenated in order. An error is reported for the
+ * first bad record in the file, with the same record and line numbers as when
+ * reading the file sequentially.
+ */
+enum ParallelCsv {
+	;
+
+	private static final long THRESHOLD = Long.getLong("tech.bitey.parallelCsvThreshold", 1 << 26);
+
+	// well below the 1 GB which is guaranteed to fit in a region of a FileMapper
+	private static final long MAX_CHUNK_SIZE = 1 << 28;
+
+	// bytes mapped at a time while looking for a record boundary
+	private static final int WINDOW_SIZE = 1 << 16;
+
+	/**
+	 * Returns true if a CSV file of the specified size should be read in parallel.
+	 */
+	static boolean isParallel(long size) {
+		return THRESHOLD > 0 && size >= THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+	}
+
+	static DataFrame read(ReadCsvConfig config, Path path, FileChannel channel) throws IOException {
+
+		final long size = channel.size();
+		final int chunks = (int) Math.max(ForkJoinPool.getCommonPoolParallelism() * 4L,
+				(size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+		final long nominalSize = (size + chunks - 1) / chunks;
+
+		final CsvChunk[] parsed = new CsvChunk[chunks];
+		final Exception[] errors = new Exception[chunks];
+
+		try (FileMapper mapper = FileMapper.regions(path, channel, MapMode.READ_ONLY)) {
+
+			// whether each nominal chunk contains an odd number of double quotes
+			final boolean[] odd = new boolean[chunks];
+			ParallelSort.forEachChunk(chunks, c -> {
+				final long from = Math.min(size, c * nominalSize);
+				final long to = Math.min(size, from + nominalSize);
+				try {
+					odd[c] = (countQuotes(mapper.map(channel, from, (int) (to - from))) & 1) != 0;
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+
+			final long[] starts = new long[chunks + 1];
+			starts[chunks] = size;
+			ParallelSort.forEachChunk(chunks - 1, i -> {
+				final int c = i + 1;
+
+				boolean quoted = false;
+				for (int p = 0; p < c; p++)
+					quoted ^= odd[p];
+
+				try {
+					starts[c] = nextRecord(mapper, channel, Math.min(size, c * nominalSize), quoted, size);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+
+			final boolean header = config.columnNames() == null;
+			ParallelSort.forEachChunk(chunks, c -> {
+				try {
+					final long length = starts[c + 1] - starts[c];
+					checkState(length <= Integer.MAX_VALUE, "record too large");
+
+					final ByteBuffer bytes = mapper.map(channel, starts[c], (int) length);
+					parsed[c] = config.parse(new CsvScanner(bytes, config.delim(), config.nullValue()), header && c == 0);
+				} catch (Exception e) {
+					errors[c] = e;
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+
+		int records = 0, lines = 0;
+		for (int c = 0; c < chunks; c++) {
+			if (errors[c] instanceof CsvRecordException e)
+				throw e.rebase(records, lines);
+			else if (errors[c] instanceof IOException e)
+				throw e;
+			else if (errors[c] instanceof RuntimeException e)
+				throw e;
+
+			records += parsed[c].records();
+			lines += parsed[c].lines();
+		}
+
+		final Column<?>[] columns = new Column<?>[parsed[0].columns().length];
+		for (int i = 0; i < columns.length; i++)
+			columns[i] = concatenate(parsed, i);
+
+		return DataFrameFactory.create(columns, config.columnNames(parsed[0]));
+	}
+
+	private static int countQuotes(ByteBuffer bytes) {
+
+		int count = 0;
+		for (int i = 0, limit = bytes.limit(); i < limit; i++)
+			if (bytes.get(i) == '"')
+				count++;
+
+		return count;
+	}
+
+	/**
+	 * Returns the position just past the first CR, LF, or CRLF at or after the
+	 * specified position which is outside of double quotes, or the size of the
+	 * file if there isn't one.
+	 */
+	private static long nextRecord(FileMapper mapper, FileChannel channel, long position, boolean quoted, long size)
+			throws IOException {
+
+		boolean cr = false;
+		for (long from = position; from < size; from += WINDOW_SIZE) {
+
+			final ByteBuffer window = mapper.map(channel, from, (int) Math.min(WINDOW_SIZE, size - from));
+			for (int i = 0, limit = window.limit(); i < limit; i++) {
+
+				final byte b = window.get(i);
+				if (cr)
+					return b == '\n' ? from + i + 1 : from + i;
+				else if (b == '"')
+					quoted = !quoted;
+				else if (!quoted && b == '\n')
+					return from + i + 1;
+				else if (!quoted && b == '\r')
+					cr = true;
+			}
+		}
+
+		return size;
+	}
+
+	/**
+	 * Appends the specified column of each chunk, pairwise, so that each element
+	 * is copied a logarithmic number of times.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static Column<?> concatenate(CsvChunk[] chunks, int index) {
+
+		Column[] parts = new Column[chunks.length];
+		for (int c = 0; c < chunks.length; c++)
+			parts[c] = chunks[c].columns()[index];
+
+		while (parts.length > 1) {
+			final Column[] pairs = parts;
+			final Column[] appended = new Column[(pairs.length + 1) / 2];
+
+			ParallelSort.forEachChunk(appended.length, p -> appended[p] = 2 * p + 1 < pairs.length
+					? pairs[2 * p].append(pairs[2 * p + 1])
+					: pairs[2 * p]);
+
+			parts = appended;
+		}
+
+		return parts[0];
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Decides when {@link Column#toSorted()}, {@link DataFrame#sort(SortKey...)},
+ * and {@link DataFrame#join(DataFrame, String[], String[])} should run on the
+ * {@link ForkJoinPool#commonPool() common pool}.
+ * <p>
+ * Sorts of at least {@code tech.bitey.parallelSortThreshold} elements or rows,
+ * and joins where either side has at least that many rows, are performed in
+ * parallel (default is 65536). A value of zero or less disables parallel
+ * sorting and joining.
+ */
+enum ParallelSort {
+	;
+
+	private static final int THRESHOLD = Integer.getInteger("tech.bitey.parallelSortThreshold", 1 << 16);
+
+	/**
+	 * Returns true if a sort of the specified size should be performed in
+	 * parallel.
+	 */
+	static boolean isParallel(int size) {
+		return THRESHOLD > 0 && size >= THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+	}
+
+	/**
+	 * Returns the number of chunks a sort of the specified size should be split
+	 * into. Returns one if the sort should not be performed in parallel.
+	 */
+	static int chunks(int size) {
+		return isParallel(size) ? ForkJoinPool.getCommonPoolParallelism() : 1;
+	}
+
+	/**
+	 * Invokes the action once for each chunk index in {@code [0, chunks)},
+	 * concurrently if there is more than one chunk.
+	 */
+	static void forEachChunk(int chunks, IntConsumer action) {
+		if (chunks == 1)
+			action.accept(0);
+		else
+			IntStream.range(0, chunks).parallel().forEach(action);
+	}
+}
@@ -17,19 +17,28 @@
 package tech.bitey.dataframe;
 
 import static java.lang.Character.isLetterOrDigit;
-import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
 import static tech.bitey.dataframe.Pr.checkArgument;
 import static tech.bitey.dataframe.Pr.checkState;
 
-import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterators;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Configuration for reading a dataframe from a CSV file.
@@ -84,8 +93,7 @@ public record ReadCsvConfig(
 			checkArgument(columnParsers.size() == columnTypes.size(),
 					"columnParsers and columnNames must have the same length");
 
-		checkArgument(delim <= 0x7F && !isLetterOrDigit(delim) && delim != '"' && delim != '\r' && delim != '\n',
-				"delimiter must an ASCII character which is not a letter, digit, double quote, CR, or LF");
+		checkDelim(delim);
 
 		columnTypes = List.copyOf(columnTypes);
 		columnNames = columnNames == null ? null : List.copyOf(columnNames);
@@ -121,167 +129,306 @@ public record ReadCsvConfig(
 		return new ReadCsvConfig(columnTypes, columnNames, columnParsers, delim, nullValue);
 	}
 
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	DataFrame process(InputStream is) throws IOException {
+	/**
+	 * Infers the column types of a CSV file with a header line, which is comma
+	 * delimited and represents {@code null} with the empty string. See
+	 * {@link #inferFrom(File, int, char, String)}.
+	 * 
+	 * @param file       - the CSV file
+	 * @param sampleSize - the number of records to sample, following the header
+	 * 
+	 * @return a configuration for reading the CSV file with the inferred types
+	 * 
+	 * @throws IOException if some I/O error occurs
+	 */
+	public static ReadCsvConfig inferFrom(File file, int sampleSize) throws IOException {
+		return inferFrom(file, sampleSize, DEFAULT_DELIM, DEFAULT_NULL_VALUE);
+	}
 
-		final ColumnBuilder[] builders = columnTypes.stream().map(ColumnType::builder).toArray(ColumnBuilder[]::new);
-		final String[] columnNames;
+	/**
+	 * Infers the column types of a CSV file with a header line, from the first
+	 * {@code sampleSize} records. Only the bytes holding those records are read.
+	 * For each column, the narrowest type which holds every non-null value in the
+	 * sample is chosen:
+	 * <ol>
+	 * <li>{@link ColumnType#BYTE BYTE}, {@link ColumnType#SHORT SHORT},
+	 * {@link ColumnType#INT INT}, or {@link ColumnType#LONG LONG} for integers
+	 * (without leading zeros)
+	 * <li>{@link ColumnType#FLOAT FLOAT} for decimal numbers which a float
+	 * represents with the same digits, otherwise {@link ColumnType#DOUBLE DOUBLE}
+	 * <li>{@link ColumnType#BOOLEAN BOOLEAN}, {@link ColumnType#DATE DATE},
+	 * {@link ColumnType#DATETIME DATETIME}, or {@link ColumnType#UUID UUID}
+	 * <li>{@link ColumnType#NSTRING NSTRING} for strings with few distinct values,
+	 * {@link ColumnType#FSTRING FSTRING} for ASCII strings of the same length, and
+	 * otherwise {@link ColumnType#STRING STRING}
+	 * </ol>
+	 * Reading the file with the returned configuration fails if a record after the
+	 * sample holds a value which the inferred type can't.
+	 * 
+	 * @param file       - the CSV file
+	 * @param sampleSize - the number of records to sample, following the header
+	 * @param delim      - the delimiter. See {@link #delim()}.
+	 * @param nullValue  - value in CSV file to be interpreted as {@code null}
+	 * 
+	 * @return a configuration for reading the CSV file with the inferred types
+	 * 
+	 * @throws IOException      if some I/O error occurs
+	 * @throws RuntimeException if there is any other error parsing the sample
+	 */
+	public static ReadCsvConfig inferFrom(File file, int sampleSize, char delim, String nullValue)
+			throws IOException {
+
+		checkArgument(sampleSize > 0, "sampleSize must be positive");
+		checkDelim(delim);
+		nullValue = nullValue == null ? DEFAULT_NULL_VALUE : nullValue;
 
-		try (BufferedReader in = new BufferedReader(new InputStreamReader(is, UTF_8))) {
+		final CsvTypeInference[] columns;
 
-			int[] lineno = { 0 };
-			int rno = 1;
+		try (FileChannel channel = FileChannel.open(file.toPath())) {
 
-			if (this.columnNames == null) {
-				columnNames = nextRecord(in, rno, lineno, true);
-				rno++;
+			final CsvScanner scanner = new CsvScanner(channel, delim, nullValue);
 
-				Objects.requireNonNull(columnNames, "missing header - no column names configured and empty input");
-				checkState(columnNames.length == builders.length, "mismatch between number of fields in header ("
-						+ columnNames.length + "), vs configured types (" + builders.length + ")");
-			} else {
-				columnNames = this.columnNames.toArray(new String[0]);
-			}
+			final String[] header = header(scanner, 1);
+			Objects.requireNonNull(header, "missing header - empty input");
 
-			final Function<String, Comparable<?>>[] columnParsers = this.columnParsers == null
-					? new Function[columnTypes.size()]
-					: this.columnParsers.toArray(new Function[0]);
-			for (int i = 0; i < columnParsers.length; i++)
-				if (columnParsers[i] == null) {
-					ColumnType<?> ct = columnTypes.get(i);
-					columnParsers[i] = s -> (Comparable) ct.parse(s);
-				}
+			columns = new CsvTypeInference[header.length];
+			for (int i = 0; i < columns.length; i++)
+				columns[i] = new CsvTypeInference();
 
-			for (String[] fields; (fields = nextRecord(in, rno, lineno, false)) != null; rno++) {
+			for (int rno = 2; rno <= sampleSize + 1 && next(scanner, rno); rno++) {
 				try {
-					checkState(fields.length == builders.length, "mismatch between number of fields (" + fields.length
-							+ "), vs configured types (" + builders.length + ")");
+					checkState(scanner.fieldCount() == columns.length, "mismatch between number of fields ("
+							+ scanner.fieldCount() + "), vs number of fields in header (" + columns.length + ")");
 
-					for (int i = 0; i < fields.length; i++) {
+					for (int i = 0; i < columns.length; i++) {
 						try {
-							if (fields[i] == null)
-								builders[i].addNull();
-							else {
-								Comparable value = columnParsers[i].apply(fields[i]);
-								builders[i].add(value);
-							}
+							final int length = scanner.field(i, false);
+							if (length >= 0)
+								columns[i].accept(CsvColumnParser.decode(scanner.buffer(), scanner.start(i), length));
 						} catch (Exception e) {
 							throw new RuntimeException(errorMessage(i + 1, e.getMessage()), e);
 						}
 					}
 				} catch (Exception e) {
-					throw new RuntimeException(errorMessage(rno, lineno[0], e.getMessage()), e);
+					throw new CsvRecordException(rno, scanner.lineno(), e.getMessage(), e);
 				}
 			}
 		}
 
-		Column<?>[] columns = new Column<?>[builders.length];
-		for (int i = 0; i < columns.length; i++)
-			columns[i] = builders[i].build();
+		final List<ColumnType<?>> columnTypes = new ArrayList<>();
+		for (CsvTypeInference column : columns)
+			columnTypes.add(column.type());
 
-		return DataFrameFactory.create(columns, columnNames);
+		return new ReadCsvConfig(columnTypes, null, null, delim, nullValue);
 	}
 
-	private String[] nextRecord(BufferedReader in, int rno, int lineno[], boolean header) {
-		try {
-			int count = 0;
-			StringBuilder builder = null;
-
-			do {
-				String line = in.readLine();
-				lineno[0]++;
-
-				if (line == null) {
-					if (builder == null)
-						return null;
-					else
-						throw new IllegalStateException("reached EOF with unmatched quote");
-				}
+	private static void checkDelim(char delim) {
+		checkArgument(delim <= 0x7F && !isLetterOrDigit(delim) && delim != '"' && delim != '\r' && delim != '\n',
+				"delimiter must an ASCII character which is not a letter, digit, double quote, CR, or LF");
+	}
 
-				// count double quotes
-				for (int i = 0; i < line.length(); i++)
-					if (line.charAt(i) == '"')
-						count++;
-
-				if (builder == null && count % 2 == 0) {
-					// first line is a whole record
-					return split(line, header);
-				} else if (builder == null) {
-					// first line is not a whole record
-					builder = new StringBuilder();
-					builder.append(line);
-				} else {
-					// subsequent lines always appended
-					builder.append('\n');
-					builder.append(line);
-				}
-			} while (count % 2 == 1);
+	DataFrame process(InputStream is) throws IOException {
+		return process(Channels.newChannel(is));
+	}
 
-			return split(builder.toString(), header);
-		} catch (Exception e) {
-			throw new RuntimeException(errorMessage(rno, lineno[0], e.getMessage()), e);
+	DataFrame process(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath())) {
+			if (ParallelCsv.isParallel(channel.size()))
+				return ParallelCsv.read(this, file.toPath(), channel);
+			else
+				return process(channel);
 		}
 	}
 
-	private static String errorMessage(int rno, int lineno, String error) {
-		return String.format("Record #%d: Line #%d: %s", rno, lineno, error);
+	/**
+	 * Reads a dataframe from the channel, which is closed afterwards.
+	 */
+	DataFrame process(ReadableByteChannel channel) throws IOException {
+		try (channel) {
+			final CsvChunk chunk = parse(new CsvScanner(channel, delim, nullValue), columnNames == null);
+			return DataFrameFactory.create(chunk.columns(), columnNames(chunk));
+		}
 	}
 
-	private static String errorMessage(int fno, String error) {
-		return String.format("Field #%d: %s", fno, error);
+	/**
+	 * Returns the configured column names, or else the header parsed from the
+	 * first chunk of the CSV file.
+	 */
+	String[] columnNames(CsvChunk first) {
+		return columnNames == null ? first.header() : columnNames.toArray(new String[0]);
 	}
 
-	private String[] split(String record, boolean header) {
+	/**
+	 * Parses the records read by the scanner into columns. Record and line numbers
+	 * are counted from the start of the scanner's input.
+	 * 
+	 * @param scanner - the scanner to read records from
+	 * @param header  - true if the first record is a header
+	 */
+	CsvChunk parse(CsvScanner scanner, boolean header) throws IOException {
 
-		List<Integer> splits = new ArrayList<>();
+		final String[] columnNames = header ? parseHeader(scanner) : null;
+		final Column<?>[] columns = parseRecords(scanner, header ? 2 : 1, Integer.MAX_VALUE);
 
-		for (int i = 0, count = 0; i < record.length(); i++) {
+		return new CsvChunk(columnNames, columns, columns[0].size() + (header ? 1 : 0), scanner.lineno());
+	}
 
-			final char c = record.charAt(i);
+	/**
+	 * Reads a dataframe from the channel in batches of up to {@code batchSize}
+	 * rows. The channel is closed when the stream is closed, or once the last
+	 * batch has been read.
+	 */
+	Stream<DataFrame> stream(ReadableByteChannel channel, int batchSize) {
 
-			if (c == '"')
-				count++;
-			else if (c == delim && count % 2 == 0)
-				splits.add(i);
-		}
+		final CsvScanner scanner = new CsvScanner(channel, delim, nullValue);
 
-		int prevSplit = -1, i = 0;
-		String[] fields = new String[splits.size() + 1];
-		for (int split : splits) {
-			fields[i++] = record.substring(prevSplit + 1, split);
-			prevSplit = split;
-		}
-		fields[i] = record.substring(prevSplit + 1);
+		final Iterator<DataFrame> batches = new Iterator<>() {
+
+			// null until the header (if any) has been read
+			String[] columnNames;
+			int rno = 1;
+
+			DataFrame next;
+			boolean done;
+
+			@Override
+			public boolean hasNext() {
+
+				if (next == null && !done) {
+					try {
+						if (columnNames == null) {
+							if (ReadCsvConfig.this.columnNames == null) {
+								columnNames = parseHeader(scanner);
+								rno++;
+							} else
+								columnNames = ReadCsvConfig.this.columnNames.toArray(new String[0]);
+						}
+
+						final Column<?>[] columns = parseRecords(scanner, rno, batchSize);
+						final int size = columns[0].size();
+						rno += size;
 
-		for (i = 0; i < fields.length; i++) {
-			if ("\"\"".equals(fields[i]) && (header || columnTypes.get(i) == ColumnType.STRING)) {
-				fields[i] = "";
-				continue;
+						if (size > 0)
+							next = DataFrameFactory.create(columns, columnNames);
+
+						if (size < batchSize) {
+							done = true;
+							channel.close();
+						}
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+
+				return next != null;
 			}
 
-			if (fields[i].startsWith("\""))
-				fields[i] = fields[i].substring(1, fields[i].length() - 1);
+			@Override
+			public DataFrame next() {
+
+				if (!hasNext())
+					throw new NoSuchElementException();
 
-			if (nullValue.equals(fields[i])) {
-				fields[i] = null;
-				continue;
+				final DataFrame batch = next;
+				next = null;
+				return batch;
 			}
+		};
+
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, ORDERED | NONNULL), false)
+				.onClose(() -> {
+					try {
+						channel.close();
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+	}
 
-			int count = 0;
-			for (int j = 0; j < fields[i].length(); j++) {
-				if (fields[i].charAt(j) == '"')
-					count++;
-				else if (count > 0) {
-					if (count % 2 == 0)
-						count = 0;
-					else
-						throw new RuntimeException(errorMessage(i + 1, "unescaped \""));
+	/**
+	 * Parses the header, which is the first record.
+	 */
+	private String[] parseHeader(CsvScanner scanner) throws IOException {
+
+		final String[] columnNames = header(scanner, 1);
+
+		Objects.requireNonNull(columnNames, "missing header - no column names configured and empty input");
+		checkState(columnNames.length == columnTypes.size(), "mismatch between number of fields in header ("
+				+ columnNames.length + "), vs configured types (" + columnTypes.size() + ")");
+
+		return columnNames;
+	}
+
+	/**
+	 * Parses up to {@code maxRecords} records into columns.
+	 * 
+	 * @param scanner    - the scanner to read records from
+	 * @param rno        - the number of the first record
+	 * @param maxRecords - the maximum number of records to parse
+	 */
+	private Column<?>[] parseRecords(CsvScanner scanner, int rno, int maxRecords) throws IOException {
+
+		final CsvColumnParser[] parsers = new CsvColumnParser[columnTypes.size()];
+		for (int i = 0; i < parsers.length; i++)
+			parsers[i] = CsvColumnParser.of(columnTypes.get(i), columnParsers == null ? null : columnParsers.get(i));
+
+		for (int n = 0; n < maxRecords && next(scanner, rno); n++, rno++) {
+			try {
+				checkState(scanner.fieldCount() == parsers.length, "mismatch between number of fields ("
+						+ scanner.fieldCount() + "), vs configured types (" + parsers.length + ")");
+
+				final byte[] buffer = scanner.buffer();
+				for (int i = 0; i < parsers.length; i++) {
+					try {
+						final int length = scanner.field(i, columnTypes.get(i) == ColumnType.STRING);
+						if (length < 0)
+							parsers[i].addNull();
+						else
+							parsers[i].parse(buffer, scanner.start(i), length);
+					} catch (Exception e) {
+						throw new RuntimeException(errorMessage(i + 1, e.getMessage()), e);
+					}
 				}
+			} catch (Exception e) {
+				throw new CsvRecordException(rno, scanner.lineno(), e.getMessage(), e);
 			}
+		}
 
-			fields[i] = fields[i].replace("\"\"", "\"");
+		Column<?>[] columns = new Column<?>[parsers.length];
+		for (int i = 0; i < columns.length; i++)
+			columns[i] = parsers[i].build();
+
+		return columns;
+	}
+
+	private static boolean next(CsvScanner scanner, int rno) throws IOException {
+		try {
+			return scanner.next();
+		} catch (IllegalStateException e) {
+			throw new CsvRecordException(rno, scanner.lineno(), e.getMessage(), e);
+		}
+	}
+
+	private static String[] header(CsvScanner scanner, int rno) throws IOException {
+
+		if (!next(scanner, rno))
+			return null;
+
+		final String[] fields = new String[scanner.fieldCount()];
+		for (int i = 0; i < fields.length; i++) {
+			try {
+				final int length = scanner.field(i, true);
+				if (length >= 0)
+					fields[i] = CsvColumnParser.decode(scanner.buffer(), scanner.start(i), length);
+			} catch (Exception e) {
+				throw new CsvRecordException(rno, scanner.lineno(), errorMessage(i + 1, e.getMessage()), e);
+			}
 		}
 
 		return fields;
 	}
+
+	private static String errorMessage(int fno, String error) {
+		return String.format("Field #%d: %s", fno, error);
+	}
 }
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import static tech.bitey.dataframe.NonNullColumn.NONNULL_CHARACTERISTICS;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+
+import tech.bitey.bufferstuff.BigByteBuffer;
+import tech.bitey.bufferstuff.BufferSort;
+import tech.bitey.bufferstuff.BufferUtils;
+import tech.bitey.bufferstuff.SmallIntBuffer;
+import tech.bitey.bufferstuff.SmallLongBuffer;
+
+/**
+ * Computes sorted row indices for {@link DataFrame#sort(SortKey...)} and
+ * {@link DataFrame#groupBy(GroupByConfig)}.
+ * <p>
+ * When every key column has fixed-width {@link AbstractColumn#sortKey(int) sort
+ * keys}, the indices are produced by an LSD radix sort: one counting pass per
+ * significant key byte (from the last key column to the first), plus a
+ * partitioning pass for each nullable column. Otherwise a stable merge sort is
+ * performed using the columns' {@link AbstractColumn#indexComparator
+ * comparators}. Both approaches are stable.
+ * <p>
+ * Large sorts are performed in parallel, see {@link ParallelSort}. Each radix
+ * pass is then split into chunks which are counted and scattered concurrently.
+ */
+enum RowSort {
+	;
+
+	/** Ranges smaller than this are always merge sorted */
+	private static final int RADIX_THRESHOLD = 1 << 10;
+
+	private static final int RADIX_BITS = 8;
+	private static final int RADIX = 1 << RADIX_BITS;
+	private static final int RADIX_MASK = RADIX - 1;
+
+	/**
+	 * Returns a comparator over row indices which compares each column in turn.
+	 */
+	static IntBinaryOperator comparator(AbstractColumn<?, ?, ?>[] columns, SortKey[] keys) {
+
+		final IntBinaryOperator[] comparators = new IntBinaryOperator[columns.length];
+		for (int i = 0; i < comparators.length; i++)
+			comparators[i] = columns[i].indexComparator(keys[i].descending(), keys[i].nullsFirst());
+
+		return lexicographic(comparators);
+	}
+
+	/**
+	 * Returns a comparator over row indices which compares each column in turn,
+	 * all in the same direction and with the same null ordering.
+	 */
+	static IntBinaryOperator comparator(AbstractColumn<?, ?, ?>[] columns, boolean descending, boolean nullsFirst) {
+
+		final IntBinaryOperator[] comparators = new IntBinaryOperator[columns.length];
+		for (int i = 0; i < comparators.length; i++)
+			comparators[i] = columns[i].indexComparator(descending, nullsFirst);
+
+		return lexicographic(comparators);
+	}
+
+	/**
+	 * Returns a comparator between row indices into two sets of columns, which
+	 * compares each pair of columns in turn. Corresponding columns must have the
+	 * same type. Values are in ascending order, with nulls last.
+	 */
+	static IntBinaryOperator comparator(AbstractColumn<?, ?, ?>[] left, AbstractColumn<?, ?, ?>[] right) {
+
+		final IntBinaryOperator[] comparators = new IntBinaryOperator[left.length];
+		for (int i = 0; i < comparators.length; i++)
+			comparators[i] = comparator(left[i], right[i]);
+
+		return lexicographic(comparators);
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static IntBinaryOperator comparator(AbstractColumn<?, ?, ?> left, AbstractColumn<?, ?, ?> right) {
+
+		if (left instanceof NormalStringColumnImpl l && right instanceof NormalStringColumnImpl r) {
+			return (li, ri) -> {
+				final boolean lNull = l.isNullNoOffset(li + l.offset);
+				final boolean rNull = r.isNullNoOffset(ri + r.offset);
+
+				if (lNull || rNull)
+					return Boolean.compare(lNull, rNull);
+				else
+					return l.at(li + l.offset).compareTo(r.at(ri + r.offset));
+			};
+		}
+
+		final NonNullColumn lValues = left instanceof NullableColumn l ? l.column : (NonNullColumn) left;
+		final NonNullColumn rValues = right instanceof NullableColumn r ? r.column : (NonNullColumn) right;
+		final IntBinaryOperator values = lValues.indexComparator(rValues);
+
+		if (left == lValues && right == rValues)
+			return values;
+
+		return (li, ri) -> {
+			final boolean lNull = left.isNullNoOffset(li + left.offset);
+			final boolean rNull = right.isNullNoOffset(ri + right.offset);
+
+			if (lNull || rNull)
+				return Boolean.compare(lNull, rNull);
+			else
+				return values.applyAsInt(valueIndex(left, li), valueIndex(right, ri));
+		};
+	}
+
+	/**
+	 * Maps an index into a column to an index into its non-null values (offsets
+	 * not applied).
+	 */
+	private static int valueIndex(AbstractColumn<?, ?, ?> column, int index) {
+		if (column instanceof NullableColumn<?, ?, ?, ?> nullable)
+			return nullable.nonNullIndex(index + nullable.offset) - nullable.column.offset;
+		else
+			return index;
+	}
+
+	private static IntBinaryOperator lexicographic(IntBinaryOperator[] comparators) {
+
+		if (comparators.length == 1)
+			return comparators[0];
+
+		return (l, r) -> {
+			for (IntBinaryOperator comparator : comparators) {
+				int d = comparator.applyAsInt(l, r);
+				if (d != 0)
+					return d;
+			}
+			return 0;
+		};
+	}
+
+	/**
+	 * Returns the permutation of row indices which sorts the specified columns.
+	 */
+	static IntColumn sortIndices(AbstractColumn<?, ?, ?>[] columns, SortKey[] keys, int size) {
+
+		if (size >= RADIX_THRESHOLD && isRadixSortable(columns))
+			return radixSort(columns, keys, size);
+		else
+			return mergeSort(comparator(columns, keys), size);
+	}
+
+	static IntColumn mergeSort(IntBinaryOperator comparator, int size) {
+
+		BigByteBuffer bb = BufferUtils.allocateBig((long) size * 4);
+		SmallIntBuffer b = bb.asIntBuffer();
+		for (int i = 0; i < size; i++)
+			b.put(i, i);
+
+		if (ParallelSort.isParallel(size))
+			BufferSort.parallelMergeSort(b, comparator, 0, size);
+		else
+			BufferSort.mergeSort(b, comparator, 0, size);
+
+		return new NonNullIntColumn(bb, 0, size, NONNULL_CHARACTERISTICS, false);
+	}
+
+	private static boolean isRadixSortable(AbstractColumn<?, ?, ?>[] columns) {
+		for (AbstractColumn<?, ?, ?> column : columns)
+			if (column.sortKeyBytes() == 0)
+				return false;
+		return true;
+	}
+
+	private static IntColumn radixSort(AbstractColumn<?, ?, ?>[] columns, SortKey[] keys, int size) {
+
+		BigByteBuffer indicesBuffer = BufferUtils.allocateBig((long) size * 4);
+		BigByteBuffer scratchBuffer = BufferUtils.allocateBig((long) size * 4);
+
+		SmallIntBuffer indices = indicesBuffer.asIntBuffer();
+		SmallIntBuffer scratch = scratchBuffer.asIntBuffer();
+		SmallLongBuffer sortKeys = BufferUtils.allocateBig((long) size * 8).asLongBuffer();
+		SmallLongBuffer scratchKeys = BufferUtils.allocateBig((long) size * 8).asLongBuffer();
+
+		for (int i = 0; i < size; i++)
+			indices.put(i, i);
+
+		// each chunk is counted and scattered independently
+		final int chunks = ParallelSort.chunks(size);
+		final int chunkSize = (size + chunks - 1) / chunks;
+		final int[][] counts = new int[chunks][RADIX];
+
+		// least significant column first
+		for (int c = columns.length - 1; c >= 0; c--) {
+
+			final AbstractColumn<?, ?, ?> column = columns[c];
+			final int bits = column.sortKeyBytes() * 8;
+			final long flip = keys[c].descending() ? -1L >>> (64 - bits) : 0;
+			final boolean nullable = !(column instanceof NonNullColumn);
+
+			// materialize keys in current order, nulls get an arbitrary key
+			final SmallIntBuffer order = indices;
+			final SmallLongBuffer materialized = sortKeys;
+			ParallelSort.forEachChunk(chunks, chunk -> {
+				for (int i = chunk * chunkSize, end = Math.min(size, i + chunkSize); i < end; i++) {
+					int index = order.get(i);
+					if (!nullable || !column.isNullNoOffset(index + column.offset))
+						materialized.put(i, column.sortKey(index) ^ flip);
+					else
+						materialized.put(i, 0);
+				}
+			});
+
+			for (int shift = 0; shift < bits; shift += RADIX_BITS) {
+
+				final SmallLongBuffer digits = sortKeys;
+				final int s = shift;
+				if (!scatter(i -> (int) (digits.get(i) >>> s) & RADIX_MASK, counts, chunkSize, size, indices, scratch,
+						sortKeys, scratchKeys))
+					continue;
+
+				SmallLongBuffer swapKeys = sortKeys;
+				sortKeys = scratchKeys;
+				scratchKeys = swapKeys;
+
+				SmallIntBuffer swap = indices;
+				indices = scratch;
+				scratch = swap;
+
+				BigByteBuffer swapBuffer = indicesBuffer;
+				indicesBuffer = scratchBuffer;
+				scratchBuffer = swapBuffer;
+			}
+
+			if (nullable) {
+				// stable partition into nulls and non-nulls
+				final SmallIntBuffer partitioned = indices;
+				final int nullDigit = keys[c].nullsFirst() ? 0 : 1;
+				if (!scatter(i -> column.isNullNoOffset(partitioned.get(i) + column.offset) ? nullDigit : 1 - nullDigit,
+						counts, chunkSize, size, indices, scratch, null, null))
+					continue;
+
+				SmallIntBuffer swap = indices;
+				indices = scratch;
+				scratch = swap;
+
+				BigByteBuffer swapBuffer = indicesBuffer;
+				indicesBuffer = scratchBuffer;
+				scratchBuffer = swapBuffer;
+			}
+		}
+
+		return new NonNullIntColumn(indicesBuffer, 0, size, NONNULL_CHARACTERISTICS, false);
+	}
+
+	/**
+	 * One stable counting sort pass from {@code indices} (and optionally
+	 * {@code sortKeys}) into {@code scratch} (and {@code scratchKeys}), by the
+	 * specified digit. Each chunk of {@code chunkSize} elements is counted and
+	 * scattered independently, with destinations assigned digit-major,
+	 * chunk-minor.
+	 *
+	 * @return false if every element has the same digit, in which case nothing
+	 *         is moved
+	 */
+	private static boolean scatter(IntUnaryOperator digit, int[][] counts, int chunkSize, int size,
+			SmallIntBuffer indices, SmallIntBuffer scratch, SmallLongBuffer sortKeys, SmallLongBuffer scratchKeys) {
+
+		final int chunks = counts.length;
+
+		ParallelSort.forEachChunk(chunks, chunk -> {
+			final int[] count = counts[chunk];
+			Arrays.fill(count, 0);
+			for (int i = chunk * chunkSize, end = Math.min(size, i + chunkSize); i < end; i++)
+				count[digit.applyAsInt(i)]++;
+		});
+
+		// skip pass if every element has the same digit
+		final int first = digit.applyAsInt(0);
+		int same = 0;
+		for (int[] count : counts)
+			same += count[first];
+		if (same == size)
+			return false;
+
+		for (int d = 0, sum = 0; d < RADIX; d++) {
+			for (int[] count : counts) {
+				int n = count[d];
+				count[d] = sum;
+				sum += n;
+			}
+		}
+
+		ParallelSort.forEachChunk(chunks, chunk -> {
+			final int[] dest = counts[chunk];
+			for (int i = chunk * chunkSize, end = Math.min(size, i + chunkSize); i < end; i++) {
+				int d = dest[digit.applyAsInt(i)]++;
+				scratch.put(d, indices.get(i));
+				if (sortKeys != null)
+					scratchKeys.put(d, sortKeys.get(i));
+			}
+		});
+
+		return true;
+	}
+}
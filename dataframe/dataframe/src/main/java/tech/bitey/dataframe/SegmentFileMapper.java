@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import static tech.bitey.dataframe.Pr.checkState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+import tech.bitey.bufferstuff.BufferBitSet;
+
+/**
+ * A {@link FileMapper} which maps a whole file as a single
+ * {@code jdk.incubator.foreign} memory segment, and hands out
+ * {@code ByteBuffer} views of slices of it. Only linked after checking that
+ * the module is present.
+ * <p>
+ * The segment belongs to a shared {@link ResourceScope}, so {@link #close()}
+ * unmaps the file immediately. Any access to a buffer sliced from it
+ * afterwards throws {@link IllegalStateException} rather than touching
+ * unmapped memory.
+ */
+final class SegmentFileMapper extends FileMapper {
+
+	private final ResourceScope scope;
+	private final MemorySegment segment;
+
+	private SegmentFileMapper(MapMode mode, ResourceScope scope, MemorySegment segment) {
+		super(mode);
+		this.scope = scope;
+		this.segment = segment;
+	}
+
+	static FileMapper map(Path path, long size, MapMode mode) throws IOException {
+
+		final ResourceScope scope = ResourceScope.newSharedScope();
+		try {
+			return new SegmentFileMapper(mode, scope, MemorySegment.mapFile(path, 0, size, mode, scope));
+		} catch (IOException | RuntimeException e) {
+			scope.close();
+			throw e;
+		}
+	}
+
+	@Override
+	ByteBuffer map(FileChannel channel, long position, int size) {
+		checkState(scope.isAlive(), "mapping is closed");
+
+		return segment.asSlice(position, size).asByteBuffer();
+	}
+
+	@Override
+	BufferBitSet mapBitSet(FileChannel channel) throws IOException {
+		return BufferBitSet.readFrom(channel);
+	}
+
+	/**
+	 * Unmaps the file. Buffers sliced from this mapper can no longer be used.
+	 */
+	@Override
+	public synchronized void close() {
+		if (scope.isAlive())
+			scope.close();
+	}
+
+	@Override
+	synchronized boolean isClosed() {
+		return !scope.isAlive();
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import static tech.bitey.dataframe.Pr.checkArgument;
+
+/**
+ * A column to sort by, along with the sort direction and null ordering. See
+ * {@link DataFrame#sort(SortKey...)}.
+ * 
+ * @param columnName - the column to sort by
+ * @param descending - if true, non-null values are sorted in descending order
+ * @param nullsFirst - if true, nulls are ordered before all non-null values.
+ *                   Applies regardless of {@code descending}.
+ * 
+ * @author biteytech@protonmail.com
+ */
+public record SortKey(String columnName, boolean descending, boolean nullsFirst) {
+
+	public SortKey {
+		checkArgument(columnName != null, "columnName cannot be null");
+	}
+
+	/**
+	 * Returns an ascending sort key, with nulls last.
+	 * 
+	 * @param columnName - the column to sort by
+	 * 
+	 * @return an ascending sort key
+	 */
+	public static SortKey asc(String columnName) {
+		return new SortKey(columnName, false, false);
+	}
+
+	/**
+	 * Returns a descending sort key, with nulls last.
+	 * 
+	 * @param columnName - the column to sort by
+	 * 
+	 * @return a descending sort key
+	 */
+	public static SortKey desc(String columnName) {
+		return new SortKey(columnName, true, false);
+	}
+
+	/**
+	 * Returns a copy of this sort key which orders nulls first.
+	 * 
+	 * @return a copy of this sort key which orders nulls first
+	 */
+	public SortKey withNullsFirst() {
+		return new SortKey(columnName, descending, true);
+	}
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import static jdk.incubator.vector.VectorOperators.ADD;
+import static jdk.incubator.vector.VectorOperators.AND;
+import static jdk.incubator.vector.VectorOperators.ASHR;
+import static jdk.incubator.vector.VectorOperators.GE;
+import static jdk.incubator.vector.VectorOperators.GT;
+import static jdk.incubator.vector.VectorOperators.I2L;
+import static jdk.incubator.vector.VectorOperators.LE;
+import static jdk.incubator.vector.VectorOperators.MAX;
+import static jdk.incubator.vector.VectorOperators.MIN;
+import static jdk.incubator.vector.VectorOperators.XOR;
+
+import java.nio.ByteBuffer;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorSpecies;
+import tech.bitey.bufferstuff.BigByteBuffer;
+import tech.bitey.bufferstuff.BufferBitSet;
+import tech.bitey.bufferstuff.SmallDoubleBuffer;
+import tech.bitey.bufferstuff.SmallFloatBuffer;
+import tech.bitey.bufferstuff.SmallIntBuffer;
+import tech.bitey.bufferstuff.SmallLongBuffer;
+
+/**
+ * {@link NumericKernels} implemented with {@code jdk.incubator.vector}. Only
+ * instantiated reflectively, after checking that the module is present.
+ * <p>
+ * Buffers larger than a single {@code ByteBuffer} fall back to the scalar
+ * loops, as do float and double aggregates, which must be accumulated in index
+ * order. Floats and doubles are scanned as their raw bits, with NaNs
+ * canonicalized before mapping them to their {@link NumericKernels#ordered
+ * ordered} form.
+ */
+final class VectorKernels extends NumericKernels {
+
+	private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+	private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+	private static final int FLOAT_INFINITY = 0x7f800000;
+	private static final int FLOAT_NAN = Float.floatToIntBits(Float.NaN);
+	private static final long DOUBLE_INFINITY = 0x7ff0000000000000L;
+	private static final long DOUBLE_NAN = Double.doubleToLongBits(Double.NaN);
+
+	@Override
+	void range(SmallIntBuffer buffer, int offset, int fromIndex, int toIndex, int min, int max, BufferBitSet mask) {
+
+		final ByteBuffer bb = single(buffer.unwrap());
+		if (bb == null) {
+			super.range(buffer, offset, fromIndex, toIndex, min, max, mask);
+			return;
+		}
+
+		int i = fromIndex;
+		for (int bound = fromIndex + INTS.loopBound(toIndex - fromIndex); i < bound; i += INTS.length()) {
+			final IntVector v = IntVector.fromByteBuffer(INTS, bb, i << 2, bb.order());
+			set(mask, i - offset, v.compare(GE, min).and(v.compare(LE, max)).toLong());
+		}
+
+		for (; i < toIndex; i++) {
+			final int value = buffer.get(i);
+			if (value >= min && value <= max)
+				mask.set(i - offset);
+		}
+	}
+
+	@Override
+	void range(SmallLongBuffer buffer, int offset, int fromIndex, int toIndex, long min, long max, BufferBitSet mask) {
+
+		final ByteBuffer bb = single(buffer.unwrap());
+		if (bb == null) {
+			super.range(buffer, offset, fromIndex, toIndex, min, max, mask);
+			return;
+		}
+
+		int i = fromIndex;
+		for (int bound = fromIndex + LONGS.loopBound(toIndex - fromIndex); i < bound; i += LONGS.length()) {
+			final LongVector v = LongVector.fromByteBuffer(LONGS, bb, i << 3, bb.order());
+			set(mask, i - offset, v.compare(GE, min).and(v.compare(LE, max)).toLong());
+		}
+
+		for (; i < toIndex; i++) {
+			final long value = buffer.get(i);
+			if (value >= min && value <= max)
+				mask.set(i - offset);
+		}
+	}
+
+	@Override
+	void range(SmallFloatBuffer buffer, int offset, int fromIndex, int toIndex, int min, int max, BufferBitSet mask) {
+
+		final ByteBuffer bb = single(buffer.unwrap());
+		if (bb == null) {
+			super.range(buffer, offset, fromIndex, toIndex, min, max, mask);
+			return;
+		}
+
+		int i = fromIndex;
+		for (int bound = fromIndex + INTS.loopBound(toIndex - fromIndex); i < bound; i += INTS.length()) {
+			IntVector v = IntVector.fromByteBuffer(INTS, bb, i << 2, bb.order());
+			v = v.blend(FLOAT_NAN, v.lanewise(AND, Integer.MAX_VALUE).compare(GT, FLOAT_INFINITY));
+			v = v.lanewise(XOR, v.lanewise(ASHR, 31).lanewise(AND, Integer.MAX_VALUE));
+			set(mask, i - offset, v.compare(GE, min).and(v.compare(LE, max)).toLong());
+		}
+
+		for (; i < toIndex; i++) {
+			final int value = ordered(buffer.get(i));
+			if (value >= min && value <= max)
+				mask.set(i - offset);
+		}
+	}
+
+	@Override
+	void range(SmallDoubleBuffer buffer, int offset, int fromIndex, int toIndex, long min, long max,
+			BufferBitSet mask) {
+
+		final ByteBuffer bb = single(buffer.unwrap());
+		if (bb == null) {
+			super.range(buffer, offset, fromIndex, toIndex, min, max, mask);
+			return;
+		}
+
+		int i = fromIndex;
+		for (int bound = fromIndex + LONGS.loopBound(toIndex - fromIndex); i < bound; i += LONGS.length()) {
+			LongVector v = LongVector.fromByteBuffer(LONGS, bb, i << 3, bb.order());
+			v = v.blend(DOUBLE_NAN, v.lanewise(AND, Long.MAX_VALUE).compare(GT, DOUBLE_INFINITY));
+			v = v.lanewise(XOR, v.lanewise(ASHR, 63).lanewise(AND, Long.MAX_VALUE));
+			set(mask, i - offset, v.compare(GE, min).and(v.compare(LE, max)).toLong());
+		}
+
+		for (; i < toIndex; i++) {
+			final long value = ordered(buffer.get(i));
+			if (value >= min && value <= max)
+				mask.set(i - offset);
+		}
+	}
+
+	@Override
+	long sum(SmallIntBuffer buffer, int fromIndex, int toIndex) {
+
+		final ByteBuffer bb = single(buffer.unwrap());
+		if (bb == null)
+			return super.sum(buffer, fromIndex, toIndex);
+
+		// ints are widened to longs before being added, so that they do not
+		// overflow
+		final int parts = INTS.length() / LONGS.length();
+		LongVector sums = LongVector.zero(LONGS);
+
+		int i = fromIndex;
+		for (int bound = fromIndex + INTS.loopBound(toIndex - fromIndex); i < bound; i += INTS.length()) {
+			final IntVector v = IntVector.fromByteBuffer(INTS, bb, i << 2, bb.order());
+			for (int part = 0; part < parts; part++)
+				sums = sums.add((LongVector) v.convertShape(I2L, LONGS, part));
+		}
+
+		return sums.reduceLanes(ADD) + super.sum(buffer, i, toIndex);
+	}
+
+	@Override
+	int min(SmallIntBuffer buffer, int fromIndex, int toIndex) {
+
+		final ByteBuffer bb = single(buffer.unwrap());
+		if (bb == null)
+			return super.min(buffer, fromIndex, toIndex);
+
+		IntVector mins = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+
+		int i = fromIndex;
+		for (int bound = fromIndex + INTS.loopBound(toIndex - fromIndex); i < bound; i += INTS.length())
+			mins = mins.min(IntVector.fromByteBuffer(INTS, bb, i << 2, bb.order()));
+
+		return Math.min(mins.reduceLanes(MIN), super.min(buffer, i, toIndex));
+	}
+
+	@Override
+	int max(SmallIntBuffer buffer, int fromIndex, int toIndex) {
+
+		final ByteBuffer bb = single(buffer.unwrap());
+		if (bb == null)
+			return super.max(buffer, fromIndex, toIndex);
+
+		IntVector maxs = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+
+		int i = fromIndex;
+		for (int bound = fromIndex + INTS.loopBound(toIndex - fromIndex); i < bound; i += INTS.length())
+			maxs = maxs.max(IntVector.fromByteBuffer(INTS, bb, i << 2, bb.order()));
+
+		return Math.max(maxs.reduceLanes(MAX), super.max(buffer, i, toIndex));
+	}
+
+	@Override
+	long sum(SmallLongBuffer buffer, int fromIndex, int toIndex) {
+
+		final ByteBuffer bb = single(buffer.unwrap());
+		if (bb == null)
+			return super.sum(buffer, fromIndex, toIndex);
+
+		LongVector sums = LongVector.zero(LONGS);
+
+		int i = fromIndex;
+		for (int bound = fromIndex + LONGS.loopBound(toIndex - fromIndex); i < bound; i += LONGS.length())
+			sums = sums.add(LongVector.fromByteBuffer(LONGS, bb, i << 3, bb.order()));
+
+		return sums.reduceLanes(ADD) + super.sum(buffer, i, toIndex);
+	}
+
+	@Override
+	long min(SmallLongBuffer buffer, int fromIndex, int toIndex) {
+
+		final ByteBuffer bb = single(buffer.unwrap());
+		if (bb == null)
+			return super.min(buffer, fromIndex, toIndex);
+
+		LongVector mins = LongVector.broadcast(LONGS, Long.MAX_VALUE);
+
+		int i = fromIndex;
+		for (int bound = fromIndex + LONGS.loopBound(toIndex - fromIndex); i < bound; i += LONGS.length())
+			mins = mins.min(LongVector.fromByteBuffer(LONGS, bb, i << 3, bb.order()));
+
+		return Math.min(mins.reduceLanes(MIN), super.min(buffer, i, toIndex));
+	}
+
+	@Override
+	long max(SmallLongBuffer buffer, int fromIndex, int toIndex) {
+
+		final ByteBuffer bb = single(buffer.unwrap());
+		if (bb == null)
+			return super.max(buffer, fromIndex, toIndex);
+
+		LongVector maxs = LongVector.broadcast(LONGS, Long.MIN_VALUE);
+
+		int i = fromIndex;
+		for (int bound = fromIndex + LONGS.loopBound(toIndex - fromIndex); i < bound; i += LONGS.length())
+			maxs = maxs.max(LongVector.fromByteBuffer(LONGS, bb, i << 3, bb.order()));
+
+		return Math.max(maxs.reduceLanes(MAX), super.max(buffer, i, toIndex));
+	}
+
+	/**
+	 * Returns the backing {@code ByteBuffer}, or null if there is more than one.
+	 */
+	private static ByteBuffer single(BigByteBuffer buffer) {
+		final ByteBuffer[] buffers = buffer.buffers();
+		return buffers.length == 1 ? buffers[0] : null;
+	}
+
+	/**
+	 * Sets bit {@code index + k} of the mask for each set bit {@code k} of the
+	 * lane bits.
+	 */
+	private static void set(BufferBitSet mask, int index, long lanes) {
+		for (; lanes != 0; lanes &= lanes - 1)
+			mask.set(index + Long.numberOfTrailingZeros(lanes));
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package tech.bitey.dataframe;
+
+import static tech.bitey.dataframe.Pr.checkArgument;
+
+import java.io.File;
+import java.nio.channels.WritableByteChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for writing a dataframe in binary format: how each column is
+ * encoded, and whether the result is compressed.
+ * 
+ * @author biteytech@protonmail.com
+ * 
+ * @see DataFrame#writeTo(File, WriteToFileConfig)
+ * @see DataFrame#writeTo(WritableByteChannel, WriteToFileConfig)
+ */
+public record WriteToFileConfig(
+		/**
+		 * The {@link ColumnEncoding encoding} of any column not found in
+		 * {@code columnEncodings}. Defaults to {@link ColumnEncoding#PLAIN}.
+		 */
+		ColumnEncoding encoding,
+
+		/**
+		 * Optional, encodings of individual columns, keyed by column name.
+		 */
+		Map<String, ColumnEncoding> columnEncodings,
+
+		/**
+		 * {@link BlockCompression Compression} of everything after the dataframe
+		 * header. Defaults to {@link BlockCompression#NONE}.
+		 */
+		BlockCompression compression) {
+
+	public static final WriteToFileConfig DEFAULT_CONFIG = new WriteToFileConfig(ColumnEncoding.PLAIN);
+
+	public WriteToFileConfig {
+
+		checkArgument(encoding != null, "encoding cannot be null");
+		checkArgument(compression != null, "compression cannot be null");
+
+		columnEncodings = columnEncodings == null ? Map.of() : Map.copyOf(columnEncodings);
+	}
+
+	public WriteToFileConfig(ColumnEncoding encoding, Map<String, ColumnEncoding> columnEncodings) {
+		this(encoding, columnEncodings, BlockCompression.NONE);
+	}
+
+	public WriteToFileConfig(ColumnEncoding encoding) {
+		this(encoding, null);
+	}
+
+	public WriteToFileConfig(BlockCompression compression) {
+		this(ColumnEncoding.PLAIN, null, compression);
+	}
+
+	public WriteToFileConfig withEncoding(ColumnEncoding encoding) {
+		return new WriteToFileConfig(encoding, columnEncodings, compression);
+	}
+
+	public WriteToFileConfig withColumnEncodings(Map<String, ColumnEncoding> columnEncodings) {
+		return new WriteToFileConfig(encoding, columnEncodings, compression);
+	}
+
+	public WriteToFileConfig withCompression(BlockCompression compression) {
+		return new WriteToFileConfig(encoding, columnEncodings, compression);
+	}
+
+	public WriteToFileConfig withColumnEncoding(String columnName, ColumnEncoding encoding) {
+		Map<String, ColumnEncoding> columnEncodings = new HashMap<>(this.columnEncodings);
+		columnEncodings.put(columnName, encoding);
+		return withColumnEncodings(columnEncodings);
+	}
+
+	ColumnEncoding encoding(String columnName) {
+		return columnEncodings.getOrDefault(columnName, encoding);
+	}
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2023 biteytech@protonmail.com
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.bitey.dataframe;
+
+import static tech.bitey.bufferstuff.BufferUtils.readFully;
+import static tech.bitey.bufferstuff.BufferUtils.writeFully;
+import static tech.bitey.dataframe.Pr.checkState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import tech.bitey.bufferstuff.BufferBitSet;
+
+/**
+ * Minimum and maximum {@link NonNullSingleBufferColumn#key keys} of each block
+ * of elements of a column buffer, where block {@code b} holds the elements at
+ * {@code [b * blockSize, (b + 1) * blockSize)}.
+ * <p>
+ * Zone maps are computed when a column is written to a channel, and read back
+ * ahead of its buffer. Scans of a mapped column can then skip any block whose
+ * keys are all outside of (or all inside of) the range being scanned, without
+ * faulting in its pages. The statistics of a block bound every element in it,
+ * so they remain valid for views which only cover part of the block.
+ */
+final class ZoneMap {
+
+	static final int BLOCK_SIZE = 1 << 16;
+
+	private final int blockSize;
+	private final long[] mins;
+	private final long[] maxs;
+
+	private ZoneMap(int blockSize, long[] mins, long[] maxs) {
+		this.blockSize = blockSize;
+		this.mins = mins;
+		this.maxs = maxs;
+	}
+
+	/**
+	 * Computes the zone map of the elements of a column, numbered from zero as
+	 * they will be when the column is read back.
+	 */
+	static ZoneMap of(NonNullSingleBufferColumn<?, ?, ?> column) {
+
+		final int blockCount = (int) (((long) column.size + BLOCK_SIZE - 1) / BLOCK_SIZE);
+		final long[] mins = new long[blockCount];
+		final long[] maxs = new long[blockCount];
+
+		final int end = column.offset + column.size;
+		for (int b = 0; b < blockCount; b++) {
+			long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+			for (int i = column.offset + b * BLOCK_SIZE, to = (int) Math.min(end, (long) i + BLOCK_SIZE); i < to; i++) {
+				final long key = column.keyAt(i);
+				min = Math.min(min, key);
+				max = Math.max(max, key);
+			}
+			mins[b] = min;
+			maxs[b] = max;
+		}
+
+		return new ZoneMap(BLOCK_SIZE, mins, maxs);
+	}
+
+	void writeTo(WritableByteChannel channel, ByteOrder order) throws IOException {
+
+		ByteBuffer b = ByteBuffer.allocate(4 + 4 + mins.length * 16).order(order);
+
+		b.putInt(blockSize);
+		b.putInt(mins.length);
+		for (int i = 0; i < mins.length; i++) {
+			b.putLong(mins[i]);
+			b.putLong(maxs[i]);
+		}
+
+		b.flip();
+
+		writeFully(channel, b);
+	}
+
+	static ZoneMap readFrom(ReadableByteChannel channel, ByteOrder order) throws IOException {
+
+		ByteBuffer header = ByteBuffer.allocate(4 + 4).order(order);
+		readFully(channel, header);
+
+		final int blockSize = header.getInt(0);
+		final int blockCount = header.getInt(4);
+		checkState(blockSize > 0 && blockCount >= 0, "bad zone map: " + blockSize + ", " + blockCount);
+
+		ByteBuffer b = ByteBuffer.allocate(blockCount * 16).order(order);
+		readFully(channel, b);
+		b.flip();
+
+		final long[] mins = new long[blockCount];
+		final long[] maxs = new long[blockCount];
+		for (int i = 0; i < blockCount; i++) {
+			mins[i] = b.getLong();
+			maxs[i] = b.getLong();
+		}
+
+		return new ZoneMap(blockSize, mins, maxs);
+	}
+
+	/**
+	 * Sets bit {@code i - offset} of the mask for each element of the column whose
+	 * key is within {@code [min, max]}. Blocks which cannot contain such an
+	 * element are skipped, and blocks which only contain such elements are set
+	 * without being scanned.
+	 */
+	void rangeMask(NonNullSingleBufferColumn<?, ?, ?> column, long min, long max, BufferBitSet mask) {
+
+		final int offset = column.offset;
+		final int end = offset + column.size;
+
+		for (int b = offset / blockSize; b < mins.length && (long) b * blockSize < end; b++) {
+
+			if (maxs[b] < min || mins[b] > max)
+				continue;
+
+			final int from = Math.max(offset, b * blockSize);
+			final int to = (int) Math.min(end, (long) (b + 1) * blockSize);
+
+			if (min <= mins[b] && maxs[b] <= max)
+				mask.set(from - offset, to - offset);
+			else
+				column.scan(min, max, from, to, mask);
+		}
+	}
+
+	/**
+	 * Returns the minimum key of a non-empty column. Only blocks at either end of
+	 * the column which it only partly covers are scanned, and then only if they
+	 * might hold a new minimum.
+	 */
+	long min(NonNullSingleBufferColumn<?, ?, ?> column) {
+
+		final int offset = column.offset;
+		final int end = offset + column.size;
+
+		long min = Long.MAX_VALUE;
+		for (int b = offset / blockSize; b < mins.length && (long) b * blockSize < end; b++) {
+
+			if (mins[b] >= min)
+				continue;
+
+			final int from = b * blockSize;
+			final long to = (long) from + blockSize;
+
+			if (from >= offset && to <= end)
+				min = mins[b];
+			else {
+				for (int i = Math.max(offset, from), last = (int) Math.min(end, to); i < last; i++)
+					min = Math.min(min, column.keyAt(i));
+			}
+		}
+
+		return min;
+	}
+
+	/**
+	 * Returns the maximum key of a non-empty column.
+	 *
+	 * @see #min(NonNullSingleBufferColumn)
+	 */
+	long max(NonNullSingleBufferColumn<?, ?, ?> column) {
+
+		final int offset = column.offset;
+		final int end = offset + column.size;
+
+		long max = Long.MIN_VALUE;
+		for (int b = offset / blockSize; b < maxs.length && (long) b * blockSize < end; b++) {
+
+			if (maxs[b] <= max)
+				continue;
+
+			final int from = b * blockSize;
+			final long to = (long) from + blockSize;
+
+			if (from >= offset && to <= end)
+				max = maxs[b];
+			else {
+				for (int i = Math.max(offset, from), last = (int) Math.min(end, to); i < last; i++)
+					max = Math.max(max, column.keyAt(i));
+			}
+		}
+
+		return max;
+	}
+
+	/**
+	 * Narrows a search of a non-empty, sorted column to a view which contains the
+	 * first (or last) element with the specified key, or else its insertion point.
+	 * Only blocks which lie entirely within the column are consulted, since the
+	 * buffer need not be sorted outside of it.
+	 */
+	<C extends NonNullSingleBufferColumn<?, ?, C>> C searchWindow(C column, long key, boolean first) {
+
+		final int end = column.offset + column.size;
+
+		int from = column.offset, to = end;
+		final int firstBlock = (int) (((long) column.offset + blockSize - 1) / blockSize);
+		for (int b = firstBlock; b < mins.length && (long) (b + 1) * blockSize <= end; b++) {
+
+			final int blockFrom = b * blockSize;
+			final int blockTo = blockFrom + blockSize;
+
+			if (first) {
+				// the first element >= key follows every block whose keys are all below
+				// it, and precedes the end of the first block which has one that is not
+				if (maxs[b] < key)
+					from = blockTo;
+				else {
+					to = blockTo;
+					break;
+				}
+			} else {
+				// the last element <= key is no earlier than the last element of every
+				// block whose keys are all at or below it, and precedes the first block
+				// whose keys are all above it
+				if (maxs[b] <= key)
+					from = blockTo - 1;
+				else if (mins[b] > key) {
+					to = blockFrom;
+					break;
+				}
+			}
+		}
+
+		// the insertion point is at the edge of the window, so keep it non-empty
+		if (from == to) {
+			if (to < end)
+				to++;
+			else
+				from--;
+		}
+
+		return column.construct(column.buffer, from, to - from, column.characteristics, true);
+	}
+}